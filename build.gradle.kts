@@ -59,8 +59,8 @@ allprojects {
         }
 
         publishing {
-            if (project.path == ":") {
-                // Skip the root project
+            if (project.path == ":" || project.name == "fluidswipe-benchmarks" || project.name == "fluidswipe-jcstress") {
+                // Skip the root project, the benchmarks and the stress tests, which are not meant to be published
                 return@publishing
             }
             publications {
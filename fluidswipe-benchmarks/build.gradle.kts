@@ -0,0 +1,49 @@
+plugins {
+    idea
+    java
+}
+
+repositories {
+    mavenCentral()
+}
+
+val jmhVersion = "1.37"
+
+dependencies {
+    implementation(project(":fluidswipe-core"))
+    implementation(testFixtures(project(":fluidswipe-core")))
+    implementation(project(":fluidswipe-handler-api"))
+    implementation(project(":fluidswipe-utils"))
+
+    // https://mvnrepository.com/artifact/org.openjdk.jmh/jmh-core
+    implementation("org.openjdk.jmh:jmh-core:$jmhVersion")
+    // https://mvnrepository.com/artifact/org.openjdk.jmh/jmh-generator-annprocess
+    annotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
+    // https://mvnrepository.com/artifact/org.hdrhistogram/HdrHistogram
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+}
+
+// The benchmarks run on the class path: they are not bound to the module boundaries of the library.
+// Usage: gradle :fluidswipe-benchmarks:jmh -PjmhArgs="LoggingBenchmark -f 1"
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs the JMH benchmarks."
+    dependsOn(tasks.classes)
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    jvmArgs("-Djava.awt.headless=true")
+    val jmhArgs = project.findProperty("jmhArgs") as String?
+    if (jmhArgs != null) args(jmhArgs.split(' ').filter { it.isNotBlank() })
+}
+
+// Usage: gradle :fluidswipe-benchmarks:latency -PlatencyArgs="-rates 60,120,240 -duration 5 -out latency.json"
+tasks.register<JavaExec>("latency") {
+    group = "benchmark"
+    description = "Runs the end-to-end latency harness."
+    dependsOn(tasks.classes)
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("eu.giulianogorgone.fluidswipe.benchmarks.LatencyHarness")
+    jvmArgs("-Djava.awt.headless=true")
+    val latencyArgs = project.findProperty("latencyArgs") as String?
+    if (latencyArgs != null) args(latencyArgs.split(' ').filter { it.isNotBlank() })
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Builds synthetic component trees for the benchmarks. Components are laid out manually, thus
+ * the trees can be built and hit-tested in headless environments.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class ComponentTrees {
+    public static final int SIZE = 1000;
+
+    /**
+     * Shape of a synthetic tree.
+     */
+    public enum Shape {
+        /**
+         * A chain of nested components, each covering its parent.
+         */
+        DEEP,
+        /**
+         * A root with many children placed side by side.
+         */
+        WIDE
+    }
+
+    /**
+     * A component vetoer that always permits the gesture: it makes the visit evaluate a vetoer at each level.
+     */
+    public static final class PermittingVetoer extends JPanel implements FluidSwipeVetoer {
+        public PermittingVetoer() {
+            super(null);
+        }
+
+        @Override
+        public boolean permitFluidSwipeGesture(final FluidSwipeEvent e) {
+            return true;
+        }
+    }
+
+    private final JComponent root;
+    private final JComponent swipeable;
+    private final JComponent leaf;
+    private final Point leafLocation;
+
+    private ComponentTrees(final JComponent root, final JComponent swipeable, final JComponent leaf, final Point leafLocation) {
+        this.root = root;
+        this.swipeable = swipeable;
+        this.leaf = leaf;
+        this.leafLocation = leafLocation;
+    }
+
+    /**
+     * Builds a tree. The swipeable component is placed halfway between the root and the leaf in {@link Shape#DEEP} trees,
+     * and is the root in {@link Shape#WIDE} trees.
+     *
+     * @param shape    the shape of the tree
+     * @param size     the depth or the width of the tree
+     * @param vetoers  whether the components, except the root, are permitting vetoers
+     * @param listener the listener to add to the swipeable component
+     * @return the tree
+     */
+    public static ComponentTrees build(final Shape shape, final int size, final boolean vetoers, final FluidSwipeListener listener) {
+        final JComponent root = newPanel(false);
+        root.setBounds(0, 0, SIZE, SIZE);
+        JComponent swipeable = root, leaf = root;
+        final Point leafLocation;
+        if (shape == Shape.DEEP) {
+            for (int i = 1; i < size; i++) {
+                final JComponent child = newPanel(vetoers);
+                child.setBounds(0, 0, SIZE, SIZE);
+                leaf.add(child);
+                leaf = child;
+                if (i == size / 2) swipeable = child;
+            }
+            leafLocation = new Point(SIZE / 2, SIZE / 2);
+        } else {
+            final int width = Math.max(1, SIZE / size);
+            root.setBounds(0, 0, width * size, SIZE);
+            for (int i = 0; i < size; i++) {
+                final JComponent child = newPanel(vetoers);
+                child.setBounds(i * width, 0, width, SIZE);
+                root.add(child);
+                leaf = child;
+            }
+            leafLocation = new Point(leaf.getX() + width / 2, SIZE / 2);
+        }
+        FluidSwipe.addListenerTo(swipeable, listener == null ? new FluidSwipeAdapter() {} : listener);
+        return new ComponentTrees(root, swipeable, leaf, leafLocation);
+    }
+
+    private static JComponent newPanel(final boolean vetoer) {
+        return vetoer ? new PermittingVetoer() : new JPanel(null);
+    }
+
+    public JComponent getRoot() {
+        return root;
+    }
+
+    public JComponent getSwipeable() {
+        return swipeable;
+    }
+
+    public JComponent getLeaf() {
+        return leaf;
+    }
+
+    // Location of the leaf, relative to the root.
+    public Point getLeafLocation() {
+        return new Point(leafLocation);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the EDT busy as a real application does while a gesture is dispatched: an offscreen component tree is repainted
+ * at a fixed rate, and short tasks are posted via {@link SwingUtilities#invokeLater(Runnable)} at another rate.
+ * Both work headless.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class EdtLoad {
+    private static final int LABELS = 200;
+
+    private final int repaintHz;
+    private final JComponent repainted;
+    private final BufferedImage canvas;
+    private final int invokeLaterHz;
+    private final long invokeLaterNanos;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param repaintHz         how many times per second the component tree is repainted; {@code 0} disables repaints
+     * @param repaintSize       the size of the component tree
+     * @param invokeLaterHz     how many tasks per second are posted; {@code 0} disables them
+     * @param invokeLaterMicros how long each task keeps the EDT busy, in microseconds
+     */
+    EdtLoad(final int repaintHz, final Dimension repaintSize, final int invokeLaterHz, final long invokeLaterMicros) {
+        this.repaintHz = repaintHz;
+        this.invokeLaterHz = invokeLaterHz;
+        this.invokeLaterNanos = TimeUnit.MICROSECONDS.toNanos(invokeLaterMicros);
+        final JPanel panel = new JPanel(new GridLayout(0, 10));
+        for (int i = 0; i < LABELS; i++) {
+            final JLabel label = new JLabel("Label " + i);
+            label.setOpaque(true);
+            label.setBackground(i % 2 == 0 ? Color.WHITE : Color.LIGHT_GRAY);
+            panel.add(label);
+        }
+        panel.setSize(repaintSize);
+        panel.doLayout();
+        this.repainted = panel;
+        this.canvas = new BufferedImage(repaintSize.width, repaintSize.height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "EdtLoad");
+            t.setDaemon(true);
+            return t;
+        });
+        if (repaintHz > 0)
+            scheduler.scheduleAtFixedRate(() -> SwingUtilities.invokeLater(this::repaint), 0L, 1_000_000_000L / repaintHz, TimeUnit.NANOSECONDS);
+        if (invokeLaterHz > 0)
+            scheduler.scheduleAtFixedRate(() -> SwingUtilities.invokeLater(this::spin), 0L, 1_000_000_000L / invokeLaterHz, TimeUnit.NANOSECONDS);
+    }
+
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void repaint() {
+        final Graphics2D g = canvas.createGraphics();
+        try {
+            repainted.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void spin() {
+        final long deadline = System.nanoTime() + invokeLaterNanos;
+        while (System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of a {@code FluidSwipeEvent}, which the dispatcher performs for each listener and each sample.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventConstructionBenchmark {
+    private double gestureAmount = 0.5D;
+    private boolean naturalScrollingEnabled = true;
+
+    @Benchmark
+    public FluidSwipeEvent construct() {
+        return new FluidSwipeEvent(FluidSwipeEvent.Direction.LEFT_TO_RIGHT, naturalScrollingEnabled, true, gestureAmount,
+                FluidSwipeEvent.Phase.PROGRESS, FluidSwipeEvent.State.NOT_YET_DEFINED);
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import org.HdrHistogram.Histogram;
+
+import java.awt.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * End-to-end latency harness: a producer thread, standing for the platform input thread, emits gesture samples at a fixed rate
+ * through the test kit, while the EDT is kept busy by {@link EdtLoad}. The latency from the emission of each sample to its
+ * delivery to a listener is recorded into an HDR histogram, for each dispatch mode and rate; results are written as JSON.
+ * <br>
+ * Latencies are measured from the time each sample was <i>scheduled</i> to be emitted, so that a stalled producer
+ * does not hide the stall (coordinated omission). Each dispatch mode runs in its own JVM, as the way the EDT is reached
+ * is chosen once per JVM:
+ * <ul>
+ *     <li>{@code async}: requests are evaluated asynchronously, samples are posted via {@code SwingUtilities};</li>
+ *     <li>{@code sync}: the producer waits for requests to be evaluated, as the macOS handler does with
+ *     {@code -Dfluidswipe.macosSyncMode=true};</li>
+ *     <li>{@code eventDispatchEnforceHighPriority}: as {@code async}, but samples are posted via {@code SunToolkit};</li>
+ *     <li>{@code publishedSwipeRegions}: as {@code async}, but requests are decided by the producer with the published swipe-region map,
+ *     once the first one has been decided on the EDT.</li>
+ * </ul>
+ * Usage: {@code gradle :fluidswipe-benchmarks:latency -PlatencyArgs="-rates 60,120,240 -duration 5 -out latency.json"};
+ * see {@link Options} for the other options.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class LatencyHarness {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+    // length of each synthetic gesture.
+    private static final long GESTURE_NANOS = TimeUnit.MILLISECONDS.toNanos(500L);
+
+    private LatencyHarness() {
+        throw new AssertionError();
+    }
+
+    enum DispatchMode {
+        ASYNC("async", false),
+        SYNC("sync", false),
+        HIGH_PRIORITY("eventDispatchEnforceHighPriority", true, "--add-exports=java.desktop/sun.awt=ALL-UNNAMED", "-Dfluidswipe.eventDispatchEnforceHighPriority=true"),
+        PUBLISHED_REGIONS("publishedSwipeRegions", false, "-Dfluidswipe.publishedSwipeRegions=true");
+
+        final String id;
+        final boolean sunToolkit;
+        final List<String> jvmArgs;
+
+        DispatchMode(final String id, final boolean sunToolkit, final String... jvmArgs) {
+            this.id = id;
+            this.sunToolkit = sunToolkit;
+            this.jvmArgs = Arrays.asList(jvmArgs);
+        }
+
+        static DispatchMode of(final String id) {
+            for (DispatchMode mode : values()) {
+                if (mode.id.equals(id)) return mode;
+            }
+            throw new IllegalArgumentException("unknown dispatch mode: " + id);
+        }
+    }
+
+    /**
+     * The options of the harness, each followed by its value.
+     * <ul>
+     *     <li>{@code -modes}: comma-separated dispatch modes; defaults to all of them;</li>
+     *     <li>{@code -rates}: comma-separated sample rates, in Hz; defaults to {@code 60,120,240};</li>
+     *     <li>{@code -duration}: seconds spent measuring each rate; defaults to {@code 5};</li>
+     *     <li>{@code -warmup}: seconds spent warming up, before the first rate; defaults to {@code 2};</li>
+     *     <li>{@code -repaintHz}: repaints of the offscreen tree per second; defaults to {@code 60};</li>
+     *     <li>{@code -repaintSize}: size of the offscreen tree, as {@code WIDTHxHEIGHT}; defaults to {@code 800x600};</li>
+     *     <li>{@code -invokeLaterHz}: tasks posted to the EDT per second; defaults to {@code 1000};</li>
+     *     <li>{@code -invokeLaterMicros}: time each task keeps the EDT busy; defaults to {@code 50};</li>
+     *     <li>{@code -pipelineWarmUp}: comma-separated booleans, telling whether {@code FluidSwipe.warmUp()} completes before the first gesture;
+     *     each dispatch mode is measured once per value; defaults to {@code false};</li>
+     *     <li>{@code -out}: file the JSON results are written to; defaults to the standard output.</li>
+     * </ul>
+     */
+    static final class Options {
+        List<DispatchMode> modes = Arrays.asList(DispatchMode.values());
+        int[] rates = {60, 120, 240};
+        int durationSeconds = 5;
+        int warmupSeconds = 2;
+        int repaintHz = 60;
+        Dimension repaintSize = new Dimension(800, 600);
+        int invokeLaterHz = 1000;
+        long invokeLaterMicros = 50L;
+        boolean[] pipelineWarmUps = {false};
+        String out;
+        // set by the parent JVM when forking.
+        DispatchMode mode;
+        boolean pipelineWarmUp;
+        String result;
+
+        static Options parse(final String[] args) {
+            final Options options = new Options();
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length)
+                    throw new IllegalArgumentException("missing value for " + args[i]);
+                final String value = args[i + 1];
+                switch (args[i]) {
+                    case "-modes":
+                        options.modes = Arrays.stream(value.split(",")).map(DispatchMode::of).collect(Collectors.toList());
+                        break;
+                    case "-rates":
+                        options.rates = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                        break;
+                    case "-duration":
+                        options.durationSeconds = Integer.parseInt(value);
+                        break;
+                    case "-warmup":
+                        options.warmupSeconds = Integer.parseInt(value);
+                        break;
+                    case "-repaintHz":
+                        options.repaintHz = Integer.parseInt(value);
+                        break;
+                    case "-repaintSize": {
+                        final String[] size = value.split("x");
+                        options.repaintSize = new Dimension(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+                        break;
+                    }
+                    case "-invokeLaterHz":
+                        options.invokeLaterHz = Integer.parseInt(value);
+                        break;
+                    case "-invokeLaterMicros":
+                        options.invokeLaterMicros = Long.parseLong(value);
+                        break;
+                    case "-pipelineWarmUp": {
+                        final String[] values = value.split(",");
+                        options.pipelineWarmUps = new boolean[values.length];
+                        for (int j = 0; j < values.length; j++) options.pipelineWarmUps[j] = Boolean.parseBoolean(values[j]);
+                        break;
+                    }
+                    case "-warmUpThisRun":
+                        options.pipelineWarmUp = Boolean.parseBoolean(value);
+                        break;
+                    case "-out":
+                        options.out = value;
+                        break;
+                    case "-mode":
+                        options.mode = DispatchMode.of(value);
+                        break;
+                    case "-result":
+                        options.result = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown option: " + args[i]);
+                }
+            }
+            return options;
+        }
+
+        String toJson() {
+            return "{\"modes\": [" + modes.stream().map(m -> '"' + m.id + '"').collect(Collectors.joining(", ")) + "]"
+                    + ", \"ratesHz\": " + Arrays.toString(rates)
+                    + ", \"durationSeconds\": " + durationSeconds
+                    + ", \"warmupSeconds\": " + warmupSeconds
+                    + ", \"repaintHz\": " + repaintHz
+                    + ", \"repaintSize\": \"" + repaintSize.width + 'x' + repaintSize.height + '"'
+                    + ", \"invokeLaterHz\": " + invokeLaterHz
+                    + ", \"invokeLaterMicros\": " + invokeLaterMicros
+                    + ", \"pipelineWarmUp\": " + Arrays.toString(pipelineWarmUps) + '}';
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options options = Options.parse(args);
+        if (options.mode == null) {
+            fork(options, args);
+        } else {
+            final String results = new LatencyRun(options).run();
+            Files.write(Paths.get(options.result), results.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Runs each dispatch mode in a new JVM, once per pipeline warm-up setting, and merges the results.
+    private static void fork(final Options options, final String[] args) throws IOException, InterruptedException {
+        final List<String> results = new ArrayList<>();
+        for (DispatchMode mode : options.modes) {
+            for (boolean pipelineWarmUp : options.pipelineWarmUps) {
+                final Path result = Files.createTempFile("fluidswipe-latency-", ".json");
+                try {
+                    final List<String> command = new ArrayList<>();
+                    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+                    command.add("-Djava.awt.headless=true");
+                    command.addAll(mode.jvmArgs);
+                    command.add("-cp");
+                    command.add(System.getProperty("java.class.path"));
+                    command.add(LatencyHarness.class.getName());
+                    command.addAll(Arrays.asList(args));
+                    command.addAll(Arrays.asList("-mode", mode.id, "-warmUpThisRun", String.valueOf(pipelineWarmUp), "-result", result.toString()));
+                    System.err.println("# Dispatch mode: " + mode.id + ", pipeline warm-up: " + pipelineWarmUp);
+                    final int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+                    if (exitCode != 0)
+                        throw new IllegalStateException("dispatch mode " + mode.id + " failed with exit code " + exitCode);
+                    results.add(new String(Files.readAllBytes(result), StandardCharsets.UTF_8));
+                } finally {
+                    Files.deleteIfExists(result);
+                }
+            }
+        }
+        final String json = "{\n  \"jvm\": \"" + System.getProperty("java.vm.name") + ' ' + System.getProperty("java.version") + "\""
+                + ",\n  \"os\": \"" + System.getProperty("os.name") + ' ' + System.getProperty("os.arch") + "\""
+                + ",\n  \"processors\": " + Runtime.getRuntime().availableProcessors()
+                + ",\n  \"config\": " + options.toJson()
+                + ",\n  \"results\": [\n" + String.join(",\n", results) + "\n  ]\n}\n";
+        if (options.out == null) {
+            System.out.print(json);
+        } else {
+            Files.write(Paths.get(options.out), json.getBytes(StandardCharsets.UTF_8));
+            System.err.println("# Results written to " + options.out);
+        }
+    }
+
+    // Measures a single dispatch mode, in the current JVM.
+    private static final class LatencyRun extends FluidSwipeAdapter {
+        private final Options options;
+        private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+        private final ComponentTrees tree;
+        private final Point location;
+        // scheduled emission times of the samples of the current gesture; written by the producer before each sample is emitted.
+        private final long[] scheduled;
+        private final Histogram sampleLatency = new Histogram(3);
+        private final Histogram beginLatency = new Histogram(3);
+        private volatile long beginRequestNanos;
+        private volatile CountDownLatch ended;
+        private int received; // EDT-confined
+        // the longest gap between the deliveries of consecutive samples of a gesture, which includes the emission period; EDT-confined.
+        private long lastDeliveryNanos;
+        private long worstPauseNanos;
+        private long gestures;
+        private long warmUpMicros = -1L;
+        private long firstBeginMicros;
+        private long firstMaxSampleMicros;
+        private long timeToFirstGestureMillis;
+
+        LatencyRun(final Options options) {
+            this.options = options;
+            this.tree = ComponentTrees.build(ComponentTrees.Shape.DEEP, 10, false, this);
+            tree.getRoot().addNotify(); // stands in for a shown window: swipe-region maps are published for displayable roots only.
+            this.location = tree.getLeafLocation();
+            this.scheduled = new long[(int) (Arrays.stream(options.rates).max().orElse(0) * GESTURE_NANOS / NANOS_PER_SECOND) + 1];
+        }
+
+        String run() throws InterruptedException {
+            final EdtLoad load = new EdtLoad(options.repaintHz, options.repaintSize, options.invokeLaterHz, options.invokeLaterMicros);
+            FluidSwipeTestKit.install(handler, null);
+            if (options.pipelineWarmUp)
+                warmUpMicros = FluidSwipe.warmUp().join().toNanos() / 1000L;
+            FluidSwipe.startEventMonitoring();
+            load.start();
+            try {
+                measureFirstGesture(options.rates[0]);
+                if (options.warmupSeconds > 0)
+                    measure(options.rates[0], options.warmupSeconds);
+                final List<String> results = new ArrayList<>();
+                for (int rate : options.rates) {
+                    sampleLatency.reset();
+                    beginLatency.reset();
+                    worstPauseNanos = 0L;
+                    gestures = 0L;
+                    measure(rate, options.durationSeconds);
+                    results.add(toJson(rate));
+                }
+                return String.join(",\n", results);
+            } finally {
+                load.stop();
+                FluidSwipe.stopEventMonitoring();
+                FluidSwipeTestKit.uninstall();
+            }
+        }
+
+        // The first gesture of the JVM, which pays for whatever the pipeline warm-up did not do.
+        private void measureFirstGesture(final int rateHz) throws InterruptedException {
+            gesture(rateHz);
+            firstBeginMicros = beginLatency.getMaxValue() / 1000L;
+            firstMaxSampleMicros = sampleLatency.getMaxValue() / 1000L;
+            timeToFirstGestureMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            sampleLatency.reset();
+            beginLatency.reset();
+            worstPauseNanos = 0L;
+        }
+
+        private void measure(final int rateHz, final int seconds) throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            while (System.nanoTime() < deadline) {
+                gesture(rateHz);
+                gestures++;
+            }
+        }
+
+        private void gesture(final int rateHz) throws InterruptedException {
+            final long period = NANOS_PER_SECOND / rateHz;
+            final int samplesPerGesture = (int) Math.max(2L, GESTURE_NANOS / period);
+            ended = new CountDownLatch(1);
+            beginRequestNanos = System.nanoTime();
+            if (!begin())
+                throw new IllegalStateException("fluid-swipe request not accepted");
+            long next = System.nanoTime();
+            for (int i = 1; i <= samplesPerGesture; i++) {
+                next += period;
+                scheduled[i - 1] = next;
+                waitUntil(next);
+                handler.progress((double) i / samplesPerGesture, true);
+            }
+            waitUntil(next + period);
+            handler.end(true, 1.0D);
+            ended.await();
+        }
+
+        private boolean begin() {
+            if (options.mode == DispatchMode.SYNC) {
+                if (!handler.requestBeginAndWait(tree.getRoot(), location.x, location.y, FluidSwipeEvent.Direction.LEFT_TO_RIGHT))
+                    return false;
+            } else {
+                final int vetoCount = handler.getVetoCount();
+                handler.requestBegin(tree.getRoot(), location.x, location.y, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+                while (!handler.isGestureActive()) { // the platform input thread learns the outcome of the request asynchronously.
+                    if (handler.getVetoCount() != vetoCount)
+                        return false;
+                    LockSupport.parkNanos(10_000L);
+                }
+            }
+            handler.logicallyBegin();
+            return true;
+        }
+
+        private static void waitUntil(final long nanoTime) {
+            long remaining;
+            while ((remaining = nanoTime - System.nanoTime()) > 0L) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            beginLatency.recordValue(System.nanoTime() - beginRequestNanos);
+            received = 0;
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+            final long now = System.nanoTime();
+            if (received > 0) worstPauseNanos = Math.max(worstPauseNanos, now - lastDeliveryNanos);
+            lastDeliveryNanos = now;
+            sampleLatency.recordValue(Math.max(0L, now - scheduled[received++]));
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            ended.countDown();
+        }
+
+        private String toJson(final int rateHz) {
+            return String.format(Locale.ROOT, "    {\"mode\": \"%s\", \"sunToolkit\": %b, \"rateHz\": %d, \"gestures\": %d, \"samples\": %d,%n"
+                            + "     \"pipelineWarmUp\": %b, \"warmUpMicros\": %d,%n"
+                            + "     \"firstGesture\": {\"beginMicros\": %d, \"maxSampleMicros\": %d, \"timeToFirstGestureMillis\": %d},%n"
+                            + "     \"sampleLatencyMicros\": %s,%n"
+                            + "     \"beginLatencyMicros\": %s,%n"
+                            + "     \"worstPauseMicros\": %.1f}",
+                    options.mode.id, options.mode.sunToolkit, rateHz, gestures, sampleLatency.getTotalCount(),
+                    options.pipelineWarmUp, warmUpMicros, firstBeginMicros, firstMaxSampleMicros, timeToFirstGestureMillis,
+                    percentiles(sampleLatency), percentiles(beginLatency), worstPauseNanos / 1000.0D);
+        }
+
+        private static String percentiles(final Histogram histogram) {
+            return String.format(Locale.ROOT, "{\"p50\": %.1f, \"p99\": %.1f, \"p99.9\": %.1f, \"max\": %.1f}",
+                    histogram.getValueAtPercentile(50.0D) / 1000.0D, histogram.getValueAtPercentile(99.0D) / 1000.0D,
+                    histogram.getValueAtPercentile(99.9D) / 1000.0D, histogram.getMaxValue() / 1000.0D);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dispatching of gesture samples to the listeners of the swipeable component, driving the dispatcher
+ * through the test kit; the UI thread is replaced by a {@link VirtualUIExecutor} run by the benchmark thread,
+ * so that the hop to the EDT – measured separately, by {@code ThreadingBenchmark} – is excluded.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ListenerFanOutBenchmark {
+    private static final int SAMPLES_PER_GESTURE = 30;
+
+    @Param({"1", "10", "100"})
+    public int listenerCount;
+
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private ComponentTrees tree;
+    private Point location;
+    private double gestureAmount;
+
+    // Consumes the events, so that their construction cannot be eliminated.
+    private static final class ConsumingListener implements FluidSwipeListener {
+        private final transient Blackhole blackhole;
+
+        ConsumingListener(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            blackhole.consume(e);
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+            blackhole.consume(e);
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        tree = ComponentTrees.build(ComponentTrees.Shape.DEEP, 10, false, new ConsumingListener(blackhole));
+        for (int i = 1; i < listenerCount; i++) {
+            FluidSwipe.addListenerTo(tree.getSwipeable(), new ConsumingListener(blackhole));
+        }
+        location = tree.getLeafLocation();
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+        if (!begin())
+            throw new IllegalStateException("fluid-swipe request not accepted");
+    }
+
+    @TearDown
+    public void tearDown() {
+        end();
+        FluidSwipe.stopEventMonitoring();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    @Benchmark
+    public void progress() {
+        gestureAmount = gestureAmount >= 1.0D ? 0.0D : gestureAmount + 0.01D;
+        handler.progress(gestureAmount, true);
+        executor.runNext();
+    }
+
+    // A whole gesture, from the request to the end; the ongoing gesture started in setup is not affected.
+    @Benchmark
+    public boolean swipe() {
+        end();
+        final boolean started = begin();
+        for (int i = 1; i <= SAMPLES_PER_GESTURE; i++) {
+            handler.progress((double) i / SAMPLES_PER_GESTURE, true);
+        }
+        end();
+        begin();
+        return started;
+    }
+
+    private boolean begin() {
+        handler.requestBegin(tree.getRoot(), location.x, location.y, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        if (!handler.isGestureActive())
+            return false;
+        handler.logicallyBegin();
+        executor.runPending();
+        return true;
+    }
+
+    private void end() {
+        handler.end(true, 1.0D);
+        executor.runPending();
+    }
+}
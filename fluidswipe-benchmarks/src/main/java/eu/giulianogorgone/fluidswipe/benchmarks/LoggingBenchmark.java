@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Measures the cost of a disabled {@code FINEST} logging request, as performed on the gesture hot path.
+ * Run with {@code -prof gc} to verify that no allocation occurs.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+    private JComponent component;
+    private double eventX;
+
+    @Setup
+    public void setup() {
+        Logging.init("FluidSwipeBenchmark", Level.INFO, null);
+        component = new JPanel();
+        eventX = 42.0D;
+    }
+
+    @Benchmark
+    public void disabledFinestConstant() {
+        Logging.logFinest("done");
+    }
+
+    @Benchmark
+    public void disabledFinestFormat() {
+        Logging.logFinest("%s: vetoed fluid-swipe event", component);
+    }
+
+    @Benchmark
+    public void disabledFinestSupplier() {
+        Logging.logFinest(() -> component + ": vetoed fluid-swipe event");
+    }
+
+    @Benchmark
+    public void disabledFinestGuarded() {
+        if (Logging.isFinestLoggable())
+            Logging.logFinest("eventX: " + eventX + ", component: " + component);
+    }
+
+    // Baseline: the eager concatenation performed before the level check.
+    @Benchmark
+    public void disabledFinestEagerConcat() {
+        Logging.logFinest("eventX: " + eventX + ", component: " + component);
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import eu.giulianogorgone.fluidswipe.components.AnimPainterDelegate;
+import eu.giulianogorgone.fluidswipe.components.AnimationQuality;
+import eu.giulianogorgone.fluidswipe.components.impl.FluidSwipePager;
+import eu.giulianogorgone.fluidswipe.components.impl.FluidSwipePagerAdapter;
+import eu.giulianogorgone.fluidswipe.components.impl.TiledNavigationSwipeAnimSupport;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the painting of a full swipe animation by a {@link FluidSwipePager}, whose painter slides the page to navigate from
+ * over the destination page, with a parallax effect and, unless shadows are disabled, a dimming overlay and an edge shadow.
+ * Each invocation paints {@value #FRAMES} frames, the gesture amount growing from {@code 0.0} to {@code 1.0}; results are per frame.
+ * <br>
+ * The sweep covers the size of the target in device pixels, from 800x600 to 5K; the scale factor, so that the logical size of the pages
+ * is the size of the target divided by it; the type of the target image, among which {@code COMPATIBLE} stands for an image compatible
+ * with the default screen (for {@code VolatileImage} targets, only the transparency of the type is relevant); and whether shadows are painted.
+ * Methods suffixed with {@code Software} and {@code XRender} run on the respective Java2D pipelines; both require a display,
+ * e.g. an X virtual framebuffer. The sweep can be narrowed with {@code -p}, e.g.
+ * {@code -PjmhArgs="SwipePaintingBenchmark -p target=BUFFERED -p pageSize=1920x1080"}.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SwipePaintingBenchmark {
+    private static final int FRAMES = 60;
+    private static final String DISPLAY = "-Djava.awt.headless=false";
+    private static final String HEAP = "-Xmx2g";
+
+    public enum Target {
+        BUFFERED,
+        VOLATILE
+    }
+
+    @Param({"800x600", "1920x1080", "2560x1440", "3840x2160", "5120x2880"})
+    private String pageSize;
+    @Param({"1", "2"})
+    private int scale;
+    @Param({"INT_RGB", "INT_ARGB", "INT_ARGB_PRE", "COMPATIBLE"})
+    private String imageType;
+    @Param({"true", "false"})
+    private boolean shadows;
+    @Param({"BUFFERED", "VOLATILE"})
+    private Target target;
+    @Param({"false", "true"})
+    private boolean tiled;
+
+    private final FluidSwipeEvent[] events = new FluidSwipeEvent[FRAMES];
+    private FluidSwipePager<ContentPage> pager;
+    private SlidingPainter painter;
+    private GraphicsConfiguration gc;
+    private BufferedImage bufferedImage;
+    private VolatileImage volatileImage;
+    private int width;
+    private int height;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final int separator = pageSize.indexOf('x');
+        width = Integer.parseInt(pageSize.substring(0, separator));
+        height = Integer.parseInt(pageSize.substring(separator + 1));
+        if (target == Target.VOLATILE || imageType.equals("COMPATIBLE")) {
+            if (GraphicsEnvironment.isHeadless())
+                throw new IllegalStateException(target + " " + imageType + " targets require a display");
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        for (int i = 0; i < FRAMES; i++) {
+            events[i] = new FluidSwipeEvent(FluidSwipeEvent.Direction.RIGHT_TO_LEFT, true, true, i / (FRAMES - 1.0D),
+                    FluidSwipeEvent.Phase.PROGRESS, FluidSwipeEvent.State.NOT_YET_DEFINED);
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            pager = new FluidSwipePager<>(new FluidSwipePagerAdapter<ContentPage>() {
+                @Override
+                public int getPageCount() {
+                    return 3;
+                }
+
+                @Override
+                public ContentPage createPage() {
+                    return new ContentPage();
+                }
+
+                @Override
+                public void bindPage(final ContentPage page, final int index) {
+                    page.index = index;
+                }
+            });
+            pager.setDoubleBuffered(false); // painted straight into the target.
+            pager.setSize(width / scale, height / scale);
+            pager.setCurrentPage(1);
+            pager.doLayout();
+            pager.getAnimationQualityGovernor().setFixedQuality(shadows ? AnimationQuality.FULL : AnimationQuality.NO_SHADOWS);
+            pager.setTiledCapture(tiled);
+            painter = new SlidingPainter(pager);
+            pager.setAnimPainterDelegate(painter);
+        });
+        if (target == Target.BUFFERED) {
+            bufferedImage = gc != null ? gc.createCompatibleImage(width, height)
+                    : new BufferedImage(width, height, (Integer) BufferedImage.class.getField("TYPE_" + imageType).get(null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (volatileImage != null) volatileImage.flush();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    @Fork(value = 1, jvmArgsAppend = {DISPLAY, HEAP, "-Dsun.java2d.xrender=false", "-Dsun.java2d.pmoffscreen=false"})
+    public void swipeSoftware() throws Exception {
+        swipe();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES)
+    @Fork(value = 1, jvmArgsAppend = {DISPLAY, HEAP, "-Dsun.java2d.xrender=true"})
+    public void swipeXRender() throws Exception {
+        swipe();
+    }
+
+    // Painting happens on the EDT, as in applications; the whole sequence is a single task, so that the hop is not measured.
+    private void swipe() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            for (FluidSwipeEvent event : events) {
+                painter.event = event;
+                final Graphics2D g = createTargetGraphics();
+                try {
+                    g.scale(scale, scale);
+                    pager.paint(g);
+                } finally {
+                    g.dispose();
+                }
+            }
+            if (volatileImage != null) Toolkit.getDefaultToolkit().sync(); // flush the accelerated pipeline.
+        });
+    }
+
+    private Graphics2D createTargetGraphics() {
+        if (target == Target.BUFFERED) return bufferedImage.createGraphics();
+        if (volatileImage == null || volatileImage.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (volatileImage != null) volatileImage.flush();
+            volatileImage = gc.createCompatibleVolatileImage(width, height,
+                    imageType.equals("INT_RGB") || imageType.equals("COMPATIBLE") ? Transparency.OPAQUE : Transparency.TRANSLUCENT);
+        }
+        return volatileImage.createGraphics();
+    }
+
+    // Slides the page to navigate from over the destination page, which moves at a third of its speed.
+    private static final class SlidingPainter implements AnimPainterDelegate {
+        private static final int SHADOW_WIDTH = 24;
+        private final FluidSwipePager<?> pager;
+        private FluidSwipeEvent event;
+
+        SlidingPainter(final FluidSwipePager<?> pager) {
+            this.pager = pager;
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+        }
+
+        @Override
+        public boolean isActive() {
+            return event != null;
+        }
+
+        @Override
+        public void paint(final Graphics g) {
+            final Graphics2D g2 = (Graphics2D) g;
+            final Rectangle bounds = pager.getPageBounds();
+            final double amount = event.getGestureAmount();
+            final int offset = (int) (amount * bounds.width);
+            final Image destination = pager.getDestinationPage(event);
+            final boolean shadows = pager.getAnimationQuality().paintsShadows();
+            if (destination != null) {
+                g2.drawImage(destination, (bounds.width - offset) / 3, 0, bounds.width, bounds.height, null);
+                if (shadows) {
+                    g2.setColor(new Color(0, 0, 0, (int) (96 * (1.0D - amount))));
+                    g2.fillRect(0, 0, bounds.width, bounds.height);
+                }
+            }
+            if (shadows) {
+                final int edge = bounds.width - offset;
+                g2.setPaint(new GradientPaint(edge, 0, new Color(0, 0, 0, 80), edge + SHADOW_WIDTH, 0, new Color(0, 0, 0, 0)));
+                g2.fillRect(edge, 0, SHADOW_WIDTH, bounds.height);
+            }
+            TiledNavigationSwipeAnimSupport.paintPageToNavFrom(pager, event, g2, -offset, 0);
+        }
+    }
+
+    // A page with a gradient background and a few lines of text.
+    private static final class ContentPage extends JComponent {
+        private int index;
+
+        @Override
+        protected void paintComponent(final Graphics g) {
+            final Graphics2D g2 = (Graphics2D) g;
+            g2.setPaint(new GradientPaint(0, 0, Color.WHITE, getWidth(), getHeight(), index % 2 == 0 ? Color.LIGHT_GRAY : Color.PINK));
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            g2.setColor(Color.DARK_GRAY);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            final int lineHeight = g2.getFontMetrics().getHeight();
+            for (int y = lineHeight; y < getHeight(); y += lineHeight)
+                g2.drawString("Page " + index + ", line " + y / lineHeight + ": the quick brown fox jumps over the lazy dog", 16, y);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.benchmarks;
+
+import eu.giulianogorgone.fluidswipe.utils.Threading;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+
+import javax.swing.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hop from the platform input thread (here, the benchmark thread) to the EDT, as performed by {@link Threading}
+ * for each fluid-swipe request and sample. Methods suffixed with {@code SunToolkit} run with {@code sun.awt} exported,
+ * so that the {@code SunToolkit} API is used instead of the {@code SwingUtilities} one.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ThreadingBenchmark {
+    private static final int BATCH_SIZE = 100;
+    private static final String SUN_AWT_EXPORT = "--add-exports=java.desktop/sun.awt=ALL-UNNAMED";
+    private static final Runnable NOP = () -> {
+    };
+
+    private JComponent target;
+
+    @Setup
+    public void setup() {
+        target = new JPanel();
+    }
+
+    @Benchmark
+    public void performAndWait() throws InterruptedException, InvocationTargetException {
+        Threading.performOnAWTUIThreadAndWait(target, NOP);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", SUN_AWT_EXPORT})
+    public void performAndWaitSunToolkit() throws InterruptedException, InvocationTargetException {
+        Threading.performOnAWTUIThreadAndWait(target, NOP);
+    }
+
+    // Posts a batch of samples, as the platform input thread does during a gesture, and waits for the last one.
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void performBatch() throws InterruptedException {
+        postBatch();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    @Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", SUN_AWT_EXPORT})
+    public void performBatchSunToolkit() throws InterruptedException {
+        postBatch();
+    }
+
+    private void postBatch() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        for (int i = 1; i < BATCH_SIZE; i++) {
+            Threading.performOnAWTUIThread(target, NOP);
+        }
+        Threading.performOnAWTUIThread(target, done::countDown);
+        done.await();
+    }
+}
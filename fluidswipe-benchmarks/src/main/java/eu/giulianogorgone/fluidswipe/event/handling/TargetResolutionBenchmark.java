@@ -0,0 +1,94 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.benchmarks.ComponentTrees;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the resolution of the swipeable component performed when a fluid-swipe request is evaluated:
+ * the hit-test, the visit of the ancestors of the deepest component and the visit of the ancestors of the swipeable component.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TargetResolutionBenchmark {
+    @Param({"DEEP", "WIDE"})
+    public ComponentTrees.Shape shape;
+
+    @Param({"10", "100"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean vetoers;
+
+    private ComponentTrees tree;
+    private Point location;
+    private FluidSwipeEvent event;
+
+    @Setup
+    public void setup() {
+        tree = ComponentTrees.build(shape, size, vetoers, null);
+        location = tree.getLeafLocation();
+        event = new FluidSwipeEvent(FluidSwipeEvent.Direction.LEFT_TO_RIGHT, true, true, 0.0D,
+                FluidSwipeEvent.Phase.MAY_BEGIN, FluidSwipeEvent.State.NOT_YET_DEFINED);
+    }
+
+    @Benchmark
+    public Component hitTest() {
+        return SwingUtilities.getDeepestComponentAt(tree.getRoot(), location.x, location.y);
+    }
+
+    @Benchmark
+    public Pair<JComponent, FluidSwipeListener[]> deepestComponentWithListeners() {
+        return FluidSwipeDispatcher.getDeepestComponentWithListeners(tree.getLeaf(), event);
+    }
+
+    @Benchmark
+    public boolean eventVetoedByAncestors() {
+        return FluidSwipeDispatcher.eventVetoedByAncestors(tree.getSwipeable(), event);
+    }
+
+    // The whole resolution, as performed by the dispatcher.
+    @Benchmark
+    public boolean resolve() {
+        final Component deepest = SwingUtilities.getDeepestComponentAt(tree.getRoot(), location.x, location.y);
+        final Pair<JComponent, FluidSwipeListener[]> pair = FluidSwipeDispatcher.getDeepestComponentWithListeners(deepest, event);
+        return pair != null && !FluidSwipeDispatcher.eventVetoedByAncestors(pair.getLeft(), event);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares making swipeable every cell of a large synthetic grid via {@link FluidSwipe#addListenerTo(JComponent, FluidSwipeListener)}
+ * with registering a listener once for the class of the cells via {@link FluidSwipe#addListenerToType(Class, FluidSwipeListener)}:
+ * {@code register} measures the registration, whose allocation is what the grid retains: as {@code gc.alloc.rate.norm}, reported by {@code -prof gc},
+ * also accounts for the grid built before each single-shot iteration, the difference between the two registrations is what matters; {@code resolve} measures the resolution of the swipeable component starting from a cell.
+ * Usage: {@code gradle :fluidswipe-benchmarks:jmh -PjmhArgs="TypeRegistrationBenchmark -prof gc"}
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx2g"})
+public class TypeRegistrationBenchmark {
+    public enum Registration {
+        INSTANCE, TYPE
+    }
+
+    static final class GridCell extends JComponent {
+    }
+
+    private static final FluidSwipeListener LISTENER = new FluidSwipeAdapter() {
+    };
+
+    @State(Scope.Thread)
+    public static class Grid {
+        @Param({"50000"})
+        public int cells;
+
+        @Param({"INSTANCE", "TYPE"})
+        public Registration registration;
+
+        JPanel root;
+        int next;
+
+        void build() {
+            root = new JPanel(null);
+            final int columns = 250;
+            for (int i = 0; i < cells; i++) {
+                final GridCell cell = new GridCell();
+                cell.setBounds(i % columns * 8, i / columns * 8, 8, 8);
+                root.add(cell);
+            }
+        }
+
+        void register() {
+            if (registration == Registration.TYPE) {
+                FluidSwipe.addListenerToType(GridCell.class, LISTENER);
+            } else {
+                for (int i = 0; i < cells; i++) FluidSwipe.addListenerTo((JComponent) root.getComponent(i), LISTENER);
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void unregister() {
+            FluidSwipe.removeListenerFromType(GridCell.class, LISTENER);
+        }
+    }
+
+    // A grid built, but not registered, before each iteration.
+    @State(Scope.Thread)
+    public static class UnregisteredGrid extends Grid {
+        @Setup(Level.Iteration)
+        public void setup() {
+            build();
+        }
+    }
+
+    // A grid built and registered once.
+    @State(Scope.Thread)
+    public static class RegisteredGrid extends Grid {
+        final FluidSwipeEvent event = new FluidSwipeEvent(FluidSwipeEvent.Direction.LEFT_TO_RIGHT, true, true, 0.0D,
+                FluidSwipeEvent.Phase.MAY_BEGIN, FluidSwipeEvent.State.NOT_YET_DEFINED);
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            build();
+            register();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public JPanel register(final UnregisteredGrid grid) {
+        grid.register();
+        return grid.root;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Pair<JComponent, FluidSwipeListener[]> resolve(final RegisteredGrid grid) {
+        final int i = grid.next = (grid.next + 7919) % grid.cells; // scattered, to defeat caching.
+        return FluidSwipeDispatcher.getDeepestComponentWithListeners(grid.root.getComponent(i), grid.event);
+    }
+}
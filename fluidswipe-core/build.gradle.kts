@@ -1,6 +1,7 @@
 plugins {
     idea
     id("java-library")
+    id("java-test-fixtures")
     id("maven-publish")
 }
 
@@ -10,4 +11,16 @@ repositories {
 dependencies {
     implementation(project(":fluidswipe-handler-api"))
     implementation(project(":fluidswipe-utils"))
+
+    // The test kit ships as a separate artifact, so that test doubles stay out of the library.
+    testFixturesApi(project(":fluidswipe-handler-api"))
+    testFixturesImplementation(project(":fluidswipe-utils"))
+
+    // https://mvnrepository.com/artifact/org.junit.jupiter/junit-jupiter-api
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.1")
+    // https://mvnrepository.com/artifact/org.junit.jupiter/junit-jupiter-engine
+    testImplementation("org.junit.jupiter:junit-jupiter-engine:5.10.1")
+}
+tasks.test {
+    useJUnitPlatform()
 }
@@ -15,12 +15,26 @@
 
 package eu.giulianogorgone.fluidswipe;
 
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeComponentVetoer;
 import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeListenerList;
 import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
 import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeDispatcher;
+import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeMetrics;
+import eu.giulianogorgone.fluidswipe.event.handling.PipelineWarmUp;
+import eu.giulianogorgone.fluidswipe.event.handling.SwipeRegions;
+import eu.giulianogorgone.fluidswipe.event.handling.TypeRegistrations;
+import eu.giulianogorgone.fluidswipe.event.handling.WindowInterest;
+import eu.giulianogorgone.fluidswipe.management.FluidSwipeMetricsMXBean;
+import eu.giulianogorgone.fluidswipe.management.ListenerFootprint;
+import eu.giulianogorgone.fluidswipe.utils.ConfigFlags;
 
 import javax.swing.*;
+import java.awt.*;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * This class manages the relationship between {@link JComponent}s and the {@link FluidSwipeListener}s
@@ -36,18 +50,42 @@ public final class FluidSwipe {
 
     private static boolean continueGestureOnFingerRelease = true;
 
+    static {
+        if (ConfigFlags.warmUp) warmUp();
+    }
+
+    /**
+     * This method warms up the gesture pipeline in background, so that the first gesture performed by the user runs as smoothly as the following ones:
+     * on a background thread, the platform handler is initialized, then a few synthetic gestures are dispatched to an offscreen component tree
+     * and their swipe animation painted; each synthetic gesture takes a short task on the EDT. Repeated calls have no effects.
+     * If the JVM has been started with {@code -Dfluidswipe.warmUp=true}, this method is called as soon as this class is initialized.
+     * <br>
+     * Synthetic gestures never reach the listeners of the application, but they are reported by {@link FluidSwipeMetricsMXBean} as any other gesture.
+     *
+     * @return a future completed with the time spent warming up, or exceptionally if warming up failed.
+     */
+    public static CompletableFuture<Duration> warmUp() {
+        return PipelineWarmUp.start();
+    }
+
     /**
      * This method starts event monitoring. Repeated calls have no effects.
+     * The handler is also told how many windows contain swipeable components, so that it can pause monitoring while there are none.
+     * If the JVM has been started with {@code -Dfluidswipe.jmxMetrics=true}, a {@link FluidSwipeMetricsMXBean} is also registered
+     * in the platform {@code MBeanServer}.
      */
     public static void startEventMonitoring() {
-        FluidSwipeDispatcher.nativeHandler.startEventMonitoring();
+        FluidSwipeDispatcher.getHandler().startEventMonitoring();
+        WindowInterest.publish(true);
+        FluidSwipeMetrics.registerIfEnabled();
     }
 
     /**
      * This method stops event monitoring. Repeated calls have no effects.
+     * A gesture being dispatched still logically ends, and its listeners are notified, before event monitoring stops.
      */
     public static void stopEventMonitoring() {
-        FluidSwipeDispatcher.nativeHandler.stopEventMonitoring();
+        FluidSwipeDispatcher.getHandler().stopEventMonitoring();
     }
 
 
@@ -63,11 +101,37 @@ public final class FluidSwipe {
                                      final FluidSwipeListener listener) {
         Objects.requireNonNull(target, "target is null");
         Objects.requireNonNull(listener, "listener is null");
-        FluidSwipeListenerList.installIfNeededAndGet(target).listenerList.add(listener);
+        if (FluidSwipeListenerList.get(target) == null) {
+            FluidSwipeListenerList.installIfNeededAndGet(target);
+            SwipeRegions.invalidate(target); // target became swipeable.
+        }
+        FluidSwipeListenerList.get(target).listenerList.add(listener);
     }
 
     /**
-     * This method removes a {@code FluidSwipeListener} from a {@code JComponent}. If the listener to be removed
+     * This method adds a {@code FluidSwipeListener} to a {@code JComponent}, as {@link #addListenerTo(JComponent, FluidSwipeListener)} does;
+     * however, the component holds the listener through a weak reference, so that the listener – and whatever it references,
+     * such as the model of a page – can be garbage collected while the component is still reachable. The listener is removed once
+     * garbage collected. Therefore, the listener must be strongly referenced elsewhere, e.g., by the object owning the page, for as long as it is needed.
+     *
+     * @param target   the component interested in listening for {@code FluidSwipeEvent}s
+     * @param listener the listener to be added to the specified component
+     * @throws NullPointerException if any argument is null.
+     * @see FluidSwipeListener
+     */
+    public static void addWeakListenerTo(final JComponent target,
+                                         final FluidSwipeListener listener) {
+        Objects.requireNonNull(target, "target is null");
+        Objects.requireNonNull(listener, "listener is null");
+        if (FluidSwipeListenerList.get(target) == null) {
+            FluidSwipeListenerList.installIfNeededAndGet(target);
+            SwipeRegions.invalidate(target); // target became swipeable.
+        }
+        FluidSwipeListenerList.get(target).addWeak(listener);
+    }
+
+    /**
+     * This method removes a {@code FluidSwipeListener} from a {@code JComponent}, whether it has been added weakly or not. If the listener to be removed
      * is not present, this method has no effect.
      *
      * @param target   the component to remove the {@code listener} from
@@ -81,7 +145,7 @@ public final class FluidSwipe {
         Objects.requireNonNull(listener, "listener is null");
         final FluidSwipeListenerList listenerList = FluidSwipeListenerList.get(target);
         if (listenerList != null)
-            listenerList.listenerList.remove(listener);
+            listenerList.remove(listener);
     }
 
     /**
@@ -99,6 +163,121 @@ public final class FluidSwipe {
             listenerList.listenerList.clear();
     }
 
+    /**
+     * This method adds a {@code FluidSwipeListener} to all the instances of a class of components, and of its subclasses, without storing
+     * anything in the instances: it is cheaper than {@link #addListenerTo(JComponent, FluidSwipeListener)} when many components of the same class
+     * must be swipeable, e.g., the cells of a large grid. Listeners added to a component precede those added to its class.
+     *
+     * @param type     the class of the components interested in listening for {@code FluidSwipeEvent}s
+     * @param listener the listener to be added to the specified class
+     * @throws NullPointerException if any argument is null.
+     * @see #addListenerToType(Class, Predicate, Function)
+     */
+    public static void addListenerToType(final Class<? extends JComponent> type,
+                                         final FluidSwipeListener listener) {
+        Objects.requireNonNull(type, "type is null");
+        Objects.requireNonNull(listener, "listener is null");
+        TypeRegistrations.addListener(type, null, c -> listener, listener);
+    }
+
+    /**
+     * This method makes swipeable the instances of a class of components, and of its subclasses, accepted by a filter, without storing anything in the instances.
+     * When a fluid-swipe gesture is requested over one of them, its listener is obtained from the specified factory, which is passed the component;
+     * thus, a listener can be bound to the component – or to its model – only for the duration of the gesture.
+     * The filter can be evaluated at any time on the EDT, and must be cheap; the factory may also be invoked for gestures that are eventually vetoed,
+     * and must not return {@code null}.
+     * <br>
+     * If the JVM has been started with {@code -Dfluidswipe.publishedSwipeRegions=true}, call {@link #vetoVerdictsChanged(JComponent)}
+     * when the filter starts or stops accepting a component.
+     *
+     * @param type            the class of the components interested in listening for {@code FluidSwipeEvent}s
+     * @param filter          the filter the components must be accepted by
+     * @param listenerFactory the factory of the listener of a component
+     * @param <T>             the class of the components
+     * @throws NullPointerException if any argument is null.
+     */
+    public static <T extends JComponent> void addListenerToType(final Class<T> type, final Predicate<? super T> filter,
+                                                                final Function<? super T, ? extends FluidSwipeListener> listenerFactory) {
+        Objects.requireNonNull(type, "type is null");
+        Objects.requireNonNull(filter, "filter is null");
+        Objects.requireNonNull(listenerFactory, "listenerFactory is null");
+        TypeRegistrations.addListener(type, filter, listenerFactory, listenerFactory);
+    }
+
+    /**
+     * This method removes a {@code FluidSwipeListener}, or a listener factory, from a class of components. If the listener to be removed
+     * has not been added to the very same class, this method has no effect.
+     *
+     * @param type     the class to remove the {@code listener} from
+     * @param listener the listener, or the listener factory, to be removed from the specified class
+     * @throws NullPointerException if any argument is null.
+     */
+    public static void removeListenerFromType(final Class<? extends JComponent> type,
+                                              final Object listener) {
+        Objects.requireNonNull(type, "type is null");
+        Objects.requireNonNull(listener, "listener is null");
+        TypeRegistrations.removeListener(type, listener);
+    }
+
+    /**
+     * This method adds a vetoer to all the instances of a class of components, and of its subclasses: each instance vetoes the fluid-swipe gestures
+     * the vetoer does not permit on its behalf, as if it implemented {@link eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer}.
+     *
+     * @param type   the class of the components
+     * @param vetoer the vetoer to be added to the specified class
+     * @param <T>    the class of the components
+     * @throws NullPointerException if any argument is null.
+     * @see FluidSwipeComponentVetoer
+     */
+    public static <T extends JComponent> void addVetoerToType(final Class<T> type, final FluidSwipeComponentVetoer<? super T> vetoer) {
+        Objects.requireNonNull(type, "type is null");
+        Objects.requireNonNull(vetoer, "vetoer is null");
+        TypeRegistrations.addVetoer(type, vetoer);
+    }
+
+    /**
+     * This method removes a vetoer from a class of components. If the vetoer to be removed has not been added to the very same class, this method has no effect.
+     *
+     * @param type   the class to remove the {@code vetoer} from
+     * @param vetoer the vetoer to be removed from the specified class
+     * @throws NullPointerException if any argument is null.
+     */
+    public static void removeVetoerFromType(final Class<? extends JComponent> type, final FluidSwipeComponentVetoer<?> vetoer) {
+        Objects.requireNonNull(type, "type is null");
+        Objects.requireNonNull(vetoer, "vetoer is null");
+        TypeRegistrations.removeVetoer(type, vetoer);
+    }
+
+    /**
+     * Returns the location at which the fluid-swipe gesture being requested or dispatched occurred, i.e., the location of the mouse cursor
+     * when the physical gesture started. It is known while vetoers are asked whether the gesture may begin, and until the gesture logically ends;
+     * thus, vetoers and listeners can tell which part of a component the gesture is directed to. Must be called on the EDT.
+     *
+     * @param component the component the location must be relative to
+     * @return the location, relative to {@code component}; {@code null} if no gesture is being requested or dispatched,
+     * or if vetoers are being asked on behalf of a request yet to come.
+     * @throws NullPointerException if component is null
+     */
+    public static Point getGestureLocation(final Component component) {
+        Objects.requireNonNull(component, "component is null");
+        return FluidSwipeDispatcher.getGestureLocation(component);
+    }
+
+    /**
+     * Notifies that the verdicts of a {@code FluidSwipeVetoer} may have changed, e.g., because a navigable component reached its first or last page.
+     * If the JVM has been started with {@code -Dfluidswipe.publishedSwipeRegions=true}, fluid-swipe requests are decided by the platform input thread
+     * with verdicts cached in advance, which must be refreshed after such a change; otherwise, this method has no effect.
+     * Must be called on the EDT.
+     *
+     * @param vetoer the vetoer whose verdicts may have changed
+     * @throws NullPointerException if vetoer is null
+     * @see eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer
+     */
+    public static void vetoVerdictsChanged(final JComponent vetoer) {
+        Objects.requireNonNull(vetoer, "vetoer is null");
+        SwipeRegions.invalidate(vetoer);
+    }
+
     /**
      * This method is used to modify the behavior of the event handler when the active input device stops receiving touches – in accordance with default settings,
      * any occurring gesture logically continues, until the gesture amount reaches the maximum value, typically {@code 1.0}; however,
@@ -107,7 +286,7 @@ public final class FluidSwipe {
      * @param continueGestureOnFingerRelease boolean value expressing whether any occurring gesture must <b>logically</b> continue if <b>physically</b> ended.
      */
     public static void setContinueGestureOnFingerRelease(final boolean continueGestureOnFingerRelease) {
-        FluidSwipe.continueGestureOnFingerRelease = FluidSwipeDispatcher.nativeHandler.setContinueGestureOnFingerRelease(continueGestureOnFingerRelease);
+        FluidSwipe.continueGestureOnFingerRelease = FluidSwipeDispatcher.getHandler().setContinueGestureOnFingerRelease(continueGestureOnFingerRelease);
     }
 
     /**
@@ -119,4 +298,39 @@ public final class FluidSwipe {
     public static boolean continuesGestureOnFingerRelease() {
         return continueGestureOnFingerRelease;
     }
+
+    /**
+     * This method sets the minimum page travel, in device pixels, a progress sample must cause to be delivered to the listeners:
+     * the page travel is the change of the gesture amount, times the width of the swipeable component, times the scale factor of its screen.
+     * Progress samples moving the page by less are suppressed, since they would not change what is painted; the last amount reached is
+     * delivered anyway before the gesture logically ends. Suppressed samples are reported by {@link FluidSwipeMetricsMXBean#getSuppressedSampleCount()}.
+     * <br>
+     * Defaults to the value of the {@code fluidswipe.progressPixelDelta} system property, or {@code 0.0} – every progress sample is delivered.
+     *
+     * @param pixelDelta the minimum page travel, in device pixels; {@code 0.0} to deliver every progress sample
+     * @throws IllegalArgumentException if pixelDelta is negative, infinite or NaN.
+     */
+    public static void setProgressPixelDelta(final double pixelDelta) {
+        FluidSwipeDispatcher.setProgressPixelDelta(pixelDelta);
+    }
+
+    /**
+     * Returns the minimum page travel, in device pixels, a progress sample must cause to be delivered to the listeners.
+     *
+     * @return the minimum page travel, in device pixels; {@code 0.0} if every progress sample is delivered.
+     * @see #setProgressPixelDelta(double)
+     */
+    public static double getProgressPixelDelta() {
+        return FluidSwipeDispatcher.getProgressPixelDelta();
+    }
+
+    /**
+     * Returns a report of the swipeable components not yet garbage collected, and of the listeners they retain, so that
+     * listeners keeping discarded components reachable can be spotted. Also reported by {@link FluidSwipeMetricsMXBean#getListenerFootprint()}.
+     *
+     * @return the footprint of the registered listeners.
+     */
+    public static ListenerFootprint getListenerFootprint() {
+        return FluidSwipeListenerList.footprint();
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components;
+
+import java.awt.*;
+
+/**
+ * The quality levels a swipe animation can be painted at, from the highest to the lowest. Each level trades part of the
+ * visual quality of the previous one for a cheaper frame:
+ * <ul>
+ *     <li>{@link #FULL}: shadows and dimming overlays are painted, and images are scaled with bicubic interpolation;</li>
+ *     <li>{@link #NO_SHADOWS}: shadows and dimming overlays are not painted;</li>
+ *     <li>{@link #NEAREST_NEIGHBOR_SCALING}: images are also scaled with nearest-neighbor interpolation;</li>
+ *     <li>{@link #REDUCED_RESOLUTION}: page snapshots are also rendered at half resolution, and must be drawn scaled to the page bounds.</li>
+ * </ul>
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see NavigationSwipeAnimSupport#getAnimationQuality()
+ */
+public enum AnimationQuality {
+    FULL(true, RenderingHints.VALUE_INTERPOLATION_BICUBIC, 1.0D),
+    NO_SHADOWS(false, RenderingHints.VALUE_INTERPOLATION_BICUBIC, 1.0D),
+    NEAREST_NEIGHBOR_SCALING(false, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, 1.0D),
+    REDUCED_RESOLUTION(false, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR, 0.5D);
+
+    private static final AnimationQuality[] LEVELS = values();
+
+    private final boolean paintsShadows;
+    private final Object interpolationHint;
+    private final double snapshotScale;
+
+    AnimationQuality(final boolean paintsShadows, final Object interpolationHint, final double snapshotScale) {
+        this.paintsShadows = paintsShadows;
+        this.interpolationHint = interpolationHint;
+        this.snapshotScale = snapshotScale;
+    }
+
+    /**
+     * Returns whether shadows and dimming overlays should be painted.
+     *
+     * @return {@code true} if shadows and dimming overlays should be painted; {@code false} otherwise.
+     */
+    public boolean paintsShadows() {
+        return paintsShadows;
+    }
+
+    /**
+     * Returns the value of the {@link RenderingHints#KEY_INTERPOLATION} hint images should be scaled with.
+     *
+     * @return a value of the {@link RenderingHints#KEY_INTERPOLATION} hint.
+     */
+    public Object getInterpolationHint() {
+        return interpolationHint;
+    }
+
+    /**
+     * Returns the scale page snapshots are rendered at, relative to the page bounds.
+     *
+     * @return the scale page snapshots are rendered at, in {@code (0.0, 1.0]}.
+     */
+    public double getSnapshotScale() {
+        return snapshotScale;
+    }
+
+    /**
+     * Returns the next lower level.
+     *
+     * @return the next lower level; this level, if it is the lowest.
+     */
+    public AnimationQuality lower() {
+        return LEVELS[Math.min(ordinal() + 1, LEVELS.length - 1)];
+    }
+
+    /**
+     * Returns the next higher level.
+     *
+     * @return the next higher level; this level, if it is the highest.
+     */
+    public AnimationQuality higher() {
+        return LEVELS[Math.max(ordinal() - 1, 0)];
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+
+import javax.swing.*;
+
+/**
+ * A {@link FluidSwipeVetoer} registered for a whole class of components via {@link FluidSwipe#addVetoerToType(Class, FluidSwipeComponentVetoer)},
+ * rather than implemented by the components themselves: it is asked on behalf of each instance of that class
+ * the same question a {@code FluidSwipeVetoer} is asked, in the same circumstances, and it is passed the instance being asked.
+ * Thus, third-party components can veto fluid-swipe gestures, and many components of the same class can share one vetoer
+ * without holding any per-instance state.
+ *
+ * @param <T> the class of the components this vetoer decides for
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipeVetoer
+ */
+@FunctionalInterface
+public interface FluidSwipeComponentVetoer<T extends JComponent> {
+    /**
+     * Decides whether the specified component permits the incoming fluid-swipe gesture.
+     *
+     * @param component the component the decision is taken on behalf of
+     * @param e         the fluid-swipe event
+     * @return {@code true} if the component permits the fluid-swipe gesture; {@code false} if the
+     * incoming physical gesture must not be interpreted as a fluid-swipe.
+     * @see FluidSwipeVetoer#permitFluidSwipeGesture(FluidSwipeEvent)
+     */
+    boolean permitFluidSwipeGesture(final T component, final FluidSwipeEvent e);
+}
@@ -75,6 +75,16 @@ public interface NavigationSwipeAnimSupport {
      */
     AnimPainterDelegate getFluidSwipeAnimationPainterDelegate();
 
+    /**
+     * Returns the quality level the swipe animation should be painted at; painters are expected to honor it,
+     * e.g., by not painting shadows if {@link AnimationQuality#paintsShadows()} returns {@code false}.
+     *
+     * @return the quality level the swipe animation should be painted at; {@link AnimationQuality#FULL}, unless overridden.
+     */
+    default AnimationQuality getAnimationQuality() {
+        return AnimationQuality.FULL;
+    }
+
     /**
      * Convenience method
      * @return {@code true} if a painter delegate exists, and if it is ready to paint; otherwise {@code false} is returned.
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.AnimationQuality;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.utils.Threading;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import javax.swing.event.SwingPropertyChangeSupport;
+import java.awt.*;
+import java.beans.PropertyChangeListener;
+import java.util.Objects;
+
+/**
+ * Adapts the {@link AnimationQuality} of the swipe animation of a component to the responsiveness of the EDT.
+ * While a gesture is dispatched to the component, the governor measures how long a task posted to the EDT waits before running
+ * – the queue delay – and, as reported by {@link #recordFramePaint(long)}, how long painting a frame takes. When either of them
+ * exceeds the frame budget for a few consecutive measurements, the quality is stepped down by one level; when both stay below
+ * half of the budget for a longer while, it is stepped up by one level. The quality is retained between gestures.
+ * <br>
+ * The governor is added as a {@code FluidSwipeListener} of the component it is constructed for. Instances of this class must be accessed on the EDT.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see AnimationQuality
+ */
+public class AnimationQualityGovernor extends FluidSwipeAdapter {
+    /**
+     * The default frame budget, that of a 60 Hz display.
+     */
+    public static final long DEFAULT_FRAME_BUDGET_NANOS = 16_666_667L;
+    // consecutive measurements over budget after which the quality is stepped down.
+    private static final int STEP_DOWN_MEASUREMENTS = 3;
+    // consecutive measurements with headroom after which the quality is stepped up.
+    private static final int STEP_UP_MEASUREMENTS = 30;
+    // weight of the latest measurement in the moving averages.
+    private static final double ALPHA = 0.25D;
+
+    private final JComponent target;
+    private final long frameBudgetNanos;
+    private final SwingPropertyChangeSupport changeSupport = new SwingPropertyChangeSupport(this);
+    private final Runnable probe = this::probeRan;
+    private AnimationQuality quality = AnimationQuality.FULL;
+    private AnimationQuality fixedQuality;
+    private double queueDelayAverage;
+    private double paintTimeAverage;
+    private int overBudget;
+    private int underBudget;
+    private boolean probePending;
+    private long probePostedNanos;
+
+    /**
+     * Constructs a governor for the specified component, with the {@linkplain #DEFAULT_FRAME_BUDGET_NANOS default frame budget}.
+     *
+     * @param target the component whose swipe animation is governed
+     * @throws NullPointerException if target is null.
+     */
+    public AnimationQualityGovernor(final JComponent target) {
+        this(target, DEFAULT_FRAME_BUDGET_NANOS);
+    }
+
+    /**
+     * Constructs a governor for the specified component.
+     *
+     * @param target           the component whose swipe animation is governed
+     * @param frameBudgetNanos the time a frame is expected to take, in nanoseconds
+     * @throws NullPointerException     if target is null.
+     * @throws IllegalArgumentException if frameBudgetNanos is not positive.
+     */
+    public AnimationQualityGovernor(final JComponent target, final long frameBudgetNanos) {
+        if (frameBudgetNanos <= 0L)
+            throw new IllegalArgumentException("frameBudgetNanos is not positive: " + frameBudgetNanos);
+        this.target = Objects.requireNonNull(target, "target is null");
+        this.frameBudgetNanos = frameBudgetNanos;
+        FluidSwipe.addListenerTo(target, this);
+    }
+
+    /**
+     * Returns the quality level the swipe animation should be painted at.
+     *
+     * @return the current quality level.
+     */
+    public AnimationQuality getQuality() {
+        return quality;
+    }
+
+    /**
+     * Fixes the quality level, which is then no longer adapted; measurements keep being taken.
+     *
+     * @param fixedQuality the quality level the swipe animation is painted at; {@code null} to adapt it again
+     */
+    public void setFixedQuality(final AnimationQuality fixedQuality) {
+        this.fixedQuality = fixedQuality;
+        overBudget = 0;
+        underBudget = 0;
+        if (fixedQuality != null) setQuality(fixedQuality);
+    }
+
+    public AnimationQuality getFixedQuality() {
+        return fixedQuality;
+    }
+
+    public long getFrameBudgetNanos() {
+        return frameBudgetNanos;
+    }
+
+    /**
+     * Reports the time taken to paint a frame of the swipe animation.
+     *
+     * @param paintNanos the time taken to paint the frame, in nanoseconds
+     */
+    public void recordFramePaint(final long paintNanos) {
+        paintTimeAverage += ALPHA * (paintNanos - paintTimeAverage);
+        evaluate();
+    }
+
+    /**
+     * Restores the {@linkplain AnimationQuality#FULL full} quality, unless the quality is {@linkplain #setFixedQuality(AnimationQuality) fixed},
+     * and discards the measurements taken so far.
+     */
+    public void reset() {
+        queueDelayAverage = 0.0D;
+        paintTimeAverage = 0.0D;
+        overBudget = 0;
+        underBudget = 0;
+        setQuality(fixedQuality != null ? fixedQuality : AnimationQuality.FULL);
+    }
+
+    /**
+     * Adds a listener notified when the {@code "quality"} property changes.
+     *
+     * @param listener the listener to be added
+     */
+    public void addPropertyChangeListener(final PropertyChangeListener listener) {
+        changeSupport.addPropertyChangeListener(listener);
+    }
+
+    public void removePropertyChangeListener(final PropertyChangeListener listener) {
+        changeSupport.removePropertyChangeListener(listener);
+    }
+
+    @Override
+    public void fluidSwipeBegan(final FluidSwipeEvent e) {
+        postProbe();
+    }
+
+    @Override
+    public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+        postProbe();
+    }
+
+    // Package-private for testing.
+    void recordQueueDelay(final long delayNanos) {
+        queueDelayAverage += ALPHA * (delayNanos - queueDelayAverage);
+        evaluate();
+    }
+
+    // One probe at a time: the delay it measures already accounts for the samples queued meanwhile.
+    // Queued even on the EDT, where listeners are notified: a probe run inline would measure no delay at all.
+    // Queued at normal priority, as any other event, so that it measures the delay the queued paints and inputs actually suffer.
+    private void postProbe() {
+        if (probePending) return;
+        probePending = true;
+        probePostedNanos = Threading.nanoTime();
+        EventQueue.invokeLater(probe);
+    }
+
+    private void probeRan() {
+        probePending = false;
+        recordQueueDelay(Threading.nanoTime() - probePostedNanos);
+    }
+
+    private void evaluate() {
+        final double load = Math.max(queueDelayAverage, paintTimeAverage) / frameBudgetNanos;
+        if (load > 1.0D) {
+            underBudget = 0;
+            if (++overBudget >= STEP_DOWN_MEASUREMENTS) step(quality.lower());
+        } else if (load < 0.5D) {
+            overBudget = 0;
+            if (++underBudget >= STEP_UP_MEASUREMENTS) step(quality.higher());
+        } else {
+            overBudget = 0;
+            underBudget = 0;
+        }
+    }
+
+    private void step(final AnimationQuality newQuality) {
+        overBudget = 0;
+        underBudget = 0;
+        if (newQuality == quality || fixedQuality != null) return;
+        // the new level is judged on fresh measurements only, lest a stale average step it again.
+        queueDelayAverage = 0.0D;
+        paintTimeAverage = 0.0D;
+        if (Logging.isFinestLoggable())
+            Logging.logFinest("animation quality of %s: %s -> %s", target.getClass().getName(), quality, newQuality);
+        setQuality(newQuality);
+    }
+
+    private void setQuality(final AnimationQuality quality) {
+        final AnimationQuality oldQuality = this.quality;
+        this.quality = quality;
+        changeSupport.firePropertyChange("quality", oldQuality, quality);
+    }
+}
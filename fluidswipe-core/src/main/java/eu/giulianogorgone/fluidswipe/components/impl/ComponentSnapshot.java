@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A snapshot of a component, captured by a {@link SnapshotCaptureService}.
+ * The image of a snapshot is the buffer of the captured component, which is reused by later captures of the same component:
+ * it must not be retained once the snapshot is {@linkplain #isStale() stale}.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see SnapshotCaptureService#capture(javax.swing.JComponent, double)
+ */
+public final class ComponentSnapshot {
+    private final SnapshotCaptureService service;
+    private final SnapshotCaptureService.Entry entry;
+    private final BufferedImage image;
+    private final double scale;
+    private final long version;
+
+    ComponentSnapshot(final SnapshotCaptureService service, final SnapshotCaptureService.Entry entry, final BufferedImage image,
+                      final double scale, final long version) {
+        this.service = service;
+        this.entry = entry;
+        this.image = image;
+        this.scale = scale;
+        this.version = version;
+    }
+
+    /**
+     * Returns the captured image, whose size is that of the component times {@link #getScale()}, rounded up.
+     *
+     * @return the captured image.
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the version of the component this snapshot shows.
+     *
+     * @return the version of the component at the time of the capture.
+     * @see SnapshotCaptureService#getVersion(javax.swing.JComponent)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether the component changed after this snapshot was captured, or the buffer of the component was released.
+     *
+     * @return {@code true} if this snapshot no longer shows the component; {@code false} otherwise.
+     */
+    public boolean isStale() {
+        return service.isStale(entry, version);
+    }
+}
@@ -15,24 +15,31 @@
 
 package eu.giulianogorgone.fluidswipe.components.impl;
 
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
 import eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer;
 import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.AdjustmentListener;
 
 /**
  * A {@code FluidSwipeVetoer} implementation consisting in
  * a {@code JScrollPane} in which fluid-swipe gesture can coexist properly with the horizontal scroll gesture.
  * <p>
  * The gesture is interpreted as a scroll gesture if there is scrollable content in the direction in which it occurs.
+ * Changes of the horizontal scroll position are reported via {@link FluidSwipe#vetoVerdictsChanged(JComponent)}.
  *
  * @author Giuliano Gorgone (anticleiades)
  * @see FluidSwipeVetoer
  */
 public class FluidSwipeAwareJScrollPane extends JScrollPane implements FluidSwipeVetoer {
+    private final AdjustmentListener verdictsListener = e -> FluidSwipe.vetoVerdictsChanged(this);
+
     public FluidSwipeAwareJScrollPane(Component view, int vsbPolicy, int hsbPolicy) {
         super(view, vsbPolicy, hsbPolicy);
+        if (horizontalScrollBar != null) horizontalScrollBar.addAdjustmentListener(verdictsListener);
+        addPropertyChangeListener("horizontalScrollBarPolicy", e -> FluidSwipe.vetoVerdictsChanged(this));
     }
 
     public FluidSwipeAwareJScrollPane(Component view) {
@@ -47,6 +54,14 @@ public class FluidSwipeAwareJScrollPane extends JScrollPane implements FluidSwip
         this(null, VERTICAL_SCROLLBAR_AS_NEEDED, HORIZONTAL_SCROLLBAR_AS_NEEDED);
     }
 
+    @Override
+    public void setHorizontalScrollBar(final JScrollBar horizontalScrollBar) {
+        final JScrollBar old = this.horizontalScrollBar;
+        if (old != null && verdictsListener != null) old.removeAdjustmentListener(verdictsListener);
+        super.setHorizontalScrollBar(horizontalScrollBar);
+        if (horizontalScrollBar != null && verdictsListener != null) horizontalScrollBar.addAdjustmentListener(verdictsListener);
+    }
+
     @Override
     public boolean permitFluidSwipeGesture(FluidSwipeEvent e) {
         final FluidSwipeEvent.Direction contentDirection = e.getLogicalGestureDirection();
@@ -0,0 +1,577 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.AnimPainterDelegate;
+import eu.giulianogorgone.fluidswipe.components.AnimationQuality;
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer;
+import eu.giulianogorgone.fluidswipe.components.NavigationSwipeAnimSupport;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAWTEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.utils.Threading;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+/**
+ * A navigable container showing one page at a time, whose pages are provided by a {@link FluidSwipePagerAdapter}.
+ * A successful fluid-swipe navigates to the previous page, if the logical direction of the gesture is {@code LEFT_TO_RIGHT},
+ * or to the next page otherwise; the gesture is vetoed if there is no page to navigate to.
+ * <p>
+ * Only the current page and the pages adjacent to it are realized, i.e., bound to a page component; when the current page changes,
+ * the page components no longer needed are recycled to show the pages that became adjacent. Thus, the number of page components,
+ * as well as the cost of laying them out, does not depend on the number of pages. Only the current page is a child of the pager;
+ * the adjacent pages are painted off-screen, once, into snapshots used to animate the gesture,
+ * which are taken again only when the pages they show change. The snapshot of the current page is captured by the
+ * {@linkplain SnapshotCaptureService#getDefault() default} {@link SnapshotCaptureService}, which repaints only what changed since the previous gesture.
+ * <p>
+ * The animation painting process is delegated to the {@link AnimPainterDelegate} set with {@link #setAnimPainterDelegate(AnimPainterDelegate)}, if any.
+ * The quality the animation is painted at is adapted by an {@link AnimationQualityGovernor}, which is reported the time the delegate takes to paint
+ * each frame; the snapshots are rendered at the {@linkplain AnimationQuality#getSnapshotScale() scale} of the current quality.
+ * While a gesture is animated, the repaint requests of the current page are held back by a {@link RepaintIsolator}.
+ * If a {@link FrameCache} is {@linkplain #setFrameCache(FrameCache) set}, the frames painted while the page is dragged are recorded into it,
+ * and the animation returning the page to its origin once the gesture is released draws them instead of painting them again.
+ * If {@linkplain #setTiledCapture(boolean) tiled capture} is enabled, the current page is also provided as a {@link TiledSnapshot}, whose tiles are rendered
+ * only when the painter delegate draws them, e.g. through {@link TiledNavigationSwipeAnimSupport#paintPageToNavFrom}.
+ *
+ * @param <P> the type of the page components
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipePagerAdapter
+ * @see NavigationSwipeAnimSupport
+ */
+public class FluidSwipePager<P extends JComponent> extends JComponent implements FluidSwipeVetoer, TiledNavigationSwipeAnimSupport {
+    private static final int PREVIOUS = 0;
+    private static final int CURRENT = 1;
+    private static final int NEXT = 2;
+    private static final int SLOTS = 3;
+    private static final int MAX_RECYCLED_PAGES = 2;
+
+    private final CellRendererPane rendererPane = new CellRendererPane();
+    private final ChangeListener dataListener = e -> dataChanged();
+    private final int[] indices = {-1, -1, -1};
+    @SuppressWarnings("unchecked")
+    private final P[] pages = (P[]) new JComponent[SLOTS];
+    private final BufferedImage[] snapshots = new BufferedImage[SLOTS];
+    private final boolean[] snapshotValid = new boolean[SLOTS];
+    private final ArrayDeque<P> recycledPages = new ArrayDeque<>(MAX_RECYCLED_PAGES);
+    private FluidSwipePagerAdapter<P> adapter;
+    private final AnimationQualityGovernor qualityGovernor = new AnimationQualityGovernor(this);
+    private final RepaintIsolator repaintIsolator;
+    private AnimPainterDelegate animPainterDelegate;
+    private int currentPage = -1;
+    private FrameCache frameCache;
+    // the full-resolution frame being recorded into the frame cache; reused while a gesture is dragged.
+    private BufferedImage frameBuffer;
+    private boolean tiledCapture;
+    // the tiled snapshot of the current page, taken during the gesture being animated; null if there is none.
+    private TiledSnapshot tiledSnapshot;
+    private double gestureAmount;
+    private boolean touching;
+    private boolean returning;
+
+    public FluidSwipePager(final FluidSwipePagerAdapter<P> adapter) {
+        add(rendererPane);
+        FluidSwipe.addListenerTo(this, new FluidSwipeAdapter() {
+            @Override
+            public void fluidSwipeBegan(final FluidSwipeEvent e) {
+                if (frameCache != null) frameCache.clear();
+                trackGesture(e);
+            }
+
+            @Override
+            public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+                trackGesture(e);
+                repaint();
+            }
+
+            @Override
+            public void fluidSwipeEnded(final FluidSwipeEvent e) {
+                trackGesture(e);
+                frameBuffer = null;
+                releaseTiledSnapshot();
+                if (frameCache != null) {
+                    if (Logging.isFinestLoggable())
+                        Logging.logFinest("frame cache of %s: %s, hit rate %.2f", FluidSwipePager.this.getClass().getName(), frameCache, frameCache.getHitRate());
+                    frameCache.clear();
+                }
+                if (e.getGestureState() == FluidSwipeEvent.State.SUCCESS) {
+                    final int destination = indices[slotOf(e.getLogicalGestureDirection())];
+                    if (destination >= 0) setCurrentPage(destination);
+                }
+                repaint();
+            }
+        });
+        qualityGovernor.addPropertyChangeListener(e -> {
+            for (int slot = 0; slot < SLOTS; slot++) snapshotValid[slot] = false;
+            releaseTiledSnapshot();
+            if (frameCache != null) frameCache.clear();
+            firePropertyChange("animationQuality", e.getOldValue(), e.getNewValue());
+            repaint();
+        });
+        repaintIsolator = new RepaintIsolator(this);
+        setAdapter(adapter);
+    }
+
+    public FluidSwipePager() {
+        this(null);
+    }
+
+    /**
+     * Returns the adapter providing the pages.
+     *
+     * @return the adapter; {@code null} if none has been set.
+     */
+    public FluidSwipePagerAdapter<P> getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Sets the adapter providing the pages, and shows its first page. The page components created by the previous adapter are discarded.
+     *
+     * @param adapter the adapter; {@code null} to show no page
+     */
+    public void setAdapter(final FluidSwipePagerAdapter<P> adapter) {
+        final FluidSwipePagerAdapter<P> oldAdapter = this.adapter;
+        if (oldAdapter != null) {
+            oldAdapter.removeChangeListener(dataListener);
+            for (int slot = 0; slot < SLOTS; slot++) recycle(slot);
+            recycledPages.clear(); // already unbound when recycled.
+        }
+        this.adapter = adapter;
+        if (adapter != null) adapter.addChangeListener(dataListener);
+        currentPage = -1;
+        relocate(getPageCount() > 0 ? 0 : -1);
+        firePropertyChange("adapter", oldAdapter, adapter);
+    }
+
+    /**
+     * Returns the number of pages.
+     *
+     * @return the number of pages; {@code 0} if no adapter has been set.
+     */
+    public int getPageCount() {
+        return adapter == null ? 0 : adapter.getPageCount();
+    }
+
+    /**
+     * Returns the index of the current page.
+     *
+     * @return the index of the current page; {@code -1} if there are no pages.
+     */
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    /**
+     * Shows the specified page.
+     *
+     * @param index the index of the page to be shown
+     * @throws IndexOutOfBoundsException if {@code index} is not between {@code 0} (inclusive) and {@link #getPageCount()} (exclusive).
+     */
+    public void setCurrentPage(final int index) {
+        Objects.checkIndex(index, getPageCount());
+        relocate(index);
+    }
+
+    /**
+     * Returns the component showing the current page.
+     *
+     * @return the component showing the current page; {@code null} if there are no pages.
+     */
+    public P getCurrentPageComponent() {
+        return pages[CURRENT];
+    }
+
+    public AnimPainterDelegate getAnimPainterDelegate() {
+        return animPainterDelegate;
+    }
+
+    /**
+     * Sets the delegate painting the swipe animation, and adds it as a {@code FluidSwipeListener} of this pager.
+     *
+     * @param animPainterDelegate the delegate; {@code null} to disable the swipe animation
+     */
+    public void setAnimPainterDelegate(final AnimPainterDelegate animPainterDelegate) {
+        final AnimPainterDelegate oldDelegate = this.animPainterDelegate;
+        if (oldDelegate != null) FluidSwipe.removeListenerFrom(this, oldDelegate);
+        this.animPainterDelegate = animPainterDelegate;
+        if (animPainterDelegate != null) FluidSwipe.addListenerTo(this, animPainterDelegate);
+        firePropertyChange("animPainterDelegate", oldDelegate, animPainterDelegate);
+    }
+
+    @Override
+    public AnimPainterDelegate getFluidSwipeAnimationPainterDelegate() {
+        return animPainterDelegate;
+    }
+
+    public FrameCache getFrameCache() {
+        return frameCache;
+    }
+
+    /**
+     * Sets the cache the frames of the swipe animation are recorded into while the page is dragged, and drawn from while it returns to its origin.
+     * The cache is cleared when a gesture begins or ends, and when the animation quality changes; it must not be shared with other components.
+     *
+     * @param frameCache the cache; {@code null}, the default, to paint every frame
+     */
+    public void setFrameCache(final FrameCache frameCache) {
+        final FrameCache oldCache = this.frameCache;
+        if (oldCache != null) oldCache.clear();
+        this.frameCache = frameCache;
+        firePropertyChange("frameCache", oldCache, frameCache);
+    }
+
+    public boolean isTiledCapture() {
+        return tiledCapture;
+    }
+
+    /**
+     * Sets whether the current page is provided to the painter delegate as a {@link TiledSnapshot} as well, which suits pages too large to be captured whole.
+     * The tiles are kept in the {@linkplain TilePool#getDefault() default} pool, and released when the gesture ends.
+     *
+     * @param tiledCapture {@code true} to provide the current page as a tiled snapshot; {@code false}, the default, otherwise
+     * @see #getTiledPageToNavFrom(FluidSwipeEvent)
+     */
+    public void setTiledCapture(final boolean tiledCapture) {
+        final boolean oldValue = this.tiledCapture;
+        this.tiledCapture = tiledCapture;
+        if (!tiledCapture) releaseTiledSnapshot();
+        firePropertyChange("tiledCapture", oldValue, tiledCapture);
+    }
+
+    /**
+     * Returns the governor adapting the quality the swipe animation is painted at.
+     *
+     * @return the quality governor of this pager.
+     */
+    public AnimationQualityGovernor getAnimationQualityGovernor() {
+        return qualityGovernor;
+    }
+
+    /**
+     * Returns the isolator holding back the repaint requests of the current page while a gesture is animated.
+     *
+     * @return the repaint isolator of this pager.
+     */
+    public RepaintIsolator getRepaintIsolator() {
+        return repaintIsolator;
+    }
+
+    @Override
+    public AnimationQuality getAnimationQuality() {
+        return qualityGovernor.getQuality();
+    }
+
+    @Override
+    public boolean permitFluidSwipeGesture(final FluidSwipeEvent e) {
+        return indices[slotOf(e.getLogicalGestureDirection())] >= 0;
+    }
+
+    /**
+     * Returns {@code null}, as nothing but the background of the pager lies beneath its pages.
+     */
+    @Override
+    public Image getBackgroundImage(final FluidSwipeEvent e) {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The snapshot is rendered at the {@linkplain AnimationQuality#getSnapshotScale() scale} of the current {@linkplain #getAnimationQuality() quality},
+     * hence it must be drawn scaled to {@link #getPageBounds()}.
+     */
+    @Override
+    public Image getDestinationPage(final FluidSwipeEvent e) {
+        return getSnapshot(slotOf(e.getLogicalGestureDirection()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The snapshot is rendered at the {@linkplain AnimationQuality#getSnapshotScale() scale} of the current {@linkplain #getAnimationQuality() quality},
+     * hence it must be drawn scaled to {@link #getPageBounds()}.
+     */
+    @Override
+    public Image getPageToNavFrom(final FluidSwipeEvent e) {
+        return getSnapshot(CURRENT);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The snapshot shows the current page at the {@linkplain AnimationQuality#getSnapshotScale() scale} of the current {@linkplain #getAnimationQuality() quality};
+     * it is taken when first requested, and released when the gesture ends.
+     *
+     * @return a tiled snapshot of the current page; {@code null} if {@linkplain #setTiledCapture(boolean) tiled capture} is disabled, or there are no pages.
+     */
+    @Override
+    public TiledSnapshot getTiledPageToNavFrom(final FluidSwipeEvent e) {
+        final P page = pages[CURRENT];
+        if (!tiledCapture || page == null) return null;
+        if (tiledSnapshot == null || tiledSnapshot.getComponent() != page) {
+            releaseTiledSnapshot();
+            tiledSnapshot = new TiledSnapshot(page, new Rectangle(0, 0, page.getWidth(), page.getHeight()),
+                    qualityGovernor.getQuality().getSnapshotScale(), TiledSnapshot.DEFAULT_TILE_SIZE, TilePool.getDefault());
+        }
+        return tiledSnapshot;
+    }
+
+    private void releaseTiledSnapshot() {
+        if (tiledSnapshot == null) return;
+        tiledSnapshot.release();
+        tiledSnapshot = null;
+    }
+
+    @Override
+    public Rectangle getPageBounds() {
+        return SwingUtilities.calculateInnerArea(this, null);
+    }
+
+    @Override
+    public void doLayout() {
+        final P current = pages[CURRENT];
+        if (current != null) current.setBounds(getPageBounds());
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        final P current = pages[CURRENT];
+        if (isPreferredSizeSet() || current == null) return super.getPreferredSize();
+        final Dimension size = current.getPreferredSize();
+        final Insets insets = getInsets();
+        return new Dimension(size.width + insets.left + insets.right, size.height + insets.top + insets.bottom);
+    }
+
+    @Override
+    protected void paintChildren(final Graphics g) {
+        if (swipeAnimationDelegateCanPaint()) {
+            final Graphics2D g2 = (Graphics2D) g.create();
+            try {
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, qualityGovernor.getQuality().getInterpolationHint());
+                final long start = Threading.nanoTime();
+                final BufferedImage cached = returning && frameCache != null ? frameCache.get(gestureAmount) : null;
+                if (cached != null) {
+                    g2.drawImage(cached, 0, 0, getWidth(), getHeight(), null);
+                } else if (touching && frameCache != null && !frameCache.contains(gestureAmount)) {
+                    paintAndRecordFrame(g2, frameCache);
+                } else {
+                    animPainterDelegate.paint(g2);
+                }
+                qualityGovernor.recordFramePaint(Threading.nanoTime() - start); // recording included: it is part of the frame time.
+            } finally {
+                g2.dispose();
+            }
+        } else {
+            super.paintChildren(g);
+        }
+    }
+
+    /**
+     * Merges the progress events of the same gesture queued while the EDT is busy.
+     *
+     * @see FluidSwipeAWTEvent#coalesce(AWTEvent, AWTEvent)
+     */
+    @Override
+    protected AWTEvent coalesceEvents(final AWTEvent existingEvent, final AWTEvent newEvent) {
+        final AWTEvent coalesced = FluidSwipeAWTEvent.coalesce(existingEvent, newEvent);
+        return coalesced != null ? coalesced : super.coalesceEvents(existingEvent, newEvent);
+    }
+
+    private void trackGesture(final FluidSwipeEvent e) {
+        final double amount = e.getGestureAmount();
+        touching = e.isInputDeviceBeingTouched();
+        returning = !touching && e.getGestureState() != FluidSwipeEvent.State.SUCCESS && amount < gestureAmount;
+        gestureAmount = amount;
+    }
+
+    /**
+     * Paints the current frame of the swipe animation once, into the frame buffer, which is then drawn into the graphics the pager is painted into,
+     * which may not be readable; a downscaled copy of the buffer is stored in the cache.
+     */
+    private void paintAndRecordFrame(final Graphics2D g2, final FrameCache cache) {
+        final int width = getWidth();
+        final int height = getHeight();
+        final double scale = cache.getScale();
+        final int frameWidth = (int) Math.ceil(width * scale);
+        final int frameHeight = (int) Math.ceil(height * scale);
+        if (frameWidth <= 0 || frameHeight <= 0) {
+            animPainterDelegate.paint(g2);
+            return;
+        }
+        // The buffer matches the device pixels the pager is painted into, e.g. on HiDPI screens.
+        final AffineTransform transform = g2.getTransform();
+        final double deviceScaleX = Math.max(1D, Math.abs(transform.getScaleX()));
+        final double deviceScaleY = Math.max(1D, Math.abs(transform.getScaleY()));
+        final int bufferWidth = (int) Math.ceil(width * deviceScaleX);
+        final int bufferHeight = (int) Math.ceil(height * deviceScaleY);
+        BufferedImage buffer = frameBuffer;
+        if (buffer == null || buffer.getWidth() != bufferWidth || buffer.getHeight() != bufferHeight) {
+            buffer = frameBuffer = createFrameImage(bufferWidth, bufferHeight);
+        }
+        final Object interpolation = qualityGovernor.getQuality().getInterpolationHint();
+        final Graphics2D bg = buffer.createGraphics();
+        try {
+            bg.setComposite(AlphaComposite.Clear);
+            bg.fillRect(0, 0, bufferWidth, bufferHeight);
+            bg.setComposite(AlphaComposite.SrcOver);
+            bg.scale(deviceScaleX, deviceScaleY);
+            bg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            animPainterDelegate.paint(bg);
+        } finally {
+            bg.dispose();
+        }
+        g2.drawImage(buffer, 0, 0, width, height, null);
+        final BufferedImage frame = createFrameImage(frameWidth, frameHeight);
+        final Graphics2D fg = frame.createGraphics();
+        try {
+            fg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            fg.drawImage(buffer, 0, 0, frameWidth, frameHeight, null);
+        } finally {
+            fg.dispose();
+        }
+        cache.put(gestureAmount, frame);
+    }
+
+    private BufferedImage createFrameImage(final int width, final int height) {
+        final GraphicsConfiguration gc = getGraphicsConfiguration();
+        return gc != null ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    private static int slotOf(final FluidSwipeEvent.Direction direction) {
+        return direction == FluidSwipeEvent.Direction.LEFT_TO_RIGHT ? PREVIOUS : NEXT;
+    }
+
+    private void dataChanged() {
+        for (int slot = 0; slot < SLOTS; slot++) recycle(slot);
+        final int pageCount = getPageCount();
+        final int index = pageCount == 0 ? -1 : Math.min(Math.max(currentPage, 0), pageCount - 1);
+        currentPage = -1;
+        relocate(index);
+    }
+
+    // Realizes the page at the specified index and the pages adjacent to it, reusing the pages already realized.
+    private void relocate(final int index) {
+        if (index == currentPage) return;
+        final int oldPage = currentPage;
+        final int pageCount = getPageCount();
+        final int[] newIndices = new int[SLOTS];
+        for (int slot = 0; slot < SLOTS; slot++) {
+            final int i = index < 0 ? -1 : index + slot - CURRENT;
+            newIndices[slot] = i >= 0 && i < pageCount ? i : -1;
+        }
+        @SuppressWarnings("unchecked") final P[] newPages = (P[]) new JComponent[SLOTS];
+        final BufferedImage[] newSnapshots = new BufferedImage[SLOTS];
+        final boolean[] newSnapshotValid = new boolean[SLOTS];
+        final ArrayDeque<BufferedImage> freeSnapshots = new ArrayDeque<>(SLOTS);
+        for (int slot = 0; slot < SLOTS; slot++) {
+            final int newSlot = indices[slot] < 0 ? -1 : indices[slot] - index + CURRENT;
+            if (index >= 0 && newSlot >= 0 && newSlot < SLOTS && pages[slot] != null) {
+                newPages[newSlot] = pages[slot];
+                newSnapshots[newSlot] = snapshots[slot];
+                newSnapshotValid[newSlot] = snapshotValid[slot] && slot != CURRENT; // The current page is live, thus its snapshot may be stale.
+                pages[slot] = null;
+            } else {
+                recycle(slot);
+                if (snapshots[slot] != null) freeSnapshots.add(snapshots[slot]);
+            }
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            if (newIndices[slot] >= 0 && newPages[slot] == null) {
+                final P page = recycledPages.isEmpty() ? adapter.createPage() : recycledPages.poll();
+                adapter.bindPage(page, newIndices[slot]);
+                newPages[slot] = page;
+            }
+            if (newSnapshots[slot] == null) newSnapshots[slot] = freeSnapshots.poll();
+            indices[slot] = newIndices[slot];
+            pages[slot] = newPages[slot];
+            snapshots[slot] = newSnapshots[slot];
+            snapshotValid[slot] = newSnapshotValid[slot];
+        }
+        for (int slot = 0; slot < SLOTS; slot++) {
+            final P page = pages[slot];
+            if (slot == CURRENT) {
+                if (page != null && page.getParent() != this) add(page);
+            } else if (page != null && page.getParent() == this) {
+                remove(page);
+            }
+        }
+        final SnapshotCaptureService captureService = SnapshotCaptureService.getDefaultIfCreated(); // not created, and installed, for nothing.
+        if (captureService != null && pages[CURRENT] != null) captureService.invalidate(pages[CURRENT]); // it may have been rebound.
+        releaseTiledSnapshot();
+        currentPage = index;
+        FluidSwipe.vetoVerdictsChanged(this);
+        revalidate();
+        repaint();
+        firePropertyChange("currentPage", oldPage, index);
+    }
+
+    private void recycle(final int slot) {
+        final P page = pages[slot];
+        indices[slot] = -1;
+        snapshotValid[slot] = false;
+        if (page == null) return;
+        pages[slot] = null;
+        final Container parent = page.getParent();
+        if (parent != null) parent.remove(page);
+        final SnapshotCaptureService captureService = SnapshotCaptureService.getDefaultIfCreated();
+        if (captureService != null) captureService.release(page); // its buffer would be kept until it shows the current page again, if ever.
+        adapter.unbindPage(page);
+        if (recycledPages.size() < MAX_RECYCLED_PAGES) recycledPages.add(page);
+    }
+
+    private Image getSnapshot(final int slot) {
+        final P page = pages[slot];
+        final Rectangle bounds = getPageBounds();
+        if (page == null || bounds.width <= 0 || bounds.height <= 0) return null;
+        final double scale = qualityGovernor.getQuality().getSnapshotScale();
+        if (slot == CURRENT) { // A child of the pager, whose repaints are tracked.
+            final ComponentSnapshot snapshot = SnapshotCaptureService.getDefault().capture(page, scale);
+            return snapshot == null ? null : snapshot.getImage();
+        }
+        final int width = (int) Math.ceil(bounds.width * scale);
+        final int height = (int) Math.ceil(bounds.height * scale);
+        BufferedImage snapshot = snapshots[slot];
+        if (snapshot == null || snapshot.getWidth() != width || snapshot.getHeight() != height) {
+            final GraphicsConfiguration gc = getGraphicsConfiguration();
+            snapshot = gc != null ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            snapshots[slot] = snapshot;
+            snapshotValid[slot] = false;
+        }
+        if (!snapshotValid[slot]) {
+            final Graphics2D g = snapshot.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(0, 0, width, height);
+                g.setComposite(AlphaComposite.SrcOver);
+                g.scale(scale, scale);
+                // Not a child of the pager: it is laid out and painted by the renderer pane.
+                rendererPane.paintComponent(g, page, this, 0, 0, bounds.width, bounds.height, true);
+            } finally {
+                g.dispose();
+            }
+            snapshotValid[slot] = true;
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+
+/**
+ * Provides the pages displayed by a {@link FluidSwipePager}. Page components are not bound to a page index once and for all:
+ * the pager creates only a few of them through {@link #createPage()}, then binds them to the page to be shown through
+ * {@link #bindPage(JComponent, int)}, and recycles them when the page they show is no longer the current page or adjacent to it.
+ * Hence, {@link #bindPage(JComponent, int)} must entirely update the content of the page component,
+ * as the component may have been used to show any other page.
+ * <br>
+ * When the pages change, {@link #fireDataChanged()} must be called, so that the pagers using this adapter bind their pages again.
+ *
+ * @param <P> the type of the page components
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipePager
+ */
+public abstract class FluidSwipePagerAdapter<P extends JComponent> {
+    private final EventListenerList listenerList = new EventListenerList();
+    private final ChangeEvent changeEvent = new ChangeEvent(this);
+
+    /**
+     * Returns the number of pages.
+     *
+     * @return the number of pages.
+     */
+    public abstract int getPageCount();
+
+    /**
+     * Creates a new page component, which is not yet bound to any page.
+     *
+     * @return a new page component.
+     */
+    public abstract P createPage();
+
+    /**
+     * Updates the content of a page component, so that it shows the specified page.
+     *
+     * @param page  the page component, either just created or recycled
+     * @param index the index of the page to be shown, between {@code 0} (inclusive) and {@link #getPageCount()} (exclusive)
+     */
+    public abstract void bindPage(final P page, final int index);
+
+    /**
+     * Invoked when a page component no longer shows any page, as it is about to be recycled or discarded.
+     * It can be overridden to release the resources held by the page; the default implementation does nothing.
+     *
+     * @param page the page component
+     */
+    public void unbindPage(final P page) {
+    }
+
+    /**
+     * Adds a listener notified when the pages change.
+     *
+     * @param l the listener to be added
+     */
+    public void addChangeListener(final ChangeListener l) {
+        listenerList.add(ChangeListener.class, l);
+    }
+
+    /**
+     * Removes a listener previously added with {@link #addChangeListener(ChangeListener)}.
+     *
+     * @param l the listener to be removed
+     */
+    public void removeChangeListener(final ChangeListener l) {
+        listenerList.remove(ChangeListener.class, l);
+    }
+
+    /**
+     * Notifies the listeners that the pages, or their number, changed. It must be called on the EDT.
+     */
+    public void fireDataChanged() {
+        final Object[] listeners = listenerList.getListenerList();
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == ChangeListener.class) {
+                ((ChangeListener) listeners[i + 1]).stateChanged(changeEvent);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A cache of the frames of a swipe animation, keyed by the gesture amount they have been painted at, quantized to a number of steps.
+ * Frames are stored downscaled, and pre-composited, while the page is dragged forward; when the gesture is canceled, the animation
+ * returning the page to its origin draws the cached frames instead of compositing them again.
+ * Because of the quantization, a cached frame may show the page up to half a step away from where it would be painted.
+ * <p>
+ * The cache is bounded by a byte budget: the least recently used frames are evicted to make room for new ones, and frames larger than the
+ * whole budget are not stored. Hits, misses, evictions and the memory held are reported, so that the budget can be tuned.
+ * This class is not thread-safe: it is meant to be used on the EDT.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipePager#setFrameCache(FrameCache)
+ */
+public final class FrameCache {
+    public static final double DEFAULT_SCALE = 0.5D;
+    public static final int DEFAULT_STEPS = 200;
+
+    private final ImageLruCache<Integer> frames;
+    private final double scale;
+    private final int steps;
+
+    /**
+     * Creates a cache storing frames at {@link #DEFAULT_SCALE}, with amounts quantized to {@link #DEFAULT_STEPS} steps.
+     *
+     * @param byteBudget the maximum number of bytes held by the cached frames
+     * @throws IllegalArgumentException if byteBudget is not positive.
+     */
+    public FrameCache(final long byteBudget) {
+        this(byteBudget, DEFAULT_SCALE, DEFAULT_STEPS);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param byteBudget the maximum number of bytes held by the cached frames
+     * @param scale      the scale frames are stored at, in {@code (0.0, 1.0]}
+     * @param steps      the number of steps gesture amounts in {@code [0.0, 1.0]} are quantized to
+     * @throws IllegalArgumentException if byteBudget or steps are not positive, or scale is not in {@code (0.0, 1.0]}.
+     */
+    public FrameCache(final long byteBudget, final double scale, final int steps) {
+        if (!(scale > 0.0D && scale <= 1.0D)) throw new IllegalArgumentException("invalid scale: " + scale);
+        if (steps <= 0) throw new IllegalArgumentException("invalid steps: " + steps);
+        this.frames = new ImageLruCache<>(byteBudget, 16);
+        this.scale = scale;
+        this.steps = steps;
+    }
+
+    private int keyOf(final double amount) {
+        return (int) Math.round(amount * steps);
+    }
+
+    /**
+     * Returns the frame cached for a gesture amount, counting a hit or a miss.
+     *
+     * @param amount the gesture amount
+     * @return the frame; {@code null} if no frame is cached for the step {@code amount} falls in.
+     */
+    public BufferedImage get(final double amount) {
+        return frames.get(keyOf(amount));
+    }
+
+    /**
+     * Tells whether a frame is cached for a gesture amount; neither a hit nor a miss is counted.
+     *
+     * @param amount the gesture amount
+     * @return {@code true} if a frame is cached for the step {@code amount} falls in.
+     */
+    public boolean contains(final double amount) {
+        return frames.contains(keyOf(amount));
+    }
+
+    /**
+     * Caches the frame painted at a gesture amount, replacing the one cached for the same step, if any, and evicting the least recently used frames
+     * as needed to stay within the budget.
+     *
+     * @param amount the gesture amount
+     * @param frame  the frame, which must no longer be modified
+     * @return {@code true} if the frame has been cached; {@code false} if it is larger than the whole budget.
+     */
+    public boolean put(final double amount, final BufferedImage frame) {
+        return frames.put(keyOf(amount), frame);
+    }
+
+    /**
+     * Discards all the cached frames; the statistics are not reset.
+     */
+    public void clear() {
+        frames.clear();
+    }
+
+    /**
+     * Resets the hit, miss and eviction counts.
+     */
+    public void resetStatistics() {
+        frames.resetStatistics();
+    }
+
+    public long getByteBudget() {
+        return frames.getByteBudget();
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    /**
+     * Returns the number of bytes held by the cached frames.
+     *
+     * @return the memory used by the cache, in bytes.
+     */
+    public long getByteCount() {
+        return frames.getByteCount();
+    }
+
+    public int getFrameCount() {
+        return frames.size();
+    }
+
+    public long getHitCount() {
+        return frames.getHitCount();
+    }
+
+    public long getMissCount() {
+        return frames.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return frames.getEvictionCount();
+    }
+
+    /**
+     * Returns the ratio of the hits to the lookups.
+     *
+     * @return the hit rate; {@code NaN} if no frame has been looked up.
+     */
+    public double getHitRate() {
+        return frames.getHitRate();
+    }
+
+    @Override
+    public String toString() {
+        return frames.describe("FrameCache", "frames");
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A least-recently-used cache of images, bounded by a budget in bytes: the least recently used images are evicted to make room for new ones,
+ * and images larger than the whole budget are not stored. Hits, misses, evictions and the memory held are counted.
+ * This class is not thread-safe: its owners synchronize it, or confine it to one thread.
+ * This class is not part of the public API.
+ *
+ * @param <K> the type of the keys
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FrameCache
+ * @see TilePool
+ */
+final class ImageLruCache<K> {
+    private final long byteBudget;
+    private final LinkedHashMap<K, BufferedImage> images;
+    private long byteCount;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    ImageLruCache(final long byteBudget, final int initialCapacity) {
+        if (byteBudget <= 0L) throw new IllegalArgumentException("invalid byte budget: " + byteBudget);
+        this.byteBudget = byteBudget;
+        this.images = new LinkedHashMap<>(initialCapacity, 0.75f, true);
+    }
+
+    static long bytesOf(final BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * ((image.getColorModel().getPixelSize() + 7) / 8);
+    }
+
+    // Counts a hit or a miss.
+    BufferedImage get(final K key) {
+        final BufferedImage image = images.get(key);
+        if (image != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return image;
+    }
+
+    // Neither a hit nor a miss is counted.
+    boolean contains(final K key) {
+        return images.containsKey(key);
+    }
+
+    // Returns false if the image is larger than the whole budget.
+    boolean put(final K key, final BufferedImage image) {
+        final long bytes = bytesOf(image);
+        if (bytes > byteBudget) return false;
+        final BufferedImage replaced = images.remove(key);
+        if (replaced != null) byteCount -= bytesOf(replaced);
+        final Iterator<BufferedImage> eldest = images.values().iterator();
+        while (byteCount + bytes > byteBudget && eldest.hasNext()) {
+            byteCount -= bytesOf(eldest.next());
+            eldest.remove();
+            evictionCount++;
+        }
+        images.put(key, image);
+        byteCount += bytes;
+        return true;
+    }
+
+    // Removals are not counted as evictions.
+    void removeIf(final Predicate<? super K> filter) {
+        final Iterator<Map.Entry<K, BufferedImage>> it = images.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<K, BufferedImage> entry = it.next();
+            if (!filter.test(entry.getKey())) continue;
+            byteCount -= bytesOf(entry.getValue());
+            it.remove();
+        }
+    }
+
+    void clear() {
+        images.clear();
+        byteCount = 0L;
+    }
+
+    void resetStatistics() {
+        hitCount = 0L;
+        missCount = 0L;
+        evictionCount = 0L;
+    }
+
+    long getByteBudget() {
+        return byteBudget;
+    }
+
+    long getByteCount() {
+        return byteCount;
+    }
+
+    int size() {
+        return images.size();
+    }
+
+    long getHitCount() {
+        return hitCount;
+    }
+
+    long getMissCount() {
+        return missCount;
+    }
+
+    long getEvictionCount() {
+        return evictionCount;
+    }
+
+    // NaN if nothing has been looked up.
+    double getHitRate() {
+        final long lookups = hitCount + missCount;
+        return lookups == 0L ? Double.NaN : (double) hitCount / lookups;
+    }
+
+    // The statistics, as reported by the toString() of the owners; e.g. describe("FrameCache", "frames").
+    String describe(final String owner, final String images) {
+        return owner + "{" +
+                images + "=" + this.images.size() +
+                ", bytes=" + byteCount + "/" + byteBudget +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                '}';
+    }
+}
@@ -0,0 +1,507 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.components.NavigationSwipeAnimSupport;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Stores the snapshots of the pages of a navigation history, typically used to implement
+ * {@link NavigationSwipeAnimSupport#getDestinationPage(FluidSwipeEvent)} for long histories. Snapshots are kept in three tiers:
+ * <ul>
+ *     <li>{@link Tier#RAW}: the most recently used snapshots, up to a fixed number, ready to be drawn;
+ *     <li>{@link Tier#COMPRESSED}: older snapshots, losslessly compressed in memory, up to a budget in bytes;
+ *     <li>{@link Tier#SPILLED}: the remaining snapshots, compressed and written to a temporary memory-mapped file.
+ * </ul>
+ * Snapshots move to the lower tiers asynchronously, as they age; compression runs on a {@code ForkJoinPool}, each snapshot being split in stripes
+ * compressed in parallel. They move back to the raw tier when requested through {@link #get(int)}, or in advance, asynchronously,
+ * through {@link #prefetch(int, FluidSwipeEvent.Direction)} when a gesture begins.
+ * Identical snapshots, such as the ones of pages visited twice, are stored once: they are recognized by a content hash.
+ * <br>
+ * This class is thread-safe. The images returned by this store are shared, and must not be modified.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class NavigationSnapshotStore implements Closeable {
+    public static final int DEFAULT_RAW_CAPACITY = 3;
+    public static final long DEFAULT_COMPRESSED_BUDGET = 64L << 20;
+    private static final int PREFETCH_DEPTH = 2;
+    private static final DirectColorModel COLOR_MODEL = (DirectColorModel) ColorModel.getRGBdefault();
+
+    /**
+     * The tiers of the store.
+     */
+    public enum Tier {
+        /**
+         * The snapshot is kept as it is.
+         */
+        RAW,
+        /**
+         * The snapshot is kept compressed in memory.
+         */
+        COMPRESSED,
+        /**
+         * The snapshot is kept compressed in the spill file.
+         */
+        SPILLED
+    }
+
+    // A distinct snapshot, possibly shared by several pages. Guarded by the store.
+    private static final class Payload {
+        final int width;
+        final int height;
+        final long hash;
+        int refCount;
+        BufferedImage image;
+        int[] pixels;
+        int[] compressed;
+        SnapshotSpillFile.Region spilled;
+        ForkJoinTask<BufferedImage> promotion;
+        boolean compressing;
+        boolean spilling;
+        boolean released;
+
+        Payload(final int width, final int height, final long hash) {
+            this.width = width;
+            this.height = height;
+            this.hash = hash;
+        }
+
+        long rawBytes() {
+            return (long) width * height * Integer.BYTES;
+        }
+    }
+
+    private final int rawCapacity;
+    private final long compressedBudget;
+    private final ForkJoinPool pool;
+    private final Map<Integer, Payload> entries = new HashMap<>();
+    private final Map<Long, Payload> byHash = new HashMap<>();
+    private final LinkedHashMap<Payload, Payload> rawLru = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Payload, Payload> compressedLru = new LinkedHashMap<>(16, 0.75f, true);
+    private long rawBytes;
+    private long compressedBytes;
+    private long spilledBytes;
+    private SnapshotSpillFile spillFile;
+    private boolean spillFailed;
+    private boolean closed;
+
+    /**
+     * Constructs a store.
+     *
+     * @param rawCapacity      the number of distinct snapshots kept raw
+     * @param compressedBudget the number of bytes the compressed snapshots kept in memory may take up
+     * @param pool             the pool running compression, spilling and promotion; if {@code null}, the common pool is used
+     * @throws IllegalArgumentException if {@code rawCapacity} is less than {@code 1}, or {@code compressedBudget} is negative.
+     */
+    public NavigationSnapshotStore(final int rawCapacity, final long compressedBudget, final ForkJoinPool pool) {
+        if (rawCapacity < 1) throw new IllegalArgumentException("rawCapacity < 1: " + rawCapacity);
+        if (compressedBudget < 0) throw new IllegalArgumentException("compressedBudget < 0: " + compressedBudget);
+        this.rawCapacity = rawCapacity;
+        this.compressedBudget = compressedBudget;
+        this.pool = pool != null ? pool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Constructs a store keeping {@value #DEFAULT_RAW_CAPACITY} raw snapshots, and up to 64 MiB of compressed snapshots in memory.
+     */
+    public NavigationSnapshotStore() {
+        this(DEFAULT_RAW_CAPACITY, DEFAULT_COMPRESSED_BUDGET, null);
+    }
+
+    /**
+     * Stores a copy of the snapshot of a page, replacing the previous one, if any.
+     *
+     * @param index    the index of the page in the history
+     * @param snapshot the snapshot
+     * @throws NullPointerException     if {@code snapshot} is null.
+     * @throws IllegalArgumentException if {@code index} is negative.
+     * @throws IllegalStateException    if the store has been closed.
+     */
+    public void put(final int index, final BufferedImage snapshot) {
+        Objects.requireNonNull(snapshot, "snapshot is null");
+        if (index < 0) throw new IllegalArgumentException("index < 0: " + index);
+        final BufferedImage image = copy(snapshot);
+        final int[] pixels = pixelsOf(image);
+        final long hash = hash(pixels, image.getWidth(), image.getHeight());
+
+        final Payload candidate;
+        final int[] candidatePixels;
+        final int[] candidateEncoded;
+        synchronized (this) {
+            checkOpen();
+            final Payload p = byHash.get(hash);
+            candidate = p != null && p.width == image.getWidth() && p.height == image.getHeight() ? p : null;
+            candidatePixels = candidate != null ? candidate.pixels : null;
+            candidateEncoded = candidate == null || candidatePixels != null ? null : encodedOf(candidate);
+        }
+        boolean duplicate = false;
+        if (candidatePixels != null) {
+            duplicate = Arrays.equals(candidatePixels, pixels);
+        } else if (candidateEncoded != null) {
+            duplicate = Arrays.equals(candidateEncoded, SnapshotCodec.encode(pixels, image.getWidth(), image.getHeight(), pool));
+        }
+
+        synchronized (this) {
+            checkOpen();
+            final Payload p;
+            if (duplicate && !candidate.released) {
+                p = candidate;
+                touch(p);
+            } else {
+                p = new Payload(image.getWidth(), image.getHeight(), hash);
+                byHash.putIfAbsent(hash, p);
+                setRaw(p, image, pixels);
+            }
+            p.refCount++;
+            final Payload old = entries.put(index, p);
+            if (old != null) release(old);
+            enforceRawCapacity();
+        }
+    }
+
+    /**
+     * Returns the snapshot of a page, decompressing it if needed.
+     *
+     * @param index the index of the page in the history
+     * @return the snapshot, which must not be modified; {@code null} if no snapshot has been stored for that page, or if it has been removed
+     * while being decompressed.
+     */
+    public BufferedImage get(final int index) {
+        final ForkJoinTask<BufferedImage> promotion;
+        final boolean inline;
+        synchronized (this) {
+            final Payload p = entries.get(index);
+            if (p == null) return null;
+            if (p.image != null) {
+                touch(p);
+                return p.image;
+            }
+            inline = p.promotion == null;
+            promotion = inline ? promotion(p) : p.promotion;
+        }
+        return inline ? promotion.invoke() : promotion.join();
+    }
+
+    /**
+     * Asynchronously moves back to the raw tier the snapshots of the pages a gesture may navigate to, i.e., the pages preceding
+     * the current one if {@code direction} is {@code LEFT_TO_RIGHT}, the pages following it otherwise. Typically called when a gesture begins.
+     *
+     * @param currentIndex the index of the current page in the history
+     * @param direction    the logical direction of the gesture
+     */
+    public void prefetch(final int currentIndex, final FluidSwipeEvent.Direction direction) {
+        final int step = direction == FluidSwipeEvent.Direction.LEFT_TO_RIGHT ? -1 : 1;
+        final List<ForkJoinTask<BufferedImage>> promotions = new ArrayList<>(PREFETCH_DEPTH);
+        synchronized (this) {
+            if (closed) return;
+            final int depth = Math.min(PREFETCH_DEPTH, rawCapacity - 1);
+            for (int i = 1; i <= depth; i++) {
+                final Payload p = entries.get(currentIndex + step * i);
+                if (p == null) break;
+                if (p.image == null && p.promotion == null) promotions.add(promotion(p));
+            }
+        }
+        for (ForkJoinTask<BufferedImage> promotion : promotions) pool.execute(promotion);
+    }
+
+    /**
+     * Returns the tier in which the snapshot of a page is kept.
+     *
+     * @param index the index of the page in the history
+     * @return the tier; {@code null} if no snapshot has been stored for that page.
+     */
+    public synchronized Tier getTier(final int index) {
+        final Payload p = entries.get(index);
+        if (p == null) return null;
+        if (p.image != null) return Tier.RAW;
+        return p.compressed != null ? Tier.COMPRESSED : Tier.SPILLED;
+    }
+
+    /**
+     * Returns the number of bytes taken up in memory by the snapshots, both raw and compressed.
+     *
+     * @return the number of bytes taken up in memory.
+     */
+    public synchronized long getHeapBytes() {
+        return rawBytes + compressedBytes;
+    }
+
+    /**
+     * Returns the number of bytes taken up in the spill file by the snapshots.
+     *
+     * @return the number of bytes taken up in the spill file.
+     */
+    public synchronized long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * Removes the snapshot of a page.
+     *
+     * @param index the index of the page in the history
+     */
+    public synchronized void remove(final int index) {
+        final Payload p = entries.remove(index);
+        if (p != null) release(p);
+    }
+
+    /**
+     * Removes the snapshots of the pages from the specified index onwards, as when navigating to a new page after navigating back.
+     *
+     * @param fromIndex the index of the first page whose snapshot is removed
+     */
+    public synchronized void truncate(final int fromIndex) {
+        for (Iterator<Map.Entry<Integer, Payload>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            final Map.Entry<Integer, Payload> entry = it.next();
+            if (entry.getKey() >= fromIndex) {
+                it.remove();
+                release(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes all the snapshots.
+     */
+    public synchronized void clear() {
+        truncate(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Removes all the snapshots, and deletes the spill file. Subsequent attempts to store snapshots fail.
+     *
+     * @throws IOException if the spill file cannot be deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        final SnapshotSpillFile file;
+        synchronized (this) {
+            if (closed) return;
+            clear();
+            closed = true;
+            file = spillFile;
+            spillFile = null;
+        }
+        if (file != null) file.close();
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("store closed");
+    }
+
+    private void touch(final Payload p) {
+        if (rawLru.get(p) == null) compressedLru.get(p);
+    }
+
+    private void setRaw(final Payload p, final BufferedImage image, final int[] pixels) {
+        p.image = image;
+        p.pixels = pixels;
+        rawBytes += p.rawBytes();
+        rawLru.put(p, p);
+    }
+
+    private void dropRaw(final Payload p) {
+        if (p.image == null) return;
+        p.image = null;
+        p.pixels = null;
+        rawBytes -= p.rawBytes();
+    }
+
+    private void release(final Payload p) {
+        if (--p.refCount > 0) return;
+        p.released = true;
+        rawLru.remove(p);
+        dropRaw(p);
+        if (compressedLru.remove(p) != null) compressedBytes -= (long) p.compressed.length * Integer.BYTES;
+        p.compressed = null;
+        if (p.spilled != null) {
+            spillFile.free(p.spilled);
+            spilledBytes -= p.spilled.byteCount();
+            p.spilled = null;
+        }
+        byHash.remove(p.hash, p);
+    }
+
+    // Must be called while holding the lock of the store, which the regions of the spill file are freed and reused under.
+    private int[] encodedOf(final Payload p) {
+        if (p.compressed != null) return p.compressed;
+        return p.spilled != null ? spillFile.read(p.spilled) : null;
+    }
+
+    private ForkJoinTask<BufferedImage> promotion(final Payload p) {
+        final ForkJoinTask<BufferedImage> promotion = ForkJoinTask.adapt(() -> {
+            try {
+                final int[] encoded;
+                synchronized (this) {
+                    if (p.image != null) return p.image;
+                    encoded = p.released || closed ? null : encodedOf(p);
+                }
+                if (encoded == null) return null; // removed meanwhile.
+                final int[] pixels = new int[p.width * p.height];
+                SnapshotCodec.decode(encoded, pixels, p.width, p.height, pool);
+                final BufferedImage image = wrap(pixels, p.width, p.height);
+                synchronized (this) {
+                    if (!p.released && !closed && p.image == null) {
+                        setRaw(p, image, pixels);
+                        enforceRawCapacity();
+                    }
+                    return p.image != null ? p.image : image;
+                }
+            } finally {
+                synchronized (this) {
+                    p.promotion = null;
+                }
+            }
+        });
+        p.promotion = promotion;
+        return promotion;
+    }
+
+    private void enforceRawCapacity() {
+        while (rawLru.size() > rawCapacity) {
+            final Payload eldest = rawLru.keySet().iterator().next();
+            rawLru.remove(eldest);
+            if (eldest.compressed != null || eldest.spilled != null) {
+                dropRaw(eldest);
+                if (eldest.compressed != null) compressedLru.get(eldest);
+            } else if (!eldest.compressing) {
+                eldest.compressing = true;
+                final int[] pixels = eldest.pixels;
+                pool.execute(() -> compress(eldest, pixels));
+            }
+        }
+    }
+
+    private void compress(final Payload p, final int[] pixels) {
+        final int[] encoded = SnapshotCodec.encode(pixels, p.width, p.height, pool);
+        synchronized (this) {
+            p.compressing = false;
+            if (p.released || closed) return;
+            p.compressed = encoded;
+            compressedBytes += (long) encoded.length * Integer.BYTES;
+            compressedLru.put(p, p);
+            if (!rawLru.containsKey(p)) dropRaw(p); // Not used again meanwhile.
+            enforceCompressedBudget();
+        }
+    }
+
+    private void enforceCompressedBudget() {
+        while (compressedBytes > compressedBudget && !compressedLru.isEmpty() && !spillFailed) {
+            final Payload eldest = compressedLru.keySet().iterator().next();
+            compressedLru.remove(eldest);
+            compressedBytes -= (long) eldest.compressed.length * Integer.BYTES;
+            if (eldest.image != null || eldest.spilled != null) {
+                eldest.compressed = null;
+            } else if (!eldest.spilling) {
+                eldest.spilling = true;
+                final int[] encoded = eldest.compressed;
+                pool.execute(() -> spill(eldest, encoded));
+            }
+        }
+    }
+
+    private void spill(final Payload p, final int[] encoded) {
+        SnapshotSpillFile.Region region = null;
+        IOException failure = null;
+        final SnapshotSpillFile file;
+        synchronized (this) {
+            try {
+                if (spillFile == null && !closed) spillFile = new SnapshotSpillFile();
+            } catch (IOException e) {
+                failure = e;
+            }
+            file = spillFile;
+        }
+        if (file != null) {
+            try {
+                region = file.write(encoded);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        synchronized (this) {
+            p.spilling = false;
+            if (failure != null && !spillFailed) {
+                spillFailed = true;
+                Logging.logWarn("Cannot spill navigation snapshots, they are kept in memory: " + failure);
+            }
+            if (p.released || closed || region == null) {
+                if (region != null) file.free(region);
+                if (!p.released && !closed && p.compressed != null && !compressedLru.containsKey(p)) { // Spilling failed: keep it in memory.
+                    compressedLru.put(p, p);
+                    compressedBytes += (long) p.compressed.length * Integer.BYTES;
+                }
+                return;
+            }
+            p.spilled = region;
+            spilledBytes += region.byteCount();
+            if (!compressedLru.containsKey(p)) p.compressed = null;
+        }
+    }
+
+    private static BufferedImage copy(final BufferedImage source) {
+        final BufferedImage image = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static int[] pixelsOf(final BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    private static BufferedImage wrap(final int[] pixels, final int width, final int height) {
+        final WritableRaster raster = Raster.createPackedRaster(new DataBufferInt(pixels, pixels.length), width, height, width,
+                new int[]{COLOR_MODEL.getRedMask(), COLOR_MODEL.getGreenMask(), COLOR_MODEL.getBlueMask(), COLOR_MODEL.getAlphaMask()}, null);
+        return new BufferedImage(COLOR_MODEL, raster, false, null);
+    }
+
+    // 64-bit FNV-1a over the pixels and the size.
+    private static long hash(final int[] pixels, final int width, final int height) {
+        long h = 0xcbf29ce484222325L;
+        h = (h ^ width) * 0x100000001b3L;
+        h = (h ^ height) * 0x100000001b3L;
+        for (int pixel : pixels) h = (h ^ pixel) * 0x100000001b3L;
+        return h;
+    }
+}
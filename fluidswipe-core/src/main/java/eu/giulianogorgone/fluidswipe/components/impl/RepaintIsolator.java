@@ -0,0 +1,84 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+
+import javax.swing.*;
+import java.util.Objects;
+
+/**
+ * Isolates the subtree of a swipeable component from ordinary repaints while a gesture is animated.
+ * Between {@linkplain FluidSwipeEvent.Phase#BEGAN began} and {@linkplain FluidSwipeEvent.Phase#ENDED ended}, repaint requests of the descendants
+ * of the component – e.g., blinking carets or spinners, usually hidden behind the snapshots being animated – are held back and collapsed
+ * into a single region, which is repainted once the gesture ends – or is discarded without {@code ENDED}, e.g., because a listener threw.
+ * Repaint requests of the component itself, i.e., the animation frames, are not affected.
+ * <br>
+ * The isolator is added as a {@code FluidSwipeListener} of the component it is constructed for. If the application installed a custom
+ * {@code RepaintManager}, repaint requests are never held back.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public class RepaintIsolator extends FluidSwipeAdapter {
+    private final JComponent target;
+    private boolean enabled = true;
+
+    /**
+     * Constructs an isolator for the specified component.
+     *
+     * @param target the swipeable component whose subtree is isolated during gestures
+     * @throws NullPointerException if target is null.
+     */
+    public RepaintIsolator(final JComponent target) {
+        this.target = Objects.requireNonNull(target, "target is null");
+        FluidSwipe.addListenerTo(target, this);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the subtree is isolated during gestures; disabling the isolator during a gesture ends the isolation immediately.
+     *
+     * @param enabled {@code true} to isolate the subtree during gestures; {@code false} otherwise
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) TrackingRepaintManager.release(target);
+    }
+
+    /**
+     * Returns whether repaint requests of the subtree are currently held back.
+     *
+     * @return {@code true} if the subtree is isolated; {@code false} otherwise.
+     */
+    public boolean isIsolating() {
+        return TrackingRepaintManager.isIsolated(target);
+    }
+
+    @Override
+    public void fluidSwipeBegan(final FluidSwipeEvent e) {
+        if (enabled) TrackingRepaintManager.isolate(target);
+    }
+
+    @Override
+    public void fluidSwipeEnded(final FluidSwipeEvent e) {
+        TrackingRepaintManager.release(target);
+    }
+}
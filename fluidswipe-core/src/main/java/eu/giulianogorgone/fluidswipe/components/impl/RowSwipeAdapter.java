@@ -0,0 +1,419 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.AnimPainterDelegate;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.handling.ConditionalFluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeListenerList;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Makes the rows of a {@code JTable}, or the cells of a {@code JList}, individually swipeable, e.g., to implement swipe-to-reveal actions.
+ * Rows are not components: the row a gesture is directed to is resolved from the {@linkplain FluidSwipe#getGestureLocation(Component) location of the gesture}
+ * via {@link JTable#rowAtPoint(Point)} or {@link JList#locationToIndex(Point)}, which do not depend on the number of rows when rows have a fixed height.
+ * Outside any row, the component is not swipeable, and the gesture is directed to its ancestors. Each row can be vetoed by a {@link RowVetoer},
+ * which is passed the index of the row in the model.
+ * <p>
+ * The adapter is added to its component only, as a listener applying to the gestures occurring over a row, which also asks the row vetoer;
+ * the only per-component state is the adapter itself, and rows hold no state at all. Thus, components without an adapter are left alone, and fluid-swipe
+ * requests issued in windows without swipeable components can still be rejected in advance. When a gesture begins, the swiped row – and only that row – is painted once into a cached image,
+ * reused by later gestures if the row has the same size; while the gesture is animated, only the bounds of the row are repainted, and the image is
+ * painted shifted by the gesture amount over the {@linkplain #setRevealColor(Color) reveal color}.
+ * Since rows are painted by renderers, the component must delegate to the adapter the painting of the animation, e.g.:
+ * <pre>{@code
+ * final JTable table = new JTable(model) {
+ *     protected void paintComponent(Graphics g) {
+ *         super.paintComponent(g);
+ *         RowSwipeAdapter.get(this).paint(g);
+ *     }
+ * };
+ * RowSwipeAdapter.install(table).addRowSwipeListener((row, direction) -> archive(row));
+ * }</pre>
+ *
+ * @param <C> the type of the component
+ * @author Giuliano Gorgone (anticleiades)
+ * @see AnimPainterDelegate
+ */
+public abstract class RowSwipeAdapter<C extends JComponent> extends FluidSwipeAdapter implements AnimPainterDelegate {
+    private static final String KEY_CLIENT_PROP = "it.anticleiades.fluidswipe—RowSwipeAdapter";
+
+    /**
+     * Vetoes the swipe of single rows.
+     */
+    @FunctionalInterface
+    public interface RowVetoer {
+        /**
+         * Decides whether a row can be swiped.
+         *
+         * @param modelRow the index of the row in the model
+         * @param e        the fluid-swipe event
+         * @return {@code true} if the row can be swiped; {@code false} if the gesture must be vetoed.
+         */
+        boolean permitRowSwipe(final int modelRow, final FluidSwipeEvent e);
+    }
+
+    /**
+     * Notified when a row has been successfully swiped.
+     */
+    @FunctionalInterface
+    public interface RowSwipeListener {
+        /**
+         * Invoked on the EDT when the fluid-swipe gesture directed to a row successfully ends.
+         *
+         * @param modelRow  the index of the row in the model
+         * @param direction the logical direction of the gesture
+         */
+        void rowSwiped(final int modelRow, final FluidSwipeEvent.Direction direction);
+    }
+
+    protected final C component;
+    private final RowListener listener = new RowListener(this);
+    private final List<RowSwipeListener> rowSwipeListeners = new CopyOnWriteArrayList<>();
+    private RowVetoer rowVetoer;
+    private Color revealColor;
+    private BufferedImage rowImage;
+    private final Rectangle rowBounds = new Rectangle();
+    private int swipedRow = -1;
+    private FluidSwipeEvent.Direction direction;
+    private double amount;
+    private boolean capturing;
+
+    RowSwipeAdapter(final C component) {
+        this.component = Objects.requireNonNull(component, "component is null");
+    }
+
+    /**
+     * Makes the rows of a table individually swipeable. Must be called on the EDT.
+     *
+     * @param table the table
+     * @return the adapter of the table; the one already installed, if any.
+     * @throws NullPointerException if table is null
+     */
+    public static RowSwipeAdapter<JTable> install(final JTable table) {
+        @SuppressWarnings("unchecked") final RowSwipeAdapter<JTable> installed = (RowSwipeAdapter<JTable>) get(table);
+        return installed != null ? installed : install(new TableRows(table));
+    }
+
+    /**
+     * Makes the cells of a list individually swipeable. Must be called on the EDT.
+     *
+     * @param list the list
+     * @return the adapter of the list; the one already installed, if any.
+     * @throws NullPointerException if list is null
+     */
+    public static RowSwipeAdapter<JList<?>> install(final JList<?> list) {
+        @SuppressWarnings("unchecked") final RowSwipeAdapter<JList<?>> installed = (RowSwipeAdapter<JList<?>>) get(list);
+        return installed != null ? installed : install(new ListRows(list));
+    }
+
+    private static <C extends JComponent> RowSwipeAdapter<C> install(final RowSwipeAdapter<C> adapter) {
+        adapter.component.putClientProperty(KEY_CLIENT_PROP, adapter);
+        FluidSwipe.addListenerTo(adapter.component, adapter.listener);
+        FluidSwipe.vetoVerdictsChanged(adapter.component);
+        return adapter;
+    }
+
+    /**
+     * Returns the adapter installed on a component.
+     *
+     * @param component the component
+     * @return the adapter; {@code null} if none is installed.
+     */
+    public static RowSwipeAdapter<?> get(final JComponent component) {
+        final Object adapter = component.getClientProperty(KEY_CLIENT_PROP);
+        return adapter instanceof RowSwipeAdapter ? (RowSwipeAdapter<?>) adapter : null;
+    }
+
+    /**
+     * Makes the rows of the component no longer swipeable, and releases the cached image. Must be called on the EDT.
+     */
+    public void uninstall() {
+        if (get(component) != this) return;
+        component.putClientProperty(KEY_CLIENT_PROP, null);
+        FluidSwipe.removeListenerFrom(component, listener);
+        final FluidSwipeListenerList list = FluidSwipeListenerList.get(component);
+        if (list != null && list.listenerList.isEmpty()) FluidSwipeListenerList.uninstall(component); // otherwise, the component would stay swipeable.
+        FluidSwipe.vetoVerdictsChanged(component);
+        reset();
+        rowImage = null;
+    }
+
+    /**
+     * Returns the index, in the view, of the row at a location.
+     *
+     * @param p the location, relative to the component
+     * @return the index of the row; {@code -1} if there is no row at {@code p}.
+     */
+    protected abstract int rowAt(final Point p);
+
+    /**
+     * Returns the bounds of a row.
+     *
+     * @param row the index of the row in the view
+     * @return the bounds of the row, relative to the component
+     */
+    protected abstract Rectangle getRowBounds(final int row);
+
+    /**
+     * Converts the index of a row in the view into its index in the model.
+     *
+     * @param row the index of the row in the view
+     * @return the index of the row in the model
+     */
+    protected abstract int convertRowIndexToModel(final int row);
+
+    private int rowAtGesture() {
+        final Point p = FluidSwipe.getGestureLocation(component);
+        if (p == null) throw new IllegalStateException("the row depends on the location of the gesture, which is unknown");
+        return rowAt(p);
+    }
+
+    private boolean permitGesture(final FluidSwipeEvent e) {
+        final int row = rowAtGesture();
+        final RowVetoer vetoer = rowVetoer;
+        return row < 0 || vetoer == null || vetoer.permitRowSwipe(convertRowIndexToModel(row), e);
+    }
+
+    public C getComponent() {
+        return component;
+    }
+
+    /**
+     * Returns the vetoer asked whether rows can be swiped.
+     *
+     * @return the vetoer; {@code null} if every row can be swiped.
+     */
+    public RowVetoer getRowVetoer() {
+        return rowVetoer;
+    }
+
+    /**
+     * Sets the vetoer asked whether rows can be swiped. If published swipe regions are enabled, {@link FluidSwipe#vetoVerdictsChanged(JComponent)}
+     * need not be called when its verdicts change, as they are never published.
+     *
+     * @param rowVetoer the vetoer; {@code null} if every row can be swiped
+     */
+    public void setRowVetoer(final RowVetoer rowVetoer) {
+        this.rowVetoer = rowVetoer;
+    }
+
+    public void addRowSwipeListener(final RowSwipeListener listener) {
+        rowSwipeListeners.add(Objects.requireNonNull(listener, "listener is null"));
+    }
+
+    public void removeRowSwipeListener(final RowSwipeListener listener) {
+        rowSwipeListeners.remove(listener);
+    }
+
+    /**
+     * Returns the color painted where the swiped row has been moved away from.
+     *
+     * @return the reveal color; {@code null} if the background of the component is painted.
+     */
+    public Color getRevealColor() {
+        return revealColor;
+    }
+
+    public void setRevealColor(final Color revealColor) {
+        this.revealColor = revealColor;
+        if (swipedRow >= 0) component.repaint(rowBounds);
+    }
+
+    /**
+     * Returns the row being swiped.
+     *
+     * @return the index of the row in the model; {@code -1} if no row is being swiped.
+     */
+    public int getSwipedRow() {
+        return swipedRow < 0 ? -1 : convertRowIndexToModel(swipedRow);
+    }
+
+    @Override
+    public void fluidSwipeBegan(final FluidSwipeEvent e) {
+        final Point p = FluidSwipe.getGestureLocation(component);
+        final int row = p == null ? -1 : rowAt(p);
+        if (row < 0) return;
+        swipedRow = row;
+        direction = e.getLogicalGestureDirection();
+        amount = 0.0D;
+        rowBounds.setBounds(getRowBounds(row));
+        captureRow();
+        component.repaint(rowBounds);
+    }
+
+    @Override
+    public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+        if (swipedRow < 0) return;
+        amount = e.getGestureAmount();
+        component.repaint(rowBounds);
+    }
+
+    @Override
+    public void fluidSwipeEnded(final FluidSwipeEvent e) {
+        if (swipedRow < 0) return;
+        final int modelRow = convertRowIndexToModel(swipedRow);
+        reset();
+        if (e.getGestureState() == FluidSwipeEvent.State.SUCCESS) {
+            for (RowSwipeListener listener : rowSwipeListeners) listener.rowSwiped(modelRow, e.getLogicalGestureDirection());
+        }
+    }
+
+    private void reset() {
+        if (swipedRow >= 0) component.repaint(rowBounds);
+        swipedRow = -1;
+        direction = null;
+        amount = 0.0D;
+    }
+
+    // Paints the swiped row into the cached image, reallocated only if the size of the row, or the scale, changed.
+    private void captureRow() {
+        final GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        final double scale = gc == null ? 1.0D : gc.getDefaultTransform().getScaleX();
+        final int width = (int) Math.ceil(rowBounds.width * scale);
+        final int height = (int) Math.ceil(rowBounds.height * scale);
+        if (width <= 0 || height <= 0) {
+            rowImage = null;
+            return;
+        }
+        if (rowImage == null || rowImage.getWidth() != width || rowImage.getHeight() != height) {
+            rowImage = gc != null ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        final Graphics2D g = rowImage.createGraphics();
+        capturing = true;
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, width, height);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.scale(scale, scale);
+            g.translate(-rowBounds.x, -rowBounds.y);
+            g.clipRect(rowBounds.x, rowBounds.y, rowBounds.width, rowBounds.height); // renderers paint the swiped row only.
+            component.paint(g);
+        } finally {
+            capturing = false;
+            g.dispose();
+        }
+    }
+
+    @Override
+    public boolean isActive() {
+        return swipedRow >= 0 && rowImage != null && !capturing;
+    }
+
+    @Override
+    public void paint(final Graphics g) {
+        if (!isActive()) return;
+        final Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.clipRect(rowBounds.x, rowBounds.y, rowBounds.width, rowBounds.height);
+            g2.setColor(revealColor != null ? revealColor : component.getBackground());
+            g2.fillRect(rowBounds.x, rowBounds.y, rowBounds.width, rowBounds.height);
+            final int offset = (int) Math.round(amount * rowBounds.width) * (direction == FluidSwipeEvent.Direction.LEFT_TO_RIGHT ? 1 : -1);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.drawImage(rowImage, rowBounds.x + offset, rowBounds.y, rowBounds.width, rowBounds.height, null);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    // Added to the component in place of the adapter, which does not expose the internal interface.
+    private static final class RowListener implements ConditionalFluidSwipeListener {
+        private final RowSwipeAdapter<?> adapter;
+
+        RowListener(final RowSwipeAdapter<?> adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public boolean appliesTo(final JComponent component) {
+            return adapter.rowAtGesture() >= 0;
+        }
+
+        @Override
+        public boolean vetoes(final JComponent component, final FluidSwipeEvent e) {
+            return !adapter.permitGesture(e);
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            adapter.fluidSwipeBegan(e);
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+            adapter.fluidSwipeProgressed(e);
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            adapter.fluidSwipeEnded(e);
+        }
+    }
+
+    private static final class TableRows extends RowSwipeAdapter<JTable> {
+        TableRows(final JTable table) {
+            super(table);
+        }
+
+        @Override
+        protected int rowAt(final Point p) {
+            return component.rowAtPoint(p);
+        }
+
+        @Override
+        protected Rectangle getRowBounds(final int row) {
+            final Rectangle cell = component.getCellRect(row, 0, true);
+            return new Rectangle(0, cell.y, component.getWidth(), cell.height);
+        }
+
+        @Override
+        protected int convertRowIndexToModel(final int row) {
+            return component.convertRowIndexToModel(row);
+        }
+    }
+
+    private static final class ListRows extends RowSwipeAdapter<JList<?>> {
+        ListRows(final JList<?> list) {
+            super(list);
+        }
+
+        @Override
+        protected int rowAt(final Point p) {
+            final int index = component.locationToIndex(p);
+            // locationToIndex returns the closest cell, even past the last one.
+            return index >= 0 && component.getCellBounds(index, index).contains(p) ? index : -1;
+        }
+
+        @Override
+        protected Rectangle getRowBounds(final int row) {
+            return component.getCellBounds(row, row);
+        }
+
+        @Override
+        protected int convertRowIndexToModel(final int row) {
+            return row;
+        }
+    }
+}
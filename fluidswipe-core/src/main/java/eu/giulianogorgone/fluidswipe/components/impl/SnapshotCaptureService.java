@@ -0,0 +1,319 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Captures snapshots of components into offscreen buffers, reused from one capture of a component to the next.
+ * The regions of the captured components marked dirty – i.e., passed to {@link RepaintManager#addDirtyRegion(JComponent, int, int, int, int)},
+ * as {@link JComponent#repaint()} does – are tracked, along with those of their descendants, so that a later capture repaints only what changed since the previous one,
+ * or nothing at all. Each snapshot is stamped with the version of the component it shows, which changes whenever a region of
+ * the component is marked dirty, or it is captured at a different size or scale; thus, {@link ComponentSnapshot#isStale()} tells whether the component changed after the capture.
+ * <br>
+ * Regions of the ancestors of a component are ignored, as they do not change what the component paints. Changes not announced by a repaint request are not tracked; in such case, {@link #invalidate(JComponent)} must be called.
+ * Dirty regions are matched against the hierarchy – the top-level container – the components were in when last captured: a component moved
+ * to another hierarchy is captured whole next time, but one changed in another hierarchy and moved back before being captured again must be invalidated.
+ * If the application installed a custom {@code RepaintManager}, dirty regions are not tracked at all, and every capture repaints the whole component.
+ * <br>
+ * Captured components are weakly referenced. Captures must be performed on the EDT; the other methods are thread-safe.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see ComponentSnapshot
+ */
+public final class SnapshotCaptureService {
+    private static SnapshotCaptureService defaultService; // guarded by SnapshotCaptureService.class
+
+    private final Map<JComponent, Entry> entries = new WeakHashMap<>(); // guarded by itself
+    // the top-level containers of the captured components, read without locking to skip the dirty regions of other hierarchies; written under entries.
+    private volatile List<WeakReference<Component>> roots = Collections.emptyList();
+    private final TrackingRepaintManager.DirtyRegionHook hook = this::dirtyRegionAdded;
+    private final boolean tracking;
+    private volatile boolean disposed;
+
+    /**
+     * Constructs a capture service, which keeps tracking dirty regions until {@link #dispose()} is called.
+     * Most applications should share the {@linkplain #getDefault() default} service instead.
+     */
+    public SnapshotCaptureService() {
+        tracking = TrackingRepaintManager.addHook(hook);
+    }
+
+    /**
+     * Returns the service shared by the components of this library.
+     *
+     * @return the default capture service.
+     */
+    public static synchronized SnapshotCaptureService getDefault() {
+        if (defaultService == null) defaultService = new SnapshotCaptureService();
+        return defaultService;
+    }
+
+    // The default service, or null if it has not been created yet: nothing has been captured by it, thus there is nothing to invalidate nor release.
+    static synchronized SnapshotCaptureService getDefaultIfCreated() {
+        return defaultService;
+    }
+
+    /**
+     * Returns whether dirty regions are tracked, so that captures are incremental.
+     *
+     * @return {@code true} if captures are incremental; {@code false} if every capture repaints the whole component.
+     */
+    public boolean isTracking() {
+        return tracking && !disposed;
+    }
+
+    /**
+     * Captures a snapshot of a component at its actual size.
+     *
+     * @param component the component to capture
+     * @return a snapshot of the component; {@code null} if the component is empty.
+     * @throws NullPointerException  if component is null.
+     * @throws IllegalStateException if the service has been disposed.
+     * @see #capture(JComponent, double)
+     */
+    public ComponentSnapshot capture(final JComponent component) {
+        return capture(component, 1.0D);
+    }
+
+    /**
+     * Captures a snapshot of a component. If the component did not change since its previous capture at the same scale, the previous
+     * snapshot is returned; otherwise, the regions marked dirty since then are repainted into the buffer of the previous snapshot,
+     * which is thus modified. The whole component is repainted on its first capture, or if its size, scale or graphics configuration changed.
+     *
+     * @param component the component to capture
+     * @param scale     the scale the component is painted at
+     * @return a snapshot of the component; {@code null} if the component is empty.
+     * @throws NullPointerException     if component is null.
+     * @throws IllegalArgumentException if scale is not positive and finite.
+     * @throws IllegalStateException    if the service has been disposed.
+     */
+    public ComponentSnapshot capture(final JComponent component, final double scale) {
+        Objects.requireNonNull(component, "component is null");
+        if (!(scale > 0.0D) || Double.isInfinite(scale))
+            throw new IllegalArgumentException("invalid scale: " + scale);
+        if (disposed)
+            throw new IllegalStateException("service disposed");
+        final int width = (int) Math.ceil(component.getWidth() * scale);
+        final int height = (int) Math.ceil(component.getHeight() * scale);
+        if (width <= 0 || height <= 0) return null;
+        final Entry entry;
+        final Rectangle dirty;
+        final boolean wholeDirty;
+        long version;
+        final Component root = rootOf(component);
+        synchronized (entries) {
+            entry = entries.computeIfAbsent(component, c -> new Entry());
+            final boolean moved = entry.root != null && entry.root.get() != root; // its dirty regions may have been skipped.
+            if (entry.root == null || moved) {
+                entry.root = new WeakReference<>(root);
+                updateRoots();
+            }
+            dirty = entry.dirty;
+            wholeDirty = entry.wholeDirty || moved || !tracking;
+            version = entry.version;
+            entry.dirty = null;
+            entry.wholeDirty = false;
+        }
+        final GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        BufferedImage buffer = entry.buffer;
+        final boolean reallocate = buffer == null || buffer.getWidth() != width || buffer.getHeight() != height || entry.gc != gc;
+        if (!reallocate && !wholeDirty && entry.scale == scale && dirty == null && entry.snapshot != null) return entry.snapshot;
+        final Rectangle region;
+        if (reallocate || wholeDirty || entry.scale != scale || dirty == null) {
+            if (reallocate || entry.scale != scale) { // not announced by a dirty region, yet the previous snapshot no longer shows the component.
+                synchronized (entries) {
+                    version = ++entry.version;
+                }
+            }
+            if (reallocate) {
+                buffer = gc != null ? gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                        : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+                entry.buffer = buffer;
+                entry.gc = gc;
+            }
+            region = new Rectangle(0, 0, width, height);
+        } else if (scale == 1.0D) {
+            region = dirty;
+        } else { // grown by a pixel, as the edges of a scaled region are blended with its neighbors.
+            final int x = (int) Math.floor(dirty.x * scale) - 1;
+            final int y = (int) Math.floor(dirty.y * scale) - 1;
+            region = new Rectangle(x, y, (int) Math.ceil((dirty.x + dirty.width) * scale) + 1 - x, (int) Math.ceil((dirty.y + dirty.height) * scale) + 1 - y)
+                    .intersection(new Rectangle(0, 0, width, height));
+        }
+        final Graphics2D g = buffer.createGraphics();
+        try {
+            g.clip(region);
+            g.setComposite(AlphaComposite.Clear);
+            g.fill(region);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.scale(scale, scale);
+            component.paint(g);
+        } finally {
+            g.dispose();
+        }
+        entry.scale = scale;
+        return entry.snapshot = new ComponentSnapshot(this, entry, buffer, scale, version);
+    }
+
+    /**
+     * Returns the version of a component, which changes whenever a region of the component is marked dirty, or it is captured at a different size or scale.
+     *
+     * @param component the component
+     * @return the version of the component; {@code 0} if the component has never been captured.
+     * @throws NullPointerException if component is null.
+     */
+    public long getVersion(final JComponent component) {
+        Objects.requireNonNull(component, "component is null");
+        synchronized (entries) {
+            final Entry entry = entries.get(component);
+            return entry == null ? 0L : entry.version;
+        }
+    }
+
+    /**
+     * Marks a whole component dirty, so that its next capture repaints it entirely.
+     *
+     * @param component the component
+     * @throws NullPointerException if component is null.
+     */
+    public void invalidate(final JComponent component) {
+        Objects.requireNonNull(component, "component is null");
+        synchronized (entries) {
+            final Entry entry = entries.get(component);
+            if (entry != null) {
+                entry.wholeDirty = true;
+                entry.version++;
+            }
+        }
+    }
+
+    /**
+     * Releases the buffer of a component; snapshots of the component captured so far become stale.
+     *
+     * @param component the component
+     * @throws NullPointerException if component is null.
+     */
+    public void release(final JComponent component) {
+        Objects.requireNonNull(component, "component is null");
+        synchronized (entries) {
+            final Entry entry = entries.remove(component);
+            if (entry != null) {
+                entry.released = true;
+                updateRoots();
+            }
+        }
+    }
+
+    /**
+     * Stops tracking dirty regions and releases all buffers; the service cannot be used afterwards.
+     * The {@linkplain #getDefault() default} service cannot be disposed.
+     *
+     * @throws UnsupportedOperationException if this is the default service.
+     */
+    public void dispose() {
+        synchronized (SnapshotCaptureService.class) {
+            if (this == defaultService) throw new UnsupportedOperationException("the default service cannot be disposed");
+        }
+        disposed = true;
+        TrackingRepaintManager.removeHook(hook);
+        synchronized (entries) {
+            for (Entry entry : entries.values()) entry.released = true;
+            entries.clear();
+            updateRoots();
+        }
+    }
+
+    boolean isStale(final Entry entry, final long version) {
+        synchronized (entries) {
+            return entry.released || entry.version != version;
+        }
+    }
+
+    private static Component rootOf(final Component component) {
+        Component root = component;
+        for (Container parent = root.getParent(); parent != null; parent = parent.getParent()) root = parent;
+        return root;
+    }
+
+    private static boolean contains(final List<WeakReference<Component>> roots, final Component root) {
+        for (WeakReference<Component> reference : roots) {
+            if (reference.get() == root) return true;
+        }
+        return false;
+    }
+
+    // Must be called while holding the lock of entries. Components collected meanwhile may leave their roots behind, which only costs a lookup.
+    private void updateRoots() {
+        final List<WeakReference<Component>> updated = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            final Component root = entry.root == null ? null : entry.root.get();
+            if (root != null && !contains(updated, root)) updated.add(entry.root);
+        }
+        roots = updated;
+    }
+
+    // May run on any thread.
+    private void dirtyRegionAdded(final Container c, final int x, final int y, final int w, final int h) {
+        if (w <= 0 || h <= 0) return;
+        final List<WeakReference<Component>> roots = this.roots;
+        if (roots.isEmpty() || !contains(roots, rootOf(c))) return; // not a descendant of a captured component.
+        synchronized (entries) {
+            if (entries.isEmpty()) return;
+            for (Map.Entry<JComponent, Entry> mapping : entries.entrySet()) {
+                final JComponent component = mapping.getKey();
+                if (component == null) continue;
+                final Rectangle region;
+                if (c == component) {
+                    region = new Rectangle(x, y, w, h);
+                } else if (component.isAncestorOf(c)) {
+                    region = SwingUtilities.convertRectangle(c, new Rectangle(x, y, w, h), component);
+                } else {
+                    continue;
+                }
+                final Rectangle visible = region.intersection(new Rectangle(0, 0, component.getWidth(), component.getHeight()));
+                if (visible.isEmpty()) continue;
+                final Entry entry = mapping.getValue();
+                entry.dirty = entry.dirty == null ? visible : entry.dirty.union(visible);
+                entry.version++;
+            }
+        }
+    }
+
+    // The state of a captured component; it must not reference the component, which is weakly referenced.
+    static final class Entry {
+        // guarded by entries
+        Rectangle dirty;
+        WeakReference<Component> root;
+        boolean wholeDirty;
+        long version = 1L;
+        boolean released;
+        // accessed by the EDT only
+        BufferedImage buffer;
+        GraphicsConfiguration gc;
+        double scale;
+        ComponentSnapshot snapshot;
+    }
+}
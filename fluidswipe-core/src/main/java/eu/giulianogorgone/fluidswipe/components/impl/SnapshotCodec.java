@@ -0,0 +1,162 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A lossless codec for packed-int rasters. Each pixel is XOR-ed with the pixel above, so that rows repeating the previous one
+ * become runs of zeros, and the result is run-length encoded; UI pages, mostly made of flat areas, shrink by one to two orders of magnitude.
+ * The raster is split in stripes of {@value #STRIPE_ROWS} rows, encoded and decoded independently, in parallel.
+ * <br>
+ * Encoded data layout: the number of stripes, the length of each encoded stripe, then the stripes. Each stripe is a sequence of tokens:
+ * a positive header {@code n} is followed by {@code n} literal values, a negative header {@code -n} by one value repeated {@code n} times.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class SnapshotCodec {
+    static final int STRIPE_ROWS = 64;
+    private static final int MIN_RUN = 3;
+
+    private SnapshotCodec() {
+    }
+
+    static int[] encode(final int[] pixels, final int width, final int height, final ForkJoinPool pool) {
+        final int stripeCount = (height + STRIPE_ROWS - 1) / STRIPE_ROWS;
+        final int[][] stripes = new int[stripeCount][];
+        forEachStripe(stripeCount, pool, stripe -> stripes[stripe] = encodeStripe(pixels, width, stripe * STRIPE_ROWS, Math.min(height, (stripe + 1) * STRIPE_ROWS)));
+        int length = 1 + stripeCount;
+        for (int[] stripe : stripes) length += stripe.length;
+        final int[] encoded = new int[length];
+        encoded[0] = stripeCount;
+        int offset = 1 + stripeCount;
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            encoded[1 + stripe] = stripes[stripe].length;
+            System.arraycopy(stripes[stripe], 0, encoded, offset, stripes[stripe].length);
+            offset += stripes[stripe].length;
+        }
+        return encoded;
+    }
+
+    static void decode(final int[] encoded, final int[] pixels, final int width, final int height, final ForkJoinPool pool) {
+        final int stripeCount = encoded[0];
+        final int[] offsets = new int[stripeCount];
+        int offset = 1 + stripeCount;
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            offsets[stripe] = offset;
+            offset += encoded[1 + stripe];
+        }
+        forEachStripe(stripeCount, pool, stripe -> decodeStripe(encoded, offsets[stripe], pixels, width, stripe * STRIPE_ROWS, Math.min(height, (stripe + 1) * STRIPE_ROWS)));
+    }
+
+    private static int[] encodeStripe(final int[] pixels, final int width, final int fromRow, final int toRow) {
+        final int start = fromRow * width;
+        final int end = toRow * width;
+        final int[] values = new int[end - start];
+        for (int i = start; i < end; i++) {
+            values[i - start] = i - start < width ? pixels[i] : pixels[i] ^ pixels[i - width];
+        }
+        int[] out = new int[Math.max(16, values.length >> 4)];
+        int size = 0;
+        int literalStart = 0;
+        int i = 0;
+        while (i < values.length) {
+            final int v = values[i];
+            int run = 1;
+            while (i + run < values.length && values[i + run] == v) run++;
+            if (run < MIN_RUN) {
+                i += run;
+                continue;
+            }
+            final int literals = i - literalStart;
+            if (size + literals + 3 > out.length) out = Arrays.copyOf(out, Math.max(out.length << 1, size + literals + 3));
+            if (literals > 0) {
+                out[size++] = literals;
+                System.arraycopy(values, literalStart, out, size, literals);
+                size += literals;
+            }
+            out[size++] = -run;
+            out[size++] = v;
+            i += run;
+            literalStart = i;
+        }
+        final int literals = values.length - literalStart;
+        if (literals > 0) {
+            if (size + literals + 1 > out.length) out = Arrays.copyOf(out, size + literals + 1);
+            out[size++] = literals;
+            System.arraycopy(values, literalStart, out, size, literals);
+            size += literals;
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    private static void decodeStripe(final int[] encoded, int offset, final int[] pixels, final int width, final int fromRow, final int toRow) {
+        final int start = fromRow * width;
+        final int end = toRow * width;
+        int i = start;
+        while (i < end) {
+            final int header = encoded[offset++];
+            if (header > 0) {
+                System.arraycopy(encoded, offset, pixels, i, header);
+                offset += header;
+                i += header;
+            } else {
+                Arrays.fill(pixels, i, i - header, encoded[offset++]);
+                i -= header;
+            }
+        }
+        for (int j = start + width; j < end; j++) pixels[j] ^= pixels[j - width];
+    }
+
+    private interface StripeTask {
+        void run(int stripe);
+    }
+
+    private static void forEachStripe(final int stripeCount, final ForkJoinPool pool, final StripeTask task) {
+        if (pool == null || stripeCount < 2) {
+            for (int stripe = 0; stripe < stripeCount; stripe++) task.run(stripe);
+        } else {
+            pool.invoke(new StripeAction(task, 0, stripeCount));
+        }
+    }
+
+    private static final class StripeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient StripeTask task;
+        private final int from;
+        private final int to;
+
+        StripeAction(final StripeTask task, final int from, final int to) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                task.run(from);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new StripeAction(task, from, middle), new StripeAction(task, middle, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A store of int arrays, backed by a temporary file mapped in memory by segments of at least {@value #SEGMENT_BYTES} bytes.
+ * The space of the freed regions is kept in a free list, coalesced with the adjacent free space, and reused by the first write it fits;
+ * the file grows only when no free extent is large enough. The file is deleted when closed.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class SnapshotSpillFile implements Closeable {
+    static final int SEGMENT_BYTES = 64 << 20;
+
+    static final class Region {
+        final int segment;
+        final int offset;
+        final int length;
+
+        Region(final int segment, final int offset, final int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        long byteCount() {
+            return (long) length * Integer.BYTES;
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    // the free extents of each segment: offset to size in bytes, never adjacent to each other.
+    private final List<TreeMap<Integer, Integer>> freeExtents = new ArrayList<>();
+    private long fileSize;
+    private long liveBytes;
+    private boolean closed;
+
+    SnapshotSpillFile() throws IOException {
+        path = Files.createTempFile("fluidswipe-snapshots", ".bin");
+        path.toFile().deleteOnExit();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    synchronized Region write(final int[] data) throws IOException {
+        if (closed) throw new ClosedChannelException();
+        final long byteCount = (long) data.length * Integer.BYTES;
+        if (byteCount > Integer.MAX_VALUE) throw new IOException("region too large: " + byteCount + " bytes");
+        final Region region = allocate((int) byteCount, data.length);
+        segments.get(region.segment).duplicate().position(region.offset).asIntBuffer().put(data);
+        liveBytes += byteCount;
+        return region;
+    }
+
+    // First fit among the free extents; a new segment is mapped if none is large enough.
+    private Region allocate(final int byteCount, final int length) throws IOException {
+        for (int segment = 0; segment < freeExtents.size(); segment++) {
+            final TreeMap<Integer, Integer> extents = freeExtents.get(segment);
+            for (Map.Entry<Integer, Integer> extent : extents.entrySet()) {
+                final int offset = extent.getKey();
+                final int size = extent.getValue();
+                if (size < byteCount) continue;
+                extents.remove(offset);
+                if (size > byteCount) extents.put(offset + byteCount, size - byteCount);
+                return new Region(segment, offset, length);
+            }
+        }
+        final int size = Math.max(SEGMENT_BYTES, byteCount);
+        segments.add(channel.map(FileChannel.MapMode.READ_WRITE, fileSize, size));
+        fileSize += size;
+        final TreeMap<Integer, Integer> extents = new TreeMap<>();
+        if (size > byteCount) extents.put(byteCount, size - byteCount);
+        freeExtents.add(extents);
+        return new Region(segments.size() - 1, 0, length);
+    }
+
+    /**
+     * Reads a region.
+     *
+     * @throws IllegalStateException if the file has been closed.
+     */
+    synchronized int[] read(final Region region) {
+        if (closed) throw new IllegalStateException("spill file closed");
+        final int[] data = new int[region.length];
+        segments.get(region.segment).duplicate().position(region.offset).asIntBuffer().get(data);
+        return data;
+    }
+
+    synchronized void free(final Region region) {
+        if (closed) return;
+        liveBytes -= region.byteCount();
+        final TreeMap<Integer, Integer> extents = freeExtents.get(region.segment);
+        int offset = region.offset;
+        int size = (int) region.byteCount();
+        final Map.Entry<Integer, Integer> previous = extents.lowerEntry(offset); // a snapshot: lowerEntry does not return the node itself.
+        if (previous != null && previous.getKey() + previous.getValue() == offset) {
+            extents.remove(previous.getKey());
+            offset = previous.getKey();
+            size += previous.getValue();
+        }
+        final Integer next = extents.remove(offset + size);
+        if (next != null) size += next;
+        extents.put(offset, size);
+    }
+
+    synchronized long getLiveBytes() {
+        return liveBytes;
+    }
+
+    synchronized long getFileSize() {
+        return fileSize;
+    }
+
+    // Mapped segments are released by the GC, once unreachable.
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        segments.clear();
+        freeExtents.clear();
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A pool of the tiles of {@link TiledSnapshot}s, bounded by a budget in bytes: the least recently used tiles are evicted to make room for new ones.
+ * A pool can be shared by any number of snapshots, whose tiles then compete for the same budget; hits, misses, evictions and the memory held
+ * are reported, so that the budget can be tuned.
+ * <br>
+ * This class is thread-safe.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see TiledSnapshot
+ */
+public final class TilePool {
+    public static final long DEFAULT_BUDGET = 64L << 20;
+    private static TilePool defaultPool; // guarded by TilePool.class
+
+    private final ImageLruCache<Key> tiles; // guarded by this
+
+    /**
+     * Constructs a pool.
+     * Most applications should share the {@linkplain #getDefault() default} pool instead.
+     *
+     * @param byteBudget the maximum number of bytes held by the pooled tiles
+     * @throws IllegalArgumentException if byteBudget is not positive.
+     */
+    public TilePool(final long byteBudget) {
+        this.tiles = new ImageLruCache<>(byteBudget, 64);
+    }
+
+    /**
+     * Returns the pool shared by the components of this library, whose budget is {@link #DEFAULT_BUDGET}.
+     *
+     * @return the default tile pool.
+     */
+    public static synchronized TilePool getDefault() {
+        if (defaultPool == null) defaultPool = new TilePool(DEFAULT_BUDGET);
+        return defaultPool;
+    }
+
+    synchronized BufferedImage get(final long owner, final int column, final int row) {
+        return tiles.get(new Key(owner, column, row));
+    }
+
+    synchronized boolean contains(final long owner, final int column, final int row) {
+        return tiles.contains(new Key(owner, column, row));
+    }
+
+    synchronized void put(final long owner, final int column, final int row, final BufferedImage tile) {
+        tiles.put(new Key(owner, column, row), tile); // a tile larger than the budget is drawn once, then dropped.
+    }
+
+    synchronized void removeAll(final long owner) {
+        tiles.removeIf(key -> key.owner == owner);
+    }
+
+    /**
+     * Discards all the pooled tiles; the statistics are not reset.
+     */
+    public synchronized void clear() {
+        tiles.clear();
+    }
+
+    /**
+     * Resets the hit, miss and eviction counts.
+     */
+    public synchronized void resetStatistics() {
+        tiles.resetStatistics();
+    }
+
+    public long getByteBudget() {
+        return tiles.getByteBudget();
+    }
+
+    /**
+     * Returns the number of bytes held by the pooled tiles.
+     *
+     * @return the memory used by the pool, in bytes.
+     */
+    public synchronized long getByteCount() {
+        return tiles.getByteCount();
+    }
+
+    public synchronized int getTileCount() {
+        return tiles.size();
+    }
+
+    public synchronized long getHitCount() {
+        return tiles.getHitCount();
+    }
+
+    public synchronized long getMissCount() {
+        return tiles.getMissCount();
+    }
+
+    public synchronized long getEvictionCount() {
+        return tiles.getEvictionCount();
+    }
+
+    /**
+     * Returns the ratio of the hits to the lookups.
+     *
+     * @return the hit rate; {@code NaN} if no tile has been looked up.
+     */
+    public synchronized double getHitRate() {
+        return tiles.getHitRate();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return tiles.describe("TilePool", "tiles");
+    }
+
+    private static final class Key {
+        final long owner;
+        final int column;
+        final int row;
+
+        Key(final long owner, final int column, final int row) {
+            this.owner = owner;
+            this.column = column;
+            this.row = row;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return owner == key.owner && column == key.column && row == key.row;
+        }
+
+        @Override
+        public int hashCode() {
+            return (Long.hashCode(owner) * 31 + column) * 31 + row;
+        }
+    }
+}
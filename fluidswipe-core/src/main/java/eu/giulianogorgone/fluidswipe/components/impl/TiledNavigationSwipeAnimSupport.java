@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.components.NavigationSwipeAnimSupport;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+
+import java.awt.*;
+
+/**
+ * A {@link NavigationSwipeAnimSupport} whose page to navigate from may be too large to be captured whole, such as a huge scrollable canvas,
+ * and is therefore provided as a {@link TiledSnapshot}. Painter delegates aware of this interface draw the tiled snapshot, if any,
+ * instead of the image returned by {@link #getPageToNavFrom(FluidSwipeEvent)}, e.g. through {@link #paintPageToNavFrom}.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see TiledSnapshot
+ */
+public interface TiledNavigationSwipeAnimSupport extends NavigationSwipeAnimSupport {
+
+    /**
+     * Returns a tiled snapshot of the page from which navigation starts.
+     * Implementations typically return a snapshot of the {@linkplain TiledSnapshot#ofVisibleRect(javax.swing.JComponent, double) visible region}
+     * of the page, created when the gesture begins and {@linkplain TiledSnapshot#release() released} when it ends.
+     *
+     * @param e the fluid-swipe event
+     * @return a tiled snapshot of the page from which navigation starts; {@code null} to use {@link #getPageToNavFrom(FluidSwipeEvent)} instead.
+     */
+    TiledSnapshot getTiledPageToNavFrom(final FluidSwipeEvent e);
+
+    /**
+     * Draws the page from which navigation starts, at the size of {@linkplain #getPageBounds() a page}: the tiled snapshot of the page, if the support provides one,
+     * which renders only the tiles intersecting the clip of {@code g}; otherwise, the image returned by {@link #getPageToNavFrom(FluidSwipeEvent)}, if any.
+     *
+     * @param support the navigation support
+     * @param e       the fluid-swipe event
+     * @param g       the graphics to draw into
+     * @param x       the x coordinate the page is drawn at
+     * @param y       the y coordinate the page is drawn at
+     */
+    static void paintPageToNavFrom(final NavigationSwipeAnimSupport support, final FluidSwipeEvent e, final Graphics2D g, final int x, final int y) {
+        final TiledSnapshot tiled = support instanceof TiledNavigationSwipeAnimSupport
+                ? ((TiledNavigationSwipeAnimSupport) support).getTiledPageToNavFrom(e) : null;
+        if (tiled != null) {
+            tiled.paint(g, x, y);
+            return;
+        }
+        final Image from = support.getPageToNavFrom(e);
+        if (from == null) return;
+        final Rectangle bounds = support.getPageBounds();
+        g.drawImage(from, x, y, bounds.width, bounds.height, null);
+    }
+}
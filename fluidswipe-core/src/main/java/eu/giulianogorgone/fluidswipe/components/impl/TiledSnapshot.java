@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A snapshot of a region of a component – typically, the visible region of a large scrollable canvas – split in square tiles, which are rendered
+ * lazily, only when drawn, and kept in a {@link TilePool}. Unlike a snapshot of the whole component, its memory footprint is bounded by the pool budget,
+ * regardless of the size of the component.
+ * <br>
+ * The region, called the bounds of the snapshot, is the page shown by the component; tiles outside it can be drawn as well, as the swipe animation reveals them,
+ * and can be {@linkplain #prefetch(FluidSwipeEvent.Direction, int) rendered in advance} when the direction of the gesture is known.
+ * Tiles are rendered by painting the component clipped to them: the cost of rendering a tile depends on how well the component honors the clip.
+ * <br>
+ * The tiles show the component as it was when they were rendered: the snapshot must be {@linkplain #invalidate() invalidated} when the component changes,
+ * and {@linkplain #release() released} once no longer used, so that its tiles do not take the budget of the pool.
+ * This class must be used on the EDT.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see TiledNavigationSwipeAnimSupport
+ */
+public final class TiledSnapshot {
+    public static final int DEFAULT_TILE_SIZE = 256;
+    private static final AtomicLong OWNERS = new AtomicLong();
+
+    private final JComponent component;
+    private final Rectangle bounds;
+    private final double scale;
+    private final int tileSize;
+    private final int tileExtent;
+    private final TilePool pool;
+    private long owner = OWNERS.incrementAndGet();
+    private int renderedTileCount;
+
+    /**
+     * Constructs a snapshot of a region of a component, whose tiles are not rendered until drawn.
+     *
+     * @param component the component
+     * @param bounds    the region of the component shown as the page, in the coordinate space of the component
+     * @param scale     the scale the component is rendered at
+     * @param tileSize  the size of the tiles, in pixels of the rendered tiles
+     * @param pool      the pool the tiles are kept in
+     * @throws NullPointerException     if component, bounds or pool is null.
+     * @throws IllegalArgumentException if scale is not positive and finite, or tileSize is not positive.
+     */
+    public TiledSnapshot(final JComponent component, final Rectangle bounds, final double scale, final int tileSize, final TilePool pool) {
+        this.component = Objects.requireNonNull(component, "component is null");
+        this.bounds = new Rectangle(Objects.requireNonNull(bounds, "bounds is null"));
+        this.pool = Objects.requireNonNull(pool, "pool is null");
+        if (!(scale > 0.0D) || Double.isInfinite(scale))
+            throw new IllegalArgumentException("invalid scale: " + scale);
+        if (tileSize <= 0) throw new IllegalArgumentException("invalid tile size: " + tileSize);
+        this.scale = scale;
+        this.tileSize = tileSize;
+        this.tileExtent = Math.max(1, (int) Math.ceil(tileSize / scale));
+    }
+
+    /**
+     * Constructs a snapshot of the {@linkplain JComponent#getVisibleRect() visible region} of a component, split in tiles of {@link #DEFAULT_TILE_SIZE}
+     * pixels kept in the {@linkplain TilePool#getDefault() default} pool.
+     *
+     * @param component the component
+     * @param scale     the scale the component is rendered at
+     * @return a snapshot of the visible region of the component.
+     * @throws NullPointerException     if component is null.
+     * @throws IllegalArgumentException if scale is not positive and finite.
+     */
+    public static TiledSnapshot ofVisibleRect(final JComponent component, final double scale) {
+        return new TiledSnapshot(component, component.getVisibleRect(), scale, DEFAULT_TILE_SIZE, TilePool.getDefault());
+    }
+
+    public JComponent getComponent() {
+        return component;
+    }
+
+    /**
+     * Returns the region of the component shown as the page.
+     *
+     * @return the bounds of this snapshot, in the coordinate space of the component.
+     */
+    public Rectangle getBounds() {
+        return new Rectangle(bounds);
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public TilePool getTilePool() {
+        return pool;
+    }
+
+    /**
+     * Returns the number of tiles rendered by this snapshot so far, including the ones rendered again after being evicted or invalidated.
+     *
+     * @return the number of rendered tiles.
+     */
+    public int getRenderedTileCount() {
+        return renderedTileCount;
+    }
+
+    /**
+     * Renders the tiles intersecting the bounds, grown by a margin on the side the gesture reveals: as the content moves in the direction of the gesture,
+     * the side opposite to it.
+     *
+     * @param direction the logical direction of the gesture
+     * @param margin    the margin, in the coordinate space of the component
+     * @throws NullPointerException if direction is null.
+     */
+    public void prefetch(final FluidSwipeEvent.Direction direction, final int margin) {
+        Objects.requireNonNull(direction, "direction is null");
+        final Rectangle region = new Rectangle(bounds);
+        if (margin > 0) {
+            region.width += margin;
+            if (direction == FluidSwipeEvent.Direction.LEFT_TO_RIGHT) region.x -= margin;
+        }
+        forEachTile(region, null, 0, 0);
+    }
+
+    /**
+     * Draws this snapshot, the origin of its bounds being at {@code (x, y)} in the coordinate space of {@code g}, at the size of the component.
+     * Only the tiles intersecting the clip of {@code g}, if any, or else the bounds, are drawn; the ones not yet rendered are rendered first.
+     *
+     * @param g the graphics to draw into
+     * @param x the x coordinate the origin of the bounds is drawn at
+     * @param y the y coordinate the origin of the bounds is drawn at
+     */
+    public void paint(final Graphics2D g, final int x, final int y) {
+        final Rectangle clip = g.getClipBounds();
+        final Rectangle region = clip == null ? new Rectangle(bounds)
+                : new Rectangle(clip.x - x + bounds.x, clip.y - y + bounds.y, clip.width, clip.height);
+        forEachTile(region, g, x - bounds.x, y - bounds.y);
+    }
+
+    /**
+     * Discards the tiles rendered so far, which are rendered again when next drawn.
+     */
+    public void invalidate() {
+        pool.removeAll(owner);
+        owner = OWNERS.incrementAndGet();
+    }
+
+    /**
+     * Removes the tiles of this snapshot from the pool; the snapshot can still be drawn, its tiles being rendered again.
+     */
+    public void release() {
+        pool.removeAll(owner);
+    }
+
+    // Renders the missing tiles intersecting region, and draws them into g, translated by (dx, dy), unless g is null.
+    private void forEachTile(final Rectangle region, final Graphics2D g, final int dx, final int dy) {
+        final Rectangle visible = region.intersection(new Rectangle(0, 0, component.getWidth(), component.getHeight()));
+        if (visible.isEmpty()) return;
+        final int firstColumn = visible.x / tileExtent;
+        final int lastColumn = (visible.x + visible.width - 1) / tileExtent;
+        final int firstRow = visible.y / tileExtent;
+        final int lastRow = (visible.y + visible.height - 1) / tileExtent;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                final int tx = column * tileExtent;
+                final int ty = row * tileExtent;
+                final int width = Math.min(tileExtent, component.getWidth() - tx);
+                final int height = Math.min(tileExtent, component.getHeight() - ty);
+                if (g == null) {
+                    if (!pool.contains(owner, column, row)) pool.put(owner, column, row, render(tx, ty, width, height));
+                    continue;
+                }
+                BufferedImage tile = pool.get(owner, column, row);
+                if (tile == null) {
+                    tile = render(tx, ty, width, height);
+                    pool.put(owner, column, row, tile);
+                }
+                g.drawImage(tile, tx + dx, ty + dy, width, height, null);
+            }
+        }
+    }
+
+    private BufferedImage render(final int x, final int y, final int width, final int height) {
+        final int tileWidth = Math.max(1, (int) Math.ceil(width * scale));
+        final int tileHeight = Math.max(1, (int) Math.ceil(height * scale));
+        final GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        final BufferedImage tile = gc != null ? gc.createCompatibleImage(tileWidth, tileHeight, Transparency.TRANSLUCENT)
+                : new BufferedImage(tileWidth, tileHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        final Graphics2D g = tile.createGraphics();
+        try {
+            g.scale(scale, scale);
+            g.translate(-x, -y);
+            g.clipRect(x, y, width, height);
+            component.paint(g);
+        } finally {
+            g.dispose();
+        }
+        renderedTileCount++;
+        return tile;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeDispatcher;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A {@code RepaintManager} notifying the regions marked dirty to the registered hooks, before handling them as usual.
+ * Moreover, the subtree of a component can be isolated: the regions of its descendants marked dirty are then held back, and collapsed
+ * into a single region of the isolated component, which is marked dirty once the isolation ends – at the latest, when the gesture targeting it is over; regions of the isolated component
+ * itself are handled as usual. Hooks are notified of held regions as well.
+ * <br>
+ * It is installed as the current manager when the first hook is registered, or the first subtree isolated, provided that the current manager is
+ * the default one: a custom manager installed by the application is never replaced.
+ * Regions may be marked dirty by any thread, hence hooks must be thread-safe.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class TrackingRepaintManager extends RepaintManager {
+    interface DirtyRegionHook {
+        /**
+         * Invoked when a region of a component is marked dirty.
+         *
+         * @param c the component, either a {@code JComponent} or a {@code Window}
+         * @param x the x coordinate of the region, relative to {@code c}
+         * @param y the y coordinate of the region, relative to {@code c}
+         * @param w the width of the region
+         * @param h the height of the region
+         */
+        void dirtyRegionAdded(Container c, int x, int y, int w, int h);
+    }
+
+    private static final CopyOnWriteArrayList<DirtyRegionHook> hooks = new CopyOnWriteArrayList<>();
+    // the isolated components, mapped to the region held back, or to an empty rectangle if none.
+    private static final ConcurrentHashMap<JComponent, Rectangle> isolated = new ConcurrentHashMap<>();
+    // ends the isolation of the target of a gesture once it is over, even if it has been discarded without ENDED.
+    private static final Consumer<JComponent> RELEASE_ON_CLEANUP = TrackingRepaintManager::release;
+
+    private TrackingRepaintManager() {
+    }
+
+    /**
+     * Registers a hook, installing a {@code TrackingRepaintManager} if needed.
+     *
+     * @param hook the hook to be registered
+     * @return {@code true} if the hook will be notified; {@code false} if a custom manager prevents dirty regions from being tracked.
+     */
+    static boolean addHook(final DirtyRegionHook hook) {
+        if (!install()) return false;
+        hooks.addIfAbsent(hook);
+        return true;
+    }
+
+    static void removeHook(final DirtyRegionHook hook) {
+        hooks.remove(hook);
+    }
+
+    /**
+     * Isolates the subtree of a component; repeated calls have no effects.
+     *
+     * @param root the component whose descendants' regions are held back
+     * @return {@code true} if the subtree is isolated; {@code false} if a custom manager prevents regions from being held back.
+     */
+    static boolean isolate(final JComponent root) {
+        if (!install()) return false;
+        FluidSwipeDispatcher.addCleanupHook(RELEASE_ON_CLEANUP);
+        isolated.putIfAbsent(root, new Rectangle());
+        return true;
+    }
+
+    /**
+     * Ends the isolation of the subtree of a component, marking dirty the region held back, if any.
+     *
+     * @param root the isolated component
+     */
+    static void release(final JComponent root) {
+        final Rectangle held = isolated.remove(root);
+        if (held != null && !held.isEmpty())
+            RepaintManager.currentManager(root).addDirtyRegion(root, held.x, held.y, held.width, held.height);
+    }
+
+    static boolean isIsolated(final JComponent root) {
+        return isolated.containsKey(root);
+    }
+
+    // Returns the region held back for an isolated component; package-private for testing.
+    static Rectangle getHeldRegion(final JComponent root) {
+        final Rectangle held = isolated.get(root);
+        return held == null ? null : new Rectangle(held);
+    }
+
+    private static synchronized boolean install() {
+        final RepaintManager current = RepaintManager.currentManager((Component) null);
+        if (!(current instanceof TrackingRepaintManager)) {
+            if (current.getClass() != RepaintManager.class) {
+                Logging.logWarn("a custom RepaintManager is installed (" + current.getClass().getName() + "); dirty regions are not tracked");
+                return false;
+            }
+            final TrackingRepaintManager manager = new TrackingRepaintManager();
+            manager.setDoubleBufferingEnabled(current.isDoubleBufferingEnabled());
+            manager.setDoubleBufferMaximumSize(current.getDoubleBufferMaximumSize());
+            RepaintManager.setCurrentManager(manager);
+            Logging.logConfig("installed " + TrackingRepaintManager.class.getSimpleName());
+        }
+        return true;
+    }
+
+    @Override
+    public void addDirtyRegion(final JComponent c, final int x, final int y, final int w, final int h) {
+        notifyHooks(c, x, y, w, h);
+        if (!held(c, x, y, w, h)) super.addDirtyRegion(c, x, y, w, h);
+    }
+
+    @Override
+    public void addDirtyRegion(final Window window, final int x, final int y, final int w, final int h) {
+        notifyHooks(window, x, y, w, h);
+        super.addDirtyRegion(window, x, y, w, h);
+    }
+
+    // Collapses the region into the held region of the isolated ancestor of c, if any.
+    private static boolean held(final JComponent c, final int x, final int y, final int w, final int h) {
+        if (isolated.isEmpty() || w <= 0 || h <= 0) return false;
+        for (JComponent root : isolated.keySet()) {
+            if (root.isAncestorOf(c)) {
+                final Rectangle region = SwingUtilities.convertRectangle(c, new Rectangle(x, y, w, h), root)
+                        .intersection(new Rectangle(0, 0, root.getWidth(), root.getHeight()));
+                if (region.isEmpty()) return true; // out of the isolated component.
+                // null if the isolation just ended: the region is then handled as usual.
+                return isolated.computeIfPresent(root, (r, held) -> held.isEmpty() ? region : held.union(region)) != null;
+            }
+        }
+        return false;
+    }
+
+    private static void notifyHooks(final Container c, final int x, final int y, final int w, final int h) {
+        if (c == null || w <= 0 || h <= 0) return;
+        for (DirtyRegionHook hook : hooks) hook.dirtyRegionAdded(c, x, y, w, h);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * An {@code AWTEvent} carrying a sample of a fluid-swipe gesture to the swipeable component, i.e. the deepest component
+ * the gesture has been accepted by. When the JVM is started with {@code -Dfluidswipe.awtEventDispatch=true}, samples are posted to the
+ * {@code EventQueue} as instances of this class, instead of being wrapped in runnables; once dispatched, each of them is delivered
+ * to the {@link FluidSwipeListener}s of the swipeable component as {@link FluidSwipeEvent}s.
+ * <br>
+ * While the EDT is busy, the {@code EventQueue} can merge consecutive {@link #FLUID_SWIPE_PROGRESSED} events of the same gesture,
+ * so that listeners only receive the most recent one. As for any {@code AWTEvent}, the queue does so only if the class of the
+ * swipeable component overrides {@link Component#coalesceEvents(AWTEvent, AWTEvent)}, which is expected to delegate to
+ * {@link #coalesce(AWTEvent, AWTEvent)}:
+ * <pre>{@code
+ * @Override
+ * protected AWTEvent coalesceEvents(AWTEvent existingEvent, AWTEvent newEvent) {
+ *     final AWTEvent coalesced = FluidSwipeAWTEvent.coalesce(existingEvent, newEvent);
+ *     return coalesced != null ? coalesced : super.coalesceEvents(existingEvent, newEvent);
+ * }
+ * }</pre>
+ * Events of the other types are never merged, hence listeners are always notified when a gesture begins and ends.
+ * <br>
+ * <b>Note</b>: {@code AWTEventListener}s are not notified of these events, as the {@code Toolkit} only notifies them
+ * of the event types defined by AWT.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipeEvent
+ */
+public abstract class FluidSwipeAWTEvent extends AWTEvent implements ActiveEvent {
+    private static final long serialVersionUID = -2718467725393622174L;
+
+    /**
+     * The first number in the range of ids used for fluid-swipe events.
+     */
+    public static final int FLUID_SWIPE_FIRST = AWTEvent.RESERVED_ID_MAX + 0x1F50;
+
+    /**
+     * The gesture logically began.
+     */
+    public static final int FLUID_SWIPE_BEGAN = FLUID_SWIPE_FIRST;
+
+    /**
+     * The gesture amount changed; events with this id can be coalesced.
+     */
+    public static final int FLUID_SWIPE_PROGRESSED = FLUID_SWIPE_FIRST + 1;
+
+    /**
+     * The gesture logically ended.
+     */
+    public static final int FLUID_SWIPE_ENDED = FLUID_SWIPE_FIRST + 2;
+
+    /**
+     * The input device stopped being touched, and whether the gesture will be completed or canceled has been determined.
+     */
+    public static final int FLUID_SWIPE_STATE_UPDATED = FLUID_SWIPE_FIRST + 3;
+
+    /**
+     * The last number in the range of ids used for fluid-swipe events.
+     */
+    public static final int FLUID_SWIPE_LAST = FLUID_SWIPE_STATE_UPDATED;
+
+    private final transient Object gesture;
+    private final double gestureAmount;
+    private final boolean inputDeviceBeingTouched;
+    private int coalescedCount;
+
+    /**
+     * Constructs a {@code FluidSwipeAWTEvent}.
+     *
+     * @param source                  the swipeable component
+     * @param id                      the type of the event, in the range {@link #FLUID_SWIPE_FIRST}-{@link #FLUID_SWIPE_LAST}
+     * @param gesture                 an object identifying the gesture the event belongs to; events of different gestures are never coalesced
+     * @param gestureAmount           the gesture amount
+     * @param inputDeviceBeingTouched whether the input device is being touched.
+     * @throws IllegalArgumentException if {@code source} is null, or {@code id} is out of range.
+     */
+    protected FluidSwipeAWTEvent(final JComponent source, final int id, final Object gesture,
+                                 final double gestureAmount, final boolean inputDeviceBeingTouched) {
+        super(source, id);
+        if (id < FLUID_SWIPE_FIRST || id > FLUID_SWIPE_LAST)
+            throw new IllegalArgumentException("id out of range: " + id);
+        this.gesture = gesture;
+        this.gestureAmount = gestureAmount;
+        this.inputDeviceBeingTouched = inputDeviceBeingTouched;
+    }
+
+    /**
+     * Returns the swipeable component this event is targeted at.
+     *
+     * @return the source of this event.
+     */
+    public JComponent getComponent() {
+        return (JComponent) getSource();
+    }
+
+    /**
+     * Returns the gesture amount.
+     *
+     * @return the gesture amount.
+     */
+    public double getGestureAmount() {
+        return gestureAmount;
+    }
+
+    /**
+     * Returns whether the input device was being touched when this sample was taken.
+     *
+     * @return {@code true} if the input device was being touched.
+     */
+    public boolean isInputDeviceBeingTouched() {
+        return inputDeviceBeingTouched;
+    }
+
+    /**
+     * Returns the number of samples this event replaced while queued.
+     *
+     * @return the number of samples merged into this event; {@code 0} if none.
+     */
+    public int getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Merges two fluid-swipe events, if possible; this method is meant to be called by the overrides of
+     * {@link Component#coalesceEvents(AWTEvent, AWTEvent)}. Two events are merged if and only if both are
+     * {@link #FLUID_SWIPE_PROGRESSED} events targeted at the same component, belong to the same gesture, and agree on
+     * whether the input device is being touched.
+     *
+     * @param existingEvent the event already on the {@code EventQueue}
+     * @param newEvent      the event being posted to the {@code EventQueue}
+     * @return {@code newEvent}, which replaces {@code existingEvent}, if they have been merged; {@code null} otherwise.
+     */
+    public static AWTEvent coalesce(final AWTEvent existingEvent, final AWTEvent newEvent) {
+        if (!(existingEvent instanceof FluidSwipeAWTEvent) || !(newEvent instanceof FluidSwipeAWTEvent))
+            return null;
+        final FluidSwipeAWTEvent existing = (FluidSwipeAWTEvent) existingEvent;
+        final FluidSwipeAWTEvent latest = (FluidSwipeAWTEvent) newEvent;
+        if (existing.getID() != FLUID_SWIPE_PROGRESSED || latest.getID() != FLUID_SWIPE_PROGRESSED
+                || existing.getSource() != latest.getSource() || existing.gesture != latest.gesture
+                || existing.inputDeviceBeingTouched != latest.inputDeviceBeingTouched)
+            return null;
+        latest.coalescedCount += existing.coalescedCount + 1;
+        existing.coalesced();
+        return latest;
+    }
+
+    /**
+     * Invoked when this event is discarded, as a more recent event of the same gesture replaced it.
+     * The default implementation does nothing.
+     */
+    protected void coalesced() {
+    }
+
+    @Override
+    public String paramString() {
+        final String type;
+        switch (getID()) {
+            case FLUID_SWIPE_BEGAN:
+                type = "FLUID_SWIPE_BEGAN";
+                break;
+            case FLUID_SWIPE_PROGRESSED:
+                type = "FLUID_SWIPE_PROGRESSED";
+                break;
+            case FLUID_SWIPE_ENDED:
+                type = "FLUID_SWIPE_ENDED";
+                break;
+            default:
+                type = "FLUID_SWIPE_STATE_UPDATED";
+                break;
+        }
+        return type + ",gestureAmount=" + gestureAmount + ",inputDeviceBeingTouched=" + inputDeviceBeingTouched + ",coalescedCount=" + coalescedCount;
+    }
+}
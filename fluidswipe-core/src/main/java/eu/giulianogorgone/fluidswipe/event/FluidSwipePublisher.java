@@ -0,0 +1,267 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the {@link FluidSwipeEvent}s dispatched to a {@code JComponent} as a reactive stream, for consumers
+ * which would rather pull events than implement {@link FluidSwipeListener}.
+ * <br>
+ * Each subscriber is signalled on its own executor: the EDT only enqueues events, thus a slow subscriber never delays the dispatching of events.
+ * Subscriber demand is honored. Events a subscriber has not been delivered yet are buffered in order, but consecutive
+ * {@linkplain FluidSwipeEvent.Phase#PROGRESS progress} events are collapsed into the latest one, so that a subscriber lagging behind
+ * receives the current gesture amount rather than a backlog; {@linkplain FluidSwipeEvent.Phase#BEGAN began} and
+ * {@linkplain FluidSwipeEvent.Phase#ENDED ended} events are never collapsed nor dropped. A subscriber that lets more than
+ * {@value #MAX_BUFFERED_EVENTS} events pile up is signalled an {@code IllegalStateException}.
+ * <br>
+ * Constructing a publisher makes the component swipeable, as {@link FluidSwipe#addListenerTo(JComponent, FluidSwipeListener)} does;
+ * {@link #close()} reverts that, and completes the subscribers once they have been delivered the events buffered for them.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipeListener
+ */
+public final class FluidSwipePublisher implements Flow.Publisher<FluidSwipeEvent>, AutoCloseable {
+    public static final int MAX_BUFFERED_EVENTS = 1024;
+    private static final AtomicInteger subscriberThreadCount = new AtomicInteger();
+
+    private final JComponent target;
+    private final Supplier<? extends Executor> executorFactory;
+    private final List<GestureSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final FluidSwipeListener listener = new FluidSwipeListener() {
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            publish(e);
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+            publish(e);
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            publish(e);
+        }
+    };
+    private volatile boolean closed;
+
+    /**
+     * Constructs a publisher of the events dispatched to {@code target}; each subscriber is signalled on a new daemon thread,
+     * which terminates with the subscription.
+     *
+     * @param target the component whose events are published
+     * @throws NullPointerException if target is null.
+     */
+    public FluidSwipePublisher(final JComponent target) {
+        this(target, null);
+    }
+
+    /**
+     * Constructs a publisher of the events dispatched to {@code target}.
+     *
+     * @param target          the component whose events are published
+     * @param executorFactory supplies the executor each new subscriber is signalled on; such executors are not shut down by the publisher.
+     *                        If {@code null}, each subscriber is signalled on a new daemon thread, which terminates with the subscription.
+     * @throws NullPointerException if target is null.
+     */
+    public FluidSwipePublisher(final JComponent target, final Supplier<? extends Executor> executorFactory) {
+        this.target = Objects.requireNonNull(target, "target is null");
+        this.executorFactory = executorFactory;
+        FluidSwipe.addListenerTo(target, listener);
+    }
+
+    /**
+     * Returns the component whose events are published.
+     *
+     * @return the component whose events are published.
+     */
+    public JComponent getTarget() {
+        return target;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super FluidSwipeEvent> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is null");
+        final GestureSubscription subscription = executorFactory == null
+                ? new GestureSubscription(subscriber, newSubscriberExecutor(), true)
+                : new GestureSubscription(subscriber, Objects.requireNonNull(executorFactory.get(), "executor is null"), false);
+        subscriptions.add(subscription);
+        if (closed) subscription.complete();
+        subscription.signal();
+    }
+
+    /**
+     * Stops publishing events: the listener of the target component is removed, and each subscriber is completed once signalled
+     * the events buffered for it, which it may still request. Repeated calls have no effects.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        FluidSwipe.removeListenerFrom(target, listener);
+        for (GestureSubscription subscription : subscriptions) subscription.complete();
+    }
+
+    private void publish(final FluidSwipeEvent e) {
+        for (GestureSubscription subscription : subscriptions) subscription.offer(e);
+    }
+
+    private static ExecutorService newSubscriberExecutor() {
+        return Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "FluidSwipe-Subscriber-" + subscriberThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Signals a subscriber; signals are serialized by the work-in-progress counter, and run on the executor of the subscriber.
+    private final class GestureSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super FluidSwipeEvent> subscriber;
+        private final Executor executor;
+        private final boolean ownsExecutor;
+        private final ArrayDeque<FluidSwipeEvent> queue = new ArrayDeque<>(); // guarded by this
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private boolean subscribed; // accessed by the signalling thread only
+        private volatile boolean completing;
+        private volatile boolean terminated;
+        private volatile boolean executorShutDown;
+        private volatile Throwable error;
+
+        GestureSubscription(final Flow.Subscriber<? super FluidSwipeEvent> subscriber, final Executor executor, final boolean ownsExecutor) {
+            this.subscriber = subscriber;
+            this.executor = executor;
+            this.ownsExecutor = ownsExecutor;
+        }
+
+        void offer(final FluidSwipeEvent e) {
+            if (terminated) return;
+            synchronized (this) {
+                final FluidSwipeEvent last = queue.peekLast();
+                if (e.getGesturePhase() == FluidSwipeEvent.Phase.PROGRESS && last != null && last.getGesturePhase() == FluidSwipeEvent.Phase.PROGRESS) {
+                    queue.pollLast(); // collapse into the latest value.
+                } else if (queue.size() == MAX_BUFFERED_EVENTS) {
+                    error = new IllegalStateException("subscriber too slow: more than " + MAX_BUFFERED_EVENTS + " events not delivered");
+                }
+                queue.addLast(e);
+            }
+            signal();
+        }
+
+        void complete() {
+            completing = true;
+            signal();
+        }
+
+        void signal() {
+            if (executorShutDown || wip.getAndIncrement() != 0) return;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                if (!terminated) Logging.logWarn("cannot signal fluid-swipe subscriber " + subscriber + ": " + e);
+                terminate();
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0L) {
+                error = new IllegalArgumentException("non-positive subscription request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0L ? Long.MAX_VALUE : current + added);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            terminate();
+            signal();
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                try {
+                    drain();
+                } catch (Throwable t) { // a subscriber throwing is considered to have cancelled its subscription.
+                    Logging.logWarn("fluid-swipe subscriber " + subscriber + " threw: " + t);
+                    terminate();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+            if (terminated && ownsExecutor) {
+                executorShutDown = true;
+                ((ExecutorService) executor).shutdown();
+            }
+        }
+
+        private void drain() {
+            if (!subscribed) {
+                subscribed = true;
+                if (!terminated) subscriber.onSubscribe(this);
+            }
+            while (!terminated) {
+                final Throwable error = this.error;
+                if (error != null) {
+                    terminate();
+                    subscriber.onError(error);
+                    return;
+                }
+                final FluidSwipeEvent next;
+                final boolean drained;
+                synchronized (this) {
+                    next = demand.get() > 0L ? queue.pollFirst() : null;
+                    drained = queue.isEmpty();
+                }
+                if (next == null) {
+                    if (completing && drained) { // the queued events are still delivered, once requested.
+                        terminate();
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                demand.decrementAndGet();
+                subscriber.onNext(next);
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                queue.clear();
+            }
+        }
+    }
+}
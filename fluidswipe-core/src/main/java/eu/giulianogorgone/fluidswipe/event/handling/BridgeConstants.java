@@ -19,27 +19,28 @@ import java.lang.annotation.Native;
 
 /**
  * This class holds the constants used by native code to encode the event type.
+ * This class is not part of the public API.
  * @author Giuliano Gorgone (anticleiades)
  **/
-final class BridgeConstants {
+public final class BridgeConstants {
     private BridgeConstants() {
         throw new AssertionError();
     }
 
     @Native
-    static final int LOGICALLY_BEGAN = 1;
+    public static final int LOGICALLY_BEGAN = 1;
     @Native
-    static final int PROGRESSED = 1 << 1;
+    public static final int PROGRESSED = 1 << 1;
     @Native
-    static final int PROGRESSED_NO_MORE_TOUCHING = 1 << 2;
+    public static final int PROGRESSED_NO_MORE_TOUCHING = 1 << 2;
     @Native
-    static final int COMPLETED = 1 << 3;
+    public static final int COMPLETED = 1 << 3;
     @Native
-    static final int CANCELED = 1 << 4;
+    public static final int CANCELED = 1 << 4;
     @Native
-    static final int ENDED_MASK = COMPLETED | CANCELED;
+    public static final int ENDED_MASK = COMPLETED | CANCELED;
     @Native
-    static final int UPDATE_STATE = 1 << 5;
+    public static final int UPDATE_STATE = 1 << 5;
     @Native
     private static final int UNHANDLED = -1;
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+
+import javax.swing.*;
+
+/**
+ * A listener added to a component, which applies only to some of the gestures directed to it – e.g., to those occurring over a row of a table.
+ * When a gesture is requested, a component whose listeners are all conditional, and none of which applies, is not swipeable: the gesture is
+ * directed to its ancestors, as if the component had no listeners. Moreover, a conditional listener can veto the gesture, as a vetoer of the component would.
+ * Both methods are called on the EDT, while the location of the gesture is known.
+ * This interface is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public interface ConditionalFluidSwipeListener extends FluidSwipeListener {
+    /**
+     * Tells whether this listener applies to the gesture being requested.
+     *
+     * @param component the component this listener has been added to
+     * @return {@code true} if the listener must be notified of the gesture.
+     */
+    boolean appliesTo(final JComponent component);
+
+    /**
+     * Tells whether this listener vetoes the gesture being requested, whether it applies to it or not.
+     *
+     * @param component the component this listener has been added to
+     * @param e         the event describing the gesture
+     * @return {@code true} if the gesture must be vetoed.
+     */
+    boolean vetoes(final JComponent component, final FluidSwipeEvent e);
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.Utils;
+import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class holds the state of the fluid-swipe gesture being dispatched. It is written on the EDT only;
+ * {@link #getTarget()} and {@link #routeOfSample()} are also read by the platform input thread. The pending route is written by the platform input thread,
+ * when it accepts a request on its own, and cleared on the EDT once the gesture has begun there.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class DispatchState {
+    // a pair consisting of an array of FluidSwipeListeners, and the JComponent the listener holder is installed to.
+    Pair<JComponent, FluidSwipeListener[]> pair;
+    FluidSwipeEvent.Direction direction;
+    FluidSwipeEvent.State state = FluidSwipeEvent.State.NOT_YET_DEFINED;
+    // correlation id of the gesture being dispatched; 0 if there is none.
+    long gestureId;
+    final ProgressDeltaFilter progressFilter = new ProgressDeltaFilter();
+    // the route of the gesture being dispatched, published to the platform input thread; null if there is none.
+    private volatile Route route;
+    // the route of a gesture accepted off the EDT, whose beginning has not been processed by the EDT yet.
+    private final AtomicReference<Route> pendingRoute = new AtomicReference<>();
+    // EDT-confined: the root container in which the gesture being requested or dispatched occurred, and the location relative to it.
+    Container locationRoot;
+    double locationX, locationY;
+
+    boolean isActive() {
+        return pair != null;
+    }
+
+    void begin(final Pair<JComponent, FluidSwipeListener[]> pair, final FluidSwipeEvent.Direction direction, final long gestureId) {
+        this.direction = direction;
+        this.gestureId = gestureId;
+        this.pair = pair;
+        final Route pending = pendingRoute.get(); // reused, so that the samples posted before and after the beginning can be coalesced.
+        route = pending != null && pending.gestureId == gestureId && pending.target == pair.getLeft() ? pending : new Route(pair.getLeft(), gestureId);
+    }
+
+    // Safe to call from any thread: the field is read once, and a Pair is immutable, hence never observed partially constructed.
+    Pair<JComponent, FluidSwipeListener[]> getPair() {
+        return pair;
+    }
+
+    // Safe to call from any thread, as getPair().
+    JComponent getTarget() {
+        final Pair<JComponent, FluidSwipeListener[]> pair = this.pair;
+        return pair == null ? null : pair.getLeft();
+    }
+
+    // The route of the gesture being dispatched; null if there is none.
+    Route getRoute() {
+        return route;
+    }
+
+    /**
+     * Returns the route of the gesture the samples being received belong to; called by the platform input thread.
+     * A gesture accepted off the EDT takes precedence: its samples may arrive before the EDT processed the end of the previous gesture.
+     *
+     * @return the route of the samples; {@code null} if no gesture is being dispatched.
+     */
+    Route routeOfSample() {
+        final Route pending = pendingRoute.get();
+        return pending != null ? pending : route;
+    }
+
+    // Whether a gesture is being dispatched, or has been accepted off the EDT; can be called on any thread.
+    boolean isRouted() {
+        return route != null || pendingRoute.get() != null;
+    }
+
+    /**
+     * Begins, on the EDT, a gesture accepted off the EDT. If another gesture is still active, the accepted gesture is rejected and the active one
+     * is left alone; the pending route is kept, so that the samples of the rejected gesture are still told apart, until its last one clears it.
+     *
+     * @return {@code true} if the gesture began; {@code false} if it has been rejected.
+     */
+    boolean beginPending(final Route pending, final Pair<JComponent, FluidSwipeListener[]> pair, final FluidSwipeEvent.Direction direction) {
+        if (isActive()) return false;
+        begin(pair, direction, pending.gestureId);
+        clearPendingRoute(pending);
+        return true;
+    }
+
+    /**
+     * Tells, on the EDT, whether a sample belongs to the gesture being dispatched. The samples of a gesture rejected by {@link #beginPending}
+     * do not, and the last of them clears its pending route.
+     *
+     * @param sampleRoute the route the sample has been given by {@link #routeOfSample()}
+     * @param eventPhase  the phase of the sample
+     * @return {@code true} if the sample must be dispatched.
+     */
+    boolean accepts(final Route sampleRoute, final int eventPhase) {
+        if (sampleRoute == route) return true;
+        if (!Utils.hasFlag(eventPhase, BridgeConstants.UPDATE_STATE) && (eventPhase & BridgeConstants.ENDED_MASK) != 0)
+            clearPendingRoute(sampleRoute);
+        return false;
+    }
+
+    void setPendingRoute(final Route route) {
+        pendingRoute.set(route);
+    }
+
+    void clearPendingRoute(final Route route) {
+        pendingRoute.compareAndSet(route, null);
+    }
+
+    void setLocation(final Container root, final double x, final double y) {
+        locationRoot = root;
+        locationX = x;
+        locationY = y;
+    }
+
+    void clearLocation() {
+        locationRoot = null;
+    }
+
+    void cleanup() {
+        route = null;
+        pair = null;
+        locationRoot = null;
+        direction = null;
+        state = FluidSwipeEvent.State.NOT_YET_DEFINED;
+        gestureId = 0L;
+        progressFilter.reset();
+    }
+
+    /**
+     * The target of the samples of a gesture, and the gesture they belong to. An instance identifies a gesture:
+     * samples posted to the {@code EventQueue} are coalesced only if their routes are the same instance.
+     */
+    static final class Route {
+        final JComponent target;
+        final long gestureId;
+
+        Route(final JComponent target, final long gestureId) {
+            this.target = target;
+            this.gestureId = gestureId;
+        }
+    }
+}
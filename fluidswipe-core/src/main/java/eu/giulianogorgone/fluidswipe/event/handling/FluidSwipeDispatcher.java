@@ -18,7 +18,9 @@ package eu.giulianogorgone.fluidswipe.event.handling;
 import eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer;
 import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
 import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.event.handling.jfr.GestureRecorder;
 import eu.giulianogorgone.fluidswipe.utils.Utils;
+import eu.giulianogorgone.fluidswipe.utils.ConfigFlags;
 import eu.giulianogorgone.fluidswipe.handlers.FluidSwipeHandler;
 import eu.giulianogorgone.fluidswipe.utils.FluidSwipeHandlers;
 import eu.giulianogorgone.fluidswipe.utils.Threading;
@@ -28,6 +30,8 @@ import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
 import javax.swing.*;
 import java.awt.*;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -38,31 +42,99 @@ import java.util.function.Consumer;
  * @author Giuliano Gorgone (anticleiades)
  */
 public final class FluidSwipeDispatcher {
-    public static final FluidSwipeHandler nativeHandler = FluidSwipeHandlers.getHandler();
+    private static final FluidSwipeHandler platformHandler = FluidSwipeHandlers.getHandler();
+    // the platform handler, unless replaced by a test kit.
+    private static volatile FluidSwipeHandler handler = platformHandler;
 
-    // a pair consisting of an array of FluidSwipeListeners, and the JComponent the listener holder is installed to.
-    private static Pair<JComponent, FluidSwipeListener[]> currentPair;
-    private static FluidSwipeEvent.Direction currentDirection;
-    private static FluidSwipeEvent.State currentState = FluidSwipeEvent.State.NOT_YET_DEFINED;
+    private static final DispatchState STATE = new DispatchState();
+    private static final boolean POST_AWT_EVENTS = ConfigFlags.awtEventDispatch;
+    private static final boolean PUBLISHED_REGIONS = SwipeRegions.ENABLED;
+    // run on the EDT with the target of every gesture cleaned up, whether it ended or has been discarded without ENDED.
+    private static final CopyOnWriteArrayList<Consumer<JComponent>> CLEANUP_HOOKS = new CopyOnWriteArrayList<>();
 
     private FluidSwipeDispatcher() {
         throw new AssertionError();
     }
 
 
+    /**
+     * Returns the active handler.
+     *
+     * @return the handler fluid-swipe requests are answered to.
+     */
+    public static FluidSwipeHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Replaces the active handler, which is notified whether incoming fluid-swipe requests are accepted;
+     * {@code null} restores the platform handler. Any gesture being dispatched is discarded, without notifying its listeners.
+     * Event monitoring is not transferred from the replaced handler to the new one.
+     * Must be called on the thread {@code FluidSwipeEvent}s are dispatched on.
+     *
+     * @param newHandler the handler to be used from now on, or {@code null}.
+     */
+    public static void setHandler(final FluidSwipeHandler newHandler) {
+        handler = newHandler == null ? platformHandler : newHandler;
+        if (STATE.isActive()) {
+            Logging.logWarn("handler replaced while a fluid-swipe gesture was being dispatched; discarding it");
+            cleanup();
+        }
+        WindowInterest.publish(true);
+    }
+
     // This method called by native code
     private static void notifyFluidSwipeBeganAsync(Window target, double scrollingDeltaX, double eventX, double eventY, final boolean naturalScrollingEnabled) {
+        requestFluidSwipe(target, scrollingDeltaX, eventX, eventY, naturalScrollingEnabled);
+    }
+
+    /**
+     * Issues a fluid-swipe request from the calling thread, as the active handler does in asynchronous mode:
+     * the request is evaluated on the UI thread, then the handler is told whether the gesture can logically start.
+     *
+     * @param target                  root container in which event occurred
+     * @param scrollingDeltaX         numerical representation of the gesture direction
+     * @param eventX                  x-coordinate of the point in which event occurred
+     * @param eventY                  y-coordinate of the point in which event occurred
+     * @param naturalScrollingEnabled indicates whether natural scrolling is enabled at the beginning of the physical gesture.
+     */
+    public static void requestFluidSwipe(final Container target, final double scrollingDeltaX, final double eventX, final double eventY, final boolean naturalScrollingEnabled) {
+        final long requestNanos = Threading.nanoTime();
+        if (!WindowInterest.isInterested(target)) {
+            rejectedOffUIThread(requestNanos);
+            handler.vetoFluidSwipe();
+            return;
+        }
+        final long gestureId = GestureRecorder.newGestureId();
+        if (PUBLISHED_REGIONS) {
+            final FluidSwipeEvent.Direction direction = directionFromScrollingDeltaX(scrollingDeltaX);
+            // While another gesture is routed, the request is decided on the EDT, after that gesture ended there.
+            final SwipeRegionMap.Decision decision = STATE.isRouted() ? null : SwipeRegions.decide(target, direction, eventX, eventY, naturalScrollingEnabled);
+            if (decision != null) {
+                final FluidSwipeHandler handler = FluidSwipeDispatcher.handler;
+                if (!decidedOffUIThread(decision, target, gestureId, requestNanos, direction, eventX, eventY)) {
+                    handler.vetoFluidSwipe();
+                } else if (!handler.logicallyStartFluidSwipe()) {
+                    if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.handlerRefused();
+                    Threading.performOnAWTUIThread(target, () -> cleanupIfDispatching(gestureId));
+                }
+                return;
+            }
+        }
         Threading.performOnAWTUIThread(target, () -> { // Using proper thread to perform Swing-related operations, as the caller thread is not necessarily the EDT.
+            final FluidSwipeHandler handler = FluidSwipeDispatcher.handler;
             try {
-                if (notifyFluidSwipeBeganCommon(target, scrollingDeltaX, eventX, eventY, naturalScrollingEnabled)) {
-                    if (!nativeHandler.logicallyStartFluidSwipe()) {
+                if (notifyFluidSwipeBeganCommon(target, gestureId, requestNanos, scrollingDeltaX, eventX, eventY, naturalScrollingEnabled)) {
+                    if (!handler.logicallyStartFluidSwipe()) {
+                        if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.handlerRefused();
                         cleanup();
                     }
                 } else {
-                    nativeHandler.vetoFluidSwipe();
+                    handler.vetoFluidSwipe();
                 }
             } catch (Exception e) {
-                nativeHandler.vetoFluidSwipe(); // if any exception occurs, fluid-swipe will not logically start.
+                handler.vetoFluidSwipe(); // if any exception occurs, fluid-swipe will not logically start.
+                if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.EXCEPTION);
                 throw e; // rethrow e
                 /*
                 The following may also be a viable option!
@@ -80,56 +152,160 @@ public final class FluidSwipeDispatcher {
      * the incoming fluid-swipe request is considered accepted; consequently, the gesture can logically start.
      * <br>
      * Firstly, the deepest visible descendant
-     * {@code Component} of the {@code Window} provided as argument (i. e, the {@code Window} in which event occurred) that contains the location {@code (x, y)} is obtained; secondly,
+     * {@code Component} of the {@code Container} provided as argument (i. e, the {@code Window} in which event occurred) that contains the location {@code (x, y)} is obtained; secondly,
      * ancestors of {@code deepest}, the obtained component, are visited in order to find a valid swipeable component. The visit can end prior to finding
      * the required swipeable component if any of its descendants
      * vetoes the gesture; if a swipeable component is found instead, all its ancestors are verified to permit fluid-swipe.
      * <br>
      * <b>Warning</b>: Components that are not vetoers are assumed to allow fluid-swipe.
      *
-     * @param target                  Window in which event occurred
+     * @param target                  Window in which event occurred; any root container can be used when no window exists, as in headless environments.
+     * @param gestureId               correlation id of the fluid-swipe request
+     * @param requestNanos            {@code Threading.nanoTime()} value read when the request has been issued by the handler
      * @param scrollingDeltaX         numerical representation of the gesture direction
      * @param eventX                  x-coordinate of the point in which event occurred
      * @param eventY                  y-coordinate of the point in which event occurred
      * @param naturalScrollingEnabled indicates whether natural scrolling is enabled at the beginning of the physical gesture. If it is true, the content direction will match the direction of fingers movement.
      * @return {@code true} if any swipeable component exists in {@code target} at {@code (x, y)} and it, its ancestors and its descendants allow fluid-swipe; {@code false} otherwise.
      */
-    private static boolean notifyFluidSwipeBeganCommon(final Window target,
+    static boolean notifyFluidSwipeBeganCommon(final Container target,
+                                                       final long gestureId,
+                                                       final long requestNanos,
                                                        final double scrollingDeltaX,
                                                        final double eventX,
                                                        final double eventY,
                                                        final boolean naturalScrollingEnabled) {
+        return notifyFluidSwipeBeganCommon(target, gestureId, requestNanos, scrollingDeltaX, eventX, eventY, naturalScrollingEnabled, PUBLISHED_REGIONS);
+    }
+
+    // As above; publishRegions is false for synthetic requests, whose offscreen window must not be tracked by SwipeRegions.
+    static boolean notifyFluidSwipeBeganCommon(final Container target,
+                                               final long gestureId,
+                                               final long requestNanos,
+                                               final double scrollingDeltaX,
+                                               final double eventX,
+                                               final double eventY,
+                                               final boolean naturalScrollingEnabled,
+                                               final boolean publishRegions) {
         // Running on EDT
-        if (FluidSwipeDispatcher.currentPair != null) { // Reject the fluid-swipe request if any fluid-swipe gesture did not logically end.
+        final GestureRecorder recorder = GestureRecorder.get();
+        final FluidSwipeEvent.Direction direction = directionFromScrollingDeltaX(scrollingDeltaX);
+        recorder.beginRequestStarted(gestureId, requestNanos, target, eventX, eventY, direction);
+        if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.requested();
+        if (STATE.isActive()) { // Reject the fluid-swipe request if any fluid-swipe gesture did not logically end.
             Logging.logWarn("please try to reproduce and report the issue: incoming fluid-swipe request when another fluid-swipe gesture appears to be not yet logically ended");
+            recorder.beginRequestEnded(false);
+            if (FluidSwipeMetrics.ENABLED) {
+                FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.GESTURE_IN_PROGRESS);
+                FluidSwipeMetrics.beginDecided(requestNanos, false);
+            }
             return false;
         }
+        recorder.hitTestStarted(gestureId);
+        STATE.setLocation(target, eventX, eventY); // available to vetoers and listeners via getGestureLocation.
         final Component deepest = SwingUtilities.getDeepestComponentAt(target, (int) eventX, (int) eventY);
-        final FluidSwipeEvent.Direction direction = directionFromScrollingDeltaX(scrollingDeltaX);
         final FluidSwipeEvent event = new FluidSwipeEvent(direction, naturalScrollingEnabled, true, 0.0D, FluidSwipeEvent.Phase.MAY_BEGIN, FluidSwipeEvent.State.NOT_YET_DEFINED);
         final Pair<JComponent, FluidSwipeListener[]> pair = getDeepestComponentWithListeners(deepest, event);
         final boolean acceptFluidSwipeRequest = pair != null && !eventVetoedByAncestors(pair.getLeft(), event);
+        recorder.hitTestEnded(pair == null ? null : pair.getLeft());
+        if (!acceptFluidSwipeRequest) STATE.clearLocation();
         if (acceptFluidSwipeRequest) {
-            FluidSwipeDispatcher.currentDirection = direction;
-            FluidSwipeDispatcher.currentPair = pair;
-            Logging.logFinest("require fluid-swipe to logically start: window: " + target + "eventX: " + eventX + ", eventY: " + eventY + ", direction: " + direction + ", component: " + pair.getLeft());
+            STATE.begin(pair, direction, gestureId);
+            if (Logging.isFinestLoggable()) // avoid boxing and concatenation when the message would be discarded.
+                Logging.logFinest("require fluid-swipe to logically start: window: " + target + ", eventX: " + eventX + ", eventY: " + eventY + ", direction: " + direction + ", component: " + pair.getLeft());
         }
+        recorder.beginRequestEnded(acceptFluidSwipeRequest);
+        if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.beginDecided(requestNanos, acceptFluidSwipeRequest);
+        if (publishRegions) SwipeRegions.track(target); // Later requests issued in this window can be decided off the EDT.
         return acceptFluidSwipeRequest;
     }
 
+    /*
+     * Applies a decision taken by the platform input thread with a published SwipeRegionMap. The gesture begins on the EDT,
+     * in a task posted before any sample of the gesture can be, hence after the end of the previous gesture;
+     * until then, samples are targeted at the pending target.
+     */
+    private static boolean decidedOffUIThread(final SwipeRegionMap.Decision decision, final Container window, final long gestureId, final long requestNanos,
+                                              final FluidSwipeEvent.Direction direction, final double eventX, final double eventY) {
+        if (FluidSwipeMetrics.ENABLED) {
+            FluidSwipeMetrics.requested();
+            if (!decision.isAccepted()) FluidSwipeMetrics.vetoed(decision.vetoReason);
+            FluidSwipeMetrics.beginDecided(requestNanos, decision.isAccepted());
+        }
+        final DispatchState.Route pending = decision.isAccepted() ? new DispatchState.Route(decision.target, gestureId) : null;
+        if (pending != null) STATE.setPendingRoute(pending);
+        Threading.performOnAWTUIThread(window, () -> {
+            final GestureRecorder recorder = GestureRecorder.get();
+            recorder.beginRequestStarted(gestureId, requestNanos, window, eventX, eventY, direction);
+            if (decision.vetoer != null) recorder.vetoedBy(decision.vetoer);
+            recorder.hitTestEnded(decision.target);
+            boolean began = false;
+            if (decision.isAccepted()) {
+                final FluidSwipeListener[] listeners = listenersOf(decision.target);
+                began = STATE.beginPending(pending, new Pair<>(decision.target, listeners != null ? listeners : new FluidSwipeListener[0]), direction);
+                if (began) {
+                    STATE.setLocation(window, eventX, eventY);
+                } else { // As on the EDT path, the request is rejected, and the live gesture is left alone; its samples are dropped.
+                    Logging.logWarn("please try to reproduce and report the issue: fluid-swipe gesture accepted off the EDT when another fluid-swipe gesture appears to be not yet logically ended");
+                    FluidSwipeDispatcher.handler.vetoFluidSwipe();
+                    if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.GESTURE_IN_PROGRESS);
+                }
+            }
+            recorder.beginRequestEnded(began);
+        });
+        return decision.isAccepted();
+    }
+
+    // Rejects a request issued in a window containing no swipeable component, without waiting for the UI thread.
+    private static void rejectedOffUIThread(final long requestNanos) {
+        if (FluidSwipeMetrics.ENABLED) {
+            FluidSwipeMetrics.requested();
+            FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.NO_SWIPEABLE_COMPONENT);
+            FluidSwipeMetrics.beginDecided(requestNanos, false);
+        }
+    }
+
     // Called by native code in the AppKit Thread when in SYNC mode.
     private static boolean notifyFluidSwipeBeganSync(Window target, double scrollingDeltaX, double eventX, double eventY,
                                                      final boolean naturalScrollingEnabled) {
+        return requestFluidSwipeAndWait(target, scrollingDeltaX, eventX, eventY, naturalScrollingEnabled);
+    }
+
+    /**
+     * Issues a fluid-swipe request from the calling thread, as the active handler does in synchronous mode:
+     * the calling thread waits for the request to be evaluated on the UI thread; the handler is not notified of the outcome.
+     *
+     * @param target                  root container in which event occurred
+     * @param scrollingDeltaX         numerical representation of the gesture direction
+     * @param eventX                  x-coordinate of the point in which event occurred
+     * @param eventY                  y-coordinate of the point in which event occurred
+     * @param naturalScrollingEnabled indicates whether natural scrolling is enabled at the beginning of the physical gesture.
+     * @return {@code true} if the gesture can logically start; {@code false} otherwise.
+     */
+    public static boolean requestFluidSwipeAndWait(final Container target, final double scrollingDeltaX, final double eventX, final double eventY,
+                                                   final boolean naturalScrollingEnabled) {
         try {
+            final long requestNanos = Threading.nanoTime();
+            if (!WindowInterest.isInterested(target)) {
+                rejectedOffUIThread(requestNanos);
+                return false;
+            }
+            final long gestureId = GestureRecorder.newGestureId();
+            if (PUBLISHED_REGIONS) {
+                final FluidSwipeEvent.Direction direction = directionFromScrollingDeltaX(scrollingDeltaX);
+                final SwipeRegionMap.Decision decision = STATE.isRouted() ? null : SwipeRegions.decide(target, direction, eventX, eventY, naturalScrollingEnabled);
+                if (decision != null) return decidedOffUIThread(decision, target, gestureId, requestNanos, direction, eventX, eventY);
+            }
             AtomicBoolean b = new AtomicBoolean(false);
             Threading.performOnAWTUIThreadAndWait(target, () -> {
-                        b.set(notifyFluidSwipeBeganCommon(target, scrollingDeltaX, eventX, eventY, naturalScrollingEnabled));
+                        b.set(notifyFluidSwipeBeganCommon(target, gestureId, requestNanos, scrollingDeltaX, eventX, eventY, naturalScrollingEnabled));
                     }
             );
             return b.get();
         } catch (InterruptedException e) {
             Logging.logSevere("interrupted", e);
         } catch (InvocationTargetException e) {
+            if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.EXCEPTION);
             SwingUtilities.invokeLater(() -> {
                 final Throwable cause = e.getCause();
                 if (cause instanceof RuntimeException) {
@@ -152,77 +328,218 @@ public final class FluidSwipeDispatcher {
 
     // This method is called by native code; carries information about the occurring event.
     private static void dispatchFluidSwipeEvent(final double gestureAmount, final int eventPhase, final boolean naturalScrollingEnabled) {
+        dispatchSample(gestureAmount, eventPhase, naturalScrollingEnabled);
+    }
+
+    /**
+     * Dispatches a sample of the gesture being tracked by the active handler from the calling thread,
+     * as the active handler does; the {@code FluidSwipeEvent}s are created and dispatched on the UI thread.
+     *
+     * @param gestureAmount           the gesture amount
+     * @param eventPhase              a combination of the {@link BridgeConstants} flags
+     * @param naturalScrollingEnabled indicates whether natural scrolling is enabled.
+     */
+    public static void dispatchSample(final double gestureAmount, final int eventPhase, final boolean naturalScrollingEnabled) {
         // Now on AppKit Thread.
-        Threading.performOnAWTUIThread(currentPair == null ? null : currentPair.getLeft(), () -> { // Switch to EDT to create and dispatch the Java event.
-            switch (eventPhase) {
-                case BridgeConstants.LOGICALLY_BEGAN: {
-                    for (FluidSwipeListener listener : currentPair.getRight()) {
-                        listener.fluidSwipeBegan(new FluidSwipeEvent(currentDirection, naturalScrollingEnabled, true, gestureAmount,
-                                FluidSwipeEvent.Phase.BEGAN, currentState));
-                    }
-                    break;
-                }
-                case BridgeConstants.PROGRESSED:
-                case BridgeConstants.PROGRESSED_NO_MORE_TOUCHING: {
-                    for (FluidSwipeListener listener : currentPair.getRight()) {
-                        listener.fluidSwipeProgressed(new FluidSwipeEvent(currentDirection, naturalScrollingEnabled, eventPhase == BridgeConstants.PROGRESSED, gestureAmount,
-                                FluidSwipeEvent.Phase.PROGRESS, currentState));
-                    }
-                    break;
+        final long sampleNanos = FluidSwipeMetrics.ENABLED ? Threading.nanoTime() : 0L;
+        final DispatchState.Route route = STATE.routeOfSample();
+        final JComponent target = route != null ? route.target : null;
+        if (FluidSwipeMetrics.ENABLED) {
+            FluidSwipeMetrics.sampleReceived();
+            if (target == null) FluidSwipeMetrics.sampleDropped();
+        }
+        if (POST_AWT_EVENTS && target != null) { // The route identifies the gesture: progress samples of the same gesture can be coalesced.
+            Threading.postOnAWTUIThread(target, new PostedFluidSwipeEvent(target, route, gestureAmount, eventPhase, naturalScrollingEnabled, sampleNanos));
+            return;
+        }
+        Threading.performOnAWTUIThread(target, () -> { // Switch to EDT to create and dispatch the Java event.
+            if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.sampleDelivered(sampleNanos);
+            dispatchFluidSwipeEventOnUIThread(route, gestureAmount, eventPhase, naturalScrollingEnabled);
+        });
+    }
+
+    // Creates and dispatches the Java event; running on EDT.
+    static void dispatchFluidSwipeEventOnUIThread(final DispatchState.Route route, final double gestureAmount, final int eventPhase, final boolean naturalScrollingEnabled) {
+        if (!STATE.accepts(route, eventPhase)) { // a sample of a gesture accepted off the EDT, but rejected there.
+            if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.sampleDropped();
+            return;
+        }
+        final GestureRecorder recorder = GestureRecorder.get();
+        switch (eventPhase) {
+            case BridgeConstants.LOGICALLY_BEGAN: {
+                recorder.logicallyStarted(STATE.gestureId, gestureAmount);
+                for (FluidSwipeListener listener : STATE.pair.getRight()) {
+                    recorder.invokeListener(STATE.gestureId, listener, new FluidSwipeEvent(STATE.direction, naturalScrollingEnabled, true, gestureAmount,
+                            FluidSwipeEvent.Phase.BEGAN, STATE.state));
                 }
-                case BridgeConstants.COMPLETED: {
-                    try {
-                        for (FluidSwipeListener listener : currentPair.getRight()) {
-                            listener.fluidSwipeEnded(new FluidSwipeEvent(currentDirection, naturalScrollingEnabled, false, gestureAmount, FluidSwipeEvent.Phase.ENDED, FluidSwipeEvent.State.SUCCESS));
-                        }
-                    } catch (Exception e) {
-                        cleanup();
-                        throw e;
+                break;
+            }
+            case BridgeConstants.PROGRESSED:
+            case BridgeConstants.PROGRESSED_NO_MORE_TOUCHING: {
+                if (!STATE.progressFilter.suppress(STATE.pair.getLeft(), gestureAmount, eventPhase))
+                    dispatchProgressOnUIThread(recorder, gestureAmount, eventPhase, naturalScrollingEnabled);
+                break;
+            }
+            case BridgeConstants.COMPLETED: {
+                dispatchHeldProgressOnUIThread(recorder, naturalScrollingEnabled);
+                recorder.ended(STATE.gestureId, FluidSwipeEvent.State.SUCCESS, gestureAmount);
+                if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.ended(true);
+                try {
+                    for (FluidSwipeListener listener : STATE.pair.getRight()) {
+                        recorder.invokeListener(STATE.gestureId, listener, new FluidSwipeEvent(STATE.direction, naturalScrollingEnabled, false, gestureAmount, FluidSwipeEvent.Phase.ENDED, FluidSwipeEvent.State.SUCCESS));
                     }
-                    break;
+                } catch (Exception e) {
+                    cleanup();
+                    throw e;
                 }
-                case BridgeConstants.CANCELED: {
-                    try {
-                        for (FluidSwipeListener listener : currentPair.getRight()) {
-                            listener.fluidSwipeEnded(new FluidSwipeEvent(currentDirection, naturalScrollingEnabled, false, gestureAmount, FluidSwipeEvent.Phase.ENDED, FluidSwipeEvent.State.CANCELED));
-                        }
-                    } catch (Exception e) {
-                        cleanup();
-                        throw e;
+                break;
+            }
+            case BridgeConstants.CANCELED: {
+                dispatchHeldProgressOnUIThread(recorder, naturalScrollingEnabled);
+                recorder.ended(STATE.gestureId, FluidSwipeEvent.State.CANCELED, gestureAmount);
+                if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.ended(false);
+                try {
+                    for (FluidSwipeListener listener : STATE.pair.getRight()) {
+                        recorder.invokeListener(STATE.gestureId, listener, new FluidSwipeEvent(STATE.direction, naturalScrollingEnabled, false, gestureAmount, FluidSwipeEvent.Phase.ENDED, FluidSwipeEvent.State.CANCELED));
                     }
-                    break;
+                } catch (Exception e) {
+                    cleanup();
+                    throw e;
                 }
+                break;
             }
-            if (Utils.hasFlag(eventPhase, BridgeConstants.UPDATE_STATE)) {
-                currentState = Utils.hasFlag(eventPhase, BridgeConstants.COMPLETED) ? FluidSwipeEvent.State.SUCCESS : FluidSwipeEvent.State.CANCELED;
-            } else if ((eventPhase & BridgeConstants.ENDED_MASK) != 0) {
-                cleanup(); // cleanup when the gesture logically ends.
+        }
+        if (Utils.hasFlag(eventPhase, BridgeConstants.UPDATE_STATE)) {
+            STATE.state = Utils.hasFlag(eventPhase, BridgeConstants.COMPLETED) ? FluidSwipeEvent.State.SUCCESS : FluidSwipeEvent.State.CANCELED;
+        } else if ((eventPhase & BridgeConstants.ENDED_MASK) != 0) {
+            cleanup(); // cleanup when the gesture logically ends.
+        }
+    }
+
+    private static void dispatchProgressOnUIThread(final GestureRecorder recorder, final double gestureAmount, final int eventPhase, final boolean naturalScrollingEnabled) {
+        recorder.progressed(STATE.gestureId, gestureAmount, eventPhase == BridgeConstants.PROGRESSED);
+        for (FluidSwipeListener listener : STATE.pair.getRight()) {
+            recorder.invokeListener(STATE.gestureId, listener, new FluidSwipeEvent(STATE.direction, naturalScrollingEnabled, eventPhase == BridgeConstants.PROGRESSED, gestureAmount,
+                    FluidSwipeEvent.Phase.PROGRESS, STATE.state));
+        }
+    }
+
+    // Delivers the last progress sample suppressed by the filter, if any, before the gesture logically ends.
+    private static void dispatchHeldProgressOnUIThread(final GestureRecorder recorder, final boolean naturalScrollingEnabled) {
+        final ProgressDeltaFilter filter = STATE.progressFilter;
+        if (filter.isHolding()) {
+            try {
+                dispatchProgressOnUIThread(recorder, filter.getHeldAmount(), filter.getHeldPhase(), naturalScrollingEnabled);
+            } catch (Exception e) {
+                cleanup();
+                throw e;
             }
-        });
+        }
+    }
+
+    // The route of the gesture being dispatched, for the samples dispatched on the EDT itself.
+    static DispatchState.Route getRoute() {
+        return STATE.getRoute();
+    }
+
+    /**
+     * Returns the component the gesture being dispatched is targeted at. Safe to call from any thread.
+     *
+     * @return the target of the gesture being dispatched; {@code null} if there is none.
+     */
+    public static JComponent getGestureTarget() {
+        return STATE.getTarget();
+    }
+
+    /**
+     * Returns the location at which the fluid-swipe gesture being requested or dispatched occurred. Must be called on the UI thread.
+     *
+     * @param component the component the location is relative to
+     * @return the location, relative to {@code component}; {@code null} if no gesture is being requested or dispatched.
+     */
+    public static Point getGestureLocation(final Component component) {
+        final Container root = STATE.locationRoot;
+        if (root == null) return null;
+        return SwingUtilities.convertPoint(root, (int) STATE.locationX, (int) STATE.locationY, component);
+    }
+
+    /**
+     * Returns the minimum page travel, in device pixels, progress samples must cause to be delivered.
+     *
+     * @return the minimum page travel; {@code 0.0} if every progress sample is delivered.
+     */
+    public static double getProgressPixelDelta() {
+        return ProgressDeltaFilter.getPixelDelta();
+    }
+
+    /**
+     * Sets the minimum page travel, in device pixels, progress samples must cause to be delivered.
+     *
+     * @param pixelDelta the minimum page travel; {@code 0.0} to deliver every progress sample
+     * @throws IllegalArgumentException if pixelDelta is negative, infinite or NaN.
+     */
+    public static void setProgressPixelDelta(final double pixelDelta) {
+        ProgressDeltaFilter.setPixelDelta(pixelDelta);
+    }
+
+    // Running on EDT
+    static boolean isGestureActive() {
+        return STATE.isActive();
+    }
+
+    private static void cleanupIfDispatching(final long gestureId) {
+        if (STATE.isActive() && STATE.gestureId == gestureId) cleanup();
     }
 
     private static void cleanup() {
         // Clean stuff up for future events.
-        currentPair = null;
-        currentDirection = null;
-        currentState = FluidSwipeEvent.State.NOT_YET_DEFINED;
+        final JComponent target = STATE.getTarget();
+        STATE.cleanup();
+        if (target != null) {
+            for (Consumer<JComponent> hook : CLEANUP_HOOKS) hook.accept(target);
+        }
         Logging.logFinest("done");
     }
 
+    /**
+     * Registers a hook, invoked on the UI thread with the target of every gesture once it is over: after its {@code ENDED} listeners,
+     * or when it is discarded without them – e.g., because the handler is replaced, or a listener threw. Repeated calls have no effects.
+     *
+     * @param hook the hook to be registered
+     */
+    public static void addCleanupHook(final Consumer<JComponent> hook) {
+        CLEANUP_HOOKS.addIfAbsent(hook);
+    }
+
     static FluidSwipeEvent.Direction directionFromScrollingDeltaX(final double scrollingDeltaX) {
         return scrollingDeltaX >= 0 ? FluidSwipeEvent.Direction.LEFT_TO_RIGHT : FluidSwipeEvent.Direction.RIGHT_TO_LEFT;
     }
 
     // Tells whether a component vetoes the incoming fluid-swipe gesture.
     static boolean eventVetoedByComponent(final Component component, final FluidSwipeEvent e) {
-        return component instanceof FluidSwipeVetoer && !((FluidSwipeVetoer) component).permitFluidSwipeGesture(e);
+        return component instanceof FluidSwipeVetoer && !((FluidSwipeVetoer) component).permitFluidSwipeGesture(e)
+                || TypeRegistrations.vetoes(component, e) || FluidSwipeListenerList.vetoes(component, e);
+    }
+
+    // Returns the listeners of a component, added either to the component or to its class; null if it is not swipeable.
+    static FluidSwipeListener[] listenersOf(final Component component) {
+        final FluidSwipeListenerList listenerList = FluidSwipeListenerList.get(component);
+        final FluidSwipeListener[] typeListeners = TypeRegistrations.listenersOf(component);
+        if (listenerList == null) return typeListeners;
+        final FluidSwipeListener[] listeners = listenerList.copyListeners((JComponent) component);
+        if (listeners == null || typeListeners == null) return listeners == null ? typeListeners : listeners;
+        final FluidSwipeListener[] all = Arrays.copyOf(listeners, listeners.length + typeListeners.length);
+        System.arraycopy(typeListeners, 0, all, listeners.length, typeListeners.length);
+        return all;
     }
 
     // Visit the component's ancestors to ensure that no one vetoes the incoming fluid-swipe gesture.
     static boolean eventVetoedByAncestors(Component component, final FluidSwipeEvent e) {
         while (component != null) {
             if (eventVetoedByComponent(component, e)) {
-                Logging.logFinest(component + ": vetoed fluid-swipe event as ancestor");
+                Logging.logFinest("%s: vetoed fluid-swipe event as ancestor", component);
+                GestureRecorder.get().vetoedBy(component);
+                if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.VETOED_BY_ANCESTOR);
                 return true;
             }
             component = component.getParent();
@@ -231,17 +548,23 @@ public final class FluidSwipeDispatcher {
     }
 
     static Pair<JComponent, FluidSwipeListener[]> getDeepestComponentWithListeners(Component component, final FluidSwipeEvent e) {
-        FluidSwipeListenerList listenerList = null;
-        while (listenerList == null && component != null) { // Stops when a ListenerList is found.
+        FluidSwipeListener[] listeners = null;
+        while (listeners == null && component != null) { // Stops when a swipeable component is found.
             if (eventVetoedByComponent(component, e)) {
-                Logging.logFinest(component + ": vetoed fluid-swipe event");
+                Logging.logFinest("%s: vetoed fluid-swipe event", component);
+                GestureRecorder.get().vetoedBy(component);
+                if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.VETOED_BY_DESCENDANT);
                 return null; // fluid-swipe veto occurred.
             }
-            if ((listenerList = FluidSwipeListenerList.get(component)) == null) {
+            if ((listeners = listenersOf(component)) == null) {
                 // if the current component has not any FluidSwipeListener, visit its parent.
                 component = component.getParent();
             }
         }
-        return listenerList != null ? new Pair<>((JComponent) component, listenerList.copyListeners()) : null;
+        if (listeners == null) {
+            if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.vetoed(FluidSwipeMetrics.VetoReason.NO_SWIPEABLE_COMPONENT);
+            return null;
+        }
+        return new Pair<>((JComponent) component, listeners);
     }
 }
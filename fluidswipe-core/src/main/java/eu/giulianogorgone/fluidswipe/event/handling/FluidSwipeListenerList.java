@@ -16,23 +16,40 @@
 package eu.giulianogorgone.fluidswipe.event.handling;
 
 import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
 import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.management.ListenerFootprint;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.Serializable;
-import java.util.LinkedList;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
  * This class holds the {@code FluidSwipeListener} added to a {@code JComponent} via {@link FluidSwipe#addListenerTo(JComponent, FluidSwipeListener)}.
+ * Listeners added via {@link FluidSwipe#addWeakListenerTo(JComponent, FluidSwipeListener)} are held through a weak reference,
+ * and removed once they are garbage collected. The components holding a list are weakly tracked, for diagnostic purposes.
  * This class is not part of the public API.
  * @author Giuliano Gorgone (anticleiades)
  */
 public final class FluidSwipeListenerList implements Serializable {
     private static final String KEY_CLIENT_PROP = "it.anticleiades.fluidswipe—FluidSwipeListenerList";
-    public final List<FluidSwipeListener> listenerList = new LinkedList<>();
+    private static final ReferenceQueue<FluidSwipeListener> collectedListeners = new ReferenceQueue<>();
+    private static final Set<JComponent> registered = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    // copy-on-write, so that listeners can be added or removed while a gesture is dispatched, even off the EDT.
+    public final List<FluidSwipeListener> listenerList = new CopyOnWriteArrayList<>();
 
     private FluidSwipeListenerList() {
     }
@@ -41,6 +58,65 @@ public final class FluidSwipeListenerList implements Serializable {
         return listenerList.toArray(new FluidSwipeListener[0]);
     }
 
+    // Returns the listeners applying to the gesture being requested; null if all the listeners are conditional, and none of them applies.
+    FluidSwipeListener[] copyListeners(final JComponent component) {
+        final FluidSwipeListener[] listeners = copyListeners();
+        int applying = 0;
+        boolean conditional = false;
+        for (FluidSwipeListener listener : listeners) {
+            if (listener instanceof ConditionalFluidSwipeListener) {
+                conditional = true;
+                if (!((ConditionalFluidSwipeListener) listener).appliesTo(component)) continue;
+            }
+            listeners[applying++] = listener;
+        }
+        if (applying == listeners.length) return listeners;
+        return applying == 0 && conditional ? null : Arrays.copyOf(listeners, applying);
+    }
+
+    // Tells whether a conditional listener added to a component vetoes the gesture being requested.
+    static boolean vetoes(final Component component, final FluidSwipeEvent e) {
+        final FluidSwipeListenerList list = get(component);
+        if (list == null) return false;
+        for (FluidSwipeListener listener : list.listenerList) {
+            if (listener instanceof ConditionalFluidSwipeListener && ((ConditionalFluidSwipeListener) listener).vetoes((JComponent) component, e))
+                return true;
+        }
+        return false;
+    }
+
+    // Tells whether conditional listeners have been added to a component, which may thus veto gestures.
+    static boolean hasVetoers(final Component component) {
+        final FluidSwipeListenerList list = get(component);
+        if (list == null) return false;
+        for (FluidSwipeListener listener : list.listenerList) {
+            if (listener instanceof ConditionalFluidSwipeListener) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds a listener held through a weak reference.
+     *
+     * @param listener the listener to be added
+     */
+    public void addWeak(final FluidSwipeListener listener) {
+        expungeCollectedListeners();
+        listenerList.add(new WeakListener(listener, this));
+    }
+
+    /**
+     * Removes the first occurrence of a listener, whether it has been added weakly or not.
+     *
+     * @param listener the listener to be removed
+     */
+    public void remove(final FluidSwipeListener listener) {
+        if (listenerList.remove(listener)) return;
+        for (FluidSwipeListener l : listenerList) {
+            if (l instanceof WeakListener && ((WeakListener) l).get() == listener && listenerList.remove(l)) return;
+        }
+    }
+
     // return a not-null value if and only if a FluidSwipeListenerList exists.
     public static FluidSwipeListenerList get(final Component component) {
         Object clientPropVal = component instanceof JComponent ? ((JComponent) component).getClientProperty(KEY_CLIENT_PROP) : null;
@@ -50,8 +126,103 @@ public final class FluidSwipeListenerList implements Serializable {
     // returns either the new installed holder, or the one already existing found in client props.
     public static FluidSwipeListenerList installIfNeededAndGet(final JComponent component) {
         FluidSwipeListenerList listenerList = get(component);
-        if (listenerList == null)
+        if (listenerList == null) {
             component.putClientProperty(KEY_CLIENT_PROP, (listenerList = new FluidSwipeListenerList()));
+            registered.add(component);
+            WindowInterest.track(component);
+        }
         return listenerList;
     }
+
+    // Removes the list of a component, which is no longer swipeable, e.g. a component of the warm-up, which must leave no trace, or a component whose rows are no longer swipeable.
+    public static void uninstall(final JComponent component) {
+        if (get(component) == null) return;
+        component.putClientProperty(KEY_CLIENT_PROP, null);
+        registered.remove(component);
+        WindowInterest.untrack(component);
+    }
+
+    // The components holding a list, not yet garbage collected.
+    static List<JComponent> registeredComponents() {
+        synchronized (registered) {
+            return new ArrayList<>(registered);
+        }
+    }
+
+    /**
+     * Reports the components holding a list, and the listeners they retain. Weak listeners already garbage collected are removed first.
+     *
+     * @return the footprint of the registered listeners.
+     */
+    public static ListenerFootprint footprint() {
+        expungeCollectedListeners();
+        final List<JComponent> components = registeredComponents();
+        final Map<String, Integer> componentClasses = new TreeMap<>();
+        final Map<String, Integer> retainedListenerClasses = new TreeMap<>();
+        int componentCount = 0;
+        int listeners = 0;
+        int weakListeners = 0;
+        for (JComponent component : components) {
+            final FluidSwipeListenerList list = get(component);
+            if (list == null) continue;
+            componentCount++;
+            componentClasses.merge(component.getClass().getName(), 1, Integer::sum);
+            for (FluidSwipeListener listener : list.listenerList) {
+                if (listener instanceof WeakListener) {
+                    weakListeners++;
+                } else {
+                    listeners++;
+                    retainedListenerClasses.merge(listener.getClass().getName(), 1, Integer::sum);
+                }
+            }
+        }
+        final JComponent target = FluidSwipeDispatcher.getGestureTarget();
+        return new ListenerFootprint(componentCount, listeners, weakListeners, componentClasses, retainedListenerClasses,
+                target == null ? null : target.getClass().getName());
+    }
+
+    private static void expungeCollectedListeners() {
+        Reference<? extends FluidSwipeListener> collected;
+        while ((collected = collectedListeners.poll()) != null) ((WeakListener) collected).expunge();
+    }
+
+    // Forwards events to a weakly referenced listener, removing itself from its list once the listener is garbage collected.
+    private static final class WeakListener extends WeakReference<FluidSwipeListener> implements FluidSwipeListener {
+        private final FluidSwipeListenerList owner;
+
+        WeakListener(final FluidSwipeListener listener, final FluidSwipeListenerList owner) {
+            super(listener, collectedListeners);
+            this.owner = owner;
+        }
+
+        void expunge() {
+            owner.listenerList.remove(this);
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            final FluidSwipeListener listener = get();
+            if (listener != null) listener.fluidSwipeBegan(e);
+            else expunge();
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+            final FluidSwipeListener listener = get();
+            if (listener != null) listener.fluidSwipeProgressed(e);
+            else expunge();
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            final FluidSwipeListener listener = get();
+            if (listener != null) listener.fluidSwipeEnded(e);
+            else expunge();
+        }
+
+        @Override
+        public String toString() {
+            return "WeakListener[" + get() + "]";
+        }
+    }
 }
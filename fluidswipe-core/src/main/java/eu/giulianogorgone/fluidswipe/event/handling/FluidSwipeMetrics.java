@@ -0,0 +1,222 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.management.FluidSwipeMetricsMXBean;
+import eu.giulianogorgone.fluidswipe.management.LatencySnapshot;
+import eu.giulianogorgone.fluidswipe.management.ListenerFootprint;
+import eu.giulianogorgone.fluidswipe.utils.ConfigFlags;
+import eu.giulianogorgone.fluidswipe.utils.Threading;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the statistics exposed by {@link FluidSwipeMetricsMXBean}. Statistics are collected only if {@link #ENABLED} is {@code true}:
+ * each recording method must be guarded by it, so that the JIT can remove the whole call otherwise.
+ * Counters are striped, thus they can be incremented by the EDT and the platform input thread without contention.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class FluidSwipeMetrics implements FluidSwipeMetricsMXBean {
+    public static final boolean ENABLED = ConfigFlags.jmxMetrics;
+
+    enum VetoReason {
+        NO_SWIPEABLE_COMPONENT,
+        VETOED_BY_DESCENDANT,
+        VETOED_BY_ANCESTOR,
+        GESTURE_IN_PROGRESS,
+        HANDLER_REFUSED,
+        EXCEPTION
+    }
+
+    private static final VetoReason[] VETO_REASONS = VetoReason.values();
+    private static final FluidSwipeMetrics INSTANCE = new FluidSwipeMetrics();
+    private static boolean registered; // guarded by FluidSwipeMetrics.class
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder[] vetoes = new LongAdder[VETO_REASONS.length];
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder canceled = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder coalescedSamples = new LongAdder();
+    private final LongAdder droppedSamples = new LongAdder();
+    private final LongAdder suppressedSamples = new LongAdder();
+    private final LatencyHistogram beginDecisionLatency = new LatencyHistogram();
+    private final LatencyHistogram inputToListenerLatency = new LatencyHistogram();
+
+    private FluidSwipeMetrics() {
+        for (int i = 0; i < vetoes.length; i++) vetoes[i] = new LongAdder();
+    }
+
+    /**
+     * Registers the MXBean in the platform {@code MBeanServer}, if metrics are enabled. Repeated calls have no effects.
+     */
+    public static synchronized void registerIfEnabled() {
+        if (!ENABLED || registered) return;
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) server.registerMBean(INSTANCE, name);
+            registered = true;
+            Logging.logConfig("registered " + OBJECT_NAME);
+        } catch (JMException | SecurityException e) {
+            Logging.logSevere("could not register " + OBJECT_NAME, e);
+        }
+    }
+
+    //=======================================================//
+    // Recording methods – callers must check ENABLED first.
+    //=======================================================//
+    static void requested() {
+        INSTANCE.requests.increment();
+    }
+
+    // Invoked when the decision whether to accept a request has been made, on the EDT.
+    static void beginDecided(final long requestNanos, final boolean accepted) {
+        INSTANCE.beginDecisionLatency.record(Threading.nanoTime() - requestNanos);
+        if (accepted) INSTANCE.accepted.increment();
+    }
+
+    static void vetoed(final VetoReason reason) {
+        INSTANCE.vetoes[reason.ordinal()].increment();
+    }
+
+    // The core accepted the request, but the handler could not logically start the gesture.
+    static void handlerRefused() {
+        INSTANCE.accepted.decrement();
+        vetoed(VetoReason.HANDLER_REFUSED);
+    }
+
+    static void sampleReceived() {
+        INSTANCE.samples.increment();
+    }
+
+    static void sampleDelivered(final long sampleNanos) {
+        INSTANCE.inputToListenerLatency.record(Threading.nanoTime() - sampleNanos);
+    }
+
+    static void sampleCoalesced() {
+        INSTANCE.coalescedSamples.increment();
+    }
+
+    static void sampleDropped() {
+        INSTANCE.droppedSamples.increment();
+    }
+
+    static void sampleSuppressed() {
+        INSTANCE.suppressedSamples.increment();
+    }
+
+    static void ended(final boolean completed) {
+        (completed ? INSTANCE.completed : INSTANCE.canceled).increment();
+    }
+
+    //======================//
+    // MXBean
+    //======================//
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    @Override
+    public long getVetoedCount() {
+        long sum = 0;
+        for (LongAdder adder : vetoes) sum += adder.sum();
+        return sum;
+    }
+
+    @Override
+    public Map<String, Long> getVetoCountsByReason() {
+        final Map<String, Long> map = new LinkedHashMap<>();
+        for (VetoReason reason : VETO_REASONS) map.put(reason.name(), vetoes[reason.ordinal()].sum());
+        return map;
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    @Override
+    public long getCanceledCount() {
+        return canceled.sum();
+    }
+
+    @Override
+    public long getSampleCount() {
+        return samples.sum();
+    }
+
+    @Override
+    public long getCoalescedSampleCount() {
+        return coalescedSamples.sum();
+    }
+
+    @Override
+    public long getDroppedSampleCount() {
+        return droppedSamples.sum();
+    }
+
+    @Override
+    public long getSuppressedSampleCount() {
+        return suppressedSamples.sum();
+    }
+
+    @Override
+    public LatencySnapshot getBeginDecisionLatency() {
+        return beginDecisionLatency.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getInputToListenerLatency() {
+        return inputToListenerLatency.snapshot();
+    }
+
+    @Override
+    public ListenerFootprint getListenerFootprint() {
+        return FluidSwipeListenerList.footprint();
+    }
+
+    @Override
+    public void reset() {
+        requests.reset();
+        accepted.reset();
+        for (LongAdder adder : vetoes) adder.reset();
+        completed.reset();
+        canceled.reset();
+        samples.reset();
+        coalescedSamples.reset();
+        droppedSamples.reset();
+        suppressedSamples.reset();
+        beginDecisionLatency.reset();
+        inputToListenerLatency.reset();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.management.LatencySnapshot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values, with log-linear buckets: each power of two is split into
+ * {@code SUB_BUCKET_COUNT} buckets, so the relative error of the reported percentiles does not exceed {@code 1 / SUB_BUCKET_COUNT}.
+ * Recording a value never allocates.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+        final int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    // Returns the greatest value that falls in the bucket.
+    static long highestValueInBucket(final int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    void record(long value) {
+        if (value < 0) value = 0; // the clock is not guaranteed to be monotonic across threads on every platform.
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0L);
+        sum.reset();
+        max.reset();
+    }
+
+    LatencySnapshot snapshot() {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) count += (snapshot[i] = counts.get(i));
+        if (count == 0) return new LatencySnapshot(0, 0, 0, 0, 0, 0, 0);
+        final long max = this.max.get();
+        return new LatencySnapshot(count, sum.sum() / count,
+                percentile(snapshot, count, 50.0D, max),
+                percentile(snapshot, count, 90.0D, max),
+                percentile(snapshot, count, 99.0D, max),
+                percentile(snapshot, count, 99.9D, max),
+                max);
+    }
+
+    private static long percentile(final long[] snapshot, final long count, final double percentile, final long max) {
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0D * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            if ((seen += snapshot[i]) >= rank) return Math.min(highestValueInBucket(i), max);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.components.AnimPainterDelegate;
+import eu.giulianogorgone.fluidswipe.components.impl.FluidSwipePager;
+import eu.giulianogorgone.fluidswipe.components.impl.FluidSwipePagerAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.handling.jfr.GestureRecorder;
+import eu.giulianogorgone.fluidswipe.utils.Threading;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the gesture pipeline on a background thread, so that the first gesture performed by the user does not pay for class loading,
+ * handler initialization and interpreted code. Firstly, the handler is initialized; secondly, synthetic gestures are dispatched
+ * to an offscreen {@link FluidSwipePager}, whose swipe animation is painted into an offscreen image at each sample.
+ * <br>
+ * Each synthetic gesture is dispatched within a single task on the EDT, and is skipped if a real gesture is being dispatched;
+ * hence, synthetic gestures never interleave with real ones. They are however reported by metrics and Flight Recorder as any other gesture.
+ * The warm-up leaves no global state behind: the offscreen window is not tracked by {@link SwipeRegions}, the pager does not isolate its repaints
+ * nor capture its page with the shared snapshot service – either would install a {@code RepaintManager} – and the pager stops being swipeable once done.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class PipelineWarmUp {
+    private static final int GESTURES = 64;
+    private static final int SAMPLES_PER_GESTURE = 32;
+    private static final int PAGE_WIDTH = 320;
+    private static final int PAGE_HEIGHT = 240;
+
+    private static CompletableFuture<Duration> result; // guarded by PipelineWarmUp.class
+
+    private PipelineWarmUp() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Starts warming up the gesture pipeline, unless already started.
+     *
+     * @return a future completed with the time spent warming up.
+     */
+    public static synchronized CompletableFuture<Duration> start() {
+        if (result == null) {
+            result = new CompletableFuture<>();
+            final Thread thread = new Thread(PipelineWarmUp::run, "FluidSwipe-WarmUp");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+        }
+        return result;
+    }
+
+    private static void run() {
+        final long start = System.nanoTime();
+        try {
+            FluidSwipeDispatcher.getHandler(); // Loads the handler, its native library, and initializes logging.
+            GestureRecorder.get();
+            final long handlerNanos = System.nanoTime() - start;
+            final SyntheticTree[] tree = new SyntheticTree[1];
+            SwingUtilities.invokeAndWait(() -> tree[0] = new SyntheticTree());
+            try {
+                for (int i = 0; i < GESTURES; i++) {
+                    final boolean leftToRight = (i & 1) == 0;
+                    SwingUtilities.invokeAndWait(() -> tree[0].gesture(leftToRight));
+                }
+            } finally {
+                SwingUtilities.invokeAndWait(() -> tree[0].dispose());
+            }
+            final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            Logging.logConfig("gesture pipeline warmed up in " + elapsed.toMillis() + " ms (handler: " + TimeUnit.NANOSECONDS.toMillis(handlerNanos) + " ms)");
+            result.complete(elapsed);
+        } catch (Throwable t) {
+            Logging.logWarn("gesture pipeline warm-up failed: " + t);
+            result.completeExceptionally(t);
+        }
+    }
+
+    // An offscreen pager nested in a few containers, showing the second of three pages, so that gestures in both directions are accepted.
+    private static final class SyntheticTree implements AnimPainterDelegate {
+        private final JPanel root = new JPanel(null);
+        private final FluidSwipePager<JLabel> pager = new FluidSwipePager<>(new FluidSwipePagerAdapter<JLabel>() {
+            @Override
+            public int getPageCount() {
+                return 3;
+            }
+
+            @Override
+            public JLabel createPage() {
+                final JLabel page = new JLabel("", SwingConstants.CENTER);
+                page.setOpaque(true);
+                return page;
+            }
+
+            @Override
+            public void bindPage(final JLabel page, final int index) {
+                page.setText("Page " + index);
+                page.setBackground(index == 1 ? Color.WHITE : Color.LIGHT_GRAY);
+            }
+        });
+        private final BufferedImage frame = new BufferedImage(PAGE_WIDTH, PAGE_HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+        private final Point location;
+        private FluidSwipeEvent event;
+
+        SyntheticTree() {
+            root.setSize(PAGE_WIDTH, PAGE_HEIGHT);
+            Container parent = root;
+            for (int i = 0; i < 6; i++) {
+                final JPanel child = new JPanel(new BorderLayout());
+                parent.add(child);
+                child.setBounds(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+                parent = child;
+            }
+            parent.add(pager);
+            pager.setCurrentPage(1);
+            pager.getRepaintIsolator().setEnabled(false);
+            pager.setAnimPainterDelegate(this);
+            root.validate();
+            parent.doLayout();
+            pager.doLayout();
+            location = SwingUtilities.convertPoint(pager, PAGE_WIDTH / 2, PAGE_HEIGHT / 2, root);
+        }
+
+        // Dispatches a canceled gesture: the amount grows while touching, then shrinks to zero.
+        void gesture(final boolean leftToRight) {
+            if (FluidSwipeDispatcher.isGestureActive()) return; // A real gesture is being dispatched.
+            if (!FluidSwipeDispatcher.notifyFluidSwipeBeganCommon(root, GestureRecorder.newGestureId(), Threading.nanoTime(),
+                    leftToRight ? 1.0D : -1.0D, location.x, location.y, true, false)) {
+                Logging.logFinest("synthetic fluid-swipe request not accepted");
+                return;
+            }
+            final double peak = 0.5D;
+            final int half = SAMPLES_PER_GESTURE / 2;
+            sample(0.0D, BridgeConstants.LOGICALLY_BEGAN);
+            for (int i = 1; i <= half; i++) sample(peak * i / half, BridgeConstants.PROGRESSED);
+            sample(peak, BridgeConstants.UPDATE_STATE | BridgeConstants.CANCELED);
+            for (int i = half - 1; i > 0; i--) sample(peak * i / half, BridgeConstants.PROGRESSED_NO_MORE_TOUCHING);
+            sample(0.0D, BridgeConstants.CANCELED);
+        }
+
+        // The pager stops being swipeable, so that its window is no longer counted as interested.
+        void dispose() {
+            pager.setAnimPainterDelegate(null);
+            FluidSwipeListenerList.uninstall(pager);
+        }
+
+        private void sample(final double amount, final int eventPhase) {
+            FluidSwipeDispatcher.dispatchFluidSwipeEventOnUIThread(FluidSwipeDispatcher.getRoute(), amount, eventPhase, true);
+            final Graphics2D g = frame.createGraphics();
+            try {
+                pager.paint(g);
+            } finally {
+                g.dispose();
+            }
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            event = e;
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+            event = e;
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            event = null;
+        }
+
+        @Override
+        public boolean isActive() {
+            return event != null;
+        }
+
+        // Slides the current page over the destination page; the current page is painted as is, rather than captured by the shared snapshot service.
+        @Override
+        public void paint(final Graphics g) {
+            final Image destination = pager.getDestinationPage(event);
+            final JLabel from = pager.getCurrentPageComponent();
+            final int offset = (int) (event.getGestureAmount() * PAGE_WIDTH);
+            if (destination != null) g.drawImage(destination, 0, 0, PAGE_WIDTH, PAGE_HEIGHT, null);
+            if (from != null) {
+                final Graphics g2 = g.create(event.getLogicalGestureDirection() == FluidSwipeEvent.Direction.LEFT_TO_RIGHT ? offset : -offset, 0, PAGE_WIDTH, PAGE_HEIGHT);
+                try {
+                    from.paint(g2);
+                } finally {
+                    g2.dispose();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAWTEvent;
+
+import javax.swing.*;
+
+/**
+ * A gesture sample posted to the {@code EventQueue}; once dispatched, it is delivered to the listeners of the gesture being dispatched.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class PostedFluidSwipeEvent extends FluidSwipeAWTEvent {
+    private static final long serialVersionUID = 5306208114581309187L;
+
+    private final DispatchState.Route route;
+    private final int eventPhase;
+    private final boolean naturalScrollingEnabled;
+    private final long sampleNanos;
+
+    PostedFluidSwipeEvent(final JComponent target, final DispatchState.Route route, final double gestureAmount, final int eventPhase,
+                          final boolean naturalScrollingEnabled, final long sampleNanos) {
+        super(target, idOf(eventPhase), route, gestureAmount, eventPhase == BridgeConstants.LOGICALLY_BEGAN || eventPhase == BridgeConstants.PROGRESSED);
+        this.route = route;
+        this.eventPhase = eventPhase;
+        this.naturalScrollingEnabled = naturalScrollingEnabled;
+        this.sampleNanos = sampleNanos;
+    }
+
+    private static int idOf(final int eventPhase) {
+        switch (eventPhase) {
+            case BridgeConstants.LOGICALLY_BEGAN:
+                return FLUID_SWIPE_BEGAN;
+            case BridgeConstants.PROGRESSED:
+            case BridgeConstants.PROGRESSED_NO_MORE_TOUCHING:
+                return FLUID_SWIPE_PROGRESSED;
+            case BridgeConstants.COMPLETED:
+            case BridgeConstants.CANCELED:
+                return FLUID_SWIPE_ENDED;
+            default:
+                return FLUID_SWIPE_STATE_UPDATED;
+        }
+    }
+
+    @Override
+    public void dispatch() {
+        if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.sampleDelivered(sampleNanos);
+        FluidSwipeDispatcher.dispatchFluidSwipeEventOnUIThread(route, getGestureAmount(), eventPhase, naturalScrollingEnabled);
+    }
+
+    @Override
+    protected void coalesced() {
+        if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.sampleCoalesced();
+    }
+}
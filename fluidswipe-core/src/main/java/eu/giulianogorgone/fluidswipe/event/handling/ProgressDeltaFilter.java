@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.utils.ConfigFlags;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Suppresses the progress samples of the gesture being dispatched whose amount change maps to less than a given
+ * number of device pixels of page travel, i.e., the width of the swipeable component times the scale factor of its screen.
+ * A suppressed sample is held, and delivered anyway if the gesture logically ends before a larger change is sampled,
+ * so that listeners always observe the last amount reached before the gesture ends.
+ * Samples changing the touching state of the input device are never suppressed.
+ * Instances are accessed by the EDT only.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class ProgressDeltaFilter {
+    // a non-positive value disables the filter.
+    private static volatile double pixelDelta = ConfigFlags.progressPixelDelta > 0.0D ? ConfigFlags.progressPixelDelta : 0.0D;
+
+    private boolean delivered;
+    private double lastAmount;
+    private int lastPhase;
+    private boolean holding;
+    private double heldAmount;
+    private int heldPhase;
+    private int suppressed;
+
+    static double getPixelDelta() {
+        return pixelDelta;
+    }
+
+    static void setPixelDelta(final double pixelDelta) {
+        if (!(pixelDelta >= 0.0D) || Double.isInfinite(pixelDelta))
+            throw new IllegalArgumentException("invalid pixel delta: " + pixelDelta);
+        ProgressDeltaFilter.pixelDelta = pixelDelta;
+    }
+
+    /**
+     * Tells whether a progress sample must not be delivered; if so, the sample is held.
+     *
+     * @param target        the swipeable component
+     * @param gestureAmount the gesture amount of the sample
+     * @param eventPhase    either {@link BridgeConstants#PROGRESSED} or {@link BridgeConstants#PROGRESSED_NO_MORE_TOUCHING}
+     * @return {@code true} if the sample must not be delivered.
+     */
+    boolean suppress(final JComponent target, final double gestureAmount, final int eventPhase) {
+        final double pixelDelta = ProgressDeltaFilter.pixelDelta;
+        if (pixelDelta > 0.0D && delivered && eventPhase == lastPhase
+                && Math.abs(gestureAmount - lastAmount) * target.getWidth() * scaleOf(target) < pixelDelta) {
+            holding = true;
+            heldAmount = gestureAmount;
+            heldPhase = eventPhase;
+            suppressed++;
+            if (FluidSwipeMetrics.ENABLED) FluidSwipeMetrics.sampleSuppressed();
+            return true;
+        }
+        delivered = true;
+        lastAmount = gestureAmount;
+        lastPhase = eventPhase;
+        holding = false;
+        return false;
+    }
+
+    boolean isHolding() {
+        return holding;
+    }
+
+    double getHeldAmount() {
+        return heldAmount;
+    }
+
+    int getHeldPhase() {
+        return heldPhase;
+    }
+
+    void reset() {
+        if (suppressed != 0 && Logging.isFinestLoggable())
+            Logging.logFinest("suppressed %s progress samples", suppressed);
+        delivered = false;
+        holding = false;
+        suppressed = 0;
+    }
+
+    private static double scaleOf(final Component target) {
+        final GraphicsConfiguration gc = target.getGraphicsConfiguration();
+        return gc == null ? 1.0D : gc.getDefaultTransform().getScaleX();
+    }
+}
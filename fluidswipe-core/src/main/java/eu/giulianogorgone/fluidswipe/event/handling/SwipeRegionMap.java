@@ -0,0 +1,212 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * An immutable snapshot of the component hierarchy of a window, holding what is needed to decide a fluid-swipe request
+ * off the EDT: the bounds and z-order of the visible components, which of them are swipeable, and the verdict of each vetoer
+ * for each direction, with and without natural scrolling. {@link #lookup(double, double, FluidSwipeEvent.Direction, boolean)} replicates,
+ * on the snapshot, the hit test and the visit performed by {@link FluidSwipeDispatcher#notifyFluidSwipeBeganCommon} on the EDT;
+ * like {@code Component.contains}'s default implementation, it assumes components to be rectangular.
+ * <br>
+ * Components are stored breadth-first, so that the children of each component are contiguous and in z-order.
+ * The only mutable state is the stale flag, set when the hierarchy changed after the snapshot was taken.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class SwipeRegionMap {
+    private static final byte SWIPEABLE = 1;
+    // a vetoer, or the filter of a type registration, threw while being asked its verdict: requests hitting it are decided on the EDT.
+    private static final byte UNDECIDABLE = 1 << 1;
+    // vetoes a request, for each combination of direction and natural scrolling; see verdictBit.
+    private static final byte VETOES = 1 << 2;
+
+    private static final FluidSwipeEvent[] PROBES = new FluidSwipeEvent[4];
+
+    static {
+        for (FluidSwipeEvent.Direction direction : FluidSwipeEvent.Direction.values()) {
+            for (boolean natural : new boolean[]{false, true}) {
+                PROBES[probeIndex(direction, natural)] = new FluidSwipeEvent(direction, natural, true, 0.0D,
+                        FluidSwipeEvent.Phase.MAY_BEGIN, FluidSwipeEvent.State.NOT_YET_DEFINED);
+            }
+        }
+    }
+
+    /**
+     * The outcome of a lookup.
+     */
+    static final class Decision {
+        final JComponent target;
+        final FluidSwipeMetrics.VetoReason vetoReason;
+        final Component vetoer;
+
+        private Decision(final JComponent target, final FluidSwipeMetrics.VetoReason vetoReason, final Component vetoer) {
+            this.target = target;
+            this.vetoReason = vetoReason;
+            this.vetoer = vetoer;
+        }
+
+        boolean isAccepted() {
+            return target != null;
+        }
+    }
+
+    private final Component[] components;
+    private final int[] parents;
+    private final int[] x;
+    private final int[] y;
+    private final int[] width;
+    private final int[] height;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final byte[] flags;
+    private volatile boolean stale;
+
+    private SwipeRegionMap(final int size) {
+        components = new Component[size];
+        parents = new int[size];
+        x = new int[size];
+        y = new int[size];
+        width = new int[size];
+        height = new int[size];
+        firstChild = new int[size];
+        childCount = new int[size];
+        flags = new byte[size];
+    }
+
+    /**
+     * Takes a snapshot of the hierarchy of {@code root}; must be called on the EDT.
+     *
+     * @param root the window, or any root container
+     * @return the snapshot.
+     */
+    static SwipeRegionMap build(final Container root) {
+        Component[] order = new Component[64];
+        int[] parentOf = new int[64];
+        int size = 1;
+        order[0] = root;
+        parentOf[0] = -1;
+        for (int i = 0; i < size; i++) {
+            if (!(order[i] instanceof Container)) continue;
+            for (Component child : ((Container) order[i]).getComponents()) {
+                if (child == null || !child.isVisible()) continue; // as SwingUtilities.getDeepestComponentAt does.
+                if (size == order.length) {
+                    order = Arrays.copyOf(order, size << 1);
+                    parentOf = Arrays.copyOf(parentOf, size << 1);
+                }
+                order[size] = child;
+                parentOf[size++] = i;
+            }
+        }
+        final SwipeRegionMap map = new SwipeRegionMap(size);
+        for (int i = 0; i < size; i++) {
+            final Component c = order[i];
+            map.components[i] = c;
+            map.parents[i] = parentOf[i];
+            map.x[i] = i == 0 ? 0 : c.getX();
+            map.y[i] = i == 0 ? 0 : c.getY();
+            map.width[i] = c.getWidth();
+            map.height[i] = c.getHeight();
+            map.firstChild[i] = -1;
+            if (parentOf[i] >= 0) {
+                final int p = parentOf[i];
+                if (map.childCount[p]++ == 0) map.firstChild[p] = i;
+            }
+            map.flags[i] = flagsOf(c);
+        }
+        return map;
+    }
+
+    private static byte flagsOf(final Component c) {
+        int flags = 0;
+        try {
+            final FluidSwipeListenerList list = FluidSwipeListenerList.get(c);
+            if (list != null && list.copyListeners((JComponent) c) != null || TypeRegistrations.hasListeners(c)) flags |= SWIPEABLE;
+            if (c instanceof FluidSwipeVetoer || TypeRegistrations.hasVetoers(c) || FluidSwipeListenerList.hasVetoers(c)) {
+                for (int probe = 0; probe < PROBES.length; probe++) {
+                    if (FluidSwipeDispatcher.eventVetoedByComponent(c, PROBES[probe])) flags |= VETOES << probe;
+                }
+            }
+        } catch (RuntimeException e) { // e.g., the verdict depends on the location of the gesture, unknown in advance.
+            flags |= UNDECIDABLE;
+        }
+        return (byte) flags;
+    }
+
+    private static int probeIndex(final FluidSwipeEvent.Direction direction, final boolean natural) {
+        return (direction == FluidSwipeEvent.Direction.LEFT_TO_RIGHT ? 0 : 2) + (natural ? 1 : 0);
+    }
+
+    boolean isStale() {
+        return stale;
+    }
+
+    void markStale() {
+        stale = true;
+    }
+
+    /**
+     * Decides a fluid-swipe request as the EDT would, without calling any component; can be called on any thread.
+     *
+     * @param eventX    x-coordinate of the point in which event occurred, relative to the root
+     * @param eventY    y-coordinate of the point in which event occurred, relative to the root
+     * @param direction the logical direction of the gesture
+     * @param natural   whether natural scrolling is enabled
+     * @return the decision; {@code null} if it must be taken on the EDT.
+     */
+    Decision lookup(final double eventX, final double eventY, final FluidSwipeEvent.Direction direction, final boolean natural) {
+        final int vetoBit = VETOES << probeIndex(direction, natural);
+        int node = deepestAt(0, (int) eventX, (int) eventY);
+        if (node < 0) return new Decision(null, FluidSwipeMetrics.VetoReason.NO_SWIPEABLE_COMPONENT, null);
+        while (node >= 0) {
+            if ((flags[node] & UNDECIDABLE) != 0) return null;
+            if ((flags[node] & vetoBit) != 0)
+                return new Decision(null, FluidSwipeMetrics.VetoReason.VETOED_BY_DESCENDANT, components[node]);
+            if ((flags[node] & SWIPEABLE) != 0) break;
+            node = parents[node];
+        }
+        if (node < 0) return new Decision(null, FluidSwipeMetrics.VetoReason.NO_SWIPEABLE_COMPONENT, null);
+        final int swipeable = node;
+        for (node = parents[node]; node >= 0; node = parents[node]) {
+            if ((flags[node] & UNDECIDABLE) != 0) return null;
+            if ((flags[node] & vetoBit) != 0)
+                return new Decision(null, FluidSwipeMetrics.VetoReason.VETOED_BY_ANCESTOR, components[node]);
+        }
+        return new Decision((JComponent) components[swipeable], null, null);
+    }
+
+    // Mirrors SwingUtilities.getDeepestComponentAt: the first visible child containing the point wins.
+    private int deepestAt(final int node, final int px, final int py) {
+        if (px < 0 || py < 0 || px >= width[node] || py >= height[node]) return -1;
+        for (int child = firstChild[node], end = child + childCount[node]; child >= 0 && child < end; child++) {
+            final int deepest = deepestAt(child, px - x[child], py - y[child]);
+            if (deepest >= 0) return deepest;
+        }
+        return node;
+    }
+
+    int size() {
+        return components.length;
+    }
+}
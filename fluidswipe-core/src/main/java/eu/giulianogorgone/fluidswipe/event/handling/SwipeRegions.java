@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.utils.ConfigFlags;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.WindowEvent;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes, for each window in which a fluid-swipe request has been issued, a {@link SwipeRegionMap} the platform input thread can decide
+ * further requests with, without waiting for the EDT. Maps are enabled by {@code -Dfluidswipe.publishedSwipeRegions=true}.
+ * <br>
+ * A map is marked stale, and rebuilt on the EDT, when a component of its window is added, removed, shown, hidden, moved or resized,
+ * when a component becomes swipeable, when a listener or a vetoer is registered for a class of components, and when a vetoer reports that its verdicts changed; requests issued while the map of a window
+ * is stale are decided on the EDT, as usual. Because AWT delivers component events asynchronously, a map can lag a change of bounds by
+ * one event.
+ * <br>
+ * Maps are kept for displayable roots only: the map of a window is dropped once the window is disposed, and the map of any other root
+ * once it stops being displayable or is added to another container – the requests issued in it are then decided on the EDT.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class SwipeRegions {
+    public static final boolean ENABLED = ConfigFlags.publishedSwipeRegions;
+
+    private static final long EVENT_MASK = AWTEvent.CONTAINER_EVENT_MASK | AWTEvent.COMPONENT_EVENT_MASK
+            | AWTEvent.HIERARCHY_EVENT_MASK | AWTEvent.WINDOW_EVENT_MASK;
+    private static final ConcurrentHashMap<Container, SwipeRegionMap> MAPS = new ConcurrentHashMap<>();
+    private static final Set<Container> REBUILD_PENDING = ConcurrentHashMap.newKeySet();
+    private static boolean listening; // EDT-confined
+
+    private SwipeRegions() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Decides a fluid-swipe request with the published map of the window; can be called on any thread.
+     *
+     * @return the decision; {@code null} if it must be taken on the EDT.
+     */
+    static SwipeRegionMap.Decision decide(final Container window, final FluidSwipeEvent.Direction direction,
+                                          final double eventX, final double eventY, final boolean naturalScrollingEnabled) {
+        final SwipeRegionMap map = MAPS.get(window);
+        return map == null || map.isStale() ? null : map.lookup(eventX, eventY, direction, naturalScrollingEnabled);
+    }
+
+    // Starts maintaining the map of a window, once a request issued in it has been decided on the EDT.
+    static void track(final Container window) {
+        if (!listening) {
+            Toolkit.getDefaultToolkit().addAWTEventListener(SwipeRegions::eventDispatched, EVENT_MASK);
+            listening = true;
+        }
+        final SwipeRegionMap map = MAPS.get(window);
+        if (map == null || map.isStale()) rebuild(window);
+    }
+
+    /**
+     * Marks as stale the map of the window containing the specified component, which is rebuilt on the EDT.
+     * Has no effect if maps are not enabled, or if the window has no map. Must be called on the EDT.
+     *
+     * @param component a component whose bounds, swipeability or veto verdicts changed
+     */
+    public static void invalidate(final Component component) {
+        if (!ENABLED || MAPS.isEmpty() || component == null) return;
+        final Component root = SwingUtilities.getRoot(component);
+        final SwipeRegionMap map = root == null ? null : MAPS.get(root);
+        if (map == null) return;
+        map.markStale();
+        scheduleRebuild((Container) root);
+    }
+
+    /**
+     * Marks as stale all the maps, which are rebuilt on the EDT. Has no effect if maps are not enabled. Can be called on any thread.
+     */
+    static void invalidateAll() {
+        if (!ENABLED) return;
+        for (Container window : MAPS.keySet()) {
+            final SwipeRegionMap map = MAPS.get(window);
+            if (map == null) continue;
+            map.markStale();
+            scheduleRebuild(window);
+        }
+    }
+
+    private static void scheduleRebuild(final Container window) {
+        if (REBUILD_PENDING.add(window)) {
+            SwingUtilities.invokeLater(() -> { // Coalesces the changes performed by the current event.
+                REBUILD_PENDING.remove(window);
+                if (MAPS.containsKey(window)) rebuild(window);
+            });
+        }
+    }
+
+    private static void rebuild(final Container window) {
+        if (!isPublishable(window)) {
+            MAPS.remove(window);
+            return;
+        }
+        final SwipeRegionMap map = SwipeRegionMap.build(window);
+        MAPS.put(window, map);
+        Logging.logFinest("published swipe-region map of %s: %s components", window, map.size());
+    }
+
+    // Whether the map of a root can be kept: otherwise, nothing but the map would keep the tree reachable.
+    private static boolean isPublishable(final Container root) {
+        return root.isDisplayable() && (root instanceof Window || root.getParent() == null);
+    }
+
+    private static void eventDispatched(final AWTEvent e) {
+        if (e.getID() == WindowEvent.WINDOW_CLOSED) {
+            MAPS.remove((Container) e.getSource());
+        } else if (!(e instanceof WindowEvent)) {
+            if (e instanceof HierarchyEvent) {
+                final Component changed = ((HierarchyEvent) e).getChanged();
+                // the root itself has been disposed or moved, so its map is no longer found by invalidate().
+                if (changed instanceof Container && MAPS.containsKey(changed) && !isPublishable((Container) changed)) MAPS.remove(changed);
+            }
+            invalidate((Component) e.getSource());
+        }
+    }
+}
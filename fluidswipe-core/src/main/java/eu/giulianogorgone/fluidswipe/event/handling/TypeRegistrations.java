@@ -0,0 +1,257 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeComponentVetoer;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Holds the listeners and vetoers registered for whole classes of components via {@link FluidSwipe#addListenerToType(Class, FluidSwipeListener)}
+ * and {@link FluidSwipe#addVetoerToType(Class, FluidSwipeComponentVetoer)}. The registrations applying to a class are resolved once, and
+ * cached in a {@link ClassValue}; hence, the instances of a registered class need no per-instance state, and looking them up costs a
+ * {@code ClassValue} lookup, plus the evaluation of the filters of the registrations applying to them.
+ * The cache is replaced whenever a registration is added or removed.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class TypeRegistrations {
+    private static final Bindings NONE = new Bindings(new ListenerRegistration[0], new VetoerRegistration[0]);
+    private static final Object LOCK = new Object();
+    private static final List<ListenerRegistration> listeners = new ArrayList<>(); // guarded by LOCK
+    private static final List<VetoerRegistration> vetoers = new ArrayList<>(); // guarded by LOCK
+    // null if nothing is registered, so that components are not looked up in the common case.
+    private static volatile ClassValue<Bindings> bindings;
+    private static volatile boolean anyListener;
+
+    private TypeRegistrations() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Registers a listener factory for the instances of a class, and of its subclasses, accepted by a filter.
+     *
+     * @param type     the class of the components
+     * @param filter   the filter the components must be accepted by
+     * @param factory  the factory of the listener of a component
+     * @param key      the object identifying the registration, to remove it
+     */
+    public static <T extends JComponent> void addListener(final Class<T> type, final Predicate<? super T> filter,
+                                                          final Function<? super T, ? extends FluidSwipeListener> factory, final Object key) {
+        synchronized (LOCK) {
+            listeners.add(new ListenerRegistration(type, filter, factory, key));
+            changed();
+        }
+    }
+
+    /**
+     * Removes the first registration of a listener, or of a listener factory, for a class.
+     *
+     * @param type the class the registration has been added for
+     * @param key  the listener or the listener factory
+     */
+    public static void removeListener(final Class<? extends JComponent> type, final Object key) {
+        synchronized (LOCK) {
+            for (int i = 0; i < listeners.size(); i++) {
+                if (listeners.get(i).type == type && listeners.get(i).key == key) {
+                    listeners.remove(i);
+                    changed();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers a vetoer for the instances of a class, and of its subclasses.
+     *
+     * @param type   the class of the components
+     * @param vetoer the vetoer
+     */
+    public static <T extends JComponent> void addVetoer(final Class<T> type, final FluidSwipeComponentVetoer<? super T> vetoer) {
+        synchronized (LOCK) {
+            vetoers.add(new VetoerRegistration(type, vetoer));
+            changed();
+        }
+    }
+
+    /**
+     * Removes the first registration of a vetoer for a class.
+     *
+     * @param type   the class the registration has been added for
+     * @param vetoer the vetoer
+     */
+    public static void removeVetoer(final Class<? extends JComponent> type, final FluidSwipeComponentVetoer<?> vetoer) {
+        synchronized (LOCK) {
+            for (int i = 0; i < vetoers.size(); i++) {
+                if (vetoers.get(i).type == type && vetoers.get(i).vetoer == vetoer) {
+                    vetoers.remove(i);
+                    changed();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Called holding LOCK.
+    private static void changed() {
+        if (listeners.isEmpty() && vetoers.isEmpty()) {
+            bindings = null;
+        } else {
+            final ListenerRegistration[] l = listeners.toArray(new ListenerRegistration[0]);
+            final VetoerRegistration[] v = vetoers.toArray(new VetoerRegistration[0]);
+            bindings = new ClassValue<>() {
+                @Override
+                protected Bindings computeValue(final Class<?> cls) {
+                    return Bindings.of(cls, l, v);
+                }
+            };
+        }
+        SwipeRegions.invalidateAll(); // components may have become swipeable, or changed their verdicts.
+        anyListener = !listeners.isEmpty();
+        WindowInterest.publish();
+    }
+
+    // Tells whether any listener is registered for a class; can be called on any thread.
+    static boolean isAnyListenerRegistered() {
+        return anyListener;
+    }
+
+    private static Bindings bindingsOf(final Component component) {
+        final ClassValue<Bindings> b = bindings;
+        return b == null || !(component instanceof JComponent) ? NONE : b.get(component.getClass());
+    }
+
+    /**
+     * Tells whether listeners are registered for the class of a component, with a filter accepting the component.
+     *
+     * @param component the component
+     * @return {@code true} if the component is swipeable by its class; {@code false} otherwise.
+     */
+    static boolean hasListeners(final Component component) {
+        for (ListenerRegistration r : bindingsOf(component).listeners) {
+            if (r.accepts(component)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the listeners registered for the class of a component, with a filter accepting the component; listener factories are invoked.
+     *
+     * @param component the component
+     * @return the listeners; {@code null} if the component is not swipeable by its class.
+     */
+    static FluidSwipeListener[] listenersOf(final Component component) {
+        final ListenerRegistration[] registrations = bindingsOf(component).listeners;
+        List<FluidSwipeListener> result = null;
+        for (ListenerRegistration r : registrations) {
+            if (r.accepts(component)) {
+                if (result == null) result = new ArrayList<>(registrations.length);
+                result.add(r.listenerOf(component));
+            }
+        }
+        return result == null ? null : result.toArray(new FluidSwipeListener[0]);
+    }
+
+    /**
+     * Tells whether a vetoer registered for the class of a component vetoes the incoming fluid-swipe gesture.
+     *
+     * @param component the component
+     * @param e         the fluid-swipe event
+     * @return {@code true} if the gesture is vetoed; {@code false} otherwise.
+     */
+    static boolean vetoes(final Component component, final FluidSwipeEvent e) {
+        for (VetoerRegistration r : bindingsOf(component).vetoers) {
+            if (!r.permits(component, e)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether vetoers are registered for the class of a component.
+     *
+     * @param component the component
+     * @return {@code true} if the component is a vetoer by its class; {@code false} otherwise.
+     */
+    static boolean hasVetoers(final Component component) {
+        return bindingsOf(component).vetoers.length > 0;
+    }
+
+    private static final class Bindings {
+        final ListenerRegistration[] listeners;
+        final VetoerRegistration[] vetoers;
+
+        Bindings(final ListenerRegistration[] listeners, final VetoerRegistration[] vetoers) {
+            this.listeners = listeners;
+            this.vetoers = vetoers;
+        }
+
+        static Bindings of(final Class<?> cls, final ListenerRegistration[] listeners, final VetoerRegistration[] vetoers) {
+            final List<ListenerRegistration> l = new ArrayList<>();
+            for (ListenerRegistration r : listeners) if (r.type.isAssignableFrom(cls)) l.add(r);
+            final List<VetoerRegistration> v = new ArrayList<>();
+            for (VetoerRegistration r : vetoers) if (r.type.isAssignableFrom(cls)) v.add(r);
+            return l.isEmpty() && v.isEmpty() ? NONE : new Bindings(l.toArray(new ListenerRegistration[0]), v.toArray(new VetoerRegistration[0]));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class ListenerRegistration {
+        final Class<?> type;
+        final Predicate<Object> filter;
+        final Function<Object, ? extends FluidSwipeListener> factory;
+        final Object key;
+
+        ListenerRegistration(final Class<?> type, final Predicate<?> filter, final Function<?, ? extends FluidSwipeListener> factory, final Object key) {
+            this.type = type;
+            this.filter = (Predicate<Object>) filter;
+            this.factory = (Function<Object, ? extends FluidSwipeListener>) factory;
+            this.key = key;
+        }
+
+        boolean accepts(final Component component) {
+            return filter == null || filter.test(component);
+        }
+
+        FluidSwipeListener listenerOf(final Component component) {
+            return factory.apply(component);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final class VetoerRegistration {
+        final Class<?> type;
+        final FluidSwipeComponentVetoer<JComponent> vetoer;
+
+        VetoerRegistration(final Class<?> type, final FluidSwipeComponentVetoer<?> vetoer) {
+            this.type = type;
+            this.vetoer = (FluidSwipeComponentVetoer<JComponent>) vetoer;
+        }
+
+        boolean permits(final Component component, final FluidSwipeEvent e) {
+            return vetoer.permitFluidSwipeGesture((JComponent) component, e);
+        }
+    }
+}
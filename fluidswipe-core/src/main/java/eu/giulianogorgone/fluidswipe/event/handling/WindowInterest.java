@@ -0,0 +1,165 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.handlers.FluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.utils.ConfigFlags;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks the windows – or, in headless environments, the root containers – containing components made swipeable via
+ * {@link eu.giulianogorgone.fluidswipe.FluidSwipe#addListenerTo(JComponent, eu.giulianogorgone.fluidswipe.event.FluidSwipeListener)},
+ * so that requests issued in other windows can be rejected by the platform input thread, without any EDT hop,
+ * and so that the active handler can pause event monitoring while no window is interested, via {@link FluidSwipeHandler#setInterestedWindowCount(int)}.
+ * <br>
+ * Swipeable components are tracked through a shared {@code HierarchyListener}: a window becomes interested as soon as a swipeable component
+ * is added to it, whereas the windows no longer interested are found by a coalesced recount on the EDT. Thus, a window may be deemed interested for a while
+ * after its last swipeable component has been removed – its requests are then decided on the EDT, as usual – but never the other way round.
+ * Only displayable windows – in headless environments, root containers that have been made displayable – are counted towards the handler,
+ * whereas requests are rejected in advance in any root container with no swipeable component.
+ * While listeners are registered for classes of components, every window may be interested, and no request is rejected in advance.
+ * Tracking is disabled by {@code -Dfluidswipe.windowInterestTracking=false}.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class WindowInterest {
+    public static final boolean ENABLED = ConfigFlags.windowInterestTracking;
+    /**
+     * Value passed to {@link FluidSwipeHandler#setInterestedWindowCount(int)} while any window may be interested.
+     */
+    public static final int ANY_WINDOW = -1;
+
+    private static final HierarchyListener HIERARCHY_LISTENER = WindowInterest::hierarchyChanged;
+    // also read by the platform input thread.
+    private static final Set<Container> interested = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+    private static boolean recountPending; // guarded by the class lock
+    private static int notifiedCount = Integer.MIN_VALUE; // guarded by the class lock: the count last passed to the handler.
+
+    private WindowInterest() {
+        throw new AssertionError();
+    }
+
+    // Called when a component becomes swipeable.
+    static void track(final JComponent component) {
+        if (!ENABLED) return;
+        component.addHierarchyListener(HIERARCHY_LISTENER);
+        interested.add(rootOf(component));
+        publish();
+    }
+
+    // Called when a component is no longer swipeable.
+    static void untrack(final JComponent component) {
+        if (!ENABLED) return;
+        component.removeHierarchyListener(HIERARCHY_LISTENER);
+        scheduleRecount();
+    }
+
+    /**
+     * Tells whether a request issued in a window may be accepted; can be called on any thread.
+     *
+     * @param window the window, or the root container, in which the request has been issued
+     * @return {@code false} if the window certainly contains no swipeable component; {@code true} otherwise.
+     */
+    static boolean isInterested(final Container window) {
+        return !ENABLED || TypeRegistrations.isAnyListenerRegistered() || interested.contains(window);
+    }
+
+    /**
+     * Returns the number of interested windows that are displayable, thus may issue requests: a swipeable component that has never been shown
+     * – or whose window has been disposed – does not keep event monitoring running.
+     *
+     * @return the number of displayable interested windows; {@link #ANY_WINDOW} if any window may be interested.
+     */
+    public static int getInterestedWindowCount() {
+        if (TypeRegistrations.isAnyListenerRegistered()) return ANY_WINDOW;
+        int count = 0;
+        synchronized (interested) {
+            for (Container window : interested) {
+                if (window != null && window.isDisplayable()) count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Tells the active handler the number of interested windows, if it changed since it has last been told, or if {@code force} is {@code true}.
+     * Can be called on any thread.
+     *
+     * @param force whether the handler must be told even if the count did not change, e.g., because it has just been installed or started
+     */
+    public static synchronized void publish(final boolean force) {
+        if (!ENABLED) return;
+        final int count = getInterestedWindowCount();
+        if (!force && count == notifiedCount) return;
+        notifiedCount = count;
+        Logging.logFinest("interested windows: %s", count);
+        FluidSwipeDispatcher.getHandler().setInterestedWindowCount(count);
+    }
+
+    // Called when the registrations by class change.
+    static void publish() {
+        publish(false);
+    }
+
+    private static void hierarchyChanged(final HierarchyEvent e) {
+        if ((e.getChangeFlags() & (HierarchyEvent.PARENT_CHANGED | HierarchyEvent.DISPLAYABILITY_CHANGED)) == 0) return;
+        interested.add(rootOf(e.getComponent())); // becoming interested is never deferred.
+        publish();
+        scheduleRecount();
+    }
+
+    private static void scheduleRecount() {
+        synchronized (WindowInterest.class) {
+            if (recountPending) return;
+            recountPending = true;
+        }
+        // Posted even on the EDT, where hierarchy events are fired, so that the changes of a whole subtree are recounted once.
+        EventQueue.invokeLater(WindowInterest::recount); // the previous window may no longer be interested.
+    }
+
+    private static void recount() {
+        synchronized (WindowInterest.class) {
+            recountPending = false;
+        }
+        final List<Container> roots = new ArrayList<>();
+        for (JComponent component : FluidSwipeListenerList.registeredComponents()) {
+            if (FluidSwipeListenerList.get(component) != null) roots.add(rootOf(component));
+        }
+        synchronized (interested) {
+            interested.clear();
+            interested.addAll(roots);
+        }
+        publish();
+    }
+
+    // The window containing a component or, if none, its topmost ancestor: the container requests are issued in.
+    private static Container rootOf(final Component component) {
+        Component root = component;
+        while (!(root instanceof Window) && root.getParent() != null) root = root.getParent();
+        return (Container) root;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling.jfr;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.log.Logging;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receives notifications about the gesture life-cycle from the dispatcher, in order to emit JDK Flight Recorder events.
+ * Each method of this class has no side effects: if the {@code jdk.jfr} module is available, the instance returned by {@link #get()}
+ * emits the events; otherwise, it does nothing. As a result, no class referencing {@code jdk.jfr} is loaded if the module is not available.
+ * <br>
+ * Except for {@link #newGestureId()}, methods are expected to be called on the EDT only.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public class GestureRecorder {
+    private static final GestureRecorder INSTANCE = createInstance();
+    private static final AtomicLong lastGestureId = new AtomicLong();
+
+    GestureRecorder() {
+    }
+
+    private static GestureRecorder createInstance() {
+        final Optional<Module> jfr = ModuleLayer.boot().findModule("jdk.jfr");
+        if (jfr.isPresent() && GestureRecorder.class.getModule().canRead(jfr.get())) {
+            Logging.logConfig("Flight Recorder events for fluid-swipe gestures are available");
+            return JfrGestureRecorder.create();
+        }
+        Logging.logConfig("jdk.jfr not available: no Flight Recorder event will be emitted for fluid-swipe gestures");
+        return new GestureRecorder();
+    }
+
+    public static GestureRecorder get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a new gesture correlation id; this method can be called on any thread.
+     *
+     * @return a positive id, unique for each fluid-swipe request.
+     */
+    public static long newGestureId() {
+        return lastGestureId.incrementAndGet();
+    }
+
+    /**
+     * Invoked when the EDT starts to evaluate a fluid-swipe request.
+     *
+     * @param gestureId    the correlation id of the request
+     * @param requestNanos the {@code Threading.nanoTime()} value read when the request has been issued by the handler
+     * @param window       the window (or, in headless environments, the root container) in which the request occurred
+     * @param eventX       x-coordinate of the point in which event occurred
+     * @param eventY       y-coordinate of the point in which event occurred
+     * @param direction    the logical direction of the gesture
+     */
+    public void beginRequestStarted(final long gestureId, final long requestNanos, final Container window,
+                                    final double eventX, final double eventY, final FluidSwipeEvent.Direction direction) {
+    }
+
+    // Invoked before the swipeable component is looked up.
+    public void hitTestStarted(final long gestureId) {
+    }
+
+    // Invoked when a component vetoes the fluid-swipe request, either as a descendant or as an ancestor of the swipeable component.
+    public void vetoedBy(final Component vetoer) {
+    }
+
+    // Invoked after the swipeable component is looked up, and its ancestors are verified; swipeable is null if it does not exist.
+    public void hitTestEnded(final JComponent swipeable) {
+    }
+
+    public void beginRequestEnded(final boolean accepted) {
+    }
+
+    public void logicallyStarted(final long gestureId, final double gestureAmount) {
+    }
+
+    public void progressed(final long gestureId, final double gestureAmount, final boolean inputDeviceBeingTouched) {
+    }
+
+    public void ended(final long gestureId, final FluidSwipeEvent.State state, final double gestureAmount) {
+    }
+
+    /**
+     * Invokes the listener method corresponding to the phase of the event.
+     *
+     * @param gestureId the correlation id of the gesture
+     * @param listener  the listener to notify
+     * @param e         the event to be dispatched
+     */
+    public void invokeListener(final long gestureId, final FluidSwipeListener listener, final FluidSwipeEvent e) {
+        dispatch(listener, e);
+    }
+
+    static void dispatch(final FluidSwipeListener listener, final FluidSwipeEvent e) {
+        switch (e.getGesturePhase()) {
+            case BEGAN:
+                listener.fluidSwipeBegan(e);
+                break;
+            case PROGRESS:
+                listener.fluidSwipeProgressed(e);
+                break;
+            case ENDED:
+                listener.fluidSwipeEnded(e);
+                break;
+            default:
+                throw new IllegalArgumentException("no listener method for phase: " + e.getGesturePhase());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Look-up of the swipeable component and evaluation of the vetoers.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@Name("eu.giulianogorgone.fluidswipe.HitTest")
+@Label("Fluid-Swipe Hit-Test")
+@Category("Fluid-Swipe")
+@Description("Look-up of the swipeable component and evaluation of the vetoers.")
+@StackTrace(false)
+final class HitTestEvent extends Event {
+    @Label("Gesture Id")
+    @Description("Correlates the events of the same fluid-swipe gesture")
+    long gestureId;
+
+    @Label("Swipeable Component Class")
+    Class<?> swipeableComponentClass;
+
+    @Label("Vetoed")
+    boolean vetoed;
+
+    @Label("Vetoing Component Class")
+    Class<?> vetoingComponentClass;
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling.jfr;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.Threading;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Emits the Flight Recorder events. Events are created only while they are enabled in a running recording:
+ * otherwise, the allocation is expected to be eliminated by the JIT, as the event does not escape.
+ * This class is EDT-confined.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+final class JfrGestureRecorder extends GestureRecorder {
+    // Maximum number of progress samples aggregated into a single event.
+    private static final int MAX_PROGRESS_BATCH_SIZE = 32;
+
+    private BeginRequestEvent beginRequest;
+    private HitTestEvent hitTest;
+    private ProgressBatchEvent progressBatch;
+    private long logicalStartNanos;
+
+    private JfrGestureRecorder() {
+    }
+
+    static GestureRecorder create() {
+        return new JfrGestureRecorder();
+    }
+
+    @Override
+    public void beginRequestStarted(final long gestureId, final long requestNanos, final Container window,
+                                    final double eventX, final double eventY, final FluidSwipeEvent.Direction direction) {
+        final BeginRequestEvent event = new BeginRequestEvent();
+        if (!event.isEnabled()) return;
+        event.begin();
+        event.gestureId = gestureId;
+        event.windowClass = window == null ? null : window.getClass();
+        event.eventX = eventX;
+        event.eventY = eventY;
+        event.direction = String.valueOf(direction);
+        event.uiThreadDelay = Threading.nanoTime() - requestNanos;
+        beginRequest = event;
+    }
+
+    @Override
+    public void hitTestStarted(final long gestureId) {
+        final HitTestEvent event = new HitTestEvent();
+        if (!event.isEnabled()) return;
+        event.begin();
+        event.gestureId = gestureId;
+        hitTest = event;
+    }
+
+    @Override
+    public void vetoedBy(final Component vetoer) {
+        if (hitTest != null) {
+            hitTest.vetoed = true;
+            hitTest.vetoingComponentClass = vetoer.getClass();
+        }
+    }
+
+    @Override
+    public void hitTestEnded(final JComponent swipeable) {
+        final HitTestEvent event = hitTest;
+        if (event == null) return;
+        hitTest = null;
+        event.end();
+        event.swipeableComponentClass = swipeable == null ? null : swipeable.getClass();
+        if (event.shouldCommit()) event.commit();
+    }
+
+    @Override
+    public void beginRequestEnded(final boolean accepted) {
+        final BeginRequestEvent event = beginRequest;
+        if (event == null) return;
+        beginRequest = null;
+        event.end();
+        event.accepted = accepted;
+        if (event.shouldCommit()) event.commit();
+    }
+
+    @Override
+    public void logicallyStarted(final long gestureId, final double gestureAmount) {
+        logicalStartNanos = Threading.nanoTime();
+        final LogicalStartEvent event = new LogicalStartEvent();
+        if (!event.isEnabled()) return;
+        event.gestureId = gestureId;
+        event.gestureAmount = gestureAmount;
+        event.commit();
+    }
+
+    @Override
+    public void progressed(final long gestureId, final double gestureAmount, final boolean inputDeviceBeingTouched) {
+        ProgressBatchEvent event = progressBatch;
+        if (event == null) {
+            event = new ProgressBatchEvent();
+            if (!event.isEnabled()) return;
+            event.begin();
+            event.gestureId = gestureId;
+            event.firstGestureAmount = gestureAmount;
+            progressBatch = event;
+        }
+        event.sampleCount++;
+        event.lastGestureAmount = gestureAmount;
+        event.inputDeviceBeingTouched = inputDeviceBeingTouched;
+        if (event.sampleCount >= MAX_PROGRESS_BATCH_SIZE) commitProgressBatch();
+    }
+
+    private void commitProgressBatch() {
+        final ProgressBatchEvent event = progressBatch;
+        if (event == null) return;
+        progressBatch = null;
+        event.end();
+        if (event.shouldCommit()) event.commit();
+    }
+
+    @Override
+    public void ended(final long gestureId, final FluidSwipeEvent.State state, final double gestureAmount) {
+        commitProgressBatch();
+        final long gestureDuration = logicalStartNanos == 0L ? 0L : Threading.nanoTime() - logicalStartNanos;
+        logicalStartNanos = 0L;
+        final EndEvent event = new EndEvent();
+        if (!event.isEnabled()) return;
+        event.gestureId = gestureId;
+        event.state = String.valueOf(state);
+        event.gestureAmount = gestureAmount;
+        event.gestureDuration = gestureDuration;
+        event.commit();
+    }
+
+    @Override
+    public void invokeListener(final long gestureId, final FluidSwipeListener listener, final FluidSwipeEvent e) {
+        final ListenerInvocationEvent event = new ListenerInvocationEvent();
+        if (!event.isEnabled()) {
+            dispatch(listener, e);
+            return;
+        }
+        event.begin();
+        try {
+            dispatch(listener, e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.gestureId = gestureId;
+                event.listenerClass = listener.getClass();
+                event.phase = String.valueOf(e.getGesturePhase());
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Invocation of a FluidSwipeListener.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@Name("eu.giulianogorgone.fluidswipe.ListenerInvocation")
+@Label("Fluid-Swipe Listener Invocation")
+@Category("Fluid-Swipe")
+@Description("Invocation of a FluidSwipeListener.")
+@StackTrace(false)
+final class ListenerInvocationEvent extends Event {
+    @Label("Gesture Id")
+    @Description("Correlates the events of the same fluid-swipe gesture")
+    long gestureId;
+
+    @Label("Listener Class")
+    Class<?> listenerClass;
+
+    @Label("Phase")
+    String phase;
+}
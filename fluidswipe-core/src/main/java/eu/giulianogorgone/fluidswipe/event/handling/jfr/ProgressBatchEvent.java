@@ -0,0 +1,52 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A batch of consecutive progress samples; the duration spans from the first sample to the last one.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@Name("eu.giulianogorgone.fluidswipe.ProgressBatch")
+@Label("Fluid-Swipe Progress Batch")
+@Category("Fluid-Swipe")
+@Description("A batch of consecutive progress samples; the duration spans from the first sample to the last one.")
+@StackTrace(false)
+final class ProgressBatchEvent extends Event {
+    @Label("Gesture Id")
+    @Description("Correlates the events of the same fluid-swipe gesture")
+    long gestureId;
+
+    @Label("Sample Count")
+    int sampleCount;
+
+    @Label("First Gesture Amount")
+    double firstGestureAmount;
+
+    @Label("Last Gesture Amount")
+    double lastGestureAmount;
+
+    @Label("Input Device Being Touched")
+    @Description("Whether the input device was being touched at the last sample")
+    boolean inputDeviceBeingTouched;
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.management;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing throughput, latency and veto statistics about fluid-swipe gestures.
+ * <br>
+ * An instance is registered in the platform {@code MBeanServer}, with the name {@value #OBJECT_NAME}, when
+ * {@link FluidSwipe#startEventMonitoring()} is called, provided that the JVM has been started with
+ * {@code -Dfluidswipe.jmxMetrics=true}; otherwise, no statistics are collected.
+ * <br>
+ * Latencies are expressed in nanoseconds.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public interface FluidSwipeMetricsMXBean {
+    /**
+     * The object name the MXBean is registered with.
+     */
+    String OBJECT_NAME = "eu.giulianogorgone.fluidswipe:type=FluidSwipeMetrics";
+
+    /**
+     * Returns the number of fluid-swipe requests issued by the handler.
+     *
+     * @return the number of fluid-swipe requests
+     */
+    long getRequestCount();
+
+    /**
+     * Returns the number of fluid-swipe requests that logically started a gesture.
+     *
+     * @return the number of accepted requests
+     */
+    long getAcceptedCount();
+
+    /**
+     * Returns the number of fluid-swipe requests that did not logically start a gesture.
+     *
+     * @return the number of vetoed requests; it equals the sum of the values of {@link #getVetoCountsByReason()}
+     */
+    long getVetoedCount();
+
+    /**
+     * Returns the number of vetoed fluid-swipe requests, grouped by reason. Possible reasons are:
+     * <ul>
+     *     <li>{@code NO_SWIPEABLE_COMPONENT}: no swipeable component exists at the location of the request;</li>
+     *     <li>{@code VETOED_BY_DESCENDANT}: the deepest component, or one of the ancestors visited before reaching the swipeable component, vetoed the gesture;</li>
+     *     <li>{@code VETOED_BY_ANCESTOR}: the swipeable component or one of its ancestors vetoed the gesture;</li>
+     *     <li>{@code GESTURE_IN_PROGRESS}: another gesture had not logically ended yet;</li>
+     *     <li>{@code HANDLER_REFUSED}: the handler could not logically start the gesture;</li>
+     *     <li>{@code EXCEPTION}: an exception was thrown while evaluating the request.</li>
+     * </ul>
+     *
+     * @return a map from the reason to the number of vetoed requests
+     */
+    Map<String, Long> getVetoCountsByReason();
+
+    /**
+     * Returns the number of gestures that logically ended with state {@code SUCCESS}.
+     *
+     * @return the number of completed gestures
+     */
+    long getCompletedCount();
+
+    /**
+     * Returns the number of gestures that logically ended with state {@code CANCELED}.
+     *
+     * @return the number of canceled gestures
+     */
+    long getCanceledCount();
+
+    /**
+     * Returns the number of gesture samples sent by the handler.
+     *
+     * @return the number of gesture samples
+     */
+    long getSampleCount();
+
+    /**
+     * Returns the number of gesture samples that have been merged into a following sample, and not delivered to the listeners.
+     *
+     * @return the number of coalesced samples
+     */
+    long getCoalescedSampleCount();
+
+    /**
+     * Returns the number of gesture samples that have been discarded, because no gesture was being dispatched.
+     *
+     * @return the number of dropped samples
+     */
+    long getDroppedSampleCount();
+
+    /**
+     * Returns the number of progress samples that have not been delivered to the listeners, because they moved the page by less than
+     * {@link FluidSwipe#getProgressPixelDelta()} device pixels.
+     *
+     * @return the number of suppressed samples
+     */
+    long getSuppressedSampleCount();
+
+    /**
+     * Returns statistics about the time elapsed between the request issued by the handler and the decision whether to accept it.
+     *
+     * @return the begin-decision latency statistics
+     */
+    LatencySnapshot getBeginDecisionLatency();
+
+    /**
+     * Returns statistics about the time elapsed between the reception of a gesture sample and the invocation of the listeners.
+     *
+     * @return the input-to-listener latency statistics
+     */
+    LatencySnapshot getInputToListenerLatency();
+
+    /**
+     * Returns a report of the swipeable components and of the listeners they retain; it is not affected by {@link #reset()}.
+     *
+     * @return the footprint of the registered listeners
+     * @see FluidSwipe#getListenerFootprint()
+     */
+    ListenerFootprint getListenerFootprint();
+
+    /**
+     * Resets all the counters and latency statistics.
+     */
+    void reset();
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.management;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * An immutable snapshot of latency statistics; all values are expressed in nanoseconds.
+ * Percentiles are approximated, with a relative error not greater than 12.5%.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipeMetricsMXBean
+ */
+public final class LatencySnapshot {
+    private final long count;
+    private final long mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+    private final long max;
+
+    @ConstructorProperties({"count", "mean", "p50", "p90", "p99", "p999", "max"})
+    public LatencySnapshot(final long count, final long mean, final long p50, final long p90,
+                           final long p99, final long p999, final long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean of the recorded values; {@code 0} if no value has been recorded
+     */
+    public long getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    /**
+     * Returns the maximum recorded value.
+     *
+     * @return the maximum recorded value; {@code 0} if no value has been recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySnapshot{" +
+                "count=" + count +
+                ", mean=" + mean +
+                ", p50=" + p50 +
+                ", p90=" + p90 +
+                ", p99=" + p99 +
+                ", p999=" + p999 +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.management;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+
+import java.beans.ConstructorProperties;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable report of the components made swipeable via {@link FluidSwipe#addListenerTo(javax.swing.JComponent, eu.giulianogorgone.fluidswipe.event.FluidSwipeListener)},
+ * and of what they retain: listeners added weakly are counted, whereas listeners retained strongly are also grouped by class,
+ * as they are those keeping their dependencies reachable.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipe#getListenerFootprint()
+ */
+public final class ListenerFootprint {
+    private final int componentCount;
+    private final int listenerCount;
+    private final int weakListenerCount;
+    private final Map<String, Integer> componentClasses;
+    private final Map<String, Integer> retainedListenerClasses;
+    private final String gestureTargetClass;
+
+    @ConstructorProperties({"componentCount", "listenerCount", "weakListenerCount", "componentClasses", "retainedListenerClasses", "gestureTargetClass"})
+    public ListenerFootprint(final int componentCount, final int listenerCount, final int weakListenerCount, final Map<String, Integer> componentClasses,
+                             final Map<String, Integer> retainedListenerClasses, final String gestureTargetClass) {
+        this.componentCount = componentCount;
+        this.listenerCount = listenerCount;
+        this.weakListenerCount = weakListenerCount;
+        this.componentClasses = Collections.unmodifiableMap(new LinkedHashMap<>(componentClasses));
+        this.retainedListenerClasses = Collections.unmodifiableMap(new LinkedHashMap<>(retainedListenerClasses));
+        this.gestureTargetClass = gestureTargetClass;
+    }
+
+    /**
+     * Returns the number of swipeable components not yet garbage collected.
+     *
+     * @return the number of swipeable components
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Returns the number of listeners retained strongly by the swipeable components.
+     *
+     * @return the number of strongly retained listeners
+     */
+    public int getListenerCount() {
+        return listenerCount;
+    }
+
+    /**
+     * Returns the number of listeners added weakly, and not yet garbage collected.
+     *
+     * @return the number of weak listeners
+     */
+    public int getWeakListenerCount() {
+        return weakListenerCount;
+    }
+
+    /**
+     * Returns the number of swipeable components, grouped by class name.
+     *
+     * @return a map from the class name to the number of swipeable components
+     */
+    public Map<String, Integer> getComponentClasses() {
+        return componentClasses;
+    }
+
+    /**
+     * Returns the number of strongly retained listeners, grouped by class name.
+     *
+     * @return a map from the class name to the number of strongly retained listeners
+     */
+    public Map<String, Integer> getRetainedListenerClasses() {
+        return retainedListenerClasses;
+    }
+
+    /**
+     * Returns the class name of the component the gesture being dispatched is targeted at; the dispatcher retains it until the gesture logically ends.
+     *
+     * @return the class name of the gesture target; {@code null} if no gesture is being dispatched
+     */
+    public String getGestureTargetClass() {
+        return gestureTargetClass;
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerFootprint{" +
+                "componentCount=" + componentCount +
+                ", listenerCount=" + listenerCount +
+                ", weakListenerCount=" + weakListenerCount +
+                ", componentClasses=" + componentClasses +
+                ", retainedListenerClasses=" + retainedListenerClasses +
+                ", gestureTargetClass=" + gestureTargetClass +
+                '}';
+    }
+}
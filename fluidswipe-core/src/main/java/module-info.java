@@ -23,8 +23,11 @@ module fluidswipe.core {
     exports eu.giulianogorgone.fluidswipe.event;
     exports eu.giulianogorgone.fluidswipe.components;
     exports eu.giulianogorgone.fluidswipe.components.impl;
+    exports eu.giulianogorgone.fluidswipe.management;
 
     requires transitive java.desktop;
+    requires java.management;
     requires fluidswipe.handler.api;
     requires fluidswipe.utils;
+    requires static jdk.jfr; // optional: Flight Recorder events are emitted only if available
 }
\ No newline at end of file
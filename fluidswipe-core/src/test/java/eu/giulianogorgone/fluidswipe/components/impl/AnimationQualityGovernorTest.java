@@ -0,0 +1,96 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.components.AnimationQuality;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+
+
+class AnimationQualityGovernorTest {
+    private static final long BUDGET = AnimationQualityGovernor.DEFAULT_FRAME_BUDGET_NANOS;
+
+    private FluidSwipePager<JLabel> pager;
+    private AnimationQualityGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        pager = new FluidSwipePager<>(new FluidSwipePagerAdapter<JLabel>() {
+            @Override
+            public int getPageCount() {
+                return 3;
+            }
+
+            @Override
+            public JLabel createPage() {
+                return new JLabel();
+            }
+
+            @Override
+            public void bindPage(final JLabel page, final int index) {
+                page.setText(String.valueOf(index));
+            }
+        });
+        pager.setSize(120, 80);
+        pager.doLayout();
+        governor = pager.getAnimationQualityGovernor();
+    }
+
+    @Test
+    void qualityStepsDownWhenOverBudgetAndBackUpWithHeadroom() {
+        for (int i = 0; i < 3; i++) governor.recordFramePaint(8 * BUDGET);
+        Assertions.assertEquals(AnimationQuality.NO_SHADOWS, pager.getAnimationQuality());
+        for (int i = 0; i < 2; i++) governor.recordQueueDelay(8 * BUDGET);
+        Assertions.assertEquals(AnimationQuality.NO_SHADOWS, pager.getAnimationQuality(), "stepped down before enough measurements");
+        governor.recordQueueDelay(8 * BUDGET);
+        Assertions.assertEquals(AnimationQuality.NEAREST_NEIGHBOR_SCALING, pager.getAnimationQuality());
+
+        for (int i = 0; i < 100 && pager.getAnimationQuality() == AnimationQuality.NEAREST_NEIGHBOR_SCALING; i++)
+            governor.recordQueueDelay(0L);
+        Assertions.assertEquals(AnimationQuality.NO_SHADOWS, pager.getAnimationQuality());
+    }
+
+    @Test
+    void queueDelayIsMeasuredByProbesPostedToTheEventQueue() throws Exception {
+        final FluidSwipeEvent progress = new FluidSwipeEvent(FluidSwipeEvent.Direction.RIGHT_TO_LEFT, true, true, 0.5,
+                FluidSwipeEvent.Phase.PROGRESS, FluidSwipeEvent.State.NOT_YET_DEFINED);
+        for (int i = 0; i < 3; i++) {
+            SwingUtilities.invokeAndWait(() -> {
+                governor.fluidSwipeProgressed(progress);
+                try {
+                    Thread.sleep(8 * BUDGET / 1_000_000L); // the EDT is busy: the probe waits
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        SwingUtilities.invokeAndWait(() -> Assertions.assertEquals(AnimationQuality.NO_SHADOWS, pager.getAnimationQuality()));
+    }
+
+    @Test
+    void fixedQualityIsNotAdapted() {
+        governor.setFixedQuality(AnimationQuality.NO_SHADOWS);
+        for (int i = 0; i < 10; i++) governor.recordFramePaint(8 * BUDGET);
+        Assertions.assertEquals(AnimationQuality.NO_SHADOWS, pager.getAnimationQuality());
+        governor.reset();
+        Assertions.assertEquals(AnimationQuality.NO_SHADOWS, pager.getAnimationQuality());
+    }
+
+    @Test
+    void snapshotsFollowTheQuality() {
+        final FluidSwipeEvent forward = new FluidSwipeEvent(FluidSwipeEvent.Direction.RIGHT_TO_LEFT, true, true, 0.0,
+                FluidSwipeEvent.Phase.MAY_BEGIN, FluidSwipeEvent.State.NOT_YET_DEFINED);
+        Assertions.assertEquals(120, pager.getDestinationPage(forward).getWidth(null));
+        while (governor.getQuality() != AnimationQuality.REDUCED_RESOLUTION) governor.recordFramePaint(4 * BUDGET);
+        final Image reduced = pager.getDestinationPage(forward);
+        Assertions.assertEquals(60, reduced.getWidth(null));
+        Assertions.assertEquals(40, reduced.getHeight(null));
+
+        governor.reset();
+        Assertions.assertEquals(AnimationQuality.FULL, pager.getAnimationQuality());
+        Assertions.assertEquals(120, pager.getDestinationPage(forward).getWidth(null));
+    }
+}
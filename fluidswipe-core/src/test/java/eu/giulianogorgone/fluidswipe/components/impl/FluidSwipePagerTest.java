@@ -0,0 +1,116 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+
+class FluidSwipePagerTest {
+    private static final int PAGE_COUNT = 10_000;
+
+    private final CountingAdapter adapter = new CountingAdapter();
+    private FluidSwipePager<JLabel> pager;
+
+    @BeforeEach
+    void setUp() {
+        pager = new FluidSwipePager<>(adapter);
+        pager.setSize(120, 80);
+        pager.doLayout();
+    }
+
+    @Test
+    void pagesAreRecycledWhileNavigating() {
+        for (int i = 1; i < PAGE_COUNT; i++) pager.setCurrentPage(i);
+        for (int i = PAGE_COUNT - 2; i >= 0; i--) pager.setCurrentPage(i);
+        pager.setCurrentPage(PAGE_COUNT / 2);
+
+        Assertions.assertTrue(adapter.created <= 3 + 2, "created " + adapter.created + " page components");
+        Assertions.assertEquals(String.valueOf(PAGE_COUNT / 2), pager.getCurrentPageComponent().getText());
+        Assertions.assertSame(pager, pager.getCurrentPageComponent().getParent());
+    }
+
+    @Test
+    void gesturesAreVetoedAtTheBounds() {
+        final FluidSwipeEvent back = event(FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        final FluidSwipeEvent forward = event(FluidSwipeEvent.Direction.RIGHT_TO_LEFT);
+        Assertions.assertFalse(pager.permitFluidSwipeGesture(back));
+        Assertions.assertTrue(pager.permitFluidSwipeGesture(forward));
+
+        pager.setCurrentPage(PAGE_COUNT - 1);
+        Assertions.assertTrue(pager.permitFluidSwipeGesture(back));
+        Assertions.assertFalse(pager.permitFluidSwipeGesture(forward));
+        Assertions.assertNull(pager.getDestinationPage(forward));
+    }
+
+    @Test
+    void neighbourSnapshotsAreReusedUntilTheirPageChanges() {
+        final FluidSwipeEvent forward = event(FluidSwipeEvent.Direction.RIGHT_TO_LEFT);
+        final Image next = pager.getDestinationPage(forward);
+        final int bound = adapter.bound;
+
+        Assertions.assertEquals(120, next.getWidth(null));
+        Assertions.assertSame(next, pager.getDestinationPage(forward));
+        Assertions.assertTrue(((BufferedImage) next).getRGB(5, 5) != 0, "the snapshot is blank");
+
+        adapter.fireDataChanged();
+        Assertions.assertTrue(adapter.bound > bound);
+        Assertions.assertEquals(0, pager.getCurrentPage());
+    }
+
+    @Test
+    void recycledPagesReleaseTheirCapture() {
+        final JLabel current = pager.getCurrentPageComponent();
+        Assertions.assertNotNull(pager.getPageToNavFrom(event(FluidSwipeEvent.Direction.RIGHT_TO_LEFT)));
+        Assertions.assertTrue(SnapshotCaptureService.getDefault().getVersion(current) > 0L);
+
+        pager.setCurrentPage(PAGE_COUNT / 2);
+        Assertions.assertEquals(0L, SnapshotCaptureService.getDefault().getVersion(current));
+    }
+
+    @Test
+    void replacedAdapterUnbindsEachPageOnce() {
+        pager.setCurrentPage(PAGE_COUNT / 2);
+        pager.setAdapter(new CountingAdapter());
+        Assertions.assertEquals(adapter.bound, adapter.unbound);
+    }
+
+    private static FluidSwipeEvent event(final FluidSwipeEvent.Direction direction) {
+        return new FluidSwipeEvent(direction, true, true, 0.0, FluidSwipeEvent.Phase.MAY_BEGIN, FluidSwipeEvent.State.NOT_YET_DEFINED);
+    }
+
+    private static final class CountingAdapter extends FluidSwipePagerAdapter<JLabel> {
+        int created;
+        int bound;
+        int unbound;
+
+        @Override
+        public int getPageCount() {
+            return PAGE_COUNT;
+        }
+
+        @Override
+        public JLabel createPage() {
+            created++;
+            final JLabel label = new JLabel();
+            label.setOpaque(true);
+            label.setBackground(Color.WHITE);
+            return label;
+        }
+
+        @Override
+        public void bindPage(final JLabel page, final int index) {
+            bound++;
+            page.setText(String.valueOf(index));
+        }
+
+        @Override
+        public void unbindPage(final JLabel page) {
+            unbound++;
+        }
+    }
+}
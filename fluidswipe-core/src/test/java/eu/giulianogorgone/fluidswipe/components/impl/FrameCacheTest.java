@@ -0,0 +1,143 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.AnimPainterDelegate;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+
+class FrameCacheTest {
+
+    private static BufferedImage frame(final int width, final int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    @Test
+    void leastRecentlyUsedFramesAreEvictedWithinTheBudget() {
+        final FrameCache cache = new FrameCache(3 * 10 * 10 * 4, 0.5D, 100);
+        Assertions.assertTrue(cache.put(0.10D, frame(10, 10)));
+        Assertions.assertTrue(cache.put(0.20D, frame(10, 10)));
+        Assertions.assertTrue(cache.put(0.30D, frame(10, 10)));
+        Assertions.assertNotNull(cache.get(0.10D));
+        Assertions.assertTrue(cache.put(0.40D, frame(10, 10)));
+
+        Assertions.assertEquals(3, cache.getFrameCount());
+        Assertions.assertEquals(1, cache.getEvictionCount());
+        Assertions.assertEquals(cache.getByteBudget(), cache.getByteCount());
+        Assertions.assertFalse(cache.contains(0.20D));
+        Assertions.assertTrue(cache.contains(0.101D), "amounts are quantized");
+        Assertions.assertFalse(cache.put(0.50D, frame(100, 100)));
+
+        Assertions.assertNull(cache.get(0.20D));
+        Assertions.assertEquals(0.5D, cache.getHitRate());
+        cache.clear();
+        Assertions.assertEquals(0L, cache.getByteCount());
+    }
+
+    @Test
+    void canceledSwipeReturnsThroughCachedFrames() {
+        final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+        final VirtualUIExecutor executor = new VirtualUIExecutor();
+        final FluidSwipePager<JLabel> pager = new FluidSwipePager<>(new FluidSwipePagerAdapter<>() {
+            @Override
+            public int getPageCount() {
+                return 2;
+            }
+
+            @Override
+            public JLabel createPage() {
+                return new JLabel();
+            }
+
+            @Override
+            public void bindPage(final JLabel page, final int index) {
+                page.setText(String.valueOf(index));
+            }
+        });
+        pager.setSize(120, 80);
+        pager.doLayout();
+        final int[] painted = {0};
+        pager.setAnimPainterDelegate(new PaintCountingDelegate(painted));
+        final FrameCache cache = new FrameCache(1L << 20, 0.5D, 10);
+        pager.setFrameCache(cache);
+        final BufferedImage screen = frame(120, 80);
+        final Runnable paint = () -> {
+            executor.runPending();
+            final Graphics2D g = screen.createGraphics();
+            pager.paint(g);
+            g.dispose();
+        };
+
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+        try {
+            handler.requestBegin(pager, 60, 40, FluidSwipeEvent.Direction.RIGHT_TO_LEFT);
+            executor.runPending();
+            handler.logicallyBegin();
+            for (final double amount : new double[]{0.2D, 0.4D, 0.6D}) {
+                handler.progress(amount, true);
+                paint.run();
+            }
+            Assertions.assertEquals(3, cache.getFrameCount());
+            final int forward = painted[0];
+            Assertions.assertEquals(3, forward, "recorded frames are painted once");
+            Assertions.assertEquals(Color.BLUE.getRGB(), screen.getRGB(10, 10), "recorded frames are drawn to the screen");
+
+            for (final double amount : new double[]{0.4D, 0.2D}) {
+                handler.progress(amount, false);
+                paint.run();
+            }
+            Assertions.assertEquals(forward, painted[0], "returning frames are painted again");
+            Assertions.assertEquals(2, cache.getHitCount());
+            Assertions.assertEquals(0, cache.getMissCount());
+
+            handler.end(false, 0.0D);
+            executor.runPending();
+            Assertions.assertEquals(0, cache.getFrameCount());
+        } finally {
+            FluidSwipe.stopEventMonitoring();
+            executor.runPending();
+            FluidSwipeTestKit.uninstall();
+        }
+    }
+
+    private static final class PaintCountingDelegate extends FluidSwipeAdapter implements AnimPainterDelegate {
+        private final int[] painted;
+        private boolean active;
+
+        PaintCountingDelegate(final int[] painted) {
+            this.painted = painted;
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            active = true;
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            active = false;
+        }
+
+        @Override
+        public void paint(final Graphics g) {
+            painted[0]++;
+            g.setColor(Color.BLUE);
+            g.fillRect(0, 0, 60, 40);
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
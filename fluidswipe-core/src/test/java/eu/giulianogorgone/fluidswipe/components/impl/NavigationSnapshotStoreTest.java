@@ -0,0 +1,124 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+
+class NavigationSnapshotStoreTest {
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 200;
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private final NavigationSnapshotStore store = new NavigationSnapshotStore(2, 0, pool);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+        pool.shutdown();
+    }
+
+    @Test
+    void codecIsLossless() {
+        final BufferedImage page = page(7);
+        final int[] pixels = page.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH);
+        final int[] noise = new Random(42).ints(WIDTH * HEIGHT).toArray();
+        for (int[] source : new int[][]{pixels, noise}) {
+            final int[] encoded = SnapshotCodec.encode(source, WIDTH, HEIGHT, pool);
+            final int[] decoded = new int[source.length];
+            SnapshotCodec.decode(encoded, decoded, WIDTH, HEIGHT, null);
+            Assertions.assertArrayEquals(source, decoded);
+        }
+        Assertions.assertTrue(SnapshotCodec.encode(pixels, WIDTH, HEIGHT, null).length * 10 < pixels.length);
+    }
+
+    @Test
+    void oldSnapshotsMoveDownTheTiersAndBack() {
+        for (int i = 0; i < 6; i++) store.put(i, page(i));
+        awaitQuiescence();
+
+        Assertions.assertEquals(NavigationSnapshotStore.Tier.RAW, store.getTier(5));
+        Assertions.assertEquals(NavigationSnapshotStore.Tier.SPILLED, store.getTier(0));
+        Assertions.assertTrue(store.getSpilledBytes() > 0);
+        assertSamePixels(page(0), store.get(0));
+        Assertions.assertEquals(NavigationSnapshotStore.Tier.RAW, store.getTier(0));
+
+        store.prefetch(3, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        awaitQuiescence();
+        Assertions.assertEquals(NavigationSnapshotStore.Tier.RAW, store.getTier(2));
+        assertSamePixels(page(2), store.get(2));
+    }
+
+    @Test
+    void identicalSnapshotsAreStoredOnce() {
+        store.put(0, page(1));
+        final long heapBytes = store.getHeapBytes();
+        store.put(1, page(1));
+
+        Assertions.assertEquals(heapBytes, store.getHeapBytes());
+        Assertions.assertSame(store.get(0), store.get(1));
+        store.truncate(1);
+        Assertions.assertNull(store.get(1));
+        Assertions.assertNotNull(store.get(0));
+    }
+
+    @Test
+    void freedSpillSpaceIsReused() throws IOException {
+        final SnapshotSpillFile file = new SnapshotSpillFile();
+        try {
+            final int[] data = new Random(7).ints(SnapshotSpillFile.SEGMENT_BYTES / Integer.BYTES / 8).toArray();
+            SnapshotSpillFile.Region kept = file.write(data);
+            for (int i = 0; i < 64; i++) { // one region is always live: space is never reclaimed all at once.
+                final SnapshotSpillFile.Region next = file.write(data);
+                file.free(kept);
+                kept = next;
+            }
+            Assertions.assertEquals(SnapshotSpillFile.SEGMENT_BYTES, file.getFileSize());
+            Assertions.assertEquals(kept.byteCount(), file.getLiveBytes());
+            Assertions.assertArrayEquals(data, file.read(kept));
+
+            file.close();
+            final SnapshotSpillFile.Region closed = kept;
+            Assertions.assertThrows(IllegalStateException.class, () -> file.read(closed));
+        } finally {
+            file.close();
+        }
+    }
+
+    @Test
+    void closingWhileStoringFailsWithIllegalState() throws IOException {
+        for (int i = 0; i < 6; i++) store.put(i, page(i));
+        awaitQuiescence();
+        Assertions.assertEquals(NavigationSnapshotStore.Tier.SPILLED, store.getTier(0));
+        store.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> store.put(6, page(0)));
+    }
+
+    private void awaitQuiescence() {
+        Assertions.assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+    }
+
+    private static BufferedImage page(final int n) {
+        final BufferedImage page = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = page.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.setColor(Color.BLACK);
+        g.drawString("page " + n, 20, 20 + n * 10);
+        g.fillRect(40 + n * 5, 100, 60, 40);
+        g.dispose();
+        return page;
+    }
+
+    private static void assertSamePixels(final BufferedImage expected, final BufferedImage actual) {
+        Assertions.assertArrayEquals(expected.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH), actual.getRGB(0, 0, WIDTH, HEIGHT, null, 0, WIDTH));
+    }
+}
@@ -0,0 +1,107 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class RepaintIsolatorTest {
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private final List<Rectangle> rootRegions = new ArrayList<>();
+    private final TrackingRepaintManager.DirtyRegionHook hook = (c, x, y, w, h) -> {
+        if (c == this.swipeable) rootRegions.add(new Rectangle(x, y, w, h));
+    };
+    private JPanel root;
+    private JPanel swipeable;
+    private JLabel caret;
+    private JLabel ticker;
+    private RepaintIsolator isolator;
+
+    @BeforeEach
+    void setUp() {
+        root = new JPanel(null);
+        root.setBounds(0, 0, 200, 200);
+        swipeable = new JPanel(null);
+        swipeable.setBounds(0, 0, 100, 100);
+        caret = new JLabel("|");
+        caret.setBounds(10, 10, 2, 12);
+        ticker = new JLabel("0");
+        ticker.setBounds(50, 80, 40, 12);
+        swipeable.add(caret);
+        swipeable.add(ticker);
+        root.add(swipeable);
+        isolator = new RepaintIsolator(swipeable);
+        Assertions.assertTrue(TrackingRepaintManager.addHook(hook));
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TrackingRepaintManager.removeHook(hook);
+        TrackingRepaintManager.release(swipeable);
+        FluidSwipe.stopEventMonitoring();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    @Test
+    void childRepaintsAreHeldBackAndFlushedOnceWhenTheGestureEnds() {
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        executor.runPending();
+        Assertions.assertTrue(isolator.isIsolating());
+
+        caret.repaint();
+        ticker.repaint();
+        caret.repaint();
+        swipeable.repaint(0, 0, 5, 5); // an animation frame.
+        Assertions.assertEquals(new Rectangle(10, 10, 80, 82), TrackingRepaintManager.getHeldRegion(swipeable));
+        Assertions.assertEquals(List.of(new Rectangle(0, 0, 5, 5)), rootRegions);
+
+        handler.end(false, 0.0D);
+        executor.runPending();
+        Assertions.assertFalse(isolator.isIsolating());
+        Assertions.assertEquals(List.of(new Rectangle(0, 0, 5, 5), new Rectangle(10, 10, 80, 82)), rootRegions);
+    }
+
+    @Test
+    void discardedGestureEndsTheIsolation() {
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        executor.runPending();
+        caret.repaint();
+        Assertions.assertTrue(isolator.isIsolating());
+
+        FluidSwipeTestKit.install(new ProgrammableFluidSwipeHandler(), executor); // discards the gesture, without ENDED.
+        Assertions.assertFalse(isolator.isIsolating());
+        Assertions.assertEquals(List.of(new Rectangle(10, 10, 2, 12)), rootRegions, "the held region is flushed");
+        ticker.repaint();
+        Assertions.assertNull(TrackingRepaintManager.getHeldRegion(swipeable));
+    }
+
+    @Test
+    void disabledIsolatorDoesNotHoldBack() {
+        isolator.setEnabled(false);
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        executor.runPending();
+        Assertions.assertFalse(isolator.isIsolating());
+        caret.repaint();
+        Assertions.assertNull(TrackingRepaintManager.getHeldRegion(swipeable));
+    }
+}
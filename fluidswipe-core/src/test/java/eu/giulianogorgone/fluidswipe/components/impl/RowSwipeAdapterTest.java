@@ -0,0 +1,124 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeListenerList;
+import eu.giulianogorgone.fluidswipe.event.handling.WindowInterest;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class RowSwipeAdapterTest {
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private final List<String> received = new ArrayList<>();
+    private JPanel root;
+
+    @BeforeEach
+    void setUp() {
+        root = new JPanel(null);
+        root.setBounds(0, 0, 200, 200);
+        FluidSwipe.addListenerTo(root, new FluidSwipeAdapter() {
+            @Override
+            public void fluidSwipeEnded(final FluidSwipeEvent e) {
+                received.add("root");
+            }
+        });
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FluidSwipe.stopEventMonitoring();
+        executor.runPending();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    private void swipeAt(final int y, final Runnable whileSwiping) {
+        handler.requestBegin(root, 50, y, FluidSwipeEvent.Direction.RIGHT_TO_LEFT);
+        executor.runPending();
+        handler.logicallyBegin();
+        handler.progress(0.5D, true);
+        executor.runPending();
+        whileSwiping.run();
+        handler.end(true, 1.0D);
+        executor.runPending();
+    }
+
+    @Test
+    void testListRowOfAMillionRowModelIsSwiped() {
+        final JList<Integer> list = new JList<>(new AbstractListModel<>() {
+            @Override
+            public int getSize() {
+                return 1_000_000;
+            }
+
+            @Override
+            public Integer getElementAt(final int index) {
+                return index;
+            }
+        });
+        list.setFixedCellHeight(20);
+        list.setBounds(0, 0, 200, 20_000_000);
+        root.add(list);
+        final RowSwipeAdapter<JList<?>> adapter = RowSwipeAdapter.install(list);
+        Assertions.assertSame(adapter, RowSwipeAdapter.install(list));
+        adapter.addRowSwipeListener((row, direction) -> received.add("row " + row + " " + direction));
+
+        swipeAt(105, () -> {
+            Assertions.assertEquals(5, adapter.getSwipedRow());
+            Assertions.assertTrue(adapter.isActive());
+        });
+        Assertions.assertEquals(List.of("row 5 RIGHT_TO_LEFT"), received);
+        Assertions.assertEquals(-1, adapter.getSwipedRow());
+        Assertions.assertFalse(adapter.isActive());
+        adapter.uninstall();
+    }
+
+    @Test
+    void testRowVetoesAndLocationsOutsideRows() {
+        final JTable table = new JTable(3, 2);
+        table.setRowHeight(20);
+        table.setBounds(0, 0, 200, 60);
+        root.add(table);
+        final RowSwipeAdapter<JTable> adapter = RowSwipeAdapter.install(table);
+        adapter.setRowVetoer((row, e) -> row != 1);
+        adapter.addRowSwipeListener((row, direction) -> received.add("row " + row));
+
+        swipeAt(10, () -> {});
+        swipeAt(30, () -> {}); // vetoed: neither the row, nor the root, is swiped.
+        swipeAt(150, () -> {}); // outside rows: the gesture is directed to the root.
+        Assertions.assertEquals(List.of("row 0", "root"), received);
+
+        adapter.uninstall();
+        swipeAt(10, () -> {});
+        Assertions.assertEquals(List.of("row 0", "root", "root"), received);
+    }
+
+    @Test
+    void testOnlyTheAdaptedComponentIsSwipeable() {
+        final JTable table = new JTable(3, 2);
+        table.setRowHeight(20);
+        table.setBounds(0, 0, 200, 60);
+        root.add(table);
+        final JTable other = new JTable(3, 2);
+        final RowSwipeAdapter<JTable> adapter = RowSwipeAdapter.install(table);
+        Assertions.assertNotEquals(WindowInterest.ANY_WINDOW, WindowInterest.getInterestedWindowCount(), "no listener is registered for a class");
+        Assertions.assertNotNull(FluidSwipeListenerList.get(table));
+        Assertions.assertNull(FluidSwipeListenerList.get(other));
+
+        adapter.uninstall();
+        Assertions.assertNull(FluidSwipeListenerList.get(table), "the table is no longer swipeable");
+    }
+}
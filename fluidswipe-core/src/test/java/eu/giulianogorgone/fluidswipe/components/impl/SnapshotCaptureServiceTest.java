@@ -0,0 +1,116 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+
+
+class SnapshotCaptureServiceTest {
+    private final SnapshotCaptureService service = new SnapshotCaptureService();
+    private JPanel page;
+    private CountingLabel left;
+    private CountingLabel right;
+
+    @BeforeEach
+    void setUp() {
+        page = new JPanel(null);
+        page.setSize(200, 100);
+        left = new CountingLabel(Color.RED);
+        left.setBounds(0, 0, 100, 100);
+        right = new CountingLabel(Color.BLUE);
+        right.setBounds(100, 0, 100, 100);
+        page.add(left);
+        page.add(right);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.dispose();
+    }
+
+    @Test
+    void recaptureRepaintsOnlyTheDirtyRegion() {
+        Assertions.assertTrue(service.isTracking());
+        final ComponentSnapshot first = service.capture(page);
+        Assertions.assertEquals(1, left.paints);
+        Assertions.assertEquals(1, right.paints);
+        Assertions.assertSame(first, service.capture(page), "an unchanged component is not repainted");
+        Assertions.assertFalse(first.isStale());
+
+        left.setBackground(Color.GREEN);
+        Assertions.assertTrue(first.isStale());
+        final ComponentSnapshot second = service.capture(page);
+        Assertions.assertSame(first.getImage(), second.getImage(), "the buffer is reused");
+        Assertions.assertTrue(second.getVersion() > first.getVersion());
+        Assertions.assertEquals(2, left.paints);
+        Assertions.assertEquals(1, right.paints);
+        Assertions.assertEquals(Color.GREEN.getRGB(), second.getImage().getRGB(50, 50));
+        Assertions.assertEquals(Color.BLUE.getRGB(), second.getImage().getRGB(150, 50));
+    }
+
+    @Test
+    void scaleAndSizeChangesRepaintTheWholeComponent() {
+        service.capture(page);
+        final ComponentSnapshot half = service.capture(page, 0.5D);
+        Assertions.assertEquals(100, half.getImage().getWidth());
+        Assertions.assertEquals(2, right.paints);
+
+        page.setSize(300, 100);
+        Assertions.assertEquals(150, service.capture(page, 0.5D).getImage().getWidth());
+        Assertions.assertTrue(half.isStale());
+
+        service.release(page);
+        Assertions.assertEquals(0L, service.getVersion(page));
+    }
+
+    @Test
+    void regionsOfOtherHierarchiesAreSkipped() {
+        final ComponentSnapshot first = service.capture(page);
+        final JPanel unrelated = new JPanel();
+        unrelated.setSize(100, 100);
+        unrelated.repaint();
+        Assertions.assertFalse(first.isStale());
+
+        final JPanel parent = new JPanel(null);
+        parent.setSize(200, 100);
+        parent.add(page);
+        left.setBackground(Color.GREEN); // in the new hierarchy, thus skipped; the move is noticed by the next capture.
+        final ComponentSnapshot moved = service.capture(page);
+        Assertions.assertEquals(Color.GREEN.getRGB(), moved.getImage().getRGB(50, 50));
+        Assertions.assertEquals(2, right.paints, "captured whole after the move");
+    }
+
+    @Test
+    void ancestorRegionsAreSkipped() {
+        final JPanel parent = new JPanel(null);
+        parent.setSize(200, 100);
+        parent.add(page);
+        final ComponentSnapshot first = service.capture(page);
+        for (int i = 0; i < 5; i++) {
+            parent.repaint();
+            Assertions.assertSame(first, service.capture(page), "the content of a component does not change with its ancestor");
+        }
+        Assertions.assertFalse(first.isStale());
+        Assertions.assertEquals(1, left.paints);
+        Assertions.assertEquals(1, right.paints);
+    }
+
+    private static final class CountingLabel extends JLabel {
+        int paints;
+
+        CountingLabel(final Color background) {
+            setOpaque(true);
+            setBackground(background);
+        }
+
+        @Override
+        protected void paintComponent(final Graphics g) {
+            paints++;
+            super.paintComponent(g);
+        }
+    }
+}
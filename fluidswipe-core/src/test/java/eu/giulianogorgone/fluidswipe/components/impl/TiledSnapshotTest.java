@@ -0,0 +1,173 @@
+package eu.giulianogorgone.fluidswipe.components.impl;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.AnimPainterDelegate;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+
+class TiledSnapshotTest {
+    private static final int TILE_BYTES = 256 * 256 * 4;
+
+    private static JPanel canvas() {
+        final JPanel canvas = new JPanel();
+        canvas.setBackground(Color.RED);
+        canvas.setSize(100_000, 100_000);
+        return canvas;
+    }
+
+    private static void paint(final TiledSnapshot snapshot, final BufferedImage screen) {
+        final Graphics2D g = screen.createGraphics();
+        try {
+            g.clipRect(0, 0, screen.getWidth(), screen.getHeight());
+            snapshot.paint(g, 0, 0);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    @Test
+    void onlyTilesOfTheVisibleRegionAreRendered() {
+        final TilePool pool = new TilePool(8L * TILE_BYTES);
+        final TiledSnapshot snapshot = new TiledSnapshot(canvas(), new Rectangle(50_000, 50_000, 600, 400), 1.0D, 256, pool);
+        final BufferedImage screen = new BufferedImage(600, 400, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        paint(snapshot, screen);
+        Assertions.assertEquals(6, snapshot.getRenderedTileCount());
+        Assertions.assertEquals(6L * TILE_BYTES, pool.getByteCount());
+        Assertions.assertEquals(Color.RED.getRGB(), screen.getRGB(599, 399));
+
+        paint(snapshot, screen);
+        Assertions.assertEquals(6, snapshot.getRenderedTileCount());
+        Assertions.assertEquals(6, pool.getHitCount());
+
+        snapshot.prefetch(FluidSwipeEvent.Direction.LEFT_TO_RIGHT, 256);
+        Assertions.assertEquals(8, snapshot.getRenderedTileCount());
+        snapshot.release();
+        Assertions.assertEquals(0, pool.getTileCount());
+    }
+
+    @Test
+    void tilesAreEvictedWithinTheBudgetOfASharedPool() {
+        final TilePool pool = new TilePool(4L * TILE_BYTES);
+        final TiledSnapshot first = new TiledSnapshot(canvas(), new Rectangle(0, 0, 512, 256), 1.0D, 256, pool);
+        final TiledSnapshot second = new TiledSnapshot(canvas(), new Rectangle(0, 0, 768, 256), 1.0D, 256, pool);
+        final BufferedImage screen = new BufferedImage(768, 256, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        paint(first, new BufferedImage(512, 256, BufferedImage.TYPE_INT_ARGB_PRE));
+        paint(second, screen);
+        Assertions.assertEquals(4, pool.getTileCount());
+        Assertions.assertEquals(1, pool.getEvictionCount());
+        Assertions.assertEquals(4L * TILE_BYTES, pool.getByteCount());
+
+        second.invalidate();
+        Assertions.assertEquals(1, pool.getTileCount());
+        paint(second, screen);
+        Assertions.assertEquals(6, second.getRenderedTileCount());
+    }
+
+    @Test
+    void pagerProvidesItsPageAsTiledSnapshotDuringAGesture() {
+        final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+        final VirtualUIExecutor executor = new VirtualUIExecutor();
+        final FluidSwipePager<JPanel> pager = new FluidSwipePager<>(new FluidSwipePagerAdapter<>() {
+            @Override
+            public int getPageCount() {
+                return 2;
+            }
+
+            @Override
+            public JPanel createPage() {
+                return new JPanel();
+            }
+
+            @Override
+            public void bindPage(final JPanel page, final int index) {
+                page.setBackground(index == 0 ? Color.RED : Color.BLUE);
+            }
+        });
+        pager.setSize(1024, 512);
+        pager.doLayout();
+        pager.setTiledCapture(true);
+        final SlidingDelegate delegate = new SlidingDelegate(pager);
+        pager.setAnimPainterDelegate(delegate);
+        final BufferedImage screen = new BufferedImage(1024, 512, BufferedImage.TYPE_INT_ARGB_PRE);
+        final TilePool pool = TilePool.getDefault();
+
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+        try {
+            handler.requestBegin(pager, 512, 256, FluidSwipeEvent.Direction.RIGHT_TO_LEFT);
+            executor.runPending();
+            handler.logicallyBegin();
+            handler.progress(0.5D, true);
+            executor.runPending();
+            final Graphics2D g = screen.createGraphics();
+            g.clipRect(0, 0, 1024, 512);
+            pager.paint(g);
+            g.dispose();
+
+            final TiledSnapshot snapshot = pager.getTiledPageToNavFrom(delegate.event);
+            Assertions.assertNotNull(snapshot);
+            Assertions.assertSame(pager.getCurrentPageComponent(), snapshot.getComponent());
+            Assertions.assertEquals(4, snapshot.getRenderedTileCount(), "only the tiles still on screen are rendered");
+            Assertions.assertEquals(Color.RED.getRGB(), screen.getRGB(100, 100));
+            final long held = pool.getByteCount();
+            Assertions.assertTrue(held > 0L);
+
+            handler.end(false, 0.0D);
+            executor.runPending();
+            Assertions.assertNotSame(snapshot, pager.getTiledPageToNavFrom(null), "released when the gesture ends");
+            Assertions.assertTrue(pool.getByteCount() < held);
+        } finally {
+            FluidSwipe.stopEventMonitoring();
+            executor.runPending();
+            FluidSwipeTestKit.uninstall();
+        }
+    }
+
+    // Slides the page to navigate from to the left, drawing it through the tiled snapshot of the pager.
+    private static final class SlidingDelegate extends FluidSwipeAdapter implements AnimPainterDelegate {
+        private final FluidSwipePager<?> pager;
+        private FluidSwipeEvent event;
+
+        SlidingDelegate(final FluidSwipePager<?> pager) {
+            this.pager = pager;
+        }
+
+        @Override
+        public void fluidSwipeBegan(final FluidSwipeEvent e) {
+            event = e;
+        }
+
+        @Override
+        public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+            event = e;
+        }
+
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            event = null;
+        }
+
+        @Override
+        public void paint(final Graphics g) {
+            final int offset = (int) (event.getGestureAmount() * pager.getPageBounds().width);
+            TiledNavigationSwipeAnimSupport.paintPageToNavFrom(pager, event, (Graphics2D) g, -offset, 0);
+        }
+
+        @Override
+        public boolean isActive() {
+            return event != null;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package eu.giulianogorgone.fluidswipe.event;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+
+class FluidSwipePublisherTest {
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private final RecordingSubscriber subscriber = new RecordingSubscriber();
+    private JPanel root;
+    private FluidSwipePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        root = new JPanel(null);
+        root.setBounds(0, 0, 200, 200);
+        final JPanel swipeable = new JPanel(null);
+        swipeable.setBounds(0, 0, 100, 100);
+        root.add(swipeable);
+        publisher = new FluidSwipePublisher(swipeable, () -> (Executor) Runnable::run);
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+        FluidSwipe.stopEventMonitoring();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    private void performGesture() {
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        handler.progress(0.2D, true);
+        handler.progress(0.5D, true);
+        handler.release(true);
+        handler.progress(0.8D, false);
+        handler.end(true, 1.0D);
+        executor.runPending();
+    }
+
+    @Test
+    void testProgressCollapsesWhileLifecycleEventsAreKept() {
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1L);
+        performGesture();
+        Assertions.assertEquals(List.of("BEGAN"), subscriber.phases());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Assertions.assertEquals(List.of("BEGAN", "PROGRESS", "ENDED"), subscriber.phases());
+        Assertions.assertEquals(0.8D, subscriber.received.get(1).getGestureAmount(), 1e-9);
+    }
+
+    @Test
+    void testUnboundedDemandReceivesEverySample() {
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        performGesture();
+        Assertions.assertEquals("BEGAN", subscriber.phases().get(0));
+        Assertions.assertEquals("ENDED", subscriber.phases().get(subscriber.phases().size() - 1));
+        Assertions.assertTrue(subscriber.phases().size() >= 5);
+    }
+
+    @Test
+    void testCloseCompletesAndNonPositiveRequestFails() {
+        final RecordingSubscriber other = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        publisher.subscribe(other);
+        other.subscription.request(0L);
+        Assertions.assertInstanceOf(IllegalArgumentException.class, other.error);
+
+        publisher.close();
+        Assertions.assertTrue(subscriber.completed);
+        Assertions.assertFalse(other.completed);
+        performGesture();
+        Assertions.assertTrue(subscriber.received.isEmpty());
+    }
+
+    @Test
+    void testCloseDeliversTheBufferedEventsBeforeCompleting() {
+        publisher.subscribe(subscriber);
+        performGesture();
+        publisher.close();
+        Assertions.assertFalse(subscriber.completed, "events are still buffered");
+
+        subscriber.subscription.request(1L);
+        Assertions.assertEquals(List.of("BEGAN"), subscriber.phases());
+        Assertions.assertFalse(subscriber.completed);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Assertions.assertEquals(List.of("BEGAN", "PROGRESS", "ENDED"), subscriber.phases());
+        Assertions.assertTrue(subscriber.completed);
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<FluidSwipeEvent> {
+        private final List<FluidSwipeEvent> received = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final FluidSwipeEvent item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        List<String> phases() {
+            final List<String> phases = new ArrayList<>();
+            for (FluidSwipeEvent e : received) phases.add(e.getGesturePhase().name());
+            return phases;
+        }
+    }
+}
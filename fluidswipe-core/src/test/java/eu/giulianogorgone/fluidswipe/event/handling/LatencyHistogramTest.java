@@ -0,0 +1,35 @@
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.management.LatencySnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+class LatencyHistogramTest {
+    @Test
+    void testBucketBounds() {
+        for (long v : new long[]{0, 1, 7, 8, 15, 16, 17, 1000, 123_456_789L, Long.MAX_VALUE}) {
+            final int index = LatencyHistogram.bucketIndex(v);
+            Assertions.assertTrue(LatencyHistogram.highestValueInBucket(index) >= v);
+            Assertions.assertTrue(index == 0 || LatencyHistogram.highestValueInBucket(index - 1) < v);
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        final LatencySnapshot snapshot = histogram.snapshot();
+        Assertions.assertEquals(1000, snapshot.getCount());
+        Assertions.assertEquals(500_500, snapshot.getMean());
+        Assertions.assertEquals(1_000_000, snapshot.getMax());
+        Assertions.assertEquals(500_000, snapshot.getP50(), 500_000 / 8.0);
+        Assertions.assertEquals(990_000, snapshot.getP99(), 990_000 / 8.0);
+        Assertions.assertTrue(snapshot.getP999() <= snapshot.getMax());
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.snapshot().getCount());
+    }
+}
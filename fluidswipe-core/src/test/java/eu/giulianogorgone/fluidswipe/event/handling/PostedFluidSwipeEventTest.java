@@ -0,0 +1,77 @@
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAWTEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+
+
+class PostedFluidSwipeEventTest {
+    private final JPanel target = new JPanel();
+    private final DispatchState.Route gesture = new DispatchState.Route(target, 1L);
+
+    private PostedFluidSwipeEvent event(final DispatchState.Route gesture, final double amount, final int phase) {
+        return new PostedFluidSwipeEvent(target, gesture, amount, phase, true, 0L);
+    }
+
+    @Test
+    void progressSamplesOfTheSameGestureAreCoalesced() {
+        final PostedFluidSwipeEvent first = event(gesture, 0.1, BridgeConstants.PROGRESSED);
+        final PostedFluidSwipeEvent second = event(gesture, 0.2, BridgeConstants.PROGRESSED);
+        final PostedFluidSwipeEvent third = event(gesture, 0.3, BridgeConstants.PROGRESSED);
+
+        Assertions.assertSame(second, FluidSwipeAWTEvent.coalesce(first, second));
+        Assertions.assertSame(third, FluidSwipeAWTEvent.coalesce(second, third));
+        Assertions.assertEquals(2, third.getCoalescedCount());
+        Assertions.assertEquals(0.3, third.getGestureAmount());
+        Assertions.assertEquals(FluidSwipeAWTEvent.FLUID_SWIPE_PROGRESSED, third.getID());
+    }
+
+    @Test
+    void lifecycleSamplesAreNeverCoalesced() {
+        final PostedFluidSwipeEvent began = event(gesture, 0.0, BridgeConstants.LOGICALLY_BEGAN);
+        final PostedFluidSwipeEvent progressed = event(gesture, 0.1, BridgeConstants.PROGRESSED);
+        final PostedFluidSwipeEvent released = event(gesture, 0.2, BridgeConstants.PROGRESSED_NO_MORE_TOUCHING);
+        final PostedFluidSwipeEvent stateUpdated = event(gesture, 0.2, BridgeConstants.UPDATE_STATE | BridgeConstants.COMPLETED);
+        final PostedFluidSwipeEvent ended = event(gesture, 1.0, BridgeConstants.COMPLETED);
+
+        Assertions.assertNull(FluidSwipeAWTEvent.coalesce(began, progressed));
+        Assertions.assertNull(FluidSwipeAWTEvent.coalesce(progressed, released));
+        Assertions.assertNull(FluidSwipeAWTEvent.coalesce(released, stateUpdated));
+        Assertions.assertNull(FluidSwipeAWTEvent.coalesce(stateUpdated, ended));
+        Assertions.assertEquals(FluidSwipeAWTEvent.FLUID_SWIPE_STATE_UPDATED, stateUpdated.getID());
+        Assertions.assertEquals(FluidSwipeAWTEvent.FLUID_SWIPE_ENDED, ended.getID());
+    }
+
+    @Test
+    void samplesOfDifferentGesturesAreNotCoalesced() {
+        final PostedFluidSwipeEvent previous = event(gesture, 0.4, BridgeConstants.PROGRESSED);
+        final PostedFluidSwipeEvent next = event(new DispatchState.Route(target, 2L), 0.1, BridgeConstants.PROGRESSED);
+
+        Assertions.assertNull(FluidSwipeAWTEvent.coalesce(previous, next));
+        Assertions.assertEquals(0, next.getCoalescedCount());
+    }
+
+    @Test
+    void samplesOfConsecutiveGesturesOnTheSameComponentAreNotCoalesced() {
+        final DispatchState state = new DispatchState();
+        final Pair<JComponent, FluidSwipeListener[]> pair = new Pair<>(target, new FluidSwipeListener[0]);
+        state.begin(pair, FluidSwipeEvent.Direction.LEFT_TO_RIGHT, 1L);
+        final PostedFluidSwipeEvent tail = event(state.routeOfSample(), 0.9, BridgeConstants.PROGRESSED);
+
+        final DispatchState.Route accepted = new DispatchState.Route(target, 2L); // accepted off the EDT, before the previous gesture ended there.
+        state.setPendingRoute(accepted);
+        Assertions.assertSame(accepted, state.routeOfSample());
+        final PostedFluidSwipeEvent head = event(state.routeOfSample(), 0.1, BridgeConstants.PROGRESSED);
+        Assertions.assertNull(FluidSwipeAWTEvent.coalesce(tail, head));
+
+        state.cleanup();
+        state.begin(pair, FluidSwipeEvent.Direction.LEFT_TO_RIGHT, 2L);
+        state.clearPendingRoute(accepted);
+        Assertions.assertSame(accepted, state.routeOfSample(), "the route of a gesture does not change when it begins on the EDT");
+    }
+}
@@ -0,0 +1,92 @@
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class ProgressDeltaFilterTest {
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private final List<String> received = new ArrayList<>();
+    private JPanel root;
+
+    @BeforeEach
+    void setUp() {
+        root = new JPanel(null);
+        root.setBounds(0, 0, 200, 200);
+        final JPanel swipeable = new JPanel(null);
+        swipeable.setBounds(0, 0, 100, 100);
+        root.add(swipeable);
+        FluidSwipe.addListenerTo(swipeable, new FluidSwipeAdapter() {
+            @Override
+            public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+                received.add(e.getGesturePhase() + " " + e.getGestureAmount());
+            }
+
+            @Override
+            public void fluidSwipeEnded(final FluidSwipeEvent e) {
+                received.add(e.getGesturePhase() + " " + e.getGestureAmount());
+            }
+        });
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FluidSwipe.setProgressPixelDelta(0.0D);
+        FluidSwipe.stopEventMonitoring();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    private void beginGesture() {
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+    }
+
+    @Test
+    void testSubPixelSamplesAreSuppressedButTheLastIsKept() {
+        FluidSwipe.setProgressPixelDelta(2.0D); // 0.02 of the 100 pixel wide component.
+        beginGesture();
+        handler.progress(0.10D, true);
+        handler.progress(0.11D, true);
+        handler.progress(0.13D, true);
+        handler.progress(0.14D, true);
+        handler.end(true, 1.0D);
+        executor.runPending();
+        Assertions.assertEquals(List.of("PROGRESS 0.1", "PROGRESS 0.13", "PROGRESS 0.14", "ENDED 1.0"), received);
+    }
+
+    @Test
+    void testTouchingChangesAreNeverSuppressed() {
+        FluidSwipe.setProgressPixelDelta(2.0D);
+        beginGesture();
+        handler.progress(0.10D, true);
+        handler.progress(0.105D, false);
+        handler.progress(0.11D, false);
+        handler.progress(0.14D, false);
+        handler.end(true, 1.0D);
+        executor.runPending();
+        Assertions.assertEquals(List.of("PROGRESS 0.1", "PROGRESS 0.105", "PROGRESS 0.14", "ENDED 1.0"), received);
+    }
+
+    @Test
+    void testInvalidDeltaIsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FluidSwipe.setProgressPixelDelta(-1.0D));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> FluidSwipe.setProgressPixelDelta(Double.NaN));
+        Assertions.assertEquals(0.0D, FluidSwipe.getProgressPixelDelta());
+    }
+}
@@ -0,0 +1,82 @@
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+
+
+class SwipeRegionMapTest {
+    private final JPanel root = new JPanel(null);
+    private final JPanel swipeable = new JPanel(null);
+    private final VetoingPanel vetoer = new VetoingPanel();
+    private final JPanel hidden = new JPanel(null);
+    private final JPanel overlay = new JPanel(null);
+
+    @BeforeEach
+    void setUp() {
+        root.setBounds(0, 0, 400, 300);
+        swipeable.setBounds(20, 20, 300, 200);
+        vetoer.setBounds(10, 10, 100, 100);
+        hidden.setBounds(150, 10, 100, 100);
+        overlay.setBounds(250, 150, 100, 100); // overlaps the swipeable panel, above it.
+        hidden.setVisible(false);
+        FluidSwipe.addListenerTo(swipeable, new FluidSwipeAdapter() {
+        });
+        FluidSwipe.addListenerTo(hidden, new FluidSwipeAdapter() {
+        });
+        swipeable.add(vetoer);
+        swipeable.add(hidden);
+        root.add(overlay);
+        root.add(swipeable);
+    }
+
+    @Test
+    void lookupMatchesTheDecisionTakenOnTheEDT() {
+        final SwipeRegionMap map = SwipeRegionMap.build(root);
+        for (FluidSwipeEvent.Direction direction : FluidSwipeEvent.Direction.values()) {
+            for (boolean natural : new boolean[]{false, true}) {
+                for (int x = -5; x < 410; x += 7) {
+                    for (int y = -5; y < 310; y += 7) {
+                        final SwipeRegionMap.Decision decision = map.lookup(x, y, direction, natural);
+                        Assertions.assertNotNull(decision);
+                        Assertions.assertEquals(decideOnEDT(x, y, direction, natural), decision.target, "at " + x + ", " + y + ", " + direction);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void vetoersThrowingAreDecidedOnTheEDT() {
+        vetoer.fail = true;
+        final SwipeRegionMap map = SwipeRegionMap.build(root);
+        Assertions.assertNull(map.lookup(50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT, true));
+        Assertions.assertNotNull(map.lookup(200, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT, true));
+    }
+
+    private JComponent decideOnEDT(final int x, final int y, final FluidSwipeEvent.Direction direction, final boolean natural) {
+        final Component deepest = SwingUtilities.getDeepestComponentAt(root, x, y);
+        final FluidSwipeEvent event = new FluidSwipeEvent(direction, natural, true, 0.0D, FluidSwipeEvent.Phase.MAY_BEGIN, FluidSwipeEvent.State.NOT_YET_DEFINED);
+        final Pair<JComponent, ?> pair = FluidSwipeDispatcher.getDeepestComponentWithListeners(deepest, event);
+        return pair != null && !FluidSwipeDispatcher.eventVetoedByAncestors(pair.getLeft(), event) ? pair.getLeft() : null;
+    }
+
+    // Vetoes gestures navigating back.
+    private static final class VetoingPanel extends JPanel implements FluidSwipeVetoer {
+        boolean fail;
+
+        @Override
+        public boolean permitFluidSwipeGesture(final FluidSwipeEvent e) {
+            if (fail) throw new IllegalStateException();
+            return e.getLogicalGestureDirection() == FluidSwipeEvent.Direction.RIGHT_TO_LEFT;
+        }
+    }
+}
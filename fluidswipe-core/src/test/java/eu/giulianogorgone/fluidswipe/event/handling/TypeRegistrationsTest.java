@@ -0,0 +1,106 @@
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeComponentVetoer;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+
+class TypeRegistrationsTest {
+    static class Cell extends JPanel {
+        final int index;
+
+        Cell(final int index) {
+            super(null);
+            this.index = index;
+        }
+    }
+
+    static final class LockedCell extends Cell {
+        LockedCell(final int index) {
+            super(index);
+        }
+    }
+
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private final List<String> received = new ArrayList<>();
+    private final Function<Cell, FluidSwipeListener> factory = cell -> new FluidSwipeAdapter() {
+        @Override
+        public void fluidSwipeEnded(final FluidSwipeEvent e) {
+            received.add("cell " + cell.index);
+        }
+    };
+    private final FluidSwipeComponentVetoer<LockedCell> locked = (cell, e) -> false;
+    private JPanel root;
+
+    @BeforeEach
+    void setUp() {
+        root = new JPanel(null);
+        root.setBounds(0, 0, 400, 100);
+        for (int i = 0; i < 4; i++) {
+            final Cell cell = i == 3 ? new LockedCell(i) : new Cell(i);
+            cell.setBounds(i * 100, 0, 100, 100);
+            root.add(cell);
+        }
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FluidSwipe.removeListenerFromType(Cell.class, factory);
+        FluidSwipe.removeVetoerFromType(LockedCell.class, locked);
+        FluidSwipe.stopEventMonitoring();
+        executor.runPending();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    private void swipeAt(final int x) {
+        handler.requestBegin(root, x, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        handler.end(true, 1.0D);
+        executor.runPending();
+    }
+
+    @Test
+    void testListenersAreResolvedByClassAndFilter() {
+        FluidSwipe.addListenerToType(Cell.class, cell -> cell.index != 1, factory);
+        swipeAt(50);
+        swipeAt(150); // filtered out: not swipeable.
+        swipeAt(350); // subclass.
+        Assertions.assertEquals(List.of("cell 0", "cell 3"), received);
+        Assertions.assertNull(FluidSwipeListenerList.get(root.getComponent(0)), "no per-instance state");
+
+        FluidSwipe.removeListenerFromType(Cell.class, factory);
+        swipeAt(50);
+        Assertions.assertEquals(List.of("cell 0", "cell 3"), received);
+    }
+
+    @Test
+    void testVetoersAreResolvedByClass() {
+        FluidSwipe.addListenerToType(Cell.class, cell -> true, factory);
+        FluidSwipe.addVetoerToType(LockedCell.class, locked);
+        swipeAt(250);
+        swipeAt(350);
+        Assertions.assertEquals(List.of("cell 2"), received);
+
+        FluidSwipe.removeVetoerFromType(LockedCell.class, locked);
+        swipeAt(350);
+        Assertions.assertEquals(List.of("cell 2", "cell 3"), received);
+    }
+}
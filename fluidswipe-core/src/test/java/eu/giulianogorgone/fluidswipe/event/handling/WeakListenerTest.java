@@ -0,0 +1,125 @@
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.management.ListenerFootprint;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class WeakListenerTest {
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private final List<FluidSwipeEvent.Phase> received = new ArrayList<>();
+    private JPanel root;
+    private JPanel swipeable;
+
+    @BeforeEach
+    void setUp() {
+        root = new JPanel(null);
+        root.setBounds(0, 0, 200, 200);
+        swipeable = new JPanel(null);
+        swipeable.setBounds(0, 0, 100, 100);
+        root.add(swipeable);
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FluidSwipe.stopEventMonitoring();
+        executor.runPending();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    private FluidSwipeListener recorder() {
+        return new FluidSwipeAdapter() {
+            @Override
+            public void fluidSwipeEnded(final FluidSwipeEvent e) {
+                received.add(e.getGesturePhase());
+            }
+        };
+    }
+
+    private void swipe() {
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        handler.progress(0.5D, true);
+        handler.end(true, 1.0D);
+        executor.runPending();
+    }
+
+    @Test
+    void testWeakListenerIsCollectedAndExpunged() throws InterruptedException {
+        FluidSwipeListener listener = recorder();
+        FluidSwipe.addWeakListenerTo(swipeable, listener);
+        swipe();
+        Assertions.assertEquals(List.of(FluidSwipeEvent.Phase.ENDED), received);
+        Assertions.assertEquals(1, FluidSwipeListenerList.get(swipeable).listenerList.size());
+
+        final WeakReference<FluidSwipeListener> ref = new WeakReference<>(listener);
+        listener = null;
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assertions.assertNull(ref.get());
+        final ListenerFootprint footprint = FluidSwipe.getListenerFootprint();
+        Assertions.assertEquals(0, FluidSwipeListenerList.get(swipeable).listenerList.size());
+        Assertions.assertEquals(0, footprint.getWeakListenerCount());
+        Assertions.assertTrue(footprint.getComponentClasses().containsKey(JPanel.class.getName()));
+    }
+
+    @Test
+    void testRemovalAndFootprint() {
+        final FluidSwipeListener weak = recorder();
+        final FluidSwipeListener strong = recorder();
+        FluidSwipe.addWeakListenerTo(swipeable, weak);
+        FluidSwipe.addListenerTo(swipeable, strong);
+        final ListenerFootprint footprint = FluidSwipe.getListenerFootprint();
+        Assertions.assertTrue(footprint.getWeakListenerCount() >= 1);
+        Assertions.assertTrue(footprint.getRetainedListenerClasses().containsKey(strong.getClass().getName()));
+
+        FluidSwipe.removeListenerFrom(swipeable, weak);
+        FluidSwipe.removeListenerFrom(swipeable, strong);
+        Assertions.assertTrue(FluidSwipeListenerList.get(swipeable).listenerList.isEmpty());
+    }
+
+    @Test
+    void testGestureTargetIsDroppedOnceTheGestureEnds() {
+        FluidSwipe.addListenerTo(swipeable, recorder());
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        executor.runPending();
+        Assertions.assertEquals(JPanel.class.getName(), FluidSwipe.getListenerFootprint().getGestureTargetClass());
+        handler.end(true, 1.0D);
+        executor.runPending();
+        Assertions.assertNull(FluidSwipe.getListenerFootprint().getGestureTargetClass());
+
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        handler.logicallyBegin();
+        executor.runPending();
+        FluidSwipe.stopEventMonitoring();
+        executor.runPending();
+        Assertions.assertNotNull(FluidSwipeDispatcher.getGestureTarget(), "the gesture in flight must be let end");
+        handler.end(false, 0.0D);
+        executor.runPending();
+        Assertions.assertEquals(List.of(FluidSwipeEvent.Phase.ENDED, FluidSwipeEvent.Phase.ENDED), received);
+        Assertions.assertNull(FluidSwipeDispatcher.getGestureTarget());
+    }
+}
@@ -0,0 +1,118 @@
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.testkit.FluidSwipeTestKit;
+import eu.giulianogorgone.fluidswipe.testkit.ProgrammableFluidSwipeHandler;
+import eu.giulianogorgone.fluidswipe.testkit.VirtualUIExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+
+
+class WindowInterestTest {
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private JPanel interested;
+    private JPanel uninterested;
+    private JPanel swipeable;
+
+    @BeforeEach
+    void setUp() {
+        interested = new JPanel(null);
+        interested.setBounds(0, 0, 200, 200);
+        uninterested = new JPanel(null);
+        uninterested.setBounds(0, 0, 200, 200);
+        swipeable = new JPanel(null);
+        swipeable.setBounds(0, 0, 100, 100);
+        interested.add(swipeable);
+        interested.addNotify(); // stands in for a shown window.
+        FluidSwipe.addListenerTo(swipeable, new FluidSwipeAdapter() {});
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        interested.removeNotify();
+        FluidSwipe.stopEventMonitoring();
+        executor.runPending();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    @Test
+    void testRequestsInUninterestedWindowsAreRejectedOnTheCallingThread() {
+        Assertions.assertTrue(handler.getInterestedWindowCount() >= 1);
+        handler.requestBegin(uninterested, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        Assertions.assertEquals(1, handler.getVetoCount(), "rejected before any task ran");
+
+        handler.requestBegin(interested, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        Assertions.assertEquals(1, handler.getVetoCount());
+        executor.runPending();
+        Assertions.assertEquals(1, handler.getLogicalStartCount());
+        handler.logicallyBegin();
+        handler.end(false, 0.0D);
+        executor.runPending();
+    }
+
+    @Test
+    void testInterestFollowsTheSwipeableComponent() throws Exception {
+        interested.remove(swipeable);
+        uninterested.add(swipeable);
+        Assertions.assertTrue(WindowInterest.isInterested(uninterested), "becoming interested is never deferred");
+        SwingUtilities.invokeAndWait(() -> { }); // recount
+        Assertions.assertFalse(WindowInterest.isInterested(interested));
+
+        handler.requestBegin(interested, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        Assertions.assertEquals(1, handler.getVetoCount());
+        handler.requestBegin(uninterested, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        executor.runPending();
+        Assertions.assertEquals(1, handler.getLogicalStartCount());
+        handler.logicallyBegin();
+        handler.end(false, 0.0D);
+        executor.runPending();
+    }
+
+    @Test
+    void testOnlyDisplayableWindowsAreCounted() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+        final int count = handler.getInterestedWindowCount();
+        Assertions.assertTrue(count >= 1);
+        final JPanel neverShown = new JPanel();
+        FluidSwipe.addListenerTo(neverShown, new FluidSwipeAdapter() {});
+        SwingUtilities.invokeAndWait(() -> { });
+        Assertions.assertEquals(count, handler.getInterestedWindowCount(), "a component that has never been shown is not counted");
+
+        interested.removeNotify(); // as a disposed window.
+        SwingUtilities.invokeAndWait(() -> { });
+        Assertions.assertEquals(count - 1, handler.getInterestedWindowCount());
+        FluidSwipe.removeAllListenersFrom(neverShown);
+    }
+
+    @Test
+    void testRecountIsDeferredOnTheEventDispatchThread() throws Exception {
+        FluidSwipeTestKit.install(handler, null); // the recount must not run inline on the real EDT.
+        final JPanel[] moved = new JPanel[64];
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < moved.length; i++) {
+                moved[i] = new JPanel(null);
+                FluidSwipe.addListenerTo(moved[i], new FluidSwipeAdapter() {});
+                interested.add(moved[i]);
+            }
+            interested.remove(swipeable);
+            uninterested.add(swipeable);
+            for (JPanel panel : moved) {
+                interested.remove(panel);
+                uninterested.add(panel);
+            }
+            Assertions.assertTrue(WindowInterest.isInterested(interested), "recounted while hierarchy events are being fired");
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+        Assertions.assertFalse(WindowInterest.isInterested(interested));
+        Assertions.assertTrue(WindowInterest.isInterested(uninterested));
+    }
+}
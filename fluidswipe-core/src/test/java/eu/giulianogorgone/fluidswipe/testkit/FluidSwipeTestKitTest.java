@@ -0,0 +1,116 @@
+package eu.giulianogorgone.fluidswipe.testkit;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.components.FluidSwipeVetoer;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+class FluidSwipeTestKitTest {
+    private final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+    private final VirtualUIExecutor executor = new VirtualUIExecutor();
+    private final List<String> received = new ArrayList<>();
+    private final List<Long> receivedAt = new ArrayList<>();
+    private JPanel root;
+    private JPanel swipeable;
+
+    @BeforeEach
+    void setUp() {
+        root = new JPanel(null);
+        root.setBounds(0, 0, 200, 200);
+        swipeable = new JPanel(null);
+        swipeable.setBounds(0, 0, 100, 100);
+        root.add(swipeable);
+        FluidSwipe.addListenerTo(swipeable, new FluidSwipeAdapter() {
+            @Override
+            public void fluidSwipeBegan(final FluidSwipeEvent e) {
+                record(e);
+            }
+
+            @Override
+            public void fluidSwipeProgressed(final FluidSwipeEvent e) {
+                record(e);
+            }
+
+            @Override
+            public void fluidSwipeEnded(final FluidSwipeEvent e) {
+                record(e);
+            }
+        });
+        FluidSwipeTestKit.install(handler, executor);
+        FluidSwipe.startEventMonitoring();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FluidSwipe.stopEventMonitoring();
+        FluidSwipeTestKit.uninstall();
+    }
+
+    private void record(final FluidSwipeEvent e) {
+        received.add(e.getGesturePhase() + " " + e.getGestureState());
+        receivedAt.add(executor.nanoTime());
+    }
+
+    @Test
+    void testGestureIsDispatchedOnVirtualUIThread() {
+        handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+        Assertions.assertEquals(1, executor.getPendingCount());
+        Assertions.assertFalse(handler.isGestureActive());
+        executor.runPending();
+        Assertions.assertEquals(1, handler.getLogicalStartCount());
+        Assertions.assertTrue(handler.isGestureActive());
+
+        executor.setNanosPerTask(1_000L);
+        handler.logicallyBegin();
+        handler.progress(0.5D, true);
+        handler.release(true);
+        handler.progress(0.8D, false);
+        handler.end(true, 1.0D);
+        Assertions.assertTrue(received.isEmpty());
+        executor.advance(10_000L);
+        Assertions.assertEquals(5, executor.runPending());
+
+        Assertions.assertEquals(List.of("BEGAN NOT_YET_DEFINED", "PROGRESS NOT_YET_DEFINED", "PROGRESS SUCCESS", "ENDED SUCCESS"), received);
+        Assertions.assertEquals(List.of(10_000L, 11_000L, 13_000L, 14_000L), receivedAt);
+        Assertions.assertEquals(15_000L, executor.nanoTime());
+    }
+
+    @Test
+    void testVetoedRequest() {
+        final JPanel vetoer = new VetoingPanel();
+        vetoer.setBounds(0, 0, 50, 50);
+        swipeable.add(vetoer);
+
+        handler.requestBegin(root, 10, 10, FluidSwipeEvent.Direction.RIGHT_TO_LEFT);
+        executor.runPending();
+        Assertions.assertEquals(1, handler.getVetoCount());
+        Assertions.assertEquals(0, handler.getLogicalStartCount());
+
+        Assertions.assertTrue(handler.requestBeginAndWait(root, 75, 75, FluidSwipeEvent.Direction.RIGHT_TO_LEFT));
+        handler.end(false, 0.0D);
+        executor.runPending();
+        Assertions.assertEquals(List.of("ENDED CANCELED"), received);
+    }
+
+    @Test
+    void testRequiresInstallation() {
+        FluidSwipeTestKit.uninstall();
+        Assertions.assertThrows(IllegalStateException.class, () -> handler.requestBegin(root, 50, 50, FluidSwipeEvent.Direction.LEFT_TO_RIGHT));
+    }
+
+    private static final class VetoingPanel extends JPanel implements FluidSwipeVetoer {
+        @Override
+        public boolean permitFluidSwipeGesture(final FluidSwipeEvent e) {
+            return false;
+        }
+    }
+}
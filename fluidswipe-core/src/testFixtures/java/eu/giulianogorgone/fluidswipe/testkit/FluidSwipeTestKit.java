@@ -0,0 +1,77 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.testkit;
+
+import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeDispatcher;
+import eu.giulianogorgone.fluidswipe.utils.Threading;
+
+import java.util.Objects;
+
+/**
+ * This class replaces the platform handler and, optionally, the EDT, so that the dispatching of fluid-swipe events can be
+ * driven deterministically – e.g. by latency and throughput regression tests – on any platform, including headless ones.
+ * <br>
+ * The replacement affects the whole library; it is meant to be installed before any gesture is synthesized,
+ * and uninstalled when done:
+ * <pre>{@code
+ * final ProgrammableFluidSwipeHandler handler = new ProgrammableFluidSwipeHandler();
+ * final VirtualUIExecutor executor = new VirtualUIExecutor();
+ * FluidSwipeTestKit.install(handler, executor);
+ * try {
+ *     FluidSwipe.startEventMonitoring();
+ *     handler.requestBegin(root, x, y, FluidSwipeEvent.Direction.LEFT_TO_RIGHT);
+ *     executor.advance(Duration.ofMillis(2));
+ *     executor.runPending();
+ *     // ...
+ * } finally {
+ *     FluidSwipeTestKit.uninstall();
+ * }
+ * }</pre>
+ * The test kit is published as the test fixtures of the core module – e.g. {@code testImplementation(testFixtures(...))} in Gradle –
+ * rather than with the library, and must run on the class path, as it drives the dispatcher.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class FluidSwipeTestKit {
+    private FluidSwipeTestKit() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Replaces the platform handler with {@code handler}, and the EDT with {@code executor}. Any gesture being dispatched is discarded.
+     *
+     * @param handler  the handler synthetic gestures are issued by
+     * @param executor the executor standing for the EDT, or {@code null} if the EDT must be used.
+     * @throws NullPointerException if {@code handler} is null.
+     */
+    public static synchronized void install(final ProgrammableFluidSwipeHandler handler, final VirtualUIExecutor executor) {
+        Objects.requireNonNull(handler, "handler is null");
+        if (executor == null) {
+            Threading.resetUIThreadExecutor();
+        } else {
+            Threading.setUIThreadExecutor(executor::execute, executor::executeAndWait, executor::nanoTime);
+        }
+        FluidSwipeDispatcher.setHandler(handler);
+    }
+
+    /**
+     * Restores the platform handler and the EDT. Any gesture being dispatched is discarded.
+     */
+    public static synchronized void uninstall() {
+        Threading.resetUIThreadExecutor();
+        FluidSwipeDispatcher.setHandler(null);
+    }
+}
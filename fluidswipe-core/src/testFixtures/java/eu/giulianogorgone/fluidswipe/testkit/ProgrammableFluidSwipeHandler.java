@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.testkit;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.handling.BridgeConstants;
+import eu.giulianogorgone.fluidswipe.event.handling.FluidSwipeDispatcher;
+import eu.giulianogorgone.fluidswipe.handlers.FluidSwipeHandler;
+
+import java.awt.*;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@code ProgrammableFluidSwipeHandler} replaces the platform handler while {@link FluidSwipeTestKit} is installed,
+ * so that fluid-swipe gestures can be synthesized on any platform, including headless ones.
+ * Synthetic requests and samples enter the library exactly as the platform ones do; the calling thread plays the role of the
+ * platform input thread. The answers of the library – whether gestures may logically start – are recorded, and can be inspected.
+ * <br>
+ * A typical gesture consists of a request, issued by {@link #requestBegin(Container, double, double, FluidSwipeEvent.Direction)},
+ * followed – if the gesture has been accepted – by {@link #logicallyBegin()}, any number of {@link #progress(double, boolean)}
+ * and {@link #end(boolean, double)}. Samples are discarded unless the library accepted the request, hence when a
+ * {@link VirtualUIExecutor} is installed, the request must have been run before the gesture logically begins.
+ *
+ * As the platform handlers do, this handler lets the gesture being tracked complete if event monitoring is stopped meanwhile;
+ * only new requests are refused.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipeTestKit#install(ProgrammableFluidSwipeHandler, VirtualUIExecutor)
+ */
+public final class ProgrammableFluidSwipeHandler implements FluidSwipeHandler {
+    private volatile boolean monitoring;
+    private volatile boolean logicallyStartResult = true;
+    private volatile boolean naturalScrollingEnabled = true;
+    private volatile boolean continueGestureOnFingerRelease = true;
+    private volatile boolean gestureActive;
+    // incremented by the EDT, and by the thread the library decides requests on when it does so without waiting for the EDT.
+    private final AtomicInteger logicalStartCount = new AtomicInteger();
+    private final AtomicInteger vetoCount = new AtomicInteger();
+    private volatile int interestedWindowCount = -1;
+
+    /**
+     * Creates a new {@code ProgrammableFluidSwipeHandler}, which lets gestures logically start whenever the library accepts them.
+     */
+    public ProgrammableFluidSwipeHandler() {
+    }
+
+    @Override
+    public void startEventMonitoring() {
+        monitoring = true;
+    }
+
+    @Override
+    public void stopEventMonitoring() {
+        monitoring = false;
+    }
+
+    @Override
+    public boolean logicallyStartFluidSwipe() {
+        logicalStartCount.incrementAndGet();
+        gestureActive = logicallyStartResult;
+        return logicallyStartResult;
+    }
+
+    @Override
+    public void vetoFluidSwipe() {
+        vetoCount.incrementAndGet();
+    }
+
+    @Override
+    public boolean setContinueGestureOnFingerRelease(final boolean continueGestureOnFingerRelease) {
+        this.continueGestureOnFingerRelease = continueGestureOnFingerRelease;
+        return continueGestureOnFingerRelease;
+    }
+
+    @Override
+    public void setInterestedWindowCount(final int windowCount) {
+        interestedWindowCount = windowCount;
+    }
+
+    /**
+     * Returns the number of windows containing swipeable components, as last told by the library.
+     *
+     * @return the value last passed to {@link #setInterestedWindowCount(int)}; a negative number if any window may be interested, or if the library has not told it yet.
+     */
+    public int getInterestedWindowCount() {
+        return interestedWindowCount;
+    }
+
+    /**
+     * Sets the value returned by {@link #logicallyStartFluidSwipe()}, so that a failure of the platform can be simulated.
+     *
+     * @param logicallyStartResult {@code false} if accepted gestures must fail to logically start.
+     */
+    public void setLogicallyStartResult(final boolean logicallyStartResult) {
+        this.logicallyStartResult = logicallyStartResult;
+    }
+
+    /**
+     * Sets whether natural scrolling is reported as enabled by subsequent requests and samples. Defaults to {@code true}.
+     *
+     * @param naturalScrollingEnabled {@code true} if natural scrolling must be reported as enabled.
+     */
+    public void setNaturalScrollingEnabled(final boolean naturalScrollingEnabled) {
+        this.naturalScrollingEnabled = naturalScrollingEnabled;
+    }
+
+    /**
+     * Returns whether event monitoring has been started.
+     *
+     * @return {@code true} if event monitoring has been started, and not stopped since.
+     */
+    public boolean isMonitoring() {
+        return monitoring;
+    }
+
+    /**
+     * Returns the value last passed to {@link #setContinueGestureOnFingerRelease(boolean)}.
+     *
+     * @return whether gestures must logically continue when physically ended.
+     */
+    public boolean continuesGestureOnFingerRelease() {
+        return continueGestureOnFingerRelease;
+    }
+
+    /**
+     * Returns whether a gesture has been let logically start, and has not ended yet.
+     *
+     * @return {@code true} if a gesture is being tracked.
+     */
+    public boolean isGestureActive() {
+        return gestureActive;
+    }
+
+    /**
+     * Returns how many times the library asked this handler to let a gesture logically start.
+     *
+     * @return the number of calls to {@link #logicallyStartFluidSwipe()}.
+     */
+    public int getLogicalStartCount() {
+        return logicalStartCount.get();
+    }
+
+    /**
+     * Returns how many requests the library vetoed.
+     *
+     * @return the number of calls to {@link #vetoFluidSwipe()}.
+     */
+    public int getVetoCount() {
+        return vetoCount.get();
+    }
+
+    /**
+     * Issues a fluid-swipe request, as the platform handler does in asynchronous mode; the library evaluates it on the UI thread,
+     * then calls either {@link #logicallyStartFluidSwipe()} or {@link #vetoFluidSwipe()}.
+     *
+     * @param root      the root container in which the gesture occurs, e.g. a {@code Window}
+     * @param x         x-coordinate of the point in which the gesture occurs, relative to {@code root}
+     * @param y         y-coordinate of the point in which the gesture occurs, relative to {@code root}
+     * @param direction the direction of the gesture
+     * @throws IllegalStateException if this handler is not installed, or event monitoring has not been started.
+     * @throws NullPointerException  if {@code root} or {@code direction} is null.
+     */
+    public void requestBegin(final Container root, final double x, final double y, final FluidSwipeEvent.Direction direction) {
+        checkReady();
+        FluidSwipeDispatcher.requestFluidSwipe(Objects.requireNonNull(root, "root is null"), scrollingDeltaX(direction), x, y, naturalScrollingEnabled);
+    }
+
+    /**
+     * Issues a fluid-swipe request, as the platform handler does in synchronous mode; the calling thread waits for the library
+     * to evaluate it on the UI thread. If the request is accepted, the gesture is considered logically started.
+     *
+     * @param root      the root container in which the gesture occurs, e.g. a {@code Window}
+     * @param x         x-coordinate of the point in which the gesture occurs, relative to {@code root}
+     * @param y         y-coordinate of the point in which the gesture occurs, relative to {@code root}
+     * @param direction the direction of the gesture
+     * @return {@code true} if the gesture has been accepted; {@code false} otherwise.
+     * @throws IllegalStateException if this handler is not installed, or event monitoring has not been started.
+     * @throws NullPointerException  if {@code root} or {@code direction} is null.
+     */
+    public boolean requestBeginAndWait(final Container root, final double x, final double y, final FluidSwipeEvent.Direction direction) {
+        checkReady();
+        final boolean accepted = FluidSwipeDispatcher.requestFluidSwipeAndWait(Objects.requireNonNull(root, "root is null"), scrollingDeltaX(direction), x, y, naturalScrollingEnabled);
+        gestureActive = accepted;
+        return accepted;
+    }
+
+    /**
+     * Dispatches the first sample of an accepted gesture; listeners receive a {@code FluidSwipeEvent} whose phase is {@code BEGAN}.
+     *
+     * @throws IllegalStateException if this handler is not installed, or neither event monitoring has been started nor a gesture is being tracked.
+     */
+    public void logicallyBegin() {
+        checkCanDispatchSample();
+        FluidSwipeDispatcher.dispatchSample(0.0D, BridgeConstants.LOGICALLY_BEGAN, naturalScrollingEnabled);
+    }
+
+    /**
+     * Dispatches a progress sample; listeners receive a {@code FluidSwipeEvent} whose phase is {@code PROGRESS}.
+     *
+     * @param gestureAmount the gesture amount, in the range {@code [0.0, 1.0]}
+     * @param touching      {@code false} if the input device is no longer being touched.
+     * @throws IllegalStateException if this handler is not installed, or neither event monitoring has been started nor a gesture is being tracked.
+     */
+    public void progress(final double gestureAmount, final boolean touching) {
+        checkCanDispatchSample();
+        FluidSwipeDispatcher.dispatchSample(gestureAmount,
+                touching ? BridgeConstants.PROGRESSED : BridgeConstants.PROGRESSED_NO_MORE_TOUCHING, naturalScrollingEnabled);
+    }
+
+    /**
+     * Tells the library that the input device stopped being touched, and whether the gesture will be completed or canceled;
+     * the state of subsequent {@code FluidSwipeEvent}s reflects the outcome.
+     *
+     * @param completed {@code true} if the gesture will be completed; {@code false} if it will be canceled.
+     * @throws IllegalStateException if this handler is not installed, or neither event monitoring has been started nor a gesture is being tracked.
+     */
+    public void release(final boolean completed) {
+        checkCanDispatchSample();
+        FluidSwipeDispatcher.dispatchSample(0.0D,
+                BridgeConstants.UPDATE_STATE | (completed ? BridgeConstants.COMPLETED : BridgeConstants.CANCELED), naturalScrollingEnabled);
+    }
+
+    /**
+     * Dispatches the last sample of the gesture; listeners receive a {@code FluidSwipeEvent} whose phase is {@code ENDED}.
+     *
+     * @param completed     {@code true} if the gesture has been completed; {@code false} if it has been canceled.
+     * @param gestureAmount the final gesture amount
+     * @throws IllegalStateException if this handler is not installed, or neither event monitoring has been started nor a gesture is being tracked.
+     */
+    public void end(final boolean completed, final double gestureAmount) {
+        checkCanDispatchSample();
+        gestureActive = false;
+        FluidSwipeDispatcher.dispatchSample(gestureAmount, completed ? BridgeConstants.COMPLETED : BridgeConstants.CANCELED, naturalScrollingEnabled);
+    }
+
+    private void checkReady() {
+        checkInstalled();
+        if (!monitoring)
+            throw new IllegalStateException("event monitoring not started");
+    }
+
+    private void checkCanDispatchSample() {
+        checkInstalled();
+        if (!monitoring && !gestureActive)
+            throw new IllegalStateException("event monitoring not started, and no gesture is being tracked");
+    }
+
+    private void checkInstalled() {
+        if (FluidSwipeDispatcher.getHandler() != this)
+            throw new IllegalStateException("handler not installed");
+    }
+
+    private static double scrollingDeltaX(final FluidSwipeEvent.Direction direction) {
+        return Objects.requireNonNull(direction, "direction is null") == FluidSwipeEvent.Direction.LEFT_TO_RIGHT ? 1.0D : -1.0D;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.testkit;
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@code VirtualUIExecutor} stands for the EDT while {@link FluidSwipeTestKit} is installed: the operations the library
+ * would perform on the EDT are queued, and run on the thread calling {@link #runPending()} or {@link #runNext()}.
+ * Time is measured against a virtual clock, which only moves when {@link #advance(long)} is called or a task is run,
+ * so that latencies observed by the library – e.g. those exposed by the {@code FluidSwipeMetricsMXBean} – are deterministic.
+ * <br>
+ * Operations whose caller waits for completion run immediately on the calling thread, after any queued operation.
+ * Instances of this class are thread-safe; tasks are never run concurrently.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ * @see FluidSwipeTestKit#install(ProgrammableFluidSwipeHandler, VirtualUIExecutor)
+ */
+public final class VirtualUIExecutor {
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private volatile long nanosPerTask;
+    private long executedTaskCount; // guarded by runLock
+
+    /**
+     * Creates a new {@code VirtualUIExecutor}, whose virtual clock starts at {@code 0}.
+     */
+    public VirtualUIExecutor() {
+    }
+
+    /**
+     * Returns the current value of the virtual clock.
+     *
+     * @return the current value of the virtual clock, in nanoseconds.
+     */
+    public long nanoTime() {
+        return nanoTime.get();
+    }
+
+    /**
+     * Moves the virtual clock forward.
+     *
+     * @param nanos the amount of virtual time to elapse, in nanoseconds
+     * @throws IllegalArgumentException if {@code nanos} is negative.
+     */
+    public void advance(final long nanos) {
+        if (nanos < 0L)
+            throw new IllegalArgumentException("nanos is negative: " + nanos);
+        nanoTime.addAndGet(nanos);
+    }
+
+    /**
+     * Moves the virtual clock forward.
+     *
+     * @param duration the amount of virtual time to elapse
+     * @throws IllegalArgumentException if {@code duration} is negative.
+     * @throws NullPointerException     if {@code duration} is null.
+     */
+    public void advance(final Duration duration) {
+        advance(Objects.requireNonNull(duration, "duration is null").toNanos());
+    }
+
+    /**
+     * Sets the virtual time each task takes to run; the virtual clock is moved forward by this amount after a task is run.
+     * Defaults to {@code 0}, i.e. tasks take no time.
+     *
+     * @param nanosPerTask the virtual duration of each task, in nanoseconds
+     * @throws IllegalArgumentException if {@code nanosPerTask} is negative.
+     */
+    public void setNanosPerTask(final long nanosPerTask) {
+        if (nanosPerTask < 0L)
+            throw new IllegalArgumentException("nanosPerTask is negative: " + nanosPerTask);
+        this.nanosPerTask = nanosPerTask;
+    }
+
+    /**
+     * Returns the number of queued tasks.
+     *
+     * @return the number of tasks waiting to be run.
+     */
+    public int getPendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns the number of tasks run so far, including those whose caller waited for completion.
+     *
+     * @return the number of tasks run so far.
+     */
+    public long getExecutedTaskCount() {
+        runLock.lock();
+        try {
+            return executedTaskCount;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Runs the oldest queued task, if any, on the calling thread.
+     *
+     * @return {@code true} if a task has been run; {@code false} if there were no queued tasks.
+     */
+    public boolean runNext() {
+        runLock.lock();
+        try {
+            final Runnable task = tasks.poll();
+            if (task == null)
+                return false;
+            run(task);
+            return true;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Runs queued tasks on the calling thread until the queue is empty, including tasks queued meanwhile.
+     * If a task throws an exception, the remaining ones stay queued.
+     *
+     * @return the number of tasks run.
+     */
+    public int runPending() {
+        int count = 0;
+        while (runNext()) {
+            count++;
+        }
+        return count;
+    }
+
+    void execute(final Component target, final Runnable r) {
+        tasks.add(r);
+    }
+
+    void executeAndWait(final Component target, final Runnable r) throws InvocationTargetException {
+        runLock.lock();
+        try {
+            if (runLock.getHoldCount() == 1) // not called by a task; preserve the order in which tasks have been submitted.
+                runPending();
+            try {
+                run(r);
+            } catch (RuntimeException | Error e) {
+                throw new InvocationTargetException(e);
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void run(final Runnable task) {
+        executedTaskCount++;
+        try {
+            task.run();
+        } finally {
+            nanoTime.addAndGet(nanosPerTask);
+        }
+    }
+}
@@ -57,4 +57,18 @@ public interface FluidSwipeHandler {
      * @return the value passed as argument.
      */
     boolean setContinueGestureOnFingerRelease(final boolean continueGestureOnFingerRelease);
+
+    /**
+     * This method tells the handler how many windows contain components that may accept fluid-swipe gestures. It is called whenever the number
+     * changes, and whenever event monitoring is started. While the number is zero, no fluid-swipe request would be accepted; thus, the handler may
+     * pause monitoring events, and resume it once the number is no longer zero, while monitoring is started.
+     * Requests issued in the windows without such components are rejected anyway, without being evaluated on the UI thread.
+     * This method can be called on any thread, including the UI thread: implementations must not wait for the platform input thread,
+     * which may be waiting for the UI thread. The default implementation has no effect.
+     *
+     * @param windowCount the number of windows containing components that may accept fluid-swipe gestures;
+     *                    a negative number if any window may contain them.
+     */
+    default void setInterestedWindowCount(final int windowCount) {
+    }
 }
\ No newline at end of file
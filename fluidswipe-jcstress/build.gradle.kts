@@ -0,0 +1,35 @@
+plugins {
+    idea
+    java
+}
+
+repositories {
+    mavenCentral()
+}
+
+val jcstressVersion = "0.16"
+
+dependencies {
+    implementation(project(":fluidswipe-core"))
+    implementation(project(":fluidswipe-handler-api"))
+    implementation(project(":fluidswipe-utils"))
+
+    // https://mvnrepository.com/artifact/org.openjdk.jcstress/jcstress-core
+    implementation("org.openjdk.jcstress:jcstress-core:$jcstressVersion")
+    annotationProcessor("org.openjdk.jcstress:jcstress-core:$jcstressVersion")
+}
+
+// The tests run on the class path, so that they can reach the package-private state of the dispatcher.
+// Usage: gradle :fluidswipe-jcstress:jcstress -PjcstressArgs="-t ListenerMutation -m quick"
+tasks.register<JavaExec>("jcstress") {
+    group = "verification"
+    description = "Runs the jcstress tests."
+    dependsOn(tasks.classes)
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.openjdk.jcstress.Main")
+    jvmArgs("-Djava.awt.headless=true")
+    workingDir = layout.buildDirectory.dir("jcstress").get().asFile
+    doFirst { workingDir.mkdirs() }
+    val jcstressArgs = project.findProperty("jcstressArgs") as String?
+    if (jcstressArgs != null) args(jcstressArgs.split(' ').filter { it.isNotBlank() })
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.LLL_Result;
+
+import javax.swing.*;
+
+/**
+ * Gesture A is being dispatched when the platform input thread accepts gesture B off the EDT, and routes two of its samples;
+ * meanwhile the EDT cleans gesture A up. The EDT begins gesture B afterwards, as it does once the request posted by the input thread is processed.
+ * Every sample of B must be routed to B, whether the EDT processed the end of A or not, and B must begin and accept them.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@JCStressTest
+@Outcome(id = "B, B, true", expect = Expect.ACCEPTABLE, desc = "Both samples are routed to gesture B, which began and accepted them.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "A sample of B has been routed to A, or dropped; or B did not begin.")
+@State
+public class BeginCleanupStressTest {
+    private static final JComponent TARGET_A = new JComponent() {
+    };
+    private static final JComponent TARGET_B = new JComponent() {
+    };
+    private static final Pair<JComponent, FluidSwipeListener[]> PAIR_A = new Pair<>(TARGET_A, new FluidSwipeListener[0]);
+    private static final Pair<JComponent, FluidSwipeListener[]> PAIR_B = new Pair<>(TARGET_B, new FluidSwipeListener[0]);
+
+    private final DispatchState state = new DispatchState();
+    private final DispatchState.Route pendingB = new DispatchState.Route(TARGET_B, 2L);
+    private DispatchState.Route first, second;
+
+    public BeginCleanupStressTest() {
+        state.begin(PAIR_A, FluidSwipeEvent.Direction.LEFT_TO_RIGHT, 1L);
+    }
+
+    @Actor
+    public void edt() {
+        state.cleanup();
+    }
+
+    @Actor
+    public void inputThread() {
+        state.setPendingRoute(pendingB);
+        first = state.routeOfSample();
+        second = state.routeOfSample();
+    }
+
+    @Arbiter
+    public void arbiter(final LLL_Result r) {
+        r.r1 = describe(first);
+        r.r2 = describe(second);
+        r.r3 = state.beginPending(pendingB, PAIR_B, FluidSwipeEvent.Direction.RIGHT_TO_LEFT)
+                && state.accepts(first, BridgeConstants.PROGRESSED) && state.accepts(second, BridgeConstants.PROGRESSED);
+    }
+
+    private static String describe(final DispatchState.Route route) {
+        if (route == null) return "null";
+        return route.target == TARGET_A ? "A" : route.target == TARGET_B && route.gestureId == 2L ? "B" : String.valueOf(route.target);
+    }
+}
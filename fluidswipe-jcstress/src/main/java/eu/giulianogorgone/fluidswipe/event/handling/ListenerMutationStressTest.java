@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.FluidSwipe;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeAdapter;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.L_Result;
+
+import javax.swing.*;
+
+/**
+ * Listeners are added to, and removed from, the swipeable component while the dispatcher takes the snapshot of its listeners
+ * a gesture is dispatched to. The snapshot must reflect either mutation, or none, and never contain anything else.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@JCStressTest
+@Outcome(id = "first", expect = Expect.ACCEPTABLE, desc = "Taken before both mutations.")
+@Outcome(id = "first, second", expect = Expect.ACCEPTABLE, desc = "Taken after the addition only.")
+@Outcome(id = "", expect = Expect.ACCEPTABLE, desc = "Taken after the removal only.")
+@Outcome(id = "second", expect = Expect.ACCEPTABLE, desc = "Taken after both mutations.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "Lost, duplicated or unknown listeners.")
+@State
+public class ListenerMutationStressTest {
+    private static final FluidSwipeListener FIRST = new NamedListener("first");
+    private static final FluidSwipeListener SECOND = new NamedListener("second");
+
+    private final JComponent component = new JComponent() {
+    };
+    private final FluidSwipeListenerList listenerList;
+
+    public ListenerMutationStressTest() {
+        FluidSwipe.addListenerTo(component, FIRST);
+        listenerList = FluidSwipeListenerList.get(component);
+    }
+
+    @Actor
+    public void add() {
+        FluidSwipe.addListenerTo(component, SECOND);
+    }
+
+    @Actor
+    public void remove() {
+        FluidSwipe.removeListenerFrom(component, FIRST);
+    }
+
+    @Actor
+    public void dispatch(final L_Result r) {
+        final StringBuilder sb = new StringBuilder();
+        for (FluidSwipeListener listener : listenerList.copyListeners()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(listener);
+        }
+        r.r1 = sb.toString();
+    }
+
+    private static final class NamedListener extends FluidSwipeAdapter {
+        private final String name;
+
+        NamedListener(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
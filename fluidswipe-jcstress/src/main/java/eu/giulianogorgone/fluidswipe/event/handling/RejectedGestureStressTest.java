@@ -0,0 +1,78 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.event.handling;
+
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeEvent;
+import eu.giulianogorgone.fluidswipe.event.FluidSwipeListener;
+import eu.giulianogorgone.fluidswipe.utils.pair.Pair;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Expect;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.ZZZZ_Result;
+
+import javax.swing.*;
+
+/**
+ * The platform input thread accepted gesture B off the EDT while gesture A was still being dispatched. The EDT rejects B and then lets A end,
+ * while the input thread routes a sample of B; the last sample of B reaches the EDT afterwards. The samples of B must never reach A,
+ * and nothing of either gesture must be left behind.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+@JCStressTest
+@Outcome(id = "false, true, false, false", expect = Expect.ACCEPTABLE, desc = "B has been rejected, its samples dropped, and A ended cleanly.")
+@Outcome(expect = Expect.FORBIDDEN, desc = "B began next to A, a sample of B reached A, or a route has been left behind.")
+@State
+public class RejectedGestureStressTest {
+    private static final JComponent TARGET_A = new JComponent() {
+    };
+    private static final JComponent TARGET_B = new JComponent() {
+    };
+    private static final Pair<JComponent, FluidSwipeListener[]> PAIR_A = new Pair<>(TARGET_A, new FluidSwipeListener[0]);
+    private static final Pair<JComponent, FluidSwipeListener[]> PAIR_B = new Pair<>(TARGET_B, new FluidSwipeListener[0]);
+
+    private final DispatchState state = new DispatchState();
+    private final DispatchState.Route pendingB = new DispatchState.Route(TARGET_B, 2L);
+    private final DispatchState.Route routeA;
+    private DispatchState.Route sample;
+
+    public RejectedGestureStressTest() {
+        state.begin(PAIR_A, FluidSwipeEvent.Direction.LEFT_TO_RIGHT, 1L);
+        routeA = state.getRoute();
+        state.setPendingRoute(pendingB);
+    }
+
+    @Actor
+    public void edt(final ZZZZ_Result r) {
+        r.r1 = state.beginPending(pendingB, PAIR_B, FluidSwipeEvent.Direction.RIGHT_TO_LEFT);
+        if (state.accepts(routeA, BridgeConstants.COMPLETED)) state.cleanup();
+    }
+
+    @Actor
+    public void inputThread(final ZZZZ_Result r) {
+        sample = state.routeOfSample();
+        r.r2 = sample == pendingB;
+    }
+
+    @Arbiter
+    public void arbiter(final ZZZZ_Result r) {
+        r.r3 = state.accepts(sample, BridgeConstants.CANCELED);
+        r.r4 = state.isRouted() || state.getTarget() != null;
+    }
+}
@@ -17,6 +17,9 @@ package eu.giulianogorgone.fluidswipe.handlers.macos.impl;
 
 import eu.giulianogorgone.fluidswipe.handlers.FluidSwipeHandler;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 
 /**
  * @author Giuliano Gorgone (anticleiades)
@@ -40,14 +43,61 @@ public final class MacOSFluidSwipeHandler implements FluidSwipeHandler {
 
     //private static native void nativeSetGestureAmountThreshold(final double amount);
 
+    // guarded by this: whether monitoring has been started, and whether it is paused as no window is interested in fluid-swipe gestures.
+    private boolean monitoring;
+    private boolean paused;
+    // guarded by nativeLock: whether the native monitor is running.
+    private final Object nativeLock = new Object();
+    private boolean nativeMonitoring;
+    // Pauses and resumes are requested on the EDT, which must not wait for the AppKit thread: in SYNC mode, the latter may be waiting for the EDT.
+    private final ExecutorService pauseExecutor = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r, "FluidSwipe-MonitorPause");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     @Override
     public void startEventMonitoring() {
-        nativeStartEventMonitoring(Boolean.getBoolean(SYNC_MODE_FLAG));
+        synchronized (this) {
+            monitoring = true;
+        }
+        reconcile();
     }
 
     @Override
     public void stopEventMonitoring() {
-        nativeStopEventMonitoring();
+        synchronized (this) {
+            monitoring = false;
+        }
+        reconcile();
+    }
+
+    @Override
+    public void setInterestedWindowCount(final int windowCount) {
+        final boolean pause = windowCount == 0;
+        synchronized (this) {
+            if (pause == paused) return;
+            paused = pause;
+        }
+        pauseExecutor.execute(this::reconcile);
+    }
+
+    // Starts or stops the native monitor so that it runs if and only if monitoring has been started and is not paused.
+    // A stop requested during a gesture is deferred by the native side until the gesture completes; a start requested meanwhile cancels it.
+    private void reconcile() {
+        synchronized (nativeLock) {
+            final boolean run;
+            synchronized (this) {
+                run = monitoring && !paused;
+            }
+            if (run == nativeMonitoring) return;
+            nativeMonitoring = run;
+            if (run) {
+                nativeStartEventMonitoring(Boolean.getBoolean(SYNC_MODE_FLAG));
+            } else {
+                nativeStopEventMonitoring();
+            }
+        }
     }
 
     @Override
@@ -15,6 +15,8 @@
 
 package eu.giulianogorgone.fluidswipe.utils;
 
+import eu.giulianogorgone.fluidswipe.utils.log.AsyncLogHandler;
+
 import java.util.logging.Level;
 
 /**
@@ -26,11 +28,33 @@ public final class ConfigFlags {
     static final String PROP_PREFIX = "fluidswipe.";
     static final String KEY_LOG_FILE_PATH = PROP_PREFIX + "logFilePath";
     static final String KEY_LOG_LEVEL = PROP_PREFIX + "logLevel";
+    static final String KEY_LOG_QUEUE_CAPACITY = PROP_PREFIX + "logQueueCapacity";
+    static final String KEY_LOG_OVERFLOW_POLICY = PROP_PREFIX + "logOverflowPolicy";
     static final String FLAG_ENFORCE_HIGH_PRIORITY = PROP_PREFIX + "eventDispatchEnforceHighPriority";
+    static final String FLAG_JMX_METRICS = PROP_PREFIX + "jmxMetrics";
+    static final String FLAG_AWT_EVENT_DISPATCH = PROP_PREFIX + "awtEventDispatch";
+    static final String FLAG_WARM_UP = PROP_PREFIX + "warmUp";
+    static final String FLAG_PUBLISHED_SWIPE_REGIONS = PROP_PREFIX + "publishedSwipeRegions";
+    static final String KEY_PROGRESS_PIXEL_DELTA = PROP_PREFIX + "progressPixelDelta";
+    static final String FLAG_WINDOW_INTEREST_TRACKING = PROP_PREFIX + "windowInterestTracking";
 
     public static final boolean enforceEvtDispatchHighPriority = Boolean.getBoolean(FLAG_ENFORCE_HIGH_PRIORITY);
+    public static final boolean jmxMetrics = Boolean.getBoolean(FLAG_JMX_METRICS);
+    // Gesture samples are posted to the EventQueue as coalescable AWTEvents, at normal priority.
+    public static final boolean awtEventDispatch = Boolean.getBoolean(FLAG_AWT_EVENT_DISPATCH);
+    // The gesture pipeline is warmed up in background as soon as the API is first used.
+    public static final boolean warmUp = Boolean.getBoolean(FLAG_WARM_UP);
+    // Begin requests are decided by the platform input thread, with a published snapshot of the window, when available.
+    public static final boolean publishedSwipeRegions = Boolean.getBoolean(FLAG_PUBLISHED_SWIPE_REGIONS);
+    // Progress samples moving the page by less than this many device pixels are not delivered; 0 disables the filter.
+    public static final double progressPixelDelta = Double.parseDouble(System.getProperty(KEY_PROGRESS_PIXEL_DELTA, "0"));
+    // Requests issued in windows without swipeable components are rejected by the platform input thread; enabled unless set to false.
+    public static final boolean windowInterestTracking = Boolean.parseBoolean(System.getProperty(FLAG_WINDOW_INTEREST_TRACKING, "true"));
     public static final Level logLevel = Level.parse(System.getProperty(KEY_LOG_LEVEL, "INFO").toUpperCase());
     public static final String logFilePath = System.getProperty(KEY_LOG_FILE_PATH);
+    // A non-positive capacity makes file logging synchronous.
+    public static final int logQueueCapacity = Integer.getInteger(KEY_LOG_QUEUE_CAPACITY, 1024);
+    public static final AsyncLogHandler.OverflowPolicy logOverflowPolicy = AsyncLogHandler.OverflowPolicy.valueOf(System.getProperty(KEY_LOG_OVERFLOW_POLICY, "DROP_NEWEST").toUpperCase());
 }
 
 
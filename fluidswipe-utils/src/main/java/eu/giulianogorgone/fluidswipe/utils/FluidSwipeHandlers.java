@@ -26,7 +26,7 @@ public final class FluidSwipeHandlers {
     private static final String MAC_OS_LIB_FNAME = "libFluidSwipe.dylib";
 
     public static FluidSwipeHandler getHandler() {
-        Logging.init("FluidSwipe", ConfigFlags.logLevel, ConfigFlags.logFilePath);
+        Logging.init("FluidSwipe", ConfigFlags.logLevel, ConfigFlags.logFilePath, ConfigFlags.logQueueCapacity, ConfigFlags.logOverflowPolicy);
         Logging.logConfig(SysInfo.getDBGInfo());
         if (SysInfo.IS_SUPPORTED_MAC_OS && NativeLib.extractAndLoadFromJAR(MacOSFluidSwipeHandler.class, MAC_OS_LIB_FNAME)) {
             // any platform-specific implementation library must expose the "_Java_it_anticleiades_utils_log_Logging_initNative" symbol
@@ -41,10 +41,10 @@ public final class NativeLib {
         boolean loadSuccess = false;
         final Path nativeLibraryPath = extractFromJAR(clazz, libFilename);
         if (nativeLibraryPath == null) return false;
-        Logging.logFinest("native library extraction: success, nativeLibraryPath: " + nativeLibraryPath);
+        Logging.logFinest("native library extraction: success, nativeLibraryPath: %s", nativeLibraryPath);
         try {
             System.load(nativeLibraryPath.toString());
-            Logging.logFinest("native library \"" + libFilename + "\" loading: success");
+            Logging.logFinest("native library \"%s\" loading: success", libFilename);
             loadSuccess = true;
         } catch (SecurityException | UnsatisfiedLinkError e) {
             Logging.logSevere("error while loading native library", e);
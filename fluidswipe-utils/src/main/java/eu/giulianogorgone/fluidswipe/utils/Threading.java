@@ -22,6 +22,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.lang.reflect.InvocationTargetException;
 import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
 
 /**
  * This class provides methods used in order to dispatch the {@code FluidSwipeEvent}s.
@@ -35,15 +36,30 @@ public final class Threading {
         throw new AssertionError();
     }
 
-    private static final BiConsumer<Component, Runnable> uiThreadExecutor;
-    private static final ExecutorBiConsumer<Component, Runnable> uiThreadExecutorWait;
+    private static final UIThreadExecutors DEFAULT_EXECUTORS;
+    // replaced by test kits in order to drive the dispatching headlessly; read once per operation.
+    private static volatile UIThreadExecutors executors;
+
+    // The operations used to reach the UI thread, and the time base against which their latency is measured.
+    private static final class UIThreadExecutors {
+        final BiConsumer<Component, Runnable> executor;
+        final ExecutorBiConsumer<Component, Runnable> executorWait;
+        final LongSupplier clock;
+
+        UIThreadExecutors(final BiConsumer<Component, Runnable> executor,
+                          final ExecutorBiConsumer<Component, Runnable> executorWait,
+                          final LongSupplier clock) {
+            this.executor = executor;
+            this.executorWait = executorWait;
+            this.clock = clock;
+        }
+    }
 
     static {
         final Module modJavaDesktop = Component.class.getModule();
         final Module ourModule = Threading.class.getModule();
         if (modJavaDesktop.isExported("sun.awt", ourModule)) { // The non-public Sun API is preferred if available.
-            uiThreadExecutor = SunToolkit::executeOnEventHandlerThread;
-            uiThreadExecutorWait = SunToolkit::executeOnEDTAndWait;
+            DEFAULT_EXECUTORS = new UIThreadExecutors(SunToolkit::executeOnEventHandlerThread, SunToolkit::executeOnEDTAndWait, System::nanoTime);
             Logging.logConfig("Using SunToolkit API to dispatch FluidSwipeEvents");
         } else {
             if (ConfigFlags.enforceEvtDispatchHighPriority) {
@@ -53,9 +69,9 @@ public final class Threading {
             } else {
                 Logging.logConfig("Using SwingUtilities API to dispatch FluidSwipeEvents");
             }
-            uiThreadExecutor = (target, r) -> SwingUtilities.invokeLater(r);
-            uiThreadExecutorWait = (target, r) -> SwingUtilities.invokeAndWait(r);
+            DEFAULT_EXECUTORS = new UIThreadExecutors((target, r) -> SwingUtilities.invokeLater(r), (target, r) -> SwingUtilities.invokeAndWait(r), System::nanoTime);
         }
+        executors = DEFAULT_EXECUTORS;
     }
 
     public static void performOnAWTUIThread(final Component target, final Runnable r) {
@@ -63,14 +79,82 @@ public final class Threading {
             Logging.logWarn("requested UI operation with a null target component; ignoring.");
             return;
         }
-        if (SwingUtilities.isEventDispatchThread()) {
+        final UIThreadExecutors current = executors;
+        if (current == DEFAULT_EXECUTORS && SwingUtilities.isEventDispatchThread()) {
             r.run();
         } else {
-            uiThreadExecutor.accept(target, r);
+            current.executor.accept(target, r);
+        }
+    }
+
+    /**
+     * Queues a task on the UI thread; unlike {@link #performOnAWTUIThread(Component, Runnable)}, the task is never run inline, even if called on the EDT,
+     * so that it runs after the events already queued.
+     *
+     * @param target the component the task operates on
+     * @param r      the task
+     */
+    public static void performLaterOnAWTUIThread(final Component target, final Runnable r) {
+        if (target == null) {
+            Logging.logWarn("requested UI operation with a null target component; ignoring.");
+            return;
+        }
+        executors.executor.accept(target, r);
+    }
+
+    /**
+     * Posts an event to the {@code EventQueue}, where it can be coalesced with the events already queued for the same target.
+     * If the operations used to reach the UI thread have been replaced, the event is dispatched through them instead.
+     *
+     * @param target the target component of the event
+     * @param event  the event to be posted
+     * @param <E>    the type of the event
+     */
+    public static <E extends AWTEvent & ActiveEvent> void postOnAWTUIThread(final Component target, final E event) {
+        if (target == null) {
+            Logging.logWarn("requested UI operation with a null target component; ignoring.");
+            return;
+        }
+        final UIThreadExecutors current = executors;
+        if (current == DEFAULT_EXECUTORS) {
+            target.getToolkit().getSystemEventQueue().postEvent(event);
+        } else {
+            current.executor.accept(target, event::dispatch);
         }
     }
 
     public static void performOnAWTUIThreadAndWait(final Component target, final Runnable r) throws InterruptedException, InvocationTargetException {
-        uiThreadExecutorWait.accept(target, r);
+        executors.executorWait.accept(target, r);
+    }
+
+    /**
+     * Replaces the operations used to reach the UI thread; the replacement is not required to involve the EDT at all.
+     * The runnables passed to {@code executor} shall run in submission order.
+     *
+     * @param executor     operation used in place of {@link #performOnAWTUIThread(Component, Runnable)}
+     * @param executorWait operation used in place of {@link #performOnAWTUIThreadAndWait(Component, Runnable)}
+     * @param clock        time base returned by {@link #nanoTime()}
+     */
+    public static void setUIThreadExecutor(final BiConsumer<Component, Runnable> executor,
+                                           final ExecutorBiConsumer<Component, Runnable> executorWait,
+                                           final LongSupplier clock) {
+        executors = new UIThreadExecutors(executor, executorWait, clock);
+    }
+
+    /**
+     * Restores the operations selected when this class has been initialized.
+     */
+    public static void resetUIThreadExecutor() {
+        executors = DEFAULT_EXECUTORS;
+    }
+
+    /**
+     * Returns the current value of the time base used to measure the latency of UI operations,
+     * which is {@link System#nanoTime()} unless replaced by {@link #setUIThreadExecutor(BiConsumer, ExecutorBiConsumer, LongSupplier)}.
+     *
+     * @return the current value of the time base, in nanoseconds.
+     */
+    public static long nanoTime() {
+        return executors.clock.getAsLong();
     }
 }
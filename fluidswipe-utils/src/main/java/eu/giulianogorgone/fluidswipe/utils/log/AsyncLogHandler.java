@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 Giuliano Gorgone
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package eu.giulianogorgone.fluidswipe.utils.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * A {@code Handler} that publishes records asynchronously: records are enqueued by the logging threads into a bounded
+ * ring buffer, which is drained by a single daemon thread that hands them over to the delegate handler.
+ * Thus, the logging threads – notably the EDT and the platform input thread – do not block on I/O, unless
+ * {@link OverflowPolicy#BLOCK} is used. Only the writer thread publishes to the delegate, and closes it.
+ * This class is not part of the public API.
+ *
+ * @author Giuliano Gorgone (anticleiades)
+ */
+public final class AsyncLogHandler extends Handler {
+    /**
+     * Describes what happens when a record is published while the ring buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The incoming record is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * The oldest enqueued record is dropped to make room for the incoming one.
+         */
+        DROP_OLDEST,
+        /**
+         * The logging thread waits until room is available; no record is dropped.
+         */
+        BLOCK
+    }
+
+    private static final long CLOSE_TIMEOUT_MS = 1000L;
+    private static final long CLOSING_POLL_MS = 10L;
+    // enqueued by close() to wake the writer up; never published.
+    private static final LogRecord WAKE_UP = new LogRecord(Level.OFF, "");
+
+    private final Handler delegate;
+    private final BlockingQueue<LogRecord> ringBuffer;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedRecordCount = new AtomicLong();
+    // the number of logging threads that passed the closed check and may still enqueue a record.
+    private final AtomicInteger publishingCount = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate       the handler records are eventually published to; it is invoked on the writer thread only.
+     * @param capacity       the capacity of the ring buffer
+     * @param overflowPolicy the policy to apply when the ring buffer is full
+     * @throws NullPointerException     if {@code delegate} or {@code overflowPolicy} is null
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public AsyncLogHandler(final Handler delegate, final int capacity, final OverflowPolicy overflowPolicy) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate is null");
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy is null");
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.ringBuffer = new ArrayBlockingQueue<>(capacity);
+        setLevel(delegate.getLevel());
+        this.writer = new Thread(this::drain, "FluidSwipe-LogWriter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void publish(final LogRecord record) {
+        if (!isLoggable(record)) return;
+        publishingCount.incrementAndGet();
+        try {
+            if (!closed) enqueue(record);
+        } finally {
+            publishingCount.decrementAndGet();
+        }
+    }
+
+    private void enqueue(final LogRecord record) {
+        // The caller is inferred lazily by LogRecord: it must be done here, on the logging thread.
+        record.getSourceClassName();
+        switch (overflowPolicy) {
+            case DROP_NEWEST: {
+                if (!ringBuffer.offer(record)) droppedRecordCount.incrementAndGet();
+                break;
+            }
+            case DROP_OLDEST: {
+                while (!ringBuffer.offer(record)) {
+                    final LogRecord oldest = ringBuffer.poll();
+                    if (oldest != null && oldest != WAKE_UP) droppedRecordCount.incrementAndGet();
+                }
+                break;
+            }
+            case BLOCK: {
+                try {
+                    ringBuffer.put(record);
+                } catch (InterruptedException e) {
+                    droppedRecordCount.incrementAndGet();
+                    Thread.currentThread().interrupt(); // restore the interrupt status
+                }
+                break;
+            }
+        }
+    }
+
+    /*
+     * Body of the writer thread. Once closed, it keeps going until no logging thread can enqueue a record any longer, and the ring buffer is empty:
+     * a publisher increments publishingCount before reading closed, hence if the writer reads closed, then a zero count, no record can follow.
+     * Then, the dropped records are reported, and the delegate is closed.
+     */
+    private void drain() {
+        final List<LogRecord> batch = new ArrayList<>();
+        while (!closed || publishingCount.get() > 0 || !ringBuffer.isEmpty()) {
+            try {
+                // Once closed, a publisher may find it closed without enqueueing anything: polling, rather than waiting for it.
+                final LogRecord record = closed ? ringBuffer.poll(CLOSING_POLL_MS, TimeUnit.MILLISECONDS) : ringBuffer.take();
+                if (record == null) continue;
+                batch.add(record);
+            } catch (InterruptedException e) {
+                continue; // not interrupted by this class; the records must still be published.
+            }
+            ringBuffer.drainTo(batch);
+            publishAll(batch);
+        }
+        final long dropped = droppedRecordCount.get();
+        if (dropped > 0) {
+            final LogRecord record = new LogRecord(Level.WARNING, dropped + " log records have been dropped by " + AsyncLogHandler.class.getSimpleName());
+            record.setSourceClassName(AsyncLogHandler.class.getName());
+            record.setSourceMethodName("close");
+            batch.add(record);
+            publishAll(batch);
+        }
+        try {
+            delegate.close();
+        } catch (RuntimeException e) {
+            reportError(null, e, ErrorManager.CLOSE_FAILURE);
+        }
+    }
+
+    private void publishAll(final List<LogRecord> batch) {
+        for (LogRecord record : batch) {
+            if (record == WAKE_UP) continue;
+            try {
+                delegate.publish(record);
+            } catch (RuntimeException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Returns the number of records dropped so far, either because the ring buffer was full or because the
+     * logging thread was interrupted while waiting for room.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedRecordCount() {
+        return droppedRecordCount.get();
+    }
+
+    /**
+     * Sets the level of this handler and of the delegate, so that the records let through are not discarded on the writer thread.
+     *
+     * @param newLevel the new level
+     */
+    @Override
+    public synchronized void setLevel(final Level newLevel) throws SecurityException {
+        super.setLevel(newLevel);
+        delegate.setLevel(newLevel);
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    /**
+     * Stops accepting records, and waits up to one second for the writer thread to publish the records enqueued so far – including the ones
+     * of the logging threads publishing concurrently – and to close the delegate. If the writer does not finish in time, e.g. because the delegate
+     * is blocked on I/O, this method returns anyway, reporting a {@link ErrorManager#CLOSE_FAILURE}: the writer still publishes the remaining records
+     * and closes the delegate afterwards, unless the JVM exits first, as it is a daemon thread. The records are never published by the closing thread.
+     */
+    @Override
+    public synchronized void close() throws SecurityException {
+        if (closed) return;
+        closed = true;
+        ringBuffer.offer(WAKE_UP); // if the buffer is full, the writer is not waiting.
+        try {
+            writer.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive())
+            reportError("the log writer did not finish within " + CLOSE_TIMEOUT_MS + " ms; it keeps publishing the remaining records", null, ErrorManager.CLOSE_FAILURE);
+    }
+}
@@ -17,17 +17,34 @@ package eu.giulianogorgone.fluidswipe.utils.log;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Optional;
 import java.util.logging.Formatter;
 import java.util.logging.LogRecord;
 /**
+ * Formats records reusing a per-thread buffer; the formatted timestamp is cached and recomputed at most once per second.
+ * Hence, apart from the returned {@code String}, formatting a record without a throwable does not produce garbage.
  * @author Giuliano Gorgone (anticleiades)
  */
 class DefaultLogFormatter extends Formatter {
+    // Buffers that grew beyond this capacity (e.g., because of a long stack trace) are not retained.
+    private static final int MAX_RETAINED_CAPACITY = 8192;
 
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("uuuu-MM-dd hh:mm:ss");
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    // Records are formatted both by the logging threads and the asynchronous writer; the timestamp is published as an immutable pair.
+    private volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, "");
+
+    private static final class CachedTimestamp {
+        final long epochSecond;
+        final String formatted;
+
+        CachedTimestamp(final long epochSecond, final String formatted) {
+            this.epochSecond = epochSecond;
+            this.formatted = formatted;
+        }
+    }
 
     private static String getThrowableContent(final LogRecord record) {
         final StringWriter strWriter = new StringWriter();
@@ -41,13 +58,27 @@ class DefaultLogFormatter extends Formatter {
     DefaultLogFormatter() {
     }
 
+    private String formatTimestamp(final long millis) {
+        final long epochSecond = Math.floorDiv(millis, 1000L);
+        CachedTimestamp timestamp = cachedTimestamp;
+        if (timestamp.epochSecond != epochSecond) {
+            timestamp = new CachedTimestamp(epochSecond, dateTimeFormatter.format(Instant.ofEpochSecond(epochSecond).atZone(ZoneId.systemDefault())));
+            cachedTimestamp = timestamp;
+        }
+        return timestamp.formatted;
+    }
+
     @Override
     public String format(LogRecord record) {
-        final StringBuilder sb = new StringBuilder();
-        sb.append(dateTimeFormatter.format(record.getInstant().atZone(ZoneId.systemDefault()))).append(' ')
+        StringBuilder sb = buffer.get();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer.set(sb = new StringBuilder(256));
+        }
+        sb.setLength(0);
+        sb.append(formatTimestamp(record.getMillis())).append(' ')
                 .append('[').append(record.getLevel()).append("] ");
-        final Optional<String> clsSrc = Optional.ofNullable(record.getSourceClassName());
-        final Optional<String> mthSrc = Optional.ofNullable(record.getSourceMethodName());
+        final String clsSrc = record.getSourceClassName();
+        final String mthSrc = record.getSourceMethodName();
         final Object[] parameters = record.getParameters();
         if (parameters != null && parameters.length >= 1) {
             sb.append(parameters[0]).append(' ');
@@ -55,9 +86,9 @@ class DefaultLogFormatter extends Formatter {
         if (Logging.isLogRequestFromNative(record)) {
             sb.append("[JNI] ");
         }
-        sb.append(clsSrc.orElse(record.getLoggerName()))
+        sb.append(clsSrc != null ? clsSrc : record.getLoggerName())
                 .append("::")
-                .append(mthSrc.orElse("<unkMethod>"))
+                .append(mthSrc != null ? mthSrc : "<unkMethod>")
                 .append(": ").append(formatMessage(record));
         if (record.getThrown() != null)
             sb.append(getThrowableContent(record));
@@ -19,10 +19,14 @@ import java.lang.annotation.Native;
 import java.util.Optional;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * @author Giuliano Gorgone (anticleiades)
@@ -59,27 +63,91 @@ public final class Logging {
             Level.OFF, Level.SEVERE, Level.WARNING, Level.INFO, Level.CONFIG, Level.FINE, Level.FINER, Level.FINEST, Level.ALL
     };
     private static Logger LOG; // our logger
+    // Cached Level#intValue() of our logger; nothing is loggable until init(...) is called.
+    private static volatile int levelValue = Level.OFF.intValue();
+    private static volatile AsyncLogHandler asyncFileHandler; // null unless file logging is asynchronous
     private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Function<Stream<StackWalker.StackFrame>, Optional<StackWalker.StackFrame>> CALLER_FINDER =
+            (s) -> s.dropWhile((frame) -> frame.getDeclaringClass().equals(Logging.class)).findFirst();
     private static final Pattern FILE_EXT_PATTERN = Pattern.compile("\\.");
 
     public static void init(final String loggerName, final Level logLevel, final String logFilePath) {
+        init(loggerName, logLevel, logFilePath, 0, AsyncLogHandler.OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * Initializes our logger.
+     *
+     * @param loggerName         the name of the logger
+     * @param logLevel           the level of the logger
+     * @param logFilePath        the path of the log file; {@code null} if file logging is not required
+     * @param asyncQueueCapacity if positive, records are written to the log file asynchronously, through a ring buffer
+     *                           with the specified capacity; otherwise, the logging thread writes them.
+     * @param overflowPolicy     the policy to apply when the ring buffer is full
+     * @see AsyncLogHandler
+     */
+    public static void init(final String loggerName, final Level logLevel, final String logFilePath,
+                            final int asyncQueueCapacity, final AsyncLogHandler.OverflowPolicy overflowPolicy) {
         LOG = Logger.getLogger(loggerName);
         LOG.setUseParentHandlers(false);
         final ConsoleHandler consoleHandler = new ConsoleHandler();
         consoleHandler.setFormatter(new DefaultLogFormatter());
+        consoleHandler.setLevel(logLevel);
         LOG.addHandler(consoleHandler);
+        setLevel(logLevel);
         if (logFilePath != null) {
             try {
                 final FileHandler fileHandler = new FileHandler(logFilePath);
                 fileHandler.setFormatter(new DefaultLogFormatter());
                 fileHandler.setLevel(logLevel);
-                LOG.addHandler(fileHandler);
+                if (asyncQueueCapacity > 0) {
+                    LOG.addHandler(asyncFileHandler = new AsyncLogHandler(fileHandler, asyncQueueCapacity, overflowPolicy));
+                } else {
+                    LOG.addHandler(fileHandler);
+                }
             } catch (Exception e) {
                 logSevere("an error occurred while enabling file logging; path: " + logFilePath);
             }
         }
-        consoleHandler.setLevel(logLevel);
+    }
+
+    /**
+     * Returns the number of records the asynchronous file handler dropped so far.
+     *
+     * @return the number of dropped records; {@code 0} if file logging is synchronous or disabled.
+     */
+    public static long getDroppedRecordCount() {
+        final AsyncLogHandler handler = asyncFileHandler;
+        return handler == null ? 0L : handler.getDroppedRecordCount();
+    }
+
+    /**
+     * Changes the level of our logger, and of its handlers. The logger level must be changed via this method only, since
+     * it is cached in order to make the check performed by {@link #isLoggable(Level)} as cheap as possible.
+     *
+     * @param logLevel the new level
+     */
+    public static void setLevel(final Level logLevel) {
         LOG.setLevel(logLevel);
+        for (Handler handler : LOG.getHandlers()) handler.setLevel(logLevel); // otherwise, lowering the level would have no effect.
+        levelValue = logLevel.intValue();
+    }
+
+    /**
+     * Returns whether a message with the specified level would actually be published.
+     * This check neither allocates nor performs any lookup; callers that have to build an expensive
+     * message should guard it with this method.
+     *
+     * @param level the level of the message
+     * @return {@code true} if a message with the specified level would be published; {@code false} otherwise.
+     */
+    public static boolean isLoggable(final Level level) {
+        final int value = level.intValue();
+        return value >= levelValue && value != Level.OFF.intValue();
+    }
+
+    public static boolean isFinestLoggable() {
+        return isLoggable(Level.FINEST);
     }
 
     private static int lvlToInt(Level lvl) {
@@ -99,6 +167,7 @@ public final class Logging {
     // called from the native side.
     private static void log(final int lvl, String filename, final String callerMethod, final String msg, final Throwable throwable) {
         if (lvl < OFF || lvl > ALL) throw new IllegalArgumentException();
+        if (!isLoggable(intLvlDict[lvl])) return;
         filename = FILE_EXT_PATTERN.split(filename)[0]; // remove the file extension
         log(intLvlDict[lvl], filename, callerMethod, msg, throwable, new Object[]{getCallerThreadInfo(), NATIVE_LOG_MARKER});
     }
@@ -111,31 +180,64 @@ public final class Logging {
     //======================//
     // Convenience methods
     //======================//
+    // Each method checks the cached level before doing anything else: if the message would be discarded,
+    // no LogRecord is built and no stack walk is performed.
+    // Format methods accept a String#format pattern; the message is formatted only if it is going to be published.
+    // Fixed-arity overloads are provided to avoid the allocation of the varargs array on the hot path.
     public static void logSevere(final String msg) {
         logSevere(msg, null);
     }
 
     public static void logSevere(final String msg, final Throwable throwable) {
-        log(Level.SEVERE, null, null, msg, throwable, null);
+        if (isLoggable(Level.SEVERE))
+            log(Level.SEVERE, null, null, msg, throwable, null);
     }
 
     public static void logFinest(final String msg) {
-        log(Level.FINEST, null, null, msg, null, null);
+        if (isLoggable(Level.FINEST))
+            log(Level.FINEST, null, null, msg, null, null);
+    }
+
+    public static void logFinest(final Supplier<String> msgSupplier) {
+        if (isLoggable(Level.FINEST))
+            log(Level.FINEST, null, null, msgSupplier.get(), null, null);
+    }
+
+    public static void logFinest(final String format, final Object arg) {
+        if (isLoggable(Level.FINEST))
+            log(Level.FINEST, null, null, String.format(format, arg), null, null);
+    }
+
+    public static void logFinest(final String format, final Object arg1, final Object arg2) {
+        if (isLoggable(Level.FINEST))
+            log(Level.FINEST, null, null, String.format(format, arg1, arg2), null, null);
+    }
+
+    public static void logFinest(final String format, final Object... args) {
+        if (isLoggable(Level.FINEST))
+            log(Level.FINEST, null, null, String.format(format, args), null, null);
     }
 
     public static void logConfig(final String msg) {
-        log(Level.CONFIG, null, null, msg, null, null);
+        if (isLoggable(Level.CONFIG))
+            log(Level.CONFIG, null, null, msg, null, null);
+    }
+
+    public static void logConfig(final Supplier<String> msgSupplier) {
+        if (isLoggable(Level.CONFIG))
+            log(Level.CONFIG, null, null, msgSupplier.get(), null, null);
     }
 
     public static void logWarn(final String msg) {
-        log(Level.WARNING, null, null, msg, null, null);
+        if (isLoggable(Level.WARNING))
+            log(Level.WARNING, null, null, msg, null, null);
     }
 
-    // Used to add caller thread information.
+    // Used to add caller thread information. Callers are expected to have already checked the level via isLoggable(Level).
     static void log(final Level level, String sourceClassName, String sourceMethodName, final String msg, final Throwable throwable, final Object[] params) {
         final LogRecord record = new LogRecord(level, msg);
         if (sourceClassName == null || sourceMethodName == null) { // getting the caller
-            final Optional<StackWalker.StackFrame> frameOpt = WALKER.walk((s) -> s.dropWhile((frame) -> frame.getDeclaringClass().equals(Logging.class)).findFirst());
+            final Optional<StackWalker.StackFrame> frameOpt = WALKER.walk(CALLER_FINDER);
             if (frameOpt.isPresent()) {
                 final StackWalker.StackFrame frame = frameOpt.get();
                 if (sourceClassName == null) {
@@ -0,0 +1,124 @@
+package eu.giulianogorgone.fluidswipe.utils.log;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+
+class AsyncLogHandlerTest {
+    // Records the messages it receives; the first publication blocks until released, so that the ring buffer can be filled.
+    private static final class BlockingHandler extends Handler {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void publish(LogRecord record) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static List<String> publishWhileBlocked(final AsyncLogHandler.OverflowPolicy policy, final long expectedDrops) throws InterruptedException {
+        final BlockingHandler delegate = new BlockingHandler();
+        final AsyncLogHandler handler = new AsyncLogHandler(delegate, 2, policy);
+        handler.publish(new LogRecord(Level.INFO, "r0"));
+        Assertions.assertTrue(delegate.entered.await(5, TimeUnit.SECONDS)); // the writer is now stuck on r0
+        for (int i = 1; i <= 4; i++) {
+            handler.publish(new LogRecord(Level.INFO, "r" + i));
+        }
+        Assertions.assertEquals(expectedDrops, handler.getDroppedRecordCount());
+        delegate.release.countDown();
+        handler.close();
+        return delegate.messages;
+    }
+
+    @Test
+    void testDropNewest() throws InterruptedException {
+        final List<String> messages = publishWhileBlocked(AsyncLogHandler.OverflowPolicy.DROP_NEWEST, 2);
+        Assertions.assertEquals(List.of("r0", "r1", "r2"), messages.subList(0, 3));
+        Assertions.assertEquals(4, messages.size()); // the last one reports the dropped records
+    }
+
+    @Test
+    void testDropOldest() throws InterruptedException {
+        final List<String> messages = publishWhileBlocked(AsyncLogHandler.OverflowPolicy.DROP_OLDEST, 2);
+        Assertions.assertEquals(List.of("r0", "r3", "r4"), messages.subList(0, 3));
+        Assertions.assertEquals(4, messages.size());
+    }
+
+    @Test
+    void testCloseFlushesPendingRecords() {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        final AsyncLogHandler handler = new AsyncLogHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }, 16, AsyncLogHandler.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 100; i++) {
+            handler.publish(new LogRecord(Level.INFO, "r" + i));
+        }
+        handler.close();
+        Assertions.assertEquals(100, messages.size());
+        Assertions.assertEquals("r99", messages.get(99));
+        Assertions.assertEquals(0, handler.getDroppedRecordCount());
+    }
+
+    @Test
+    void testCloseTimeoutLeavesPublishingToTheWriter() throws InterruptedException {
+        final BlockingHandler delegate = new BlockingHandler();
+        final AsyncLogHandler handler = new AsyncLogHandler(delegate, 16, AsyncLogHandler.OverflowPolicy.BLOCK);
+        handler.publish(new LogRecord(Level.INFO, "r0"));
+        Assertions.assertTrue(delegate.entered.await(5, TimeUnit.SECONDS)); // the writer is now stuck on r0
+        handler.publish(new LogRecord(Level.INFO, "r1"));
+        handler.close(); // times out: the writer is still stuck
+        handler.publish(new LogRecord(Level.INFO, "after close"));
+        Assertions.assertTrue(delegate.messages.isEmpty(), "the closing thread published while the writer was publishing");
+
+        delegate.release.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (delegate.messages.size() < 2 && System.nanoTime() < deadline) Thread.sleep(10);
+        Assertions.assertEquals(List.of("r0", "r1"), delegate.messages);
+    }
+
+    @Test
+    void testLevelIsPropagatedToTheDelegate() {
+        final BlockingHandler delegate = new BlockingHandler();
+        delegate.setLevel(Level.INFO);
+        final AsyncLogHandler handler = new AsyncLogHandler(delegate, 2, AsyncLogHandler.OverflowPolicy.DROP_NEWEST);
+        handler.setLevel(Level.FINEST);
+        Assertions.assertEquals(Level.FINEST, delegate.getLevel());
+        delegate.release.countDown();
+        handler.close();
+    }
+}
@@ -185,10 +185,14 @@ static inline jclass globalRefOfClass(JNIEnv* env, const char *className) {
  */
 JNIEXPORT void JNICALL Java_eu_giulianogorgone_fluidswipe_handlers_macos_impl_MacOSFluidSwipeHandler_nativeStartEventMonitoring(JNIEnv* envNotAppKit, jclass class, jboolean sync_mode) {
     JNI_COCOA(EXECUTE_ON_APPKIT_THREAD_AND_WAIT({
-        if(libActive || deferStopToGestureCompletion) {
+        JNIEnv* env = getAppKitEnv();
+        if(libActive) {
+            if(deferStopToGestureCompletion) { // the monitor is still running: rather than stopping it once the gesture completes, keep it.
+                deferStopToGestureCompletion = NO;
+                LOG(eu_giulianogorgone_fluidswipe_utils_log_Logging_CONFIG, "deferred stop of event monitoring canceled");
+            }
             return;
         }
-        JNIEnv* env = getAppKitEnv();
         FluidSwipeDispatcher = globalRefOfClass(env, "eu/giulianogorgone/fluidswipe/event/handling/FluidSwipeDispatcher");
         CHECK_NULL_RET(FluidSwipeDispatcher)
      
@@ -1,8 +1,10 @@
 rootProject.name = "swing-fluid-swipe"
 
 include(
+    "fluidswipe-benchmarks",
     "fluidswipe-core",
     "fluidswipe-handler-api",
+    "fluidswipe-jcstress",
     "fluidswipe-macos",
     "fluidswipe-utils"
 )
\ No newline at end of file